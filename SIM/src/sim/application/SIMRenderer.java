@@ -6,7 +6,10 @@ import java.io.IOException;
 import sim.application.util.SConfiguration;
 import sim.application.util.SConsoleComparator;
 import sim.application.util.SConsoleRenderer;
+import sim.application.util.SConsoleToneMapper;
+import sim.application.util.SFarmRenderer;
 import sim.application.util.SJFrameRenderer;
+import sim.application.util.SSequenceRenderer;
 import sim.exception.SConstructorException;
 import sim.exception.SNoImplementationException;
 import sim.util.SLog;
@@ -17,7 +20,7 @@ import sim.util.SStringUtil;
  * 
  * @author Simon Vzina
  * @since 2014-12-28
- * @version 2016-01-14
+ * @version 2026-10-17
  */
 public class SIMRenderer {
 
@@ -55,6 +58,18 @@ public class SIMRenderer {
                   comparator.compareImage();
                   comparator.write(config.getWriteDataFileName());
                   break;
+        
+        // Lancer la version "rendu rparti" de l'application (plusieurs processus de travail)
+        case 4 :  SFarmRenderer.raytrace(config);
+                  break;
+        
+        // Lancer la version "squence" de l'application (rendu des images cls de la scne)
+        case 5 :  SSequenceRenderer.raytrace(config);
+                  break;
+        
+        // Lancer l'application de mappage de tons d'une image HDR (sans ray tracing)
+        case 6 :  SConsoleToneMapper.toneMap(config);
+                  break;
                    
         // L'application n'est pas reconnu
         default : SLog.logWriteLine("Message SIMRenderer : Le code de l'application '" + config.getApplicationType() + "' n'est pas reconnu."); 
@@ -12,6 +12,8 @@ import java.io.FileNotFoundException;
 import sim.exception.SConstructorException;
 import sim.exception.SNoImplementationException;
 import sim.exception.SRuntimeException;
+import sim.graphics.SRenderToken;
+import sim.graphics.SToneMapper;
 import sim.graphics.SViewport;
 import sim.util.SAbstractReadable;
 import sim.util.SBufferedReader;
@@ -27,7 +29,7 @@ import sim.util.SStringUtil;
  * 
  * @author Simon Vzina
  * @since 2015-01-04
- * @version 2016-01-14
+ * @version 2026-10-17
  */
 public class SConfiguration extends SAbstractReadable {
 
@@ -42,13 +44,45 @@ public class SConfiguration extends SAbstractReadable {
   private static final String[] KEYWORD_PARAMETER = { 
     SKeyWordDecoder.KW_READ_DATA, SKeyWordDecoder.KW_WRITE_DATA, SKeyWordDecoder.KW_LOG_FILE_NAME,
     SKeyWordDecoder.KW_LOG_CONSOLE, SKeyWordDecoder.KW_LOG_FILE, SKeyWordDecoder.KW_VIEWPORT_IMAGE_COUNT, 
-    SKeyWordDecoder.KW_APPLICATION 
+    SKeyWordDecoder.KW_APPLICATION, SKeyWordDecoder.KW_FARM_WORKER, SKeyWordDecoder.KW_FARM_TIMEOUT,
+    SKeyWordDecoder.KW_CHECKPOINT_FILE, SKeyWordDecoder.KW_CHECKPOINT_INTERVAL,
+    SKeyWordDecoder.KW_EXPOSURE, SKeyWordDecoder.KW_TONE_MAPPING, SKeyWordDecoder.KW_RENDER_DEADLINE
   };
   
   /**
    * La constante <b>APPLICATION_TYPE</b> correspond  un tablea de mots cl reprsentant le nom des applications reconnues par la classe <b>SConfiguration</b>.
    */
-  public static final String[] APPLICATION_TYPE = { "none", "console", "frame", "comparator" };
+  public static final String[] APPLICATION_TYPE = { "none", "console", "frame", "comparator", "farm", "sequence", "tone_mapping" };
+  
+  /**
+   * La constante <b>FARM_APPLICATION</b> correspond au code de l'application de rendu rparti entre plusieurs processus (<i>render farm</i>).
+   */
+  public static final int FARM_APPLICATION = 4;
+  
+  /**
+   * La constante <b>SEQUENCE_APPLICATION</b> correspond au code de l'application de rendu d'une squence d'images  partir des images cls de la scne.
+   */
+  public static final int SEQUENCE_APPLICATION = 5;
+  
+  /**
+   * La constante <b>TONE_MAPPING_APPLICATION</b> correspond au code de l'application de mappage de tons d'une image HDR dj rendue.
+   */
+  public static final int TONE_MAPPING_APPLICATION = 6;
+  
+  /**
+   * La constante <b>DEFAULT_FARM_WORKER</b> correspond au nombre de processus de travail par dfaut de l'application de rendu rparti tant gal  {@value}.
+   */
+  private static final int DEFAULT_FARM_WORKER = 2;
+  
+  /**
+   * La constante <b>NO_CHECKPOINT_FILE</b> correspond au nom du fichier de reprise lorsque le rendu n'effectue pas de sauvegarde priodique.
+   */
+  public static final String NO_CHECKPOINT_FILE = "";
+  
+  /**
+   * La constante <b>DEFAULT_CHECKPOINT_INTERVAL</b> correspond  l'intervalle par dfaut (en secondes) entre deux sauvegardes du fichier de reprise tant gal  {@value}.
+   */
+  private static final double DEFAULT_CHECKPOINT_INTERVAL = 60.0;
   
   /**
    * La constante <b>DEFAULT_CONFIG_FILE_NAME</b> correspond au nom du fichier de configuration par dfaut tant gal  {@value}.
@@ -89,6 +123,42 @@ public class SConfiguration extends SAbstractReadable {
 	 */
 	private int application_type;	         
 	
+	/**
+	 * La variable <b>farm_worker</b> correspond au nombre de processus de travail lancs par l'application de rendu rparti.
+	 */
+	private int farm_worker;
+	
+	/**
+	 * La variable <b>farm_timeout</b> correspond au dlai (en secondes) de la rponse d'un processus de travail de l'application de rendu rparti avant qu'il soit arrt.
+	 */
+	private double farm_timeout;
+	
+	/**
+	 * La variable <b>checkpoint_file_name</b> correspond au nom du fichier de reprise du rendu (NO_CHECKPOINT_FILE s'il n'y a pas de sauvegarde priodique).
+	 */
+	private String checkpoint_file_name;
+	
+	/**
+	 * La variable <b>checkpoint_interval</b> correspond  l'intervalle (en secondes) entre deux sauvegardes du fichier de reprise.
+	 */
+	private double checkpoint_interval;
+	
+	/**
+	 * La variable <b>render_deadline</b> correspond au temps allou (en secondes) au rendu d'une image par l'application console (SRenderToken.NO_DEADLINE pour un temps illimit).
+	 * Une fois l'chance atteinte, le rendu est interrompu et l'image partielle ( plus basse rsolution) est crite.
+	 */
+	private double render_deadline;
+	
+	/**
+	 * La variable <b>exposure</b> correspond  l'exposition (en <i>stops</i>) de l'application de mappage de tons.
+	 */
+	private double exposure;
+	
+	/**
+	 * La variable <b>tone_mapping</b> correspond au code de l'oprateur de l'application de mappage de tons (voir SToneMapper).
+	 */
+	private int tone_mapping;
+	
 	//----------------
 	// CONSTRUCTEUR //
 	//----------------
@@ -121,6 +191,13 @@ public class SConfiguration extends SAbstractReadable {
 		write_data_file_name = DEFAULT_WRITE_DATA_FILE_NAME;
 		
 		application_type = 0;   //application de type "none"
+		farm_worker = DEFAULT_FARM_WORKER;
+		farm_timeout = SFarmRenderer.DEFAULT_ANSWER_TIMEOUT;
+		checkpoint_file_name = NO_CHECKPOINT_FILE;
+		checkpoint_interval = DEFAULT_CHECKPOINT_INTERVAL;
+		render_deadline = SRenderToken.NO_DEADLINE;
+		exposure = 0.0;
+		tone_mapping = SToneMapper.CLAMP_CHANNEL;
 		
 		//Trouver le fichier  partir du rpertoire o l'excution de l'application est ralise
     SFileSearch search = new SFileSearch("", file_name);
@@ -180,6 +257,76 @@ public class SConfiguration extends SAbstractReadable {
 	  return application_type;
 	}
 	
+	/**
+	 * Mthode pour obtenir le nombre de processus de travail de l'application de rendu rparti.
+	 * 
+	 * @return Le nombre de processus de travail.
+	 */
+	public int getFarmWorker()
+	{
+	  return farm_worker;
+	}
+	
+	/**
+	 * Mthode pour obtenir le dlai de la rponse d'un processus de travail de l'application de rendu rparti.
+	 * 
+	 * @return Le dlai en secondes.
+	 */
+	public double getFarmTimeout()
+	{
+	  return farm_timeout;
+	}
+	
+	/**
+	 * Mthode pour obtenir le nom du fichier de reprise du rendu.
+	 * 
+	 * @return Le nom du fichier de reprise (NO_CHECKPOINT_FILE s'il n'y a pas de sauvegarde priodique).
+	 */
+	public String getCheckpointFileName()
+	{
+	  return checkpoint_file_name;
+	}
+	
+	/**
+	 * Mthode pour obtenir l'intervalle entre deux sauvegardes du fichier de reprise.
+	 * 
+	 * @return L'intervalle en secondes.
+	 */
+	public double getCheckpointInterval()
+	{
+	  return checkpoint_interval;
+	}
+	
+	/**
+	 * Mthode pour obtenir le temps allou au rendu d'une image.
+	 * 
+	 * @return Le temps allou en secondes (SRenderToken.NO_DEADLINE pour un temps illimit).
+	 */
+	public double getRenderDeadline()
+	{
+	  return render_deadline;
+	}
+	
+	/**
+	 * Mthode pour obtenir l'exposition de l'application de mappage de tons.
+	 * 
+	 * @return L'exposition en <i>stops</i>.
+	 */
+	public double getExposure()
+	{
+	  return exposure;
+	}
+	
+	/**
+	 * Mthode pour obtenir l'oprateur de l'application de mappage de tons.
+	 * 
+	 * @return Le code de l'oprateur (voir SToneMapper).
+	 */
+	public int getToneMapping()
+	{
+	  return tone_mapping;
+	}
+	
 	@Override
   protected boolean read(SBufferedReader sbr, int code, String remaining_line) throws SReadingException, IOException
   {
@@ -211,6 +358,20 @@ public class SConfiguration extends SAbstractReadable {
       
       case SKeyWordDecoder.CODE_APPLICATION : application_type = readIntOrExpression(remaining_line, SKeyWordDecoder.KW_APPLICATION, APPLICATION_TYPE); return true;
       
+      case SKeyWordDecoder.CODE_FARM_WORKER : farm_worker = readIntGreaterThanZero(remaining_line, SKeyWordDecoder.KW_FARM_WORKER); return true;
+      
+      case SKeyWordDecoder.CODE_FARM_TIMEOUT : farm_timeout = readDoubleGreaterThanZero(remaining_line, SKeyWordDecoder.KW_FARM_TIMEOUT); return true;
+      
+      case SKeyWordDecoder.CODE_CHECKPOINT_FILE : checkpoint_file_name = readStringNotEmpty(remaining_line, SKeyWordDecoder.KW_CHECKPOINT_FILE); return true;
+      
+      case SKeyWordDecoder.CODE_CHECKPOINT_INTERVAL : checkpoint_interval = readDoubleGreaterThanZero(remaining_line, SKeyWordDecoder.KW_CHECKPOINT_INTERVAL); return true;
+      
+      case SKeyWordDecoder.CODE_RENDER_DEADLINE : render_deadline = readDoubleGreaterThanZero(remaining_line, SKeyWordDecoder.KW_RENDER_DEADLINE); return true;
+      
+      case SKeyWordDecoder.CODE_EXPOSURE : exposure = readDouble(remaining_line, SKeyWordDecoder.KW_EXPOSURE); return true;
+      
+      case SKeyWordDecoder.CODE_TONE_MAPPING : tone_mapping = readIntOrExpression(remaining_line, SKeyWordDecoder.KW_TONE_MAPPING, SToneMapper.TONE_MAPPING); return true;
+      
       default : return false;
     }
   }
@@ -240,6 +401,53 @@ public class SConfiguration extends SAbstractReadable {
 			bw.write(write_data_file_name);
 			bw.write(SStringUtil.END_LINE_CARACTER);
 			
+			if(application_type == FARM_APPLICATION)
+			{
+			  bw.write(SKeyWordDecoder.KW_FARM_WORKER);
+			  bw.write("\t");
+			  bw.write(Integer.toString(farm_worker));
+			  bw.write(SStringUtil.END_LINE_CARACTER);
+			  
+			  bw.write(SKeyWordDecoder.KW_FARM_TIMEOUT);
+			  bw.write("\t");
+			  bw.write(Double.toString(farm_timeout));
+			  bw.write(SStringUtil.END_LINE_CARACTER);
+			}
+			
+			if(application_type == TONE_MAPPING_APPLICATION)
+			{
+			  bw.write(SKeyWordDecoder.KW_EXPOSURE);
+			  bw.write("\t");
+			  bw.write(Double.toString(exposure));
+			  bw.write(SStringUtil.END_LINE_CARACTER);
+			  
+			  bw.write(SKeyWordDecoder.KW_TONE_MAPPING);
+			  bw.write("\t");
+			  bw.write(SToneMapper.TONE_MAPPING[tone_mapping]);
+			  bw.write(SStringUtil.END_LINE_CARACTER);
+			}
+			
+			if(!checkpoint_file_name.equals(NO_CHECKPOINT_FILE))
+			{
+			  bw.write(SKeyWordDecoder.KW_CHECKPOINT_FILE);
+			  bw.write("\t");
+			  bw.write(checkpoint_file_name);
+			  bw.write(SStringUtil.END_LINE_CARACTER);
+			  
+			  bw.write(SKeyWordDecoder.KW_CHECKPOINT_INTERVAL);
+			  bw.write("\t");
+			  bw.write(Double.toString(checkpoint_interval));
+			  bw.write(SStringUtil.END_LINE_CARACTER);
+			}
+			
+			if(render_deadline != SRenderToken.NO_DEADLINE)
+			{
+			  bw.write(SKeyWordDecoder.KW_RENDER_DEADLINE);
+			  bw.write("\t");
+			  bw.write(Double.toString(render_deadline));
+			  bw.write(SStringUtil.END_LINE_CARACTER);
+			}
+			
 			//crire les proprits static de la classe SLog
 			SLog.staticWrite(bw);
 			
@@ -7,8 +7,12 @@ import java.io.FileNotFoundException;
 import java.io.IOException;
 
 import sim.exception.SConstructorException;
-import sim.geometry.space.SAbstractGeometrySpace;
+import sim.exception.SRuntimeException;
+import sim.geometry.space.SIntersectionStatistics;
 import sim.graphics.SRaytracer;
+import sim.graphics.SRenderCheckpoint;
+import sim.graphics.SRenderToken;
+import sim.graphics.SImageEncoder;
 import sim.graphics.SScene;
 import sim.util.SChronometer;
 import sim.util.SLog;
@@ -20,7 +24,7 @@ import sim.util.SStringUtil;
  * 
  * @author Simon Vzina
  * @since 2015-08-23
- * @version 2016-01-01
+ * @version 2026-10-17
  */
 public class SConsoleRenderer {
 
@@ -49,25 +53,59 @@ public class SConsoleRenderer {
       SLog.logWriteLine("Message SConsoleRenderer : Dbut du raytracing.");
       
       chrono.start();
+      SIntersectionStatistics.reset();
+      
+      // Prparer le fichier de reprise (si une sauvegarde priodique est demande)
+      SRenderCheckpoint checkpoint = null;
       
       // Construction du raytracer
       SRaytracer raytracer = scene.buildRaytracer();
       
-      // Afficher une ligne de "-" afin de mieux visualiser la progression du ray tracing
-      for(int i=0; i<101; i++)
-        SLog.logWrite("_");
-      SLog.logWriteLine();
-      
-      // Effectuer le ray tracing avec affichage "."  chaque 1% complt
-      int pixels = raytracer.nbPixels();
-      int pack = pixels / 100;
-      
-      for(int i=0; i<101; i++)
-      {
-        //Calcul du ray tracing
-        raytracer.raytrace(pack);  //calcul pour une groupe de 1% des pixels
+      try{
+        
+        if(!config.getCheckpointFileName().equals(SConfiguration.NO_CHECKPOINT_FILE))
+        {
+          checkpoint = new SRenderCheckpoint(config.getCheckpointFileName(), config.getReadDataFileName(), scene.getViewport(), SRenderCheckpoint.DEFAULT_TILE_SIZE);
+          
+          if(checkpoint.resume())
+            SLog.logWriteLine("Message SConsoleRenderer : Reprise du rendu  partir du fichier '" + config.getCheckpointFileName() + "' (" + checkpoint.getNbDoneTile() + "/" + checkpoint.getNbTile() + " blocs termins).");
+          
+          writeProgressBar();
+          raytrace(raytracer, checkpoint, config.getCheckpointInterval());
+        }
+        else
+          if(config.getRenderDeadline() != SRenderToken.NO_DEADLINE)
+          {
+            // Rendu du plus grossier au plus fin interrompu  l'chance (l'image demeure complte,  plus basse rsolution)
+            SLog.logWriteLine("Message SConsoleRenderer : Le rendu est limit  " + config.getRenderDeadline() + " s.");
+            
+            if(!raytracer.raytrace(new SRenderToken(config.getRenderDeadline())))
+              SLog.logWriteLine("Message SConsoleRenderer : L'chance du rendu est atteinte. L'image crite est partielle.");
+          }
+          else
+          {
+            writeProgressBar();
+            
+            // Effectuer le ray tracing avec affichage "."  chaque 1% complt
+            long pixels = raytracer.nbPixels();
+            long pack = pixels / 100;
+            
+            for(int i=0; i<101; i++)
+            {
+              //Calcul du ray tracing
+              raytracer.raytrace(pack);  //calcul pour une groupe de 1% des pixels
+              
+              SLog.logWrite(".");        //criture du caractre "."  chaque 1% de complt
+            }
+            
+            // Complter les passes suivantes d'un raffinement progressif (le viewport est alors parcouru de nouveau)
+            while(scene.getViewport().hasNextPixel())
+              raytracer.raytrace(pixels);
+          }
         
-        SLog.logWrite(".");        //criture du caractre "."  chaque 1% de complt
+      }finally{
+        // Librer les fils d'excution du raytracer (mme si le calcul a chou)
+        raytracer.close();
       }
       
       chrono.stop();
@@ -76,14 +114,28 @@ public class SConsoleRenderer {
       SLog.logWriteLine();
       SLog.logWriteLine("Message SConsoleRenderer : Fin du raytracing.");
       SLog.logWriteLine("Message SConsoleRenderer : Dure : " + chrono.getTime() + " s.");
-      SLog.logWriteLine("Message SConsoleRenderer : Nombre de tests d'intersection raliss : " + SAbstractGeometrySpace.getIntersectionTestCount() + " tests.");
+      SIntersectionStatistics.logReport("SConsoleRenderer");
       SLog.logWriteLine();
       
       //criture de l'image
       chrono.start();
       SLog.logWriteLine("Message SConsoleRenderer : criture de l'image.");
       
-      scene.getViewport().writeImage();
+      // Conversion et compression de l'image par bandes en parallle
+      SImageEncoder encoder = new SImageEncoder();
+      
+      try{
+        SImageEncoder.waitFor(scene.getViewport().writeImage(encoder));
+      }finally{
+        encoder.close();
+        
+        // Librer le tampon de l'image (projection en mmoire et fichier de travail)
+        scene.getViewport().close();
+      }
+      
+      // Le rendu est termin : le fichier de reprise n'est plus ncessaire
+      if(checkpoint != null)
+        checkpoint.delete();
       
       chrono.stop();
       SLog.logWriteLine("Message SConsoleRenderer : Fin de l'criture de l'image.");
@@ -99,6 +151,9 @@ public class SConsoleRenderer {
     }catch(SConstructorException e){
       SLog.logWriteLine("Message SConsoleRenderer : Une erreur de type SConstructorException est survenue." + SStringUtil.END_LINE_CARACTER + "\t" + e.getMessage()); 
       e.printStackTrace();
+    }catch(SRuntimeException e){
+      SLog.logWriteLine("Message SConsoleRenderer : Une erreur de type SRuntimeException est survenue." + SStringUtil.END_LINE_CARACTER + "\t" + e.getMessage()); 
+      e.printStackTrace();
     }catch(IOException e){                 
       // Exception lance s'il y a un problme en mmoire lors de la lecture/criture d'un fichier             
       e.printStackTrace();                                               
@@ -106,5 +161,58 @@ public class SConsoleRenderer {
     
     SLog.logWriteLine("Message SConsoleRenderer : Fin de l'application."); 
   }
+  
+  /**
+   * Mthode pour afficher une ligne de "_" afin de mieux visualiser la progression du ray tracing (un caractre "." par 1% complt).
+   */
+  private static void writeProgressBar()
+  {
+    for(int i=0; i<101; i++)
+      SLog.logWrite("_");
+    
+    SLog.logWriteLine();
+  }
+  
+  /**
+   * Mthode pour effectuer le ray tracing bloc par bloc en sauvegardant priodiquement les blocs termins dans un fichier de reprise.
+   * Les blocs dj termins (reprise d'un rendu) ne sont pas calculs de nouveau.
+   * 
+   * @param raytracer - Le raytracer.
+   * @param checkpoint - Le fichier de reprise.
+   * @param interval - L'intervalle (en secondes) entre deux sauvegardes.
+   * @throws IOException Si le fichier de reprise ne peut pas tre crit.
+   */
+  private static void raytrace(SRaytracer raytracer, SRenderCheckpoint checkpoint, double interval) throws IOException
+  {
+    int nb_tile = checkpoint.getNbTile();
+    int[] bounds = new int[4];
+    
+    long interval_nano = (long)(interval * 1e9);
+    long last_save = System.nanoTime();
+    
+    int nb_dot = 0;
+    
+    for(int i = 0; i < nb_tile; i++)
+    {
+      if(!checkpoint.isTileDone(i))
+      {
+        checkpoint.getTileBounds(i, bounds);
+        raytracer.raytraceRegion(bounds[0], bounds[1], bounds[2], bounds[3]);
+        checkpoint.setTileDone(i);
+        
+        if(System.nanoTime() - last_save >= interval_nano)
+        {
+          checkpoint.write();
+          last_save = System.nanoTime();
+        }
+      }
+      
+      // criture du caractre "."  chaque 1% de complt
+      for(; nb_dot < 1 + (100*(i+1)) / nb_tile; nb_dot++)
+        SLog.logWrite(".");
+    }
+    
+    checkpoint.write();
+  }
 
 }//fin de la classe SConsoleRenderer
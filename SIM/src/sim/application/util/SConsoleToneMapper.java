@@ -0,0 +1,74 @@
+/**
+ *
+ */
+package sim.application.util;
+
+import java.io.File;
+import java.io.IOException;
+
+import javax.imageio.ImageIO;
+
+import sim.exception.SConstructorException;
+import sim.exception.SRuntimeException;
+import sim.graphics.SHDRImage;
+import sim.graphics.SToneMapper;
+import sim.util.SChronometer;
+import sim.util.SLog;
+import sim.util.SStringUtil;
+
+/**
+ * La classe <b>SConsoleToneMapper</b> reprsente une console permettant de convertir une image HDR (PFM ou Radiance HDR) produite par un rendu
+ * en image PNG selon l'exposition et l'oprateur de mappage de tons de la configuration. Le <i>ray tracing</i> n'est pas refait.
+ * <p>L'image HDR est lue  partir du fichier <b>read_data</b> et l'image PNG est crite dans le fichier <b>write_data</b>.</p>
+ *
+ * @author Simon Vzina
+ * @since 2026-10-17
+ * @version 2026-10-17
+ */
+public class SConsoleToneMapper {
+
+  /**
+   * Mthode pour lancer l'application de mappage de tons en format "console".
+   * @param config - La configuration de l'application.
+   */
+  public static void toneMap(SConfiguration config)
+  {
+    try
+    {
+      SChronometer chrono = new SChronometer();
+
+      //Lecture de l'image HDR
+      chrono.start();
+      SLog.logWriteLine("Message SConsoleToneMapper : Lecture de l'image HDR '" + config.getReadDataFileName() + "'.");
+
+      SHDRImage hdr = SHDRImage.read(config.getReadDataFileName());
+
+      chrono.stop();
+      SLog.logWriteLine("Message SConsoleToneMapper : Dure : " + chrono.getTime() + " s.");
+
+      //Mappage de tons
+      chrono.start();
+      SLog.logWriteLine("Message SConsoleToneMapper : Mappage de tons '" + SToneMapper.TONE_MAPPING[config.getToneMapping()] + "' avec une exposition de " + config.getExposure() + ".");
+
+      SToneMapper mapper = new SToneMapper(config.getExposure(), config.getToneMapping());
+      ImageIO.write(mapper.toneMap(hdr), "png", new File(config.getWriteDataFileName()));
+
+      chrono.stop();
+      SLog.logWriteLine("Message SConsoleToneMapper : criture de l'image '" + config.getWriteDataFileName() + "'.");
+      SLog.logWriteLine("Message SConsoleToneMapper : Dure : " + chrono.getTime() + " s.");
+
+    }catch(SConstructorException e){
+      SLog.logWriteLine("Message SConsoleToneMapper : Une erreur de type SConstructorException est survenue." + SStringUtil.END_LINE_CARACTER + "\t" + e.getMessage());
+      e.printStackTrace();
+    }catch(SRuntimeException e){
+      SLog.logWriteLine("Message SConsoleToneMapper : Une erreur de type SRuntimeException est survenue." + SStringUtil.END_LINE_CARACTER + "\t" + e.getMessage());
+      e.printStackTrace();
+    }catch(IOException e){
+      SLog.logWriteLine("Message SConsoleToneMapper : Une erreur de type IOException est survenue." + SStringUtil.END_LINE_CARACTER + "\t" + e.getMessage());
+      e.printStackTrace();
+    }
+
+    SLog.logWriteLine("Message SConsoleToneMapper : Fin de l'application.");
+  }
+
+}//fin de la classe SConsoleToneMapper
@@ -0,0 +1,495 @@
+/**
+ *
+ */
+package sim.application.util;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import sim.exception.SConstructorException;
+import sim.exception.SRuntimeException;
+import sim.graphics.SImageEncoder;
+import sim.graphics.SScene;
+import sim.graphics.SViewport;
+import sim.util.SChronometer;
+import sim.util.SLog;
+import sim.util.SStringUtil;
+
+/**
+ * La classe <b>SFarmRenderer</b> reprsente le coordonnateur d'un rendu rparti entre plusieurs processus (<i>render farm</i>).
+ * Le viewport est dcoup en blocs qui sont distribus  des processus de travail (<b>SFarmWorker</b>) lancs localement.
+ * Chaque processus construit une seule fois la scne et son raytracer, puis calcule les blocs qui lui sont transmis.
+ * Les blocs calculs sont assembls dans le viewport du coordonnateur.
+ *
+ * <p>
+ * Lorsqu'un processus de travail cesse de rpondre (fin anormale, erreur de communication), le bloc qu'il calculait
+ * est remis dans la file et sera calcul par un autre processus. Un processus qui ne rpond pas dans le dlai prvu 
+ * (processus bloqu) est arrt par le coordonnateur et son bloc est rassign de la mme faon.
+ * </p>
+ *
+ * @author Simon Vzina
+ * @since 2026-10-17
+ * @version 2026-10-17
+ */
+public class SFarmRenderer {
+
+  //--------------
+  // CONSTANTES //
+  //--------------
+
+  /**
+   * La constante <b>DEFAULT_TILE_SIZE</b> correspond  la taille par dfaut (en pixels) du ct d'un bloc transmis  un processus de travail.
+   */
+  public static final int DEFAULT_TILE_SIZE = 64;
+
+  /**
+   * La constante <b>DEFAULT_ANSWER_TIMEOUT</b> correspond au dlai par dfaut (en secondes) de la rponse d'un processus de travail
+   * (construction de la scne ou calcul d'un bloc) avant qu'il soit considr comme bloqu.
+   */
+  public static final double DEFAULT_ANSWER_TIMEOUT = 600.0;
+
+  /**
+   * La constante <b>POLL_TIMEOUT</b> correspond au temps d'attente (en millisecondes) d'un bloc dans la file avant de vrifier si le rendu est termin.
+   */
+  private static final long POLL_TIMEOUT = 100;
+
+  //-------------
+  // VARIABLES //
+  //-------------
+
+  /**
+   * La variable <b>scene_file_name</b> correspond au nom du fichier de scne transmis aux processus de travail.
+   */
+  private final String scene_file_name;
+
+  /**
+   * La variable <b>nb_worker</b> correspond au nombre de processus de travail.
+   */
+  private final int nb_worker;
+
+  /**
+   * La variable <b>tile_size</b> correspond  la taille (en pixels) du ct d'un bloc.
+   */
+  private final int tile_size;
+
+  /**
+   * La variable <b>answer_timeout</b> correspond au dlai (en nanosecondes) de la rponse d'un processus de travail.
+   */
+  private final long answer_timeout;
+
+  /**
+   * La variable <b>nb_reassigned_tile</b> correspond au nombre de blocs rassigns  la suite de l'arrt d'un processus de travail.
+   */
+  private final AtomicInteger nb_reassigned_tile;
+
+  //----------------
+  // CONSTRUCTEUR //
+  //----------------
+
+  /**
+   * Constructeur d'un coordonnateur de rendu rparti.
+   *
+   * @param scene_file_name - Le nom du fichier de scne.
+   * @param nb_worker - Le nombre de processus de travail.
+   * @param tile_size - La taille (en pixels) du ct d'un bloc.
+   * @throws SConstructorException Si le nombre de processus ou la taille d'un bloc n'est pas suprieur  0.
+   */
+  public SFarmRenderer(String scene_file_name, int nb_worker, int tile_size) throws SConstructorException
+  {
+    this(scene_file_name, nb_worker, tile_size, DEFAULT_ANSWER_TIMEOUT);
+  }
+
+  /**
+   * Constructeur d'un coordonnateur de rendu rparti.
+   *
+   * @param scene_file_name - Le nom du fichier de scne.
+   * @param nb_worker - Le nombre de processus de travail.
+   * @param tile_size - La taille (en pixels) du ct d'un bloc.
+   * @param answer_timeout - Le dlai (en secondes) de la rponse d'un processus de travail avant qu'il soit arrt.
+   * @throws SConstructorException Si le nombre de processus, la taille d'un bloc ou le dlai de rponse n'est pas suprieur  0.
+   */
+  public SFarmRenderer(String scene_file_name, int nb_worker, int tile_size, double answer_timeout) throws SConstructorException
+  {
+    if(nb_worker < 1)
+      throw new SConstructorException("Erreur SFarmRenderer 001 : Le nombre de processus de travail '" + nb_worker + "' n'est pas suprieur  0.");
+
+    if(tile_size < 1)
+      throw new SConstructorException("Erreur SFarmRenderer 002 : La taille d'un bloc '" + tile_size + "' n'est pas suprieure  0.");
+
+    if(answer_timeout <= 0.0)
+      throw new SConstructorException("Erreur SFarmRenderer 006 : Le dlai de rponse '" + answer_timeout + "' n'est pas suprieur  0.");
+
+    this.scene_file_name = scene_file_name;
+    this.nb_worker = nb_worker;
+    this.tile_size = tile_size;
+    this.answer_timeout = (long)(answer_timeout * 1e9);
+    this.nb_reassigned_tile = new AtomicInteger(0);
+  }
+
+  //------------
+  // MTHODES //
+  //------------
+
+  /**
+   * Mthode pour lancer l'application du ray tracer en format "rendu rparti".
+   *
+   * @param config - La configuration de l'application.
+   */
+  public static void raytrace(SConfiguration config)
+  {
+    try
+    {
+      SChronometer chrono = new SChronometer();
+
+      //Lecture de la scne (le coordonnateur n'utilise que son viewport)
+      chrono.start();
+      SLog.logWriteLine("Message SFarmRenderer : Lecture de la scne '" + config.getReadDataFileName() + "'.");
+
+      SScene scene = new SScene(config.getReadDataFileName());
+
+      chrono.stop();
+      SLog.logWriteLine("Message SFarmRenderer : Fin de la lecture de la scne.");
+      SLog.logWriteLine("Message SFarmRenderer : Dure : " + chrono.getTime() + " s.");
+      SLog.logWriteLine("");
+
+      //Rendu rparti
+      SLog.logWriteLine("Message SFarmRenderer : Dbut du raytracing rparti entre " + config.getFarmWorker() + " processus.");
+      chrono.start();
+
+      SFarmRenderer farm = new SFarmRenderer(config.getReadDataFileName(), config.getFarmWorker(), DEFAULT_TILE_SIZE, config.getFarmTimeout());
+      farm.render(scene.getViewport());
+
+      chrono.stop();
+      SLog.logWriteLine("Message SFarmRenderer : Fin du raytracing (" + farm.getNbReassignedTile() + " blocs rassigns).");
+      SLog.logWriteLine("Message SFarmRenderer : Dure : " + chrono.getTime() + " s.");
+      SLog.logWriteLine();
+
+      //criture de l'image
+      chrono.start();
+      SLog.logWriteLine("Message SFarmRenderer : criture de l'image.");
+
+      // Conversion et compression de l'image par bandes en parallle
+      SImageEncoder encoder = new SImageEncoder();
+
+      try{
+        SImageEncoder.waitFor(scene.getViewport().writeImage(encoder));
+      }finally{
+        encoder.close();
+
+        // Librer le tampon de l'image (projection en mmoire et fichier de travail)
+        scene.getViewport().close();
+      }
+
+      chrono.stop();
+      SLog.logWriteLine("Message SFarmRenderer : Fin de l'criture de l'image.");
+      SLog.logWriteLine("Message SFarmRenderer : Dure : " + chrono.getTime() + " s.");
+      SLog.logWriteLine("");
+
+      //criture de la scne
+      scene.write(config.getWriteDataFileName());
+
+    }catch(FileNotFoundException e){
+      SLog.logWriteLine("Message SFarmRenderer : Une erreur de type FileNotFoundException est survenue." + SStringUtil.END_LINE_CARACTER + "\t" + e.getMessage());
+      e.printStackTrace();
+    }catch(SConstructorException e){
+      SLog.logWriteLine("Message SFarmRenderer : Une erreur de type SConstructorException est survenue." + SStringUtil.END_LINE_CARACTER + "\t" + e.getMessage());
+      e.printStackTrace();
+    }catch(SRuntimeException e){
+      SLog.logWriteLine("Message SFarmRenderer : Une erreur de type SRuntimeException est survenue." + SStringUtil.END_LINE_CARACTER + "\t" + e.getMessage());
+      e.printStackTrace();
+    }catch(IOException e){
+      e.printStackTrace();
+    }
+
+    SLog.logWriteLine("Message SFarmRenderer : Fin de l'application.");
+  }
+
+  /**
+   * Mthode pour obtenir le nombre de blocs rassigns  la suite de l'arrt d'un processus de travail (fin anormale ou dlai de rponse dpass).
+   *
+   * @return Le nombre de blocs rassigns.
+   */
+  public int getNbReassignedTile()
+  {
+    return nb_reassigned_tile.get();
+  }
+
+  /**
+   * Mthode pour effectuer le rendu rparti de l'ensemble des blocs du viewport.
+   * Le viewport doit avoir les dimensions de celui de la scne.
+   *
+   * @param viewport - Le viewport o seront assembls les blocs.
+   * @throws SRuntimeException Si l'ensemble des processus de travail ont cess avant la fin du rendu.
+   */
+  public void render(SViewport viewport) throws SRuntimeException
+  {
+    //File des blocs  calculer
+    BlockingQueue<int[]> queue = new LinkedBlockingQueue<int[]>();
+
+    int[] bounds = new int[4];
+
+    viewport.restartPixelIteration();
+
+    while(viewport.claimTile(tile_size, bounds))
+      queue.add(bounds.clone());
+
+    AtomicInteger remaining = new AtomicInteger(queue.size());
+
+    //Lancement des processus de travail et d'un fil de communication par processus
+    List<SWorkerConnection> connection_list = new ArrayList<SWorkerConnection>();
+    List<Thread> thread_list = new ArrayList<Thread>();
+
+    for(int i = 0; i < nb_worker; i++)
+      try{
+        SWorkerConnection connection = new SWorkerConnection(i, startWorker(), viewport, queue, remaining);
+        Thread t = new Thread(connection);
+        t.start();
+        connection_list.add(connection);
+        thread_list.add(t);
+      }catch(IOException e){
+        SLog.logWriteLine("Message SFarmRenderer : Le processus de travail " + i + " n'a pas pu tre lanc." + SStringUtil.END_LINE_CARACTER + "\t" + e.getMessage());
+      }
+
+    //Attendre la fin des communications en arrtant les processus dont la rponse dpasse le dlai prvu
+    for(Thread t : thread_list)
+      try{
+        while(t.isAlive())
+        {
+          t.join(POLL_TIMEOUT);
+
+          long now = System.nanoTime();
+
+          for(SWorkerConnection connection : connection_list)
+            if(connection.isOverdue(now))
+              connection.kill();
+        }
+      }catch(InterruptedException e){
+        throw new SRuntimeException("Erreur SFarmRenderer 003 : Le coordonnateur fut interrompu." + SStringUtil.END_LINE_CARACTER + "\t" + e.getMessage(), e);
+      }
+
+    if(remaining.get() > 0)
+      throw new SRuntimeException("Erreur SFarmRenderer 004 : L'ensemble des processus de travail ont cess alors qu'il reste " + remaining.get() + " blocs  calculer.");
+  }
+
+  /**
+   * Mthode pour lancer un processus de travail local utilisant la mme machine virtuelle et le mme <i>classpath</i> que le coordonnateur.
+   * La sortie d'erreur du processus (ses messages) est redirige vers celle du coordonnateur.
+   *
+   * @return Le processus de travail.
+   * @throws IOException Si le processus n'a pas pu tre lanc.
+   */
+  private Process startWorker() throws IOException
+  {
+    String java = System.getProperty("java.home") + File.separator + "bin" + File.separator + "java";
+
+    ProcessBuilder builder = new ProcessBuilder(java, "-cp", System.getProperty("java.class.path"), SFarmWorker.class.getName());
+    builder.redirectError(ProcessBuilder.Redirect.INHERIT);
+
+    return builder.start();
+  }
+
+  /**
+   * La classe interne <b>SWorkerConnection</b> reprsente la communication avec un processus de travail.
+   * Les blocs sont pris dans la file commune jusqu' ce que l'ensemble des blocs soient calculs.
+   */
+  private class SWorkerConnection implements Runnable {
+
+    private final int id;
+    private final Process process;
+    private final SViewport viewport;
+    private final BlockingQueue<int[]> queue;
+    private final AtomicInteger remaining;
+
+    /**
+     * La variable <b>waiting</b> dtermine si une rponse du processus est attendue.
+     */
+    private volatile boolean waiting;
+
+    /**
+     * La variable <b>answer_deadline</b> correspond au temps (selon System.nanoTime()) limite de la rponse attendue.
+     */
+    private volatile long answer_deadline;
+
+    /**
+     * La variable <b>timed_out</b> dtermine si le processus a t arrt pour avoir dpass le dlai de rponse.
+     */
+    private volatile boolean timed_out;
+
+    /**
+     * Constructeur de la communication avec un processus de travail.
+     *
+     * @param id - Le numro du processus.
+     * @param process - Le processus de travail.
+     * @param viewport - Le viewport o seront assembls les blocs.
+     * @param queue - La file des blocs  calculer.
+     * @param remaining - Le nombre de blocs qui ne sont pas encore assembls.
+     */
+    private SWorkerConnection(int id, Process process, SViewport viewport, BlockingQueue<int[]> queue, AtomicInteger remaining)
+    {
+      this.id = id;
+      this.process = process;
+      this.viewport = viewport;
+      this.queue = queue;
+      this.remaining = remaining;
+      this.waiting = false;
+      this.answer_deadline = 0;
+      this.timed_out = false;
+    }
+
+    @Override
+    public void run()
+    {
+      DataOutputStream out = new DataOutputStream(new BufferedOutputStream(process.getOutputStream()));
+      DataInputStream in = new DataInputStream(new BufferedInputStream(process.getInputStream()));
+
+      int[] tile = null;
+
+      try{
+
+        //Construction de la scne par le processus
+        out.writeUTF(scene_file_name);
+        out.flush();
+
+        startWaiting();
+        readAnswer(in, SFarmWorker.READY);
+        stopWaiting();
+
+        //Calcul des blocs
+        while(remaining.get() > 0)
+        {
+          tile = queue.poll(POLL_TIMEOUT, TimeUnit.MILLISECONDS);
+
+          if(tile != null)
+          {
+            out.writeInt(SFarmWorker.TILE);
+
+            for(int b : tile)
+              out.writeInt(b);
+
+            out.flush();
+
+            startWaiting();
+            readAnswer(in, SFarmWorker.RESULT);
+
+            float[] channels = new float[(tile[2] - tile[0]) * (tile[3] - tile[1]) * SViewport.getChannelPerPixel()];
+
+            for(int i = 0; i < channels.length; i++)
+              channels[i] = in.readFloat();
+
+            stopWaiting();
+
+            viewport.setRegion(channels, tile[0], tile[1], tile[2], tile[3]);
+
+            tile = null;
+            remaining.decrementAndGet();
+          }
+        }
+
+        out.writeInt(SFarmWorker.EXIT);
+        out.flush();
+        out.close();
+
+        process.waitFor();
+
+      }catch(IOException e){
+        abandon(tile, e.getMessage());
+      }catch(SRuntimeException e){
+        abandon(tile, e.getMessage());
+      }catch(InterruptedException e){
+        abandon(tile, e.getMessage());
+        Thread.currentThread().interrupt();
+      }
+    }
+
+    /**
+     * Mthode pour dbuter l'attente d'une rponse du processus. Le dlai de rponse est compt  partir de cet instant.
+     */
+    private void startWaiting()
+    {
+      answer_deadline = System.nanoTime() + answer_timeout;
+      waiting = true;
+    }
+
+    /**
+     * Mthode pour terminer l'attente d'une rponse du processus.
+     */
+    private void stopWaiting()
+    {
+      waiting = false;
+    }
+
+    /**
+     * Mthode pour dterminer si la rponse attendue du processus dpasse le dlai prvu.
+     *
+     * @param now - Le temps prsent (selon System.nanoTime()).
+     * @return <b>true</b> si le dlai de rponse est dpass et <b>false</b> sinon.
+     */
+    private boolean isOverdue(long now)
+    {
+      return waiting && !timed_out && now - answer_deadline >= 0;
+    }
+
+    /**
+     * Mthode pour arrter un processus bloqu. La lecture en cours de sa rponse choue alors
+     * et son bloc est rassign par le fil de communication (voir <b>abandon</b>).
+     */
+    private void kill()
+    {
+      timed_out = true;
+      process.destroy();
+    }
+
+    /**
+     * Mthode pour lire la rponse d'un processus de travail.
+     *
+     * @param in - Le canal de lecture du processus.
+     * @param expected - La rponse attendue.
+     * @throws IOException Si la rponse n'est pas celle attendue ou si une erreur de communication est survenue.
+     */
+    private void readAnswer(DataInputStream in, int expected) throws IOException
+    {
+      int answer = in.readInt();
+
+      if(answer == SFarmWorker.ERROR)
+        throw new IOException(in.readUTF());
+
+      if(answer != expected)
+        throw new IOException("Erreur SFarmRenderer 005 : La rponse '" + answer + "' du processus de travail " + id + " n'est pas reconnue.");
+    }
+
+    /**
+     * Mthode pour abandonner un processus de travail ayant cess de rpondre. Son bloc en cours est remis dans la file.
+     *
+     * @param tile - Le bloc en cours (peut tre <b>null</b>).
+     * @param message - La raison de l'abandon.
+     */
+    private void abandon(int[] tile, String message)
+    {
+      process.destroy();
+
+      if(timed_out)
+        message = "Le dlai de rponse de " + (answer_timeout / 1e9) + " s est dpass. (" + message + ")";
+
+      if(tile != null)
+      {
+        queue.add(tile);
+        nb_reassigned_tile.incrementAndGet();
+      }
+
+      SLog.logWriteLine("Message SFarmRenderer : Le processus de travail " + id + " a cess" + (tile != null ? " et son bloc est rassign" : "") + "." + SStringUtil.END_LINE_CARACTER + "\t" + message);
+    }
+
+  }//fin de la classe interne SWorkerConnection
+
+}//fin de la classe SFarmRenderer
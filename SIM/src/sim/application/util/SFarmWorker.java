@@ -0,0 +1,214 @@
+/**
+ *
+ */
+package sim.application.util;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.PrintStream;
+
+import sim.exception.SRuntimeException;
+import sim.graphics.SRaytracer;
+import sim.graphics.SScene;
+import sim.graphics.SViewport;
+import sim.util.SLog;
+
+/**
+ * La classe <b>SFarmWorker</b> reprsente un processus de travail d'un rendu rparti (<i>render farm</i>).
+ * Le processus est lanc par un coordonnateur (<b>SFarmRenderer</b>) et communique avec lui par ses canaux standards (<i>stdin</i> et <i>stdout</i>).
+ *
+ * <p>
+ * Protocole (en format binaire DataInputStream/DataOutputStream) :
+ * <ul>- Le coordonnateur envoie le nom du fichier de scne. Le processus construit la scne et son raytracer (incluant l'espace des gomtries)
+ * une seule fois et rpond READY (ou ERROR suivi d'un message).</ul>
+ * <ul>- Le coordonnateur envoie TILE suivi des bornes {x_min, y_min, x_max, y_max} d'un bloc. Le processus rpond RESULT suivi des canaux RGBA du bloc
+ * (ou ERROR suivi d'un message).</ul>
+ * <ul>- Le coordonnateur envoie EXIT pour terminer le processus.</ul>
+ * </p>
+ *
+ * <p>
+ * Puisque la sortie standard est rserve au protocole, les messages du processus (log) sont redirigs vers la sortie d'erreur.
+ * </p>
+ *
+ * @author Simon Vzina
+ * @since 2026-10-17
+ * @version 2026-10-17
+ */
+public class SFarmWorker {
+
+  //--------------
+  // CONSTANTES //
+  //--------------
+
+  /**
+   * La constante <b>EXIT</b> correspond  la commande de fin du processus.
+   */
+  public static final int EXIT = 0;
+
+  /**
+   * La constante <b>TILE</b> correspond  la commande de calcul d'un bloc de pixels.
+   */
+  public static final int TILE = 1;
+
+  /**
+   * La constante <b>READY</b> correspond  la rponse d'un processus prt  calculer des blocs.
+   */
+  public static final int READY = 2;
+
+  /**
+   * La constante <b>RESULT</b> correspond  la rponse contenant les canaux d'un bloc calcul.
+   */
+  public static final int RESULT = 3;
+
+  /**
+   * La constante <b>ERROR</b> correspond  la rponse d'un processus ayant rencontr une erreur.
+   */
+  public static final int ERROR = 4;
+
+  //-------------
+  // VARIABLES //
+  //-------------
+
+  /**
+   * La variable <b>in</b> correspond au canal de lecture des commandes du coordonnateur.
+   */
+  private final DataInputStream in;
+
+  /**
+   * La variable <b>out</b> correspond au canal d'criture des rponses au coordonnateur.
+   */
+  private final DataOutputStream out;
+
+  //----------------
+  // CONSTRUCTEUR //
+  //----------------
+
+  /**
+   * Constructeur d'un processus de travail.
+   *
+   * @param in - Le canal de lecture des commandes.
+   * @param out - Le canal d'criture des rponses.
+   */
+  public SFarmWorker(DataInputStream in, DataOutputStream out)
+  {
+    this.in = in;
+    this.out = out;
+  }
+
+  //------------
+  // MTHODES //
+  //------------
+
+  /**
+   * Lancement d'un processus de travail communiquant par ses canaux standards.
+   *
+   * @param args - Aucun paramtre.
+   */
+  public static void main(String[] args)
+  {
+    // Rserver la sortie standard au protocole
+    PrintStream protocol_out = System.out;
+    System.setOut(System.err);
+
+    // Le fichier log appartient au coordonnateur
+    SLog.setFileLog(false);
+
+    SFarmWorker worker = new SFarmWorker(new DataInputStream(new BufferedInputStream(System.in)), new DataOutputStream(new BufferedOutputStream(protocol_out)));
+
+    try{
+      worker.run();
+    }catch(IOException e){
+      // Le coordonnateur a ferm la communication : le processus se termine
+      SLog.logWriteLine("Message SFarmWorker : La communication avec le coordonnateur est interrompue." + " (" + e.getMessage() + ")");
+    }
+
+    System.exit(0);
+  }
+
+  /**
+   * Mthode pour traiter les commandes du coordonnateur jusqu' la commande EXIT.
+   *
+   * @throws IOException Si une erreur de communication est survenue.
+   */
+  public void run() throws IOException
+  {
+    // Construction de la scne et du raytracer (conservs pour l'ensemble des blocs)
+    String file_name = in.readUTF();
+
+    SScene scene;
+    SRaytracer raytracer;
+
+    try{
+      scene = new SScene(file_name);
+      raytracer = scene.buildRaytracer();
+    }catch(Exception e){
+      writeError("Erreur SFarmWorker 001 : La scne '" + file_name + "' n'a pas pu tre construite. " + e.getMessage());
+      return;
+    }
+
+    out.writeInt(READY);
+    out.flush();
+
+    SViewport viewport = scene.getViewport();
+
+    try{
+
+      int command = in.readInt();
+
+      while(command == TILE)
+      {
+        int x_min = in.readInt();
+        int y_min = in.readInt();
+        int x_max = in.readInt();
+        int y_max = in.readInt();
+
+        float[] channels;
+
+        try{
+          raytracer.raytraceRegion(x_min, y_min, x_max, y_max);
+
+          channels = new float[(x_max - x_min) * (y_max - y_min) * SViewport.getChannelPerPixel()];
+          viewport.getRegion(channels, x_min, y_min, x_max, y_max);
+        }catch(SRuntimeException e){
+          writeError("Erreur SFarmWorker 002 : Le bloc [" + x_min + "," + x_max + "[ x [" + y_min + "," + y_max + "[ n'a pas pu tre calcul. " + e.getMessage());
+          return;
+        }
+
+        out.writeInt(RESULT);
+
+        for(float c : channels)
+          out.writeFloat(c);
+
+        out.flush();
+
+        command = in.readInt();
+      }
+
+      if(command != EXIT)
+        writeError("Erreur SFarmWorker 003 : La commande '" + command + "' n'est pas reconnue.");
+
+    }finally{
+      raytracer.close();
+      viewport.close();
+    }
+  }
+
+  /**
+   * Mthode pour transmettre une erreur au coordonnateur.
+   *
+   * @param message - Le message d'erreur.
+   * @throws IOException Si une erreur de communication est survenue.
+   */
+  private void writeError(String message) throws IOException
+  {
+    SLog.logWriteLine(message);
+
+    out.writeInt(ERROR);
+    out.writeUTF(message);
+    out.flush();
+  }
+
+}//fin de la classe SFarmWorker
@@ -8,9 +8,11 @@ import javax.swing.JFrame;
 import javax.swing.border.EmptyBorder;
 
 import sim.exception.SConstructorException;
-import sim.geometry.space.SAbstractGeometrySpace;
+import sim.geometry.space.SIntersectionStatistics;
 import sim.graphics.SRaytracer;
+import sim.graphics.SImageEncoder;
 import sim.graphics.SScene;
+import sim.graphics.SViewport;
 import sim.util.SChronometer;
 import sim.util.SLog;
 import sim.util.SStringUtil;
@@ -20,7 +22,7 @@ import sim.util.SStringUtil;
  * 
  * @author Simon Vzina
  * @since 2015-08-22
- * @version 2016-01-01
+ * @version 2026-10-17
  */
 public class SJFrameRenderer extends JFrame {
 
@@ -84,6 +86,7 @@ public class SJFrameRenderer extends JFrame {
       
       //Ray tracing
       chrono.start();
+      SIntersectionStatistics.reset();
       SLog.logWriteLine("Message SJFrameRenderer : Dbut du raytracing.");
       
       //Construction du raytracer
@@ -93,20 +96,40 @@ public class SJFrameRenderer extends JFrame {
       setBounds(100, 100, scene.getViewport().getWidth(), scene.getViewport().getHeight());
       
       //Effectuer le ray tracing ligne par ligne
-      int nb_pixels = scene.getViewport().getWidth()*NB_LINE_BEFORE_REPAINT;
+      SViewport viewport = scene.getViewport();
+      int width = viewport.getWidth();
+      int nb_pixels = width*NB_LINE_BEFORE_REPAINT;
       
-      while(scene.getViewport().hasNextPixel())
-      {
-        raytracer.raytrace(nb_pixels);
-        contentPane.setBufferedImage(scene.getViewport().getBufferedImage());
-        repaint();
+      //Image persistante du panneau : seules les lignes calcules y sont recopies
+      contentPane.setImageSize(width, viewport.getHeight());
+      
+      try{
+        
+        while(viewport.hasNextPixel())
+        {
+          long begin = viewport.getNbClaimedPixels();
+          
+          raytracer.raytrace(nb_pixels);
+          
+          long end = viewport.getNbClaimedPixels();
+          
+          //Une nouvelle passe a dbut (raffinement progressif) : la passe prcdente s'est termine  la fin de l'image
+          if(end <= begin)
+            end = viewport.getNbPixels();
+          
+          contentPane.update(viewport, 0, (int)(begin / width), width, (int)((end + width - 1) / width));
+        }
+        
+      }finally{
+        //Librer les fils d'excution du raytracer (mme si le calcul a chou)
+        raytracer.close();
       }
                        
       chrono.stop();
       
       SLog.logWriteLine("Message SJFrameRenderer : Fin du raytracing.");
       SLog.logWriteLine("Message SJFrameRenderer : Dure : " + chrono.getTime() + " s.");
-      SLog.logWriteLine("Message SJFrameRenderer : Nombre de tests d'intersection raliss : " + SAbstractGeometrySpace.getIntersectionTestCount() + " tests.");
+      SIntersectionStatistics.logReport("SJFrameRenderer");
       
       SLog.logWriteLine("");
       
@@ -114,8 +137,17 @@ public class SJFrameRenderer extends JFrame {
       chrono.start();
       SLog.logWriteLine("Message SJFrameRenderer : criture de l'image.");
       
-      //criture du fichier png
-      scene.getViewport().writeImage();
+      //criture du fichier png (conversion et compression par bandes en parallle)
+      SImageEncoder encoder = new SImageEncoder();
+      
+      try{
+        SImageEncoder.waitFor(scene.getViewport().writeImage(encoder));
+      }finally{
+        encoder.close();
+        
+        //Librer le tampon de l'image (projection en mmoire et fichier de travail)
+        scene.getViewport().close();
+      }
       
       chrono.stop();
       SLog.logWriteLine("Message SJFrameRenderer : Fin de l'criture de l'image.");
@@ -4,14 +4,25 @@ import java.awt.Graphics;
 import java.awt.Graphics2D;
 import java.awt.RenderingHints;
 import java.awt.image.BufferedImage;
+import java.awt.image.DataBufferInt;
 
 import javax.swing.JPanel;
 
+import sim.exception.SRuntimeException;
+import sim.graphics.SViewport;
+
 /**
+ * La classe <b>SJPanelRenderer</b> reprsente le panneau affichant l'image calcule par le <i>ray tracer</i>.
+ * 
+ * <p>
+ * L'image affiche est un tampon persistant (BufferedImage de type TYPE_INT_RGB) dans lequel seules les rgions 
+ * nouvellement calcules du viewport sont recopies. La demande d'affichage se limite  la rgion modifie et
+ * les demandes successives sont regroupes par le RepaintManager de Swing en un seul dessin sur l'EDT.
+ * </p>
  * 
  * @author Simon Vzina
  * @since 2015-08-22
- * @version 2015-09-12
+ * @version 2026-10-17
  */
 public class SJPanelRenderer extends JPanel {
 
@@ -20,14 +31,23 @@ public class SJPanelRenderer extends JPanel {
    */
   private static final long serialVersionUID = -8117857790526440072L;
   
-  private BufferedImage image;
+  /**
+   * La variable <b>image</b> correspond  l'image affiche par le panneau.
+   */
+  private volatile BufferedImage image;
+  
+  /**
+   * La variable <b>rgb</b> correspond au tampon de couleurs de l'image affiche (<b>null</b> si l'image n'a pas t construite par le panneau).
+   */
+  private int[] rgb;
   
   /**
    * Create the panel.
    */
   public SJPanelRenderer()
   {
-    
+    image = null;
+    rgb = null;
   }
 
   /**
@@ -37,36 +57,72 @@ public class SJPanelRenderer extends JPanel {
   public void setBufferedImage(BufferedImage image)
   {
     this.image = image;
+    this.rgb = null;
+    
+    repaint();
   }
   
-  @Override
-  public void paintComponent(Graphics g) 
-  { 
-    //------------------------------------------------------------------
-    //Procdure de redimensionnement en fonction de la taille du jpanel
-    //------------------------------------------------------------------
+  /**
+   * Mthode pour construire l'image persistante du panneau ayant la taille d'un viewport.
+   * L'image est initialement noire et sera mise  jour par rgion  l'aide de la mthode <b>update</b>.
+   * 
+   * @param width - La largeur de l'image.
+   * @param height - La hauteur de l'image.
+   */
+  public void setImageSize(int width, int height)
+  {
+    image = new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB);
+    rgb = ((DataBufferInt)image.getRaster().getDataBuffer()).getData();
     
-    // Dimension du JPanel en taille de type --> jpanel.setPreferredSize(getMaximumSize());
-    int width = this.getWidth();
-    int height = this.getHeight();
+    repaint();
+  }
+  
+  /**
+   * Mthode pour recopier une rgion du viewport dans l'image persistante du panneau et demander l'affichage de cette rgion.
+   * Cette mthode peut tre appele  l'extrieur de l'EDT.
+   * 
+   * @param viewport - Le viewport contenant les couleurs calcules.
+   * @param x_min - La coordonne x minimale (incluse).
+   * @param y_min - La coordonne y minimale (incluse).
+   * @param x_max - La coordonne x maximale (exclue).
+   * @param y_max - La coordonne y maximale (exclue).
+   * @throws SRuntimeException Si l'image persistante n'a pas la taille du viewport.
+   */
+  public void update(SViewport viewport, int x_min, int y_min, int x_max, int y_max) throws SRuntimeException
+  {
+    if(rgb == null || image.getWidth() != viewport.getWidth() || image.getHeight() != viewport.getHeight())
+      throw new SRuntimeException("Erreur SJPanelRenderer 001 : L'image du panneau n'a pas t construite  la taille du viewport.");
     
-    // Create new (blank) image of required (scaled) size
-    BufferedImage scaledImage = new BufferedImage(width, height,BufferedImage.TYPE_INT_ARGB);
+    if(x_min >= x_max || y_min >= y_max)
+      return;
     
-    // Paint scaled version of image to new image
-    Graphics2D graphics2D = scaledImage.createGraphics();
-    graphics2D.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
-    graphics2D.drawImage(image, 0, 0, width, height, null);
+    viewport.copyRGB(rgb, x_min, y_min, x_max, y_max);
     
-    // clean up
-    graphics2D.dispose();
+    // Rgion correspondante dans le panneau (l'image est tire  la taille du panneau), avec une marge d'un pixel pour l'interpolation
+    double scale_x = (double)getWidth() / image.getWidth();
+    double scale_y = (double)getHeight() / image.getHeight();
     
-    //--------------------------------
-    //Dessiner l'image redimensionne
-    //--------------------------------
+    int px = (int)Math.floor(x_min * scale_x) - 1;
+    int py = (int)Math.floor(y_min * scale_y) - 1;
+    int pw = (int)Math.ceil(x_max * scale_x) + 1 - px;
+    int ph = (int)Math.ceil(y_max * scale_y) + 1 - py;
     
-    g.drawImage(scaledImage, 0, 0, null); 
-    repaint(); 
+    repaint(px, py, pw, ph);
+  }
+  
+  @Override
+  public void paintComponent(Graphics g) 
+  { 
+    super.paintComponent(g);
+    
+    if(image == null)
+      return;
+    
+    // Dessiner l'image redimensionne  la taille du JPanel --> jpanel.setPreferredSize(getMaximumSize());
+    // Seule la rgion  mettre  jour (clip) est rellement dessine.
+    Graphics2D graphics2D = (Graphics2D)g;
+    graphics2D.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+    graphics2D.drawImage(image, 0, 0, getWidth(), getHeight(), null);
   } 
 
 }//fin de la classe SJPanelRenderer
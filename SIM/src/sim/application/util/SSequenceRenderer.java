@@ -0,0 +1,149 @@
+/**
+ *
+ */
+package sim.application.util;
+
+import java.io.FileNotFoundException;
+import java.io.IOException;
+
+import sim.exception.SConstructorException;
+import sim.exception.SRuntimeException;
+import sim.geometry.space.SIntersectionStatistics;
+import sim.graphics.SRaytracer;
+import sim.graphics.SImageEncoder;
+import sim.graphics.SScene;
+import sim.graphics.SViewport;
+import sim.util.SChronometer;
+import sim.util.SLog;
+import sim.util.SStringUtil;
+
+/**
+ * La classe <b>SSequenceRenderer</b> reprsente une console permettant de gnrer une squence d'images (animation) par
+ * calcul de <i>ray tracing</i>  partir d'un fichier de configuration.
+ * <p>La scne est lue une seule fois. Les gomtries tant statiques, l'espace des gomtries (structure d'acclration) est construit
+ * lors du rendu de la premire image et rutilis pour les suivantes. Seuls la camra et les sources de lumire sont interpoles
+ *  chaque image  partir des images cls de la scne.</p>
+ * <p>Les images sont converties et compresses en arrire-plan (voir SImageEncoder) : le rendu d'une image dbute ds que
+ * la prcdente a t copie.</p>
+ *
+ * @author Simon Vzina
+ * @since 2026-10-17
+ * @version 2026-10-17
+ */
+public class SSequenceRenderer {
+
+  /**
+   * Mthode pour lancer l'application du ray tracer en format "squence".
+   * @param config - La configuration de l'application.
+   */
+  public static void raytrace(SConfiguration config)
+  {
+    try
+    {
+      SChronometer chrono = new SChronometer();
+
+      //Lecture de la scne
+      chrono.start();
+      SLog.logWriteLine("Message SSequenceRenderer : Lecture de la scne '" + config.getReadDataFileName() + "'.");
+
+      SScene scene = new SScene(config.getReadDataFileName());
+
+      chrono.stop();
+      SLog.logWriteLine("Message SSequenceRenderer : Fin de la lecture de la scne.");
+      SLog.logWriteLine("Message SSequenceRenderer : Dure : " + chrono.getTime() + " s.");
+      SLog.logWriteLine("");
+
+      SViewport viewport = scene.getViewport();
+      int nb_frame = scene.getNbFrame();
+
+      SLog.logWriteLine("Message SSequenceRenderer : Dbut du raytracing d'une squence de " + nb_frame + " images.");
+
+      SChronometer sequence_chrono = new SChronometer();
+      sequence_chrono.start();
+
+      // Les images sont crites en arrire-plan pendant le rendu des images suivantes
+      SImageEncoder encoder = new SImageEncoder();
+
+      double first_frame_time = 0.0;
+      double other_frame_time = 0.0;
+
+      try{
+
+        for(int frame = 0; frame < nb_frame; frame++)
+        {
+          chrono.start();
+          SIntersectionStatistics.reset();
+
+          // Construction du raytracer de l'image (l'espace des gomtries est construit  la premire image seulement)
+          scene.setFrame(frame);
+          SRaytracer raytracer = scene.buildRaytracer();
+
+          viewport.clear();
+
+          try{
+            // Effectuer le ray tracing de l'image (incluant les passes suivantes d'un raffinement progressif)
+            long pixels = raytracer.nbPixels();
+
+            raytracer.raytrace(pixels);
+
+            while(viewport.hasNextPixel())
+              raytracer.raytrace(pixels);
+          }finally{
+            // Librer les fils d'excution du raytracer (mme si le calcul a chou)
+            raytracer.close();
+          }
+
+          // criture de l'image en arrire-plan (numrote automatiquement par le viewport). Le viewport est copi avant le retour.
+          viewport.writeImage(encoder);
+
+          chrono.stop();
+
+          if(frame == 0)
+            first_frame_time = chrono.getTime();
+          else
+            other_frame_time += chrono.getTime();
+
+          SLog.logWriteLine("Message SSequenceRenderer : Image " + (frame+1) + "/" + nb_frame + " termine. Dure : " + chrono.getTime() + " s.");
+        }
+
+      }finally{
+        // Attendre l'criture des dernires images (mme si le calcul a chou)
+        encoder.close();
+
+        // Librer le tampon de l'image (projection en mmoire et fichier de travail)
+        viewport.close();
+      }
+
+      sequence_chrono.stop();
+
+      SLog.logWriteLine();
+      SLog.logWriteLine("Message SSequenceRenderer : Fin du raytracing de la squence.");
+      SLog.logWriteLine("Message SSequenceRenderer : Dure : " + sequence_chrono.getTime() + " s.");
+      SLog.logWriteLine("Message SSequenceRenderer : Dure de la premire image (incluant la construction de l'espace des gomtries) : " + first_frame_time + " s.");
+
+      if(nb_frame > 1)
+        SLog.logWriteLine("Message SSequenceRenderer : Dure moyenne des images suivantes : " + (other_frame_time / (nb_frame - 1)) + " s.");
+
+      SLog.logWriteLine("");
+
+      //criture de la scne
+      scene.write(config.getWriteDataFileName());
+
+    }catch(FileNotFoundException e){
+      SLog.logWriteLine("Message SSequenceRenderer : Une erreur de type FileNotFoundException est survenue." + SStringUtil.END_LINE_CARACTER + "\t" + e.getMessage());
+      e.printStackTrace();
+    }catch(SConstructorException e){
+      SLog.logWriteLine("Message SSequenceRenderer : Une erreur de type SConstructorException est survenue." + SStringUtil.END_LINE_CARACTER + "\t" + e.getMessage());
+      e.printStackTrace();
+    }catch(SRuntimeException e){
+      SLog.logWriteLine("Message SSequenceRenderer : Une erreur de type SRuntimeException est survenue." + SStringUtil.END_LINE_CARACTER + "\t" + e.getMessage());
+      e.printStackTrace();
+    }catch(IOException e){
+      // Exception lance s'il y a un problme en mmoire lors de la lecture/criture d'un fichier
+      e.printStackTrace();
+    }
+
+    SLog.logWriteLine("Message SSequenceRenderer : Fin de l'application.");
+  }
+
+}//fin de la classe SSequenceRenderer
@@ -16,7 +16,7 @@ import sim.util.SInitializationException;
  * 
  * @author Simon Vzina
  * @since 2014-12-30
- * @version 2015-11-28
+ * @version 2026-10-17
  */
 public abstract class SAbstractGeometry extends SAbstractReadableWriteable implements SGeometry {
 
@@ -33,6 +33,7 @@ public abstract class SAbstractGeometry extends SAbstractReadableWriteable imple
 	public static final int CUBE_CODE = 10;
 	public static final int SPHERICAL_CAP_CODE = 11;
 	public static final int LENS_CODE = 12;
+	public static final int INSTANCE_CODE = 13;
 	
   private static long next_id = 1;		   //prochaine numro d'identification  attribuer  la prochaine gomtrie qui sera instancie
 	
@@ -109,6 +110,45 @@ public abstract class SAbstractGeometry extends SAbstractReadableWriteable imple
 	    return false;
   } 
 		
+	/**
+	 * Mthode effectuant le calcul de l'intersection en deux tapes : le calcul du temps de l'intersection 
+	 * par la mthode <b>intersectionTime</b> suivi de l'valuation de ses caractristiques par la mthode <b>completeHit</b>.
+	 */
+	@Override
+	public SRay intersection(SRay ray) throws SRuntimeException
+	{
+	  double t = intersectionTime(ray);
+	  
+	  if(t == NO_INTERSECTION)
+	    return ray;
+	  else
+	    return completeHit(ray, t);
+	}
+	
+	/**
+	 * Mthode retenant le temps de l'intersection obtenu par la mthode <b>intersectionTime</b> uniquement s'il prcde le temps maximal.
+	 */
+	@Override
+	public double intersectionTime(SRay ray, double t_max) throws SRuntimeException
+	{
+	  double t = intersectionTime(ray);
+	  
+	  if(t < t_max)
+	    return t;
+	  else
+	    return NO_INTERSECTION;
+	}
+	
+	/**
+	 * Mthode construisant le rayon intersect  partir de la normale et du sens de l'intersection 
+	 * valus par les mthodes <b>evaluateIntersectionNormal</b> et <b>isInsideIntersection</b>.
+	 */
+	@Override
+	public SRay completeHit(SRay ray, double t) throws SRuntimeException
+	{
+	  return ray.intersection(this, evaluateIntersectionNormal(ray, t), t, isInsideIntersection(ray, t));
+	}
+	
 	/**
 	 * Mthode pour dterminer si l'intersection est ralise sur la gomtrie par l'intrieur.
 	 * Avant d'utiliser cette mthode, il faut pralablement valuer le temps pour raliser l'intersection.
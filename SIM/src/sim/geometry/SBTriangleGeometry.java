@@ -27,7 +27,7 @@ import sim.util.SStringUtil;
  * 
  * @author Simon Vzina
  * @since 2015-03-11
- * @version 2015-12-21
+ * @version 2026-10-17
  */
 public class SBTriangleGeometry extends STriangleGeometry {
 
@@ -324,13 +324,13 @@ public class SBTriangleGeometry extends STriangleGeometry {
   }
   
   @Override
-  public SRay intersection(SRay ray) throws SRuntimeException
+  public double intersectionTime(SRay ray) throws SRuntimeException
   {
     //S'assurer que le rayon n'a rien intersect auparavant
     if(ray.asIntersected())
       throw new SRuntimeException("Erreur SBTriangleGeometry 004 : Le rayon a dj intersect une autre gomtrie.");
         
-    return ray;
+    return NO_INTERSECTION;
   }
 
   @Override
@@ -25,7 +25,7 @@ import sim.util.SStringUtil;
  * 
  * @author Simon Vzina
  * @since 2015-08-11
- * @version 2015-12-02
+ * @version 2026-10-17
  */
 public class SConeGeometry extends STubeGeometry {
 
@@ -108,13 +108,13 @@ public class SConeGeometry extends STubeGeometry {
   }
 
   @Override
-  public SRay intersection(SRay ray) throws SRuntimeException
+  public double intersectionTime(SRay ray) throws SRuntimeException
   {
     //S'assurer que le rayon n'a rien intersect auparavant
     if(ray.asIntersected())
       throw new SRuntimeException("Erreur SSphereGeometry 003 : Le rayon a dj intersect une autre gomtrie.");
   
-    return ray;
+    return NO_INTERSECTION;
   }
     
   @Override
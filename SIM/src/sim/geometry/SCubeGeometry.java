@@ -24,7 +24,7 @@ import sim.util.SStringUtil;
  * 
  * @author Simon Vzina
  * @since 2015-10-19
- * @version 2015-12-02
+ * @version 2026-10-17
  */
 public class SCubeGeometry extends SAbstractGeometry {
 
@@ -164,6 +164,26 @@ public class SCubeGeometry extends SAbstractGeometry {
     return SAbstractGeometry.CUBE_CODE;
   }
 
+  /**
+   * Mthode pour obtenir la position du centre du cube.
+   *
+   * @return La position du centre du cube.
+   */
+  public SVector3d getPosition()
+  {
+    return position;
+  }
+
+  /**
+   * Mthode pour obtenir la taille (longueur d'une arte) du cube.
+   *
+   * @return La taille du cube.
+   */
+  public double getSize()
+  {
+    return size;
+  }
+
   @Override
   public boolean isClosedGeometry()
   {
@@ -202,158 +222,157 @@ public class SCubeGeometry extends SAbstractGeometry {
     return true;
   }
 
-  /* (non-Javadoc)
-   * @see sim.geometry.SGeometry#intersection(sim.geometry.SRay)
-   */
   @Override
-  public SRay intersection(SRay ray) throws SRuntimeException
+  public double intersectionTime(SRay ray) throws SRuntimeException
   {
     //S'assurer que le rayon n'a rien intersect auparavant
     if(ray.asIntersected())
       throw new SRuntimeException("Erreur SCubeGeometry 004 : Le rayon a dj intersect une autre gomtrie.");
     
-    //Considrons que l'intersection la plus prs est un rayon sans intersection
-    SRay closer_intersection_ray = ray;
+    //Considrons que l'intersection la plus prs est sans intersection
+    double closer_t = NO_INTERSECTION;
     
-    //Effectuons la mise  jour du rayon d'intersection le plus prs en testant avec les 6 plans du cube.
+    //Effectuons la mise  jour du temps d'intersection le plus prs en testant avec les 6 plans du cube.
     //Une affectation avec l'intersection le plus prs sera dtermin dans l'appel des mthodes qui suivent.
-    closer_intersection_ray = intersectionPlaneXY(ray, closer_intersection_ray, planeXYplus, PLANE_XY_PLUS_NORMAL);
-    closer_intersection_ray = intersectionPlaneXY(ray, closer_intersection_ray, planeXYneg, PLANE_XY_NEG_NORMAL);
+    closer_t = intersectionTimePlaneXY(ray, closer_t, planeXYplus);
+    closer_t = intersectionTimePlaneXY(ray, closer_t, planeXYneg);
     
-    closer_intersection_ray = intersectionPlaneXZ(ray, closer_intersection_ray, planeXZplus, PLANE_XZ_PLUS_NORMAL);
-    closer_intersection_ray = intersectionPlaneXZ(ray, closer_intersection_ray, planeXZneg, PLANE_XZ_NEG_NORMAL);
+    closer_t = intersectionTimePlaneXZ(ray, closer_t, planeXZplus);
+    closer_t = intersectionTimePlaneXZ(ray, closer_t, planeXZneg);
     
-    closer_intersection_ray = intersectionPlaneYZ(ray, closer_intersection_ray, planeYZplus, PLANE_YZ_PLUS_NORMAL);
-    closer_intersection_ray = intersectionPlaneYZ(ray, closer_intersection_ray, planeYZneg, PLANE_YZ_NEG_NORMAL);
+    closer_t = intersectionTimePlaneYZ(ray, closer_t, planeYZplus);
+    closer_t = intersectionTimePlaneYZ(ray, closer_t, planeYZneg);
     
-    return closer_intersection_ray;
+    return closer_t;
   }
-
+  
+  @Override
+  public SRay completeHit(SRay ray, double t) throws SRuntimeException
+  {
+    //Retrouver la face du cube intersecte au temps t (dans le mme ordre que le calcul du temps de l'intersection)
+    if(intersectionTimePlaneXY(ray, NO_INTERSECTION, planeXYplus) == t)
+      return completeHit(ray, t, planeXYplus, PLANE_XY_PLUS_NORMAL);
+    
+    if(intersectionTimePlaneXY(ray, NO_INTERSECTION, planeXYneg) == t)
+      return completeHit(ray, t, planeXYneg, PLANE_XY_NEG_NORMAL);
+    
+    if(intersectionTimePlaneXZ(ray, NO_INTERSECTION, planeXZplus) == t)
+      return completeHit(ray, t, planeXZplus, PLANE_XZ_PLUS_NORMAL);
+    
+    if(intersectionTimePlaneXZ(ray, NO_INTERSECTION, planeXZneg) == t)
+      return completeHit(ray, t, planeXZneg, PLANE_XZ_NEG_NORMAL);
+    
+    if(intersectionTimePlaneYZ(ray, NO_INTERSECTION, planeYZplus) == t)
+      return completeHit(ray, t, planeYZplus, PLANE_YZ_PLUS_NORMAL);
+    
+    if(intersectionTimePlaneYZ(ray, NO_INTERSECTION, planeYZneg) == t)
+      return completeHit(ray, t, planeYZneg, PLANE_YZ_NEG_NORMAL);
+    
+    throw new SRuntimeException("Erreur SCubeGeometry 008 : Le temps t = " + t + " ne correspond  l'intersection d'aucune face du cube.");
+  }
+  
+  /**
+   * Mthode pour construire le rayon intersect sur une face du cube. 
+   * Il ne reste qu' dterminer si l'intersection se fait par l'intrieur ou l'extrieur du cube.
+   * 
+   * @param ray - Le rayon ayant ralis l'intersection.
+   * @param t - Le temps de l'intersection.
+   * @param plane - Le plan de la face intersecte.
+   * @param outside_normal - La normale  la surface de la face pointant vers l'extrieur du cube.
+   * @return Le rayon intersect.
+   */
+  private SRay completeHit(SRay ray, double t, SPlaneGeometry plane, SVector3d outside_normal)
+  {
+    SVector3d normal = plane.evaluateIntersectionNormal(ray, t);
+    
+    if(normal.dot(outside_normal) > 0.0)
+      return ray.intersection(this, normal, t, false);
+    else
+      return ray.intersection(this, normal, t, true);
+  }
+  
   /**
-   * Mthode qui effectue l'intersection d'un ray avec un plan xy. Si l'intersection est ralise, on compare le temps de l'intersection
-   * avec le temps d'intersection d'un autre rayon pour connatre la plus rapproche. Si la nouvelle intersection est plus prs,
-   * on value ses caractristiques et l'on retourne un nouveau rayon avec la nouvelle intersection, sinon on retourne l'ancien rayon. 
+   * Mthode qui effectue l'intersection d'un ray avec un plan xy. Si l'intersection est ralise  l'intrieur de la face du cube, 
+   * on compare le temps de l'intersection avec le temps d'intersection le plus prs trouv jusqu' prsent et l'on retourne le plus petit des deux. 
    *  
    * @param ray - Le rayon ralisant l'intersection avec le plan xy.
-   * @param closer_intersection_ray - Un rayon ayant pralablement dj ralis une intersection avec une autre face du cube.
+   * @param closer_t - Le temps de l'intersection la plus prs pralablement ralise avec une autre face du cube.
    * @param plane - Le plan xy  intersect dont la position z peut diffrer d'un test  un autre.
-   * @param outside_normal - La normale  la surface du plan xy pointant vers l'extrieur du cube.
-   * @return Un nouveau rayon intersect si la nouvelle intersection est plus prs que l'ancienne intersection, sinon on retourne le rayon <i>closer_intersection_ray</i>. 
+   * @return Le temps de la nouvelle intersection si elle est plus prs que l'ancienne intersection, sinon on retourne le temps <i>closer_t</i>. 
    */
-  private SRay intersectionPlaneXY(SRay ray, SRay closer_intersection_ray, SPlaneGeometry plane, SVector3d outside_normal)
+  private double intersectionTimePlaneXY(SRay ray, double closer_t, SPlaneGeometry plane)
   {
-    //Raliser le test de l'intersection sur le plan XY plus
-    SRay intersection_ray = plane.intersection(ray);
+    //Raliser le test de l'intersection sur le plan XY
+    double t = plane.intersectionTime(ray);
     
-    if(!intersection_ray.asIntersected())
-      return closer_intersection_ray;
-    
-    //valuons les caractristiques de l'intersection uniquement si elle est plus prs que l'intersection prcdente
-    if(intersection_ray.getT() < closer_intersection_ray.getT())
+    //Vrifions l'intersection uniquement si elle est plus prs que l'intersection prcdente
+    if(t < closer_t)
     {
       //Vrifions si l'intersection est  l'intrieur du carr en utilisant une position d'intersection par rapport au centre du cube
-      SVector3d p = intersection_ray.getIntersectionPosition().substract(position);
+      SVector3d p = ray.getPosition(t).substract(position);
       
       if(    p.getX() < positive_half_size && p.getX() > negative_half_size
           && p.getY() < positive_half_size && p.getY() > negative_half_size)
-      {
-        //Puisque l'intersection se ralise  l'intrieur du carr, 
-        //il ne reste plus qu' dterminer si l'intersection se fait par l'intrieur ou l'extrieur du cube
-        if(intersection_ray.getNormal().dot(outside_normal) > 0.0)
-          return ray.intersection(this, intersection_ray.getNormal(), intersection_ray.getT(), false);
-        else
-          return ray.intersection(this, intersection_ray.getNormal(), intersection_ray.getT(), true);
-      }
-      else
-        return closer_intersection_ray;
+        return t;
     }
-    else
-      return closer_intersection_ray;
+    
+    return closer_t;
   }
   
   /**
-    * Mthode qui effectue l'intersection d'un ray avec un plan xz. Si l'intersection est ralise, on compare le temps de l'intersection
-   * avec le temps d'intersection d'un autre rayon pour connatre la plus rapproche. Si la nouvelle intersection est plus prs,
-   * on value ses caractristiques et l'on retourne un nouveau rayon avec la nouvelle intersection, sinon on retourne l'ancien rayon. 
+   * Mthode qui effectue l'intersection d'un ray avec un plan xz. Si l'intersection est ralise  l'intrieur de la face du cube, 
+   * on compare le temps de l'intersection avec le temps d'intersection le plus prs trouv jusqu' prsent et l'on retourne le plus petit des deux. 
    *  
    * @param ray - Le rayon ralisant l'intersection avec le plan xz.
-   * @param closer_intersection_ray - Un rayon ayant pralablement dj ralis une intersection avec une autre face du cube.
+   * @param closer_t - Le temps de l'intersection la plus prs pralablement ralise avec une autre face du cube.
    * @param plane - Le plan xz  intersect dont la position y peut diffrer d'un test  un autre.
-   * @param outside_normal - La normale  la surface du plan xz pointant vers l'extrieur du cube.
-   * @return Un nouveau rayon intersect si la nouvelle intersection est plus prs que l'ancienne intersection, sinon on retourne le rayon <i>closer_intersection_ray</i>. 
+   * @return Le temps de la nouvelle intersection si elle est plus prs que l'ancienne intersection, sinon on retourne le temps <i>closer_t</i>. 
    */
-  private SRay intersectionPlaneXZ(SRay ray, SRay closer_intersection_ray, SPlaneGeometry plane, SVector3d outside_normal)
+  private double intersectionTimePlaneXZ(SRay ray, double closer_t, SPlaneGeometry plane)
   {
-    //Raliser le test de l'intersection sur le plan XZ plus
-    SRay intersection_ray = plane.intersection(ray);
+    //Raliser le test de l'intersection sur le plan XZ
+    double t = plane.intersectionTime(ray);
     
-    if(!intersection_ray.asIntersected())
-      return closer_intersection_ray;
-    
-    //valuons les caractristiques de l'intersection uniquement si elle est plus prs que l'intersection prcdente
-    if(intersection_ray.getT() < closer_intersection_ray.getT())
+    //Vrifions l'intersection uniquement si elle est plus prs que l'intersection prcdente
+    if(t < closer_t)
     {
       //Vrifions si l'intersection est  l'intrieur du carr en utilisant une position d'intersection par rapport au centre du cube
-      SVector3d p = intersection_ray.getIntersectionPosition().substract(position);
+      SVector3d p = ray.getPosition(t).substract(position);
       
       if(    p.getX() < positive_half_size && p.getX() > negative_half_size
           && p.getZ() < positive_half_size && p.getZ() > negative_half_size)
-      {
-        //Puisque l'intersection se ralise  l'intrieur du carr, 
-        //il ne reste plus qu' dterminer si l'intersection se fait par l'intrieur ou l'extrieur du cube
-        if(intersection_ray.getNormal().dot(outside_normal) > 0.0)
-          return ray.intersection(this, intersection_ray.getNormal(), intersection_ray.getT(), false);
-        else
-          return ray.intersection(this, intersection_ray.getNormal(), intersection_ray.getT(), true);
-      }
-      else
-        return closer_intersection_ray;
+        return t;
     }
-    else
-      return closer_intersection_ray;
+    
+    return closer_t;
   }
   
   /**
-   * Mthode qui effectue l'intersection d'un ray avec un plan yz. Si l'intersection est ralise, on compare le temps de l'intersection
-   * avec le temps d'intersection d'un autre rayon pour connatre la plus rapproche. Si la nouvelle intersection est plus prs,
-   * on value ses caractristiques et l'on retourne un nouveau rayon avec la nouvelle intersection, sinon on retourne l'ancien rayon. 
+   * Mthode qui effectue l'intersection d'un ray avec un plan yz. Si l'intersection est ralise  l'intrieur de la face du cube, 
+   * on compare le temps de l'intersection avec le temps d'intersection le plus prs trouv jusqu' prsent et l'on retourne le plus petit des deux. 
    *  
    * @param ray - Le rayon ralisant l'intersection avec le plan yz.
-   * @param closer_intersection_ray - Un rayon ayant pralablement dj ralis une intersection avec une autre face du cube.
-   * @param plane - Le plan xz  intersect dont la position x peut diffrer d'un test  un autre.
-   * @param outside_normal - La normale  la surface du plan yz pointant vers l'extrieur du cube.
-   * @return Un nouveau rayon intersect si la nouvelle intersection est plus prs que l'ancienne intersection, sinon on retourne le rayon <i>closer_intersection_ray</i>. 
+   * @param closer_t - Le temps de l'intersection la plus prs pralablement ralise avec une autre face du cube.
+   * @param plane - Le plan yz  intersect dont la position x peut diffrer d'un test  un autre.
+   * @return Le temps de la nouvelle intersection si elle est plus prs que l'ancienne intersection, sinon on retourne le temps <i>closer_t</i>. 
    */
-  private SRay intersectionPlaneYZ(SRay ray, SRay closer_intersection_ray, SPlaneGeometry plane, SVector3d outside_normal)
+  private double intersectionTimePlaneYZ(SRay ray, double closer_t, SPlaneGeometry plane)
   {
-    //Raliser le test de l'intersection sur le plan YZ plus
-    SRay intersection_ray = plane.intersection(ray);
-    
-    if(!intersection_ray.asIntersected())
-      return closer_intersection_ray;
+    //Raliser le test de l'intersection sur le plan YZ
+    double t = plane.intersectionTime(ray);
     
-    //valuons les caractristiques de l'intersection uniquement si elle est plus prs que l'intersection prcdente
-    if(intersection_ray.getT() < closer_intersection_ray.getT())
+    //Vrifions l'intersection uniquement si elle est plus prs que l'intersection prcdente
+    if(t < closer_t)
     {
       //Vrifions si l'intersection est  l'intrieur du carr en utilisant une position d'intersection par rapport au centre du cube
-      SVector3d p = intersection_ray.getIntersectionPosition().substract(position);
-      
+      SVector3d p = ray.getPosition(t).substract(position);
       
       if(    p.getY() < positive_half_size && p.getY() > negative_half_size
           && p.getZ() < positive_half_size && p.getZ() > negative_half_size)
-      {
-        //Puisque l'intersection se ralise  l'intrieur du carr, 
-        //il ne reste plus qu' dterminer si l'intersection se fait par l'intrieur ou l'extrieur du cube
-        if(intersection_ray.getNormal().dot(outside_normal) > 0.0)
-          return ray.intersection(this, intersection_ray.getNormal(), intersection_ray.getT(), false);
-        else
-          return ray.intersection(this, intersection_ray.getNormal(), intersection_ray.getT(), true);
-      }
-      else
-        return closer_intersection_ray;
+        return t;
     }
-    else
-      return closer_intersection_ray;
+    
+    return closer_t;
   }
   
   /* (non-Javadoc)
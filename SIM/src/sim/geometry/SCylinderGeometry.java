@@ -23,7 +23,7 @@ import sim.util.SStringUtil;
  * 
  * @author Simon Vzina
  * @since 2015-07-07
- * @version 2015-12-21
+ * @version 2026-10-17
  */
 public class SCylinderGeometry extends STubeGeometry {
 
@@ -112,13 +112,13 @@ public class SCylinderGeometry extends STubeGeometry {
   }
   
   @Override
-  public SRay intersection(SRay ray) throws SRuntimeException
+  public double intersectionTime(SRay ray) throws SRuntimeException
   {
     //S'assurer que le rayon n'a rien intersect auparavant
     if(ray.asIntersected())
       throw new SRuntimeException("Erreur SCylinderGeometry 003 : Le rayon a dj intersect une autre gomtrie.");
     
-    return ray;
+    return NO_INTERSECTION;
   }
   
   @Override
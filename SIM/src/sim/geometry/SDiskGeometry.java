@@ -23,7 +23,7 @@ import sim.util.SStringUtil;
  * 
  * @author Simon Vzina
  * @since 2015-06-20
- * @version 2015-12-21
+ * @version 2026-10-17
  */
 public class SDiskGeometry extends SPlaneGeometry {
 
@@ -132,18 +132,28 @@ public class SDiskGeometry extends SPlaneGeometry {
   {
     return SAbstractGeometry.DISK_CODE;
   }
+
+  /**
+   * Mthode pour obtenir le rayon du disque.
+   *
+   * @return Le rayon du disque.
+   */
+  public double getRay()
+  {
+    return R;
+  }
   
   @Override
-  public SRay intersection(SRay ray) throws SRuntimeException
+  public double intersectionTime(SRay ray) throws SRuntimeException
   {
 	//Faire l'intersection avec le plan du disque par l'hritage de l'intersection avec un plan
-	    SRay ray_plane_intersection = super.intersection(ray);
-	    if (!ray_plane_intersection.asIntersected())
-	    	return ray;
-	    SVector3d difference = ray_plane_intersection.getIntersectionPosition().substract(this.position);
+	    double t = super.intersectionTime(ray);
+	    if (t == NO_INTERSECTION)
+	    	return NO_INTERSECTION;
+	    SVector3d difference = ray.getPosition(t).substract(this.position);
 	    if (R*R >= difference.dot(difference))
-	    	return ray_plane_intersection;
-	    return ray;
+	    	return t;
+	    return NO_INTERSECTION;
   }
 
   @Override
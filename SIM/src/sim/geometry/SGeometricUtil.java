@@ -12,7 +12,7 @@ import sim.math.SVector3d;
  * 
  * @author Simon Vzina
  * @since 2015-11-23
- * @version 2015-11-24
+ * @version 2026-10-17
  */
 public class SGeometricUtil {
 
@@ -63,4 +63,81 @@ public class SGeometricUtil {
     throw new SNoImplementationException("Erreur SGeometricUtil 001 : La mthode n'a pas t implmente.");
   }
   
+  /**
+   * <p>Mthode permettant d'valuer si un triangle chevauche une bote aligne sur les axes x, y et z.</p>
+   * <p>Le test est exact et repose sur le thorme des axes sparateurs (<i>Akenine-Mller</i>) : le triangle et la bote sont disjoints
+   * si et seulement si leurs projections sont disjointes sur l'un des 13 axes suivants : les 3 axes de la bote, 
+   * la normale du triangle et les 9 produits vectoriels entre une arte du triangle et un axe de la bote.
+   * Un triangle touchant la frontire de la bote la chevauche.</p>
+   * 
+   * @param p0 - Le 1er sommet du triangle.
+   * @param p1 - Le 2e sommet du triangle.
+   * @param p2 - Le 3e sommet du triangle.
+   * @param center - Le centre de la bote.
+   * @param half_size - La demi-longueur de la bote selon chaque axe.
+   * @return <b>true</b> si le triangle chevauche la bote et <b>false</b> sinon.
+   */
+  public static boolean isTriangleOverlappingBox(SVector3d p0, SVector3d p1, SVector3d p2, SVector3d center, SVector3d half_size)
+  {
+    // Les sommets du triangle dans le rfrentiel du centre de la bote
+    double[] v = { 
+        p0.getX() - center.getX(), p0.getY() - center.getY(), p0.getZ() - center.getZ(),
+        p1.getX() - center.getX(), p1.getY() - center.getY(), p1.getZ() - center.getZ(),
+        p2.getX() - center.getX(), p2.getY() - center.getY(), p2.getZ() - center.getZ() };
+    
+    double hx = half_size.getX();
+    double hy = half_size.getY();
+    double hz = half_size.getZ();
+    
+    // Les 3 axes de la bote (comparaison de la bote englobante du triangle)
+    if(isSeparatingAxis(1.0, 0.0, 0.0, v, hx, hy, hz) || isSeparatingAxis(0.0, 1.0, 0.0, v, hx, hy, hz) || isSeparatingAxis(0.0, 0.0, 1.0, v, hx, hy, hz))
+      return false;
+    
+    // Les 9 produits vectoriels entre une arte et un axe de la bote
+    for(int i = 0; i < 3; i++)
+    {
+      int j = (i + 1) % 3;
+      
+      double ex = v[3*j]   - v[3*i];
+      double ey = v[3*j+1] - v[3*i+1];
+      double ez = v[3*j+2] - v[3*i+2];
+      
+      if(isSeparatingAxis(0.0, -ez, ey, v, hx, hy, hz) ||     // arte x (1,0,0)
+         isSeparatingAxis(ez, 0.0, -ex, v, hx, hy, hz) ||     // arte x (0,1,0)
+         isSeparatingAxis(-ey, ex, 0.0, v, hx, hy, hz))       // arte x (0,0,1)
+        return false;
+    }
+    
+    // La normale du triangle
+    double e0x = v[3] - v[0], e0y = v[4] - v[1], e0z = v[5] - v[2];
+    double e1x = v[6] - v[3], e1y = v[7] - v[4], e1z = v[8] - v[5];
+    
+    return !isSeparatingAxis(e0y*e1z - e0z*e1y, e0z*e1x - e0x*e1z, e0x*e1y - e0y*e1x, v, hx, hy, hz);
+  }
+  
+  /**
+   * Mthode permettant d'valuer si un axe spare un triangle d'une bote centre  l'origine.
+   * Un axe nul (arte dgnre) n'est pas sparateur.
+   * 
+   * @param ax - La composante x de l'axe.
+   * @param ay - La composante y de l'axe.
+   * @param az - La composante z de l'axe.
+   * @param v - Les sommets du triangle (x0, y0, z0, x1, y1, z1, x2, y2, z2) relatifs au centre de la bote.
+   * @param hx - La demi-longueur de la bote selon x.
+   * @param hy - La demi-longueur de la bote selon y.
+   * @param hz - La demi-longueur de la bote selon z.
+   * @return <b>true</b> si les projections du triangle et de la bote sur l'axe sont disjointes et <b>false</b> sinon.
+   */
+  private static boolean isSeparatingAxis(double ax, double ay, double az, double[] v, double hx, double hy, double hz)
+  {
+    double d0 = ax*v[0] + ay*v[1] + az*v[2];
+    double d1 = ax*v[3] + ay*v[4] + az*v[5];
+    double d2 = ax*v[6] + ay*v[7] + az*v[8];
+    
+    // Rayon de la projection de la bote sur l'axe
+    double r = hx*Math.abs(ax) + hy*Math.abs(ay) + hz*Math.abs(az);
+    
+    return Math.min(d0, Math.min(d1, d2)) > r || Math.max(d0, Math.max(d1, d2)) < -r;
+  }
+  
 }//fin de la classe SGeometricUtil
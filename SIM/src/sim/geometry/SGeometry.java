@@ -14,10 +14,16 @@ import sim.util.SWriteable;
  * et identifier si un vecteur position se trouve  l'intrieur d'elle (possible si elle est une surface ferme).
  * @author Simon Vzina
  * @since 2015-01-10
- * @version 2015-07-26
+ * @version 2026-10-17
  */
 public interface SGeometry extends SWriteable {
 
+	/**
+	 * La constante <b>NO_INTERSECTION</b> correspond au temps retourn par un test d'intersection lorsqu'il n'y a pas d'intersection.
+	 * Sa valeur tant infinie, elle est toujours plus grande qu'un temps maximal.
+	 */
+	public static final double NO_INTERSECTION = Double.POSITIVE_INFINITY;
+	
 	/**
 	 * Mthode pour obtenir le numro d'identification unique ID de la gomtrie.
 	 * @return Le numro d'identification ID.
@@ -72,5 +78,40 @@ public interface SGeometry extends SWriteable {
    * @throws SRuntimeException S'il y a dj eu intersection avec ce rayon.
    */
   public SRay intersection(SRay ray)throws SRuntimeException;
+  
+  /**
+   * Mthode permettant d'effectuer uniquement le calcul du temps de l'intersection (s'il y a) entre un rayon et une gomtrie.
+   * Aucune caractristique de l'intersection (normale, coordonne uv, intersection par l'intrieur) n'est value 
+   * et aucun rayon n'est construit. Ces caractristiques pourront tre values par la suite avec la mthode <b>completeHit</b> 
+   * uniquement pour l'intersection retenue.
+   * 
+   * @param ray - Le rayon  intersecter avec la gomtrie.
+   * @return Le temps de l'intersection la plus prs ou <b>NO_INTERSECTION</b> s'il n'y a pas eu d'intersection.
+   * @throws SRuntimeException S'il y a dj eu intersection avec ce rayon.
+   */
+  public double intersectionTime(SRay ray)throws SRuntimeException;
+  
+  /**
+   * Mthode permettant d'effectuer uniquement le calcul du temps de l'intersection (s'il y a) entre un rayon et une gomtrie
+   * avant un temps maximal. Une gomtrie compose (ex. : une instance de maillage) peut ainsi limiter sa recherche 
+   *  l'intervalle de temps o l'intersection peut encore tre retenue.
+   * 
+   * @param ray - Le rayon  intersecter avec la gomtrie.
+   * @param t_max - Le temps maximal (exclu).
+   * @return Le temps de l'intersection la plus prs s'il est infrieur  <b>t_max</b> ou <b>NO_INTERSECTION</b> sinon.
+   * @throws SRuntimeException S'il y a dj eu intersection avec ce rayon.
+   */
+  public double intersectionTime(SRay ray, double t_max)throws SRuntimeException;
+  
+  /**
+   * Mthode pour construire le rayon intersect avec les caractristiques de l'intersection (normale, coordonne uv, intersection par l'intrieur)
+   *  partir d'un temps d'intersection pralablement obtenu par la mthode <b>intersectionTime</b>.
+   * 
+   * @param ray - Le rayon ayant ralis l'intersection avec la gomtrie.
+   * @param t - Le temps de l'intersection obtenu par la mthode <b>intersectionTime</b>.
+   * @return Un rayon avec les caractristiques de l'intersection avec la gomtrie.
+   * @throws SRuntimeException S'il y a dj eu intersection avec ce rayon.
+   */
+  public SRay completeHit(SRay ray, double t)throws SRuntimeException;
 	
 }//fin interface SGeometry
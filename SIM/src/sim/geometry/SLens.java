@@ -29,7 +29,7 @@ import sim.util.SStringUtil;
  * 
  * @author Simon Vzina
  * @since 2015-11-17
- * @version 2015-12-21
+ * @version 2026-10-17
  */
 public class SLens extends STubeGeometry {
 
@@ -151,6 +151,26 @@ public class SLens extends STubeGeometry {
   {
     return SAbstractGeometry.LENS_CODE;
   }
+
+  /**
+   * Mthode pour obtenir le rayon de courbure du ct P1 de la lentille.
+   *
+   * @return Le rayon de courbure du ct P1 (nulle = plan, positif = convexe, ngatif = concave).
+   */
+  public double getCurvature1()
+  {
+    return curvature1;
+  }
+
+  /**
+   * Mthode pour obtenir le rayon de courbure du ct P2 de la lentille.
+   *
+   * @return Le rayon de courbure du ct P2 (nulle = plan, positif = convexe, ngatif = concave).
+   */
+  public double getCurvature2()
+  {
+    return curvature2;
+  }
   
   @Override
   public boolean isClosedGeometry()
@@ -165,9 +185,9 @@ public class SLens extends STubeGeometry {
   }
   
   @Override
-  public SRay intersection(SRay ray) throws SRuntimeException 
+  public double intersectionTime(SRay ray) throws SRuntimeException
   {
-    return ray;
+    return NO_INTERSECTION;
   }
   
   /**
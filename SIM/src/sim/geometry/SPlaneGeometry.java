@@ -24,7 +24,7 @@ import sim.util.SStringUtil;
  * 
  * @author Simon Vzina
  * @since 2015-01-19
- * @version 2015-12-04
+ * @version 2026-10-17
  */
 public class SPlaneGeometry extends SAbstractPlanarGeometry {
 
@@ -108,12 +108,29 @@ public class SPlaneGeometry extends SAbstractPlanarGeometry {
   {
     return SAbstractGeometry.PLANE_CODE;
   }
+
+  /**
+   * Mthode pour obtenir la position de rfrence du plan.
+   *
+   * @return La position de rfrence du plan.
+   */
+  public SVector3d getPosition()
+  {
+    return position;
+  }
+
+  /**
+   * Mthode pour obtenir la normale  la surface du plan (normalise).
+   *
+   * @return La normale  la surface du plan.
+   */
+  public SVector3d getNormal()
+  {
+    return surface_normal;
+  }
 	
-	/* (non-Javadoc)
-	 * @see simGeometry.SGeometry#intersection(simGeometry.SRay)
-	 */
 	@Override
-	public SRay intersection(SRay ray) throws SRuntimeException 
+	public double intersectionTime(SRay ray) throws SRuntimeException 
 	{
 		//S'assurer que le rayon n'a rien intersect auparavant
 		if(ray.asIntersected())
@@ -124,16 +141,16 @@ public class SPlaneGeometry extends SAbstractPlanarGeometry {
     
 		// Vrifier s'il y a une intersection
 		if(solution.length == 0)
-		  return ray;
+		  return NO_INTERSECTION;
 		
 		// Il y a une solution  l'intersection
 		double t = solution[0];
 		
 		//Vrifier si l'intersection est  un temps ngatif (dans la direction inverse au rayon)
 		if(t < SRay.getEpsilon())
-			return ray;
+			return NO_INTERSECTION;
 		else
-			return ray.intersection(this, evaluateIntersectionNormal(ray, t), t, isInsideIntersection(ray, t));	//intersection ralise au temps t	
+			return t;	//intersection ralise au temps t	
 	}
 
 	/* (non-Javadoc)
@@ -23,7 +23,7 @@ import sim.util.SStringUtil;
  * 
  * @author Simon Vzina
  * @since 2014-12-30
- * @version 2015-12-21
+ * @version 2026-10-17
  */
 public class SSphereGeometry extends SAbstractGeometry {
 
@@ -141,9 +141,29 @@ public class SSphereGeometry extends SAbstractGeometry {
   {
     return SAbstractGeometry.SPHERE_CODE;
   }
-	
+
+	/**
+	 * Mthode pour obtenir la position du centre de la sphre.
+	 *
+	 * @return La position du centre de la sphre.
+	 */
+	public SVector3d getPosition()
+	{
+	  return position;
+	}
+
+	/**
+	 * Mthode pour obtenir le rayon de la sphre.
+	 *
+	 * @return Le rayon de la sphre.
+	 */
+	public double getRay()
+	{
+	  return R;
+	}
+
 	@Override
-	public SRay intersection(SRay ray) throws SRuntimeException 
+	public double intersectionTime(SRay ray) throws SRuntimeException 
 	{
 		// S'assurer que le rayon n'a rien intersect auparavant
 		if(ray.asIntersected())
@@ -152,8 +172,8 @@ public class SSphereGeometry extends SAbstractGeometry {
 		double[] temps = SGeometricIntersection.sphereIntersection(ray, position, R);
 		for (double t : temps)
 			if (t > SMath.EPSILON)
-				return ray.intersection(this, evaluateIntersectionNormal(ray, t), t, isInsideIntersection(ray, t));
-		return ray;
+				return t;
+		return NO_INTERSECTION;
 		//TODO s'assurer que les temps dans t sont plus grand que 0;
 		
 	}
@@ -30,7 +30,7 @@ import sim.util.SStringUtil;
  * 
  * @author Simon Vzina
  * @since 2015-11-08
- * @version 2015-12-21
+ * @version 2026-10-17
  */
 public class SSphericalCapGeometry extends SDiskGeometry {
 
@@ -136,15 +136,25 @@ public class SSphericalCapGeometry extends SDiskGeometry {
   {
     return SAbstractGeometry.SPHERICAL_CAP_CODE;
   }
+
+  /**
+   * Mthode pour obtenir le rayon de courbure de la calotte sphrique.
+   *
+   * @return Le rayon de courbure (positif = convexe, ngatif = concave).
+   */
+  public double getRadiusOfCurvature()
+  {
+    return radius_of_curvature;
+  }
   
   @Override
-  public SRay intersection(SRay ray) throws SRuntimeException 
+  public double intersectionTime(SRay ray) throws SRuntimeException
   {
     //S'assurer que le rayon n'a rien intersect auparavant
     if(ray.asIntersected())
       throw new SRuntimeException("Erreur SSphericalCapGeometry 004 : Le rayon a dj intersect une autre gomtrie.");
     
-    return ray;
+    return NO_INTERSECTION;
   }
   
   @Override
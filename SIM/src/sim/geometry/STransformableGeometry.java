@@ -11,8 +11,8 @@ import sim.exception.SNoImplementationException;
 import sim.exception.SRuntimeException;
 import sim.graphics.SPrimitive;
 
+import sim.math.SMatrix4x4;
 import sim.math.SVector3d;
-
 import sim.math.SVectorUV;
 import sim.util.SBufferedReader;
 import sim.util.SInitializationException;
@@ -26,9 +26,13 @@ import sim.util.SStringUtil;
  * comme la <b>translation</b>, la <b>rotation</b> et <b>l'homothtie</b> (<i>scale</i>). Cette gomtrie devra contenir une gomtrie interne
  * donnant la forme de base (sans transformation)  la gomtrie transformable.
  * 
+ * <p>Les matrices de transformation vers l'espace de la gomtrie interne (l'espace objet) et de transformation des normales sont calcules
+ * une seule fois  l'initialisation. Le rayon est transform dans l'espace objet sans normalisation de sa direction afin que le temps 
+ * d'intersection de la gomtrie interne soit celui de la gomtrie transformable. La normale est ramene par la transpose de la matrice inverse.</p>
+ * 
  * @author Simon Vzina
  * @since 2015-07-17
- * @version 2015-12-21
+ * @version 2026-10-17
  */
 public class STransformableGeometry extends SAbstractGeometry {
 
@@ -102,6 +106,22 @@ public class STransformableGeometry extends SAbstractGeometry {
   //Paramtres de prcalculs pour les transformations
   //--------------------------------------------------
   
+  /**
+   * La variable <b>object_to_world</b> correspond  la matrice de transformation de l'espace objet vers la scne (TrRzyxSc).
+   */
+  private SMatrix4x4 object_to_world;
+  
+  /**
+   * La variable <b>world_to_object</b> correspond  la matrice de transformation inverse de la scne vers l'espace objet (ScRxyzTr).
+   */
+  private SMatrix4x4 world_to_object;
+  
+  /**
+   * La variable <b>normal_matrix</b> correspond  la matrice de transformation des normales de l'espace objet vers la scne 
+   * (transpose de la matrice inverse).
+   */
+  private SMatrix4x4 normal_matrix;
+  
   //----------------
   // CONSTRUCTEUR //
   //----------------
@@ -202,26 +222,73 @@ public class STransformableGeometry extends SAbstractGeometry {
   {
     // S'il y a une gomtrie interne  la gomtrie transformable
     if(geometry != null)
-    {
-      return false;
-    }
+      return geometry.isInside(world_to_object.multiplyPosition(v));
     else
       return false;
   }
 
   @Override
-  public SRay intersection(SRay ray) throws SRuntimeException
+  public double intersectionTime(SRay ray) throws SRuntimeException
+  {
+    return intersectionTime(ray, NO_INTERSECTION);
+  }
+  
+  @Override
+  public double intersectionTime(SRay ray, double t_max) throws SRuntimeException
   {
     if(ray.asIntersected())
       throw new SRuntimeException("Erreur STransformableGeometry 003 : Le rayon a dj intersect une autre gomtrie.");
     
-    // S'il y a une gomtrie interne  la gomtrie transformable
+    // S'il y a une gomtrie interne  la gomtrie transformable (le temps maximal est le mme dans l'espace objet)
     if(geometry != null)
-    {
-      return ray;
-    }
+      return geometry.intersectionTime(toObjectRay(ray), t_max);
+    else
+      return NO_INTERSECTION;
+  }
+  
+  @Override
+  public SRay completeHit(SRay ray, double t) throws SRuntimeException
+  {
+    // L'intersection de la gomtrie interne dans l'espace objet (au mme temps t)
+    SRay object_ray = geometry.completeHit(toObjectRay(ray), t);
+    
+    SVector3d normal = normal_matrix.multiplyDirection(object_ray.getNormal()).normalize();
+    
+    if(object_ray.asUV())
+      return ray.intersection(this, normal, object_ray.getUV(), t, object_ray.isInsideIntersection());
     else
-      return ray;
+      return ray.intersection(this, normal, t, object_ray.isInsideIntersection());
+  }
+  
+  /**
+   * Mthode pour obtenir le rayon transform dans l'espace objet. La direction n'est pas normalise afin de conserver le temps d'intersection.
+   * 
+   * @param ray - Le rayon dans la scne.
+   * @return Le rayon dans l'espace objet.
+   */
+  private SRay toObjectRay(SRay ray)
+  {
+    return new SRay(world_to_object.multiplyPosition(ray.getOrigin()), world_to_object.multiplyDirection(ray.getDirection()), ray.getRefractiveIndex());
+  }
+  
+  /**
+   * Mthode pour obtenir la gomtrie interne  la gomtrie transformable.
+   * 
+   * @return La gomtrie interne ou <b>null</b> s'il n'y en a pas.
+   */
+  public SGeometry getGeometry()
+  {
+    return geometry;
+  }
+  
+  /**
+   * Mthode pour obtenir la matrice de transformation de l'espace objet (de la gomtrie interne) vers la scne.
+   * 
+   * @return La matrice de transformation TrRzyxSc.
+   */
+  public SMatrix4x4 getTransformation()
+  {
+    return object_to_world;
   }
 
   @Override
@@ -286,7 +353,15 @@ public class STransformableGeometry extends SAbstractGeometry {
    */
   private void initialize() throws SInitializationException
   {
+    if(scale.getX() == 0.0 || scale.getY() == 0.0 || scale.getZ() == 0.0)
+      throw new SInitializationException("Erreur STransformableGeometry 008 : L'homothtie '" + scale + "' doit tre inversible (composantes non nulles).");
+    
+    object_to_world = SMatrix4x4.TrRzyxSc(translation, rotation, scale);
+    
+    SVector3d inverse_scale = new SVector3d(1.0 / scale.getX(), 1.0 / scale.getY(), 1.0 / scale.getZ());
+    world_to_object = SMatrix4x4.ScRxyzTr(inverse_scale, rotation.multiply(-1.0), translation.multiply(-1.0));
     
+    normal_matrix = world_to_object.transpose();
   }
 
   @Override
@@ -26,7 +26,7 @@ import sim.util.SStringUtil;
  * 
  * @author Simon Vzina
  * @since 2015-02-17
- * @version 2015-12-21
+ * @version 2026-10-17
  */
 public class STriangleGeometry extends SAbstractPlanarGeometry {
 
@@ -209,7 +209,7 @@ public class STriangleGeometry extends SAbstractPlanarGeometry {
 	}
 	
 	@Override
-	public SRay intersection(SRay ray) throws SRuntimeException
+	public double intersectionTime(SRay ray) throws SRuntimeException
 	{
 		//S'assurer que le rayon n'a rien intersect auparavant
 		if(ray.asIntersected())
@@ -217,7 +217,7 @@ public class STriangleGeometry extends SAbstractPlanarGeometry {
 		
 		double[] ints = SGeometricIntersection.planeIntersection(ray, P0, normal);
 		if (ints.length == 0 || ints[0] < SMath.EPSILON)
-			return ray;
+			return NO_INTERSECTION;
 /*
  		double ti = normal.dot(P0.substract(ray.getOrigin()));
 		SVector3d ri = ray.getOrigin().add(ray.getDirection().multiply(ti));
@@ -237,7 +237,7 @@ public class STriangleGeometry extends SAbstractPlanarGeometry {
 				t2 = (ws2*s1s1 - ws1*s1s2)/denominateur;
 */
 		
-		return ray;
+		return NO_INTERSECTION;
 	}
 
 	@Override
@@ -26,7 +26,7 @@ import sim.util.SStringUtil;
  * 
  * @author Simon Vzina
  * @since 2015-06-21
- * @version 2015-12-21
+ * @version 2026-10-17
  */
 public class STubeGeometry extends SAbstractGeometry {
 
@@ -176,15 +176,45 @@ public class STubeGeometry extends SAbstractGeometry {
   {
     return SAbstractGeometry.TUBE_CODE;
   }
+
+  /**
+   * Mthode pour obtenir la position du dbut du tube.
+   *
+   * @return La position P1 du tube.
+   */
+  public SVector3d getP1()
+  {
+    return P1;
+  }
+
+  /**
+   * Mthode pour obtenir la position de fin du tube.
+   *
+   * @return La position P2 du tube.
+   */
+  public SVector3d getP2()
+  {
+    return P2;
+  }
+
+  /**
+   * Mthode pour obtenir le rayon du tube.
+   *
+   * @return Le rayon du tube.
+   */
+  public double getRay()
+  {
+    return R;
+  }
   
   @Override
-  public SRay intersection(SRay ray) throws SRuntimeException
+  public double intersectionTime(SRay ray) throws SRuntimeException
   {
     //S'assurer que le rayon n'a rien intersect auparavant
     if(ray.asIntersected())
       throw new SRuntimeException("Erreur STubeGeometry 003 : Le rayon a dj intersect une autre gomtrie.");
   
-    return ray;
+    return NO_INTERSECTION;
   }
 
   @Override
@@ -9,6 +9,7 @@ import java.util.List;
 
 import sim.geometry.SGeometry;
 import sim.geometry.SRay;
+import sim.graphics.SColor;
 import sim.math.SVector3d;
 
 /**
@@ -16,21 +17,26 @@ import sim.math.SVector3d;
  * 
  * @author Simon Vzina
  * @since 2015-01-11
- * @version 2016-01-01
+ * @version 2026-10-17
  */
 public abstract class SAbstractGeometrySpace implements SGeometrySpace{
 
   //Mode de slection du type d'espace des gomtries
-  public static final String[] TYPE_OF_SPACE = {"linear", "voxel", "multi_voxel"};
+  public static final String[] TYPE_OF_SPACE = {"linear", "voxel", "multi_voxel", "bvh"};
   public static final int LINEAR = 0;
   public static final int VOXEL = 1;
   public static final int MULTI_VOXEL = 2;
+  public static final int BVH = 3;
   
   /**
-   * La variable <b>intersection_test_count</b> correspond au nombre de tests d'intersection qui ont t raliss
-   * depuis la cration d'un espace des gomtries.
+   * La constante <b>FULL_TRANSMITTANCE</b> correspond au filtre de transmission d'un rayon n'ayant travers aucune gomtrie (la couleur blanche).
    */
-  private static int intersection_test_count = 0;
+  public static final SColor FULL_TRANSMITTANCE = new SColor(1.0, 1.0, 1.0);
+  
+  /**
+   * La constante <b>NO_TRANSMITTANCE</b> correspond au filtre de transmission d'un rayon bloqu par une gomtrie opaque (la couleur noire).
+   */
+  public static final SColor NO_TRANSMITTANCE = new SColor(0.0, 0.0, 0.0);
   
   /**
    * La variable <b>geometry_list</b> correspond  la liste complte des gomtries dans l'espace des gomtries.
@@ -42,6 +48,11 @@ public abstract class SAbstractGeometrySpace implements SGeometrySpace{
    */
   protected boolean space_initialized;
   
+  /**
+   * La variable <b>nb_transparent_geometry</b> correspond au nombre de gomtries transparentes dans l'espace des gomtries.
+   */
+  private int nb_transparent_geometry;
+  
   //----------------
   // CONSTRUCTEUR //
   //----------------
@@ -54,6 +65,7 @@ public abstract class SAbstractGeometrySpace implements SGeometrySpace{
     geometry_list = new ArrayList<SGeometry>();
     
     space_initialized = false;
+    nb_transparent_geometry = 0;
   }
   
   //------------
@@ -65,6 +77,9 @@ public abstract class SAbstractGeometrySpace implements SGeometrySpace{
   {
     geometry_list.add(geometry);
     
+    if(geometry.isTransparent())
+      nb_transparent_geometry++;
+    
     space_initialized = false;
   }
   
@@ -75,6 +90,12 @@ public abstract class SAbstractGeometrySpace implements SGeometrySpace{
 			addGeometry(g);
 	}
 
+	@Override
+	public boolean hasTransparentGeometry()
+	{
+	  return nb_transparent_geometry > 0;
+	}
+	
 	/**
    * Mthode qui value toutes les intersections entre un rayon et les diffrentes gomtries d'une liste ne dpassant pas une valeur de temps maximal.
    * Les rayons ayant intersects seront retourns dans une <b>liste trier en ordre croissant de temps</b> (du plus prs au plus loig).
@@ -86,8 +107,9 @@ public abstract class SAbstractGeometrySpace implements SGeometrySpace{
    */
   protected List<SRay> intersections(List<SGeometry> list, SRay ray, double t_max)
   {
-    // Compter le nombre de tests d'intersection qui seront effectus lors de l'appel de cette mthode
-    increaseIntersectionCount(list.size());
+    // Compter les tests d'intersection qui seront effectus lors de l'appel de cette mthode
+    if(SIntersectionStatistics.ENABLED)
+      SIntersectionStatistics.local().countGeometryTest(list);
     
     // Liste des rayons intersects  gnrer
     List<SRay> return_list = new ArrayList<SRay>();  
@@ -109,6 +131,54 @@ public abstract class SAbstractGeometrySpace implements SGeometrySpace{
     return return_list;  
   }
   
+  /**
+   * <p>
+   * Mthode qui value l'intersection la plus prs entre un rayon et les diffrentes gomtries d'une liste ne dpassant pas une valeur de temps maximal.
+   * Contrairement  la mthode <b>intersections</b>, aucune liste n'est construite ni trie : seule l'intersection la plus prs est conserve
+   * et le temps maximal est rduit  chaque intersection trouve. Seul le temps de l'intersection est valu pour chaque gomtrie 
+   * et le rayon intersect (normale, coordonne uv) est construit une seule fois pour l'intersection retenue.
+   * </p>
+   *
+   * <p>
+   * Cette mthode est  privilgier lorsque seule l'intersection la plus prs est recherche.
+   * La liste trie des intersections demeure ncessaire uniquement pour la recherche de l'intersection opaque la plus prs.
+   * </p>
+   *
+   * @param list - La liste des gomtries.
+   * @param ray - Le rayon  intersecter avec les gomtries de l'espace.
+   * @param t_max - Le temps maximal.
+   * @return Le rayon intersect le plus prs ou le rayon <b>ray</b> s'il n'y a <b>pas eu d'intersection</b>.
+   */
+  protected SRay nearestIntersection(List<SGeometry> list, SRay ray, double t_max)
+  {
+    // Compter les tests d'intersection qui seront effectus lors de l'appel de cette mthode
+    if(SIntersectionStatistics.ENABLED)
+      SIntersectionStatistics.local().countGeometryTest(list);
+
+    // La gomtrie intersecte la plus prs trouve jusqu' prsent
+    SGeometry nearest = null;
+    double t_nearest = t_max;
+
+    for(SGeometry g : list)
+    {
+      // valuer le temps de l'intersection entre le rayon et la gomtrie
+      double t = g.intersectionTime(ray, t_nearest);
+
+      // Conserver l'intersection si elle est plus prs (le temps maximal est ainsi rduit)
+      if(t < t_nearest)
+      {
+        nearest = g;
+        t_nearest = t;
+      }
+    }
+
+    // Construire le rayon intersect uniquement pour l'intersection retenue
+    if(nearest == null)
+      return ray;
+    else
+      return nearest.completeHit(ray, t_nearest);
+  }
+
   /**
    * <p>
    * Mthode pour fusionner deux listes d'intersections en une nouvelle liste.
@@ -257,6 +327,73 @@ public abstract class SAbstractGeometrySpace implements SGeometrySpace{
     return return_list;                         // retourner une liste sans gomtrie opaque
   }
   
+  /**
+   * Mthode qui dtermine si une gomtrie <b>opaque</b> d'une liste est intersecte par un rayon avant un temps maximal.
+   * L'itration se termine ds la premire intersection opaque trouve.
+   * 
+   * @param list - La liste des gomtries.
+   * @param ray - Le rayon  intersecter avec les gomtries.
+   * @param t_max - Le temps maximal.
+   * @return <b>true</b> si une gomtrie opaque est intersecte avant le temps maximal et <b>false</b> sinon.
+   */
+  protected boolean occluded(List<SGeometry> list, SRay ray, double t_max)
+  {
+    SIntersectionStatistics statistics = SIntersectionStatistics.ENABLED ? SIntersectionStatistics.local() : null;
+    
+    for(SGeometry g : list)
+      if(!g.isTransparent())
+      {
+        if(SIntersectionStatistics.ENABLED)
+          statistics.countGeometryTest(g);
+        
+        if(g.intersectionTime(ray, t_max) < t_max)
+          return true;
+      }
+    
+    return false;
+  }
+  
+  /**
+   * Mthode qui value le filtre de transmission d'un rayon au travers des gomtries d'une liste avant un temps maximal.
+   * Le filtre en paramtre est multipli par la couleur de transparence de chaque gomtrie transparente intersecte.
+   * L'itration se termine ds la premire intersection opaque trouve.
+   * 
+   * @param list - La liste des gomtries.
+   * @param ray - Le rayon  intersecter avec les gomtries.
+   * @param t_max - Le temps maximal.
+   * @param filter - Le filtre de transmission accumul jusqu' prsent.
+   * @return Le filtre de transmission aprs le passage au travers des gomtries ou le filtre <b>NO_TRANSMITTANCE</b> s'il y a une intersection opaque.
+   */
+  protected SColor transmittance(List<SGeometry> list, SRay ray, double t_max, SColor filter)
+  {
+    SIntersectionStatistics statistics = SIntersectionStatistics.ENABLED ? SIntersectionStatistics.local() : null;
+    
+    for(SGeometry g : list)
+    {
+      if(SIntersectionStatistics.ENABLED)
+        statistics.countGeometryTest(g);
+      
+      if(g.intersectionTime(ray, t_max) < t_max)
+        if(g.isTransparent())
+          filter = filter.multiply(transparencyColor(g));
+        else
+          return NO_TRANSMITTANCE;
+    }
+    
+    return filter;
+  }
+  
+  /**
+   * Mthode pour obtenir la couleur de transparence du matriel d'une gomtrie transparente.
+   * 
+   * @param geometry - La gomtrie transparente.
+   * @return La couleur de transparence.
+   */
+  protected static SColor transparencyColor(SGeometry geometry)
+  {
+    return geometry.getPrimitiveParent().getMaterial().transparencyColor();
+  }
+  
   /**
    * Mthode qui value l'ensemble des gomtries d'une liste o un vecteur v se retrouve  l'intrieur.
    * 
@@ -291,33 +428,4 @@ public abstract class SAbstractGeometrySpace implements SGeometrySpace{
     return new String("Nb geometry : " + geometry_list.size());
   }
   
-  /**
-   * Mthode pour obtenir le nombre de tests d'intersection qui ont t raliss.
-   * 
-   * @return Le nombre de tests d'intersection calculs.
-   */
-  public static int getIntersectionTestCount()
-  {
-    return intersection_test_count;
-  }
-  
-  /**
-   * Mthode pour rinitialiser le comptage des tests d'intersection.
-   */
-  public static synchronized void resetIntersectinonTestCount()
-  {
-    intersection_test_count = 0;
-  }
-  
-  /**
-   * Mthode pour augmenter le nombre de tests d'intersection raliss.
-   * Cette mthode sous cette forme est ncessaire afin d'viter des problmes lors d'un usage de cette classe en mode <i>multiprocessing</i>.
-   * 
-   * @param value - Le nombre de tests d'intersection  ajouter.
-   */
-  private static synchronized void increaseIntersectionCount(int value)
-  {
-    intersection_test_count += value;
-  }
-  
 }//fin classe abstraite SAbstractGeometrySpace
@@ -4,12 +4,12 @@
 package sim.geometry.space;
 
 import java.util.ArrayList;
-import java.util.Collections;
 import java.util.List;
 import java.util.Map;
 
 import sim.geometry.SGeometry;
 import sim.geometry.SRay;
+import sim.graphics.SColor;
 import sim.math.SVector3d;
 
 /**
@@ -18,7 +18,7 @@ import sim.math.SVector3d;
  * 
  * @author Simon Vzina
  * @since 2015-12-24
- * @version 2015-12-29
+ * @version 2026-10-17
  */
 public abstract class SAbstractVoxelSpace extends SAbstractGeometrySpace {
 
@@ -51,119 +51,187 @@ public abstract class SAbstractVoxelSpace extends SAbstractGeometrySpace {
   //------------
   
   /**
-   * Mthode pour obtenir l'intersection la plus prs entre un rayon et des gomtries situes dans une carte de voxels. 
+   * Mthode pour tester les gomtries d'un voxel d'une carte de voxels dans la recherche de l'intersection la plus prs.
+   * Seules les gomtries qui n'ont pas encore t testes par le rayon sont testes (voir SVoxelMailbox) et leur intersection
+   * est conserve mme si elle est situe hors du voxel. Cette intersection est dfinitive lorsque le temps d'entre du prochain voxel
+   * de la ligne de voxels la dpasse.
    * 
+   * @param mailbox - La bote aux lettres de la requte (conservant l'intersection la plus prs).
    * @param ray - Le rayon  intersecter avec les gomtries.
-   * @param t_max - Le temps maximal.
    * @param map - La carte des voxels.
-   * @param builder - Le constructeur de voxel (pour vrifier si l'intersection est  l'intrieur du voxel).
    * @param voxel - Le voxel de la carte o sont raliss les tests d'intersection.
-   * @return Le rayon avec les caractristiques de l'intersection (s'il y en a eu une) de temps minimum.
    */
-  protected SRay nearestIntersectionInVoxelMap(SRay ray, double t_max, Map<SVoxel,List<SGeometry>> map, SVoxelBuilder builder, SVoxel voxel)
+  protected void nearestIntersectionInVoxelMap(SVoxelMailbox mailbox, SRay ray, Map<SVoxel,List<SGeometry>> map, SVoxel voxel)
   {
-    if(map != null)         // Si la carte n'est pas null
-      if(!map.isEmpty())    // Si la carte n'est pas vide
+    // Obtenir la liste des gomtries en rfrence dans le voxel
+    List<SGeometry> list = map.get(voxel);
+    
+    if(list != null)          // Si le voxel est dans la carte
+      if(!list.isEmpty())     // Si la liste de gomtrie associe  ce voxel n'est pas vide
       {
-        // Obtenir la liste des gomtries en rfrence dans le voxel
-        List<SGeometry> list = map.get(voxel);
+        SIntersectionStatistics statistics = SIntersectionStatistics.ENABLED ? SIntersectionStatistics.local() : null;
+        
+        // Compter la visite du voxel
+        if(SIntersectionStatistics.ENABLED)
+          statistics.countStep(SIntersectionStatistics.VOXEL_VISIT);
         
-        if(list != null)          // Si le voxel est dans la carte
-          if(!list.isEmpty())     // Si la liste de gomtrie associe  ce voxel n'est pas vide
+        // Seul le temps de l'intersection est valu. Le rayon intersect ne sera construit que pour l'intersection retenue.
+        for(SGeometry g : list)
+          if(mailbox.visit(g))
           {
-            // Raliser les intersections avec la liste disponible dans le voxel.
-            // Cette liste sera trie en ordre croissant de temps (le plus petit temps en premier dans la liste)
-            List<SRay> list_intersection = intersections(list, ray, t_max);   
-                
-            // Regarder la liste des intersections et prendre l'intersection au temps le plus petit,
-            // mais qui se retrouve dans le voxel courant (sinon, il est rejet).
-            // Comparer celles trouves avec le rayon dj intersect pour garder celle de moindre temps
-            if(!list_intersection.isEmpty())
-              for(SRay r : list_intersection)
-                if(builder.buildVoxel(r.getIntersectionPosition()).equals(voxel))   
-                  return r;
+            if(SIntersectionStatistics.ENABLED)
+              statistics.countGeometryTest(g);
+            
+            mailbox.offerNearest(g, g.intersectionTime(ray, mailbox.getNearestTime()));
           }
       }
-    
-    // Il n'y a pas d'intersection adquate qui a t ralis, on retourne un rayon sans intersection
-    return ray;
   }
     
   /**
-   * Mthode pour obtenir la liste des intersections transparente en ordre dcroissant dont la plus loign (premire de la liste) sera une gomtrie opaque s'il y a eu intersection de cette nature.
+   * Mthode pour tester les gomtries d'un voxel d'une carte de voxels dans la recherche de l'intersection opaque la plus prs
+   * et des intersections transparentes qui la prcdent. Seules les gomtries qui n'ont pas encore t testes par le rayon sont testes 
+   * (voir SVoxelMailbox) et leur intersection est conserve mme si elle est situe hors du voxel. L'intersection opaque est dfinitive 
+   * lorsque le temps d'entre du prochain voxel de la ligne de voxels la dpasse.
    * 
+   * @param mailbox - La bote aux lettres de la requte (conservant les intersections).
    * @param ray - Le rayon  intersecter.
-   * @param t_max - Le temps maximal pouvant tre parcouru par le rayon.
    * @param map - La carte des voxels.
-   * @param builder - Le constructeur de voxel (pour vrifier si l'intersection est  l'intrieur du voxel).
    * @param voxel - Le voxel de la carte o sont raliss les tests d'intersection.
-   * @return La liste des intersections transparente en odre dcroissant dont le premier lment sera une gomtrie opaque s'il y a eu intersection de cette nature.
    */
-  protected List<SRay> nearestOpaqueIntersectionInVoxelMap(SRay ray, double t_max, Map<SVoxel,List<SGeometry>> map, SVoxelBuilder builder, SVoxel voxel)
+  protected void nearestOpaqueIntersectionInVoxelMap(SVoxelMailbox mailbox, SRay ray, Map<SVoxel,List<SGeometry>> map, SVoxel voxel)
   {
-    if(map != null)
-      if(!map.isEmpty())
+    // Obtenir la liste des gomtries en rfrence dans le voxel
+    List<SGeometry> list = map.get(voxel);
+    
+    if(list != null)          
+      if(!list.isEmpty())     
       {
-        // Obtenir la liste des gomtries en rfrence dans le voxel
-        List<SGeometry> list = map.get(voxel);
+        SIntersectionStatistics statistics = SIntersectionStatistics.ENABLED ? SIntersectionStatistics.local() : null;
         
-        if(list != null)          
-          if(!list.isEmpty())     
-            return nearestOpaqueIntersectionInVoxel(list, ray, t_max, builder, voxel);  // Obtenir la liste de l'intersection opaque la plus prs
+        // Compter la visite du voxel
+        if(SIntersectionStatistics.ENABLED)
+          statistics.countStep(SIntersectionStatistics.VOXEL_VISIT);
+        
+        for(SGeometry g : list)
+          if(mailbox.visit(g))
+          {
+            if(SIntersectionStatistics.ENABLED)
+              statistics.countGeometryTest(g);
+            
+            mailbox.offerOpaque(g, g.intersectionTime(ray, mailbox.getOpaqueTime()));
+          }
       }
-
-    // La carte n'tant vide, on retourne une liste vide
-    return new ArrayList<SRay>();    
   }
   
   /**
-   * <p>
-   * Mthode qui value l'intersection la plus prs entre un rayon et les diffrentes gomtries <b>opaque</b> de l'espace ne dpassant pas un certain temps maximal.
-   * Une liste des gomtries transparentes sera ordonne en <b>ordre inverse d'apparition</b> (ordre dcroissant du temps).
-   * La <b>liste dbutera par une gomtrie opaque</b> s'il y a eu une intersection avec une gomtrie opaque.
-   * S'il n'y a pas eu d'intersection avec une gomtrie opaque, elle contiendra uniquement des gomtries transparentes.
-   * </p>
+   * Mthode qui dtermine si une gomtrie <b>opaque</b> d'une carte de voxels est intersecte par un rayon avant un temps maximal.
+   * Le parcours de la ligne de voxels se termine ds la premire intersection opaque trouve. 
+   * Une intersection hors du voxel courant est accepte, car seule son existence avant le temps maximal importe.
+   * Une gomtrie rfrence dans plusieurs voxels n'est teste qu'une seule fois (voir SVoxelMailbox).
    * 
-   * <p>
-   * En comparaison avec sa version prcdente, cette mthode n'acceptera uniquement les intersections situes  l'intrieur du voxel associ  la liste des gomtries.
-   * </p>
-   *
-   * @param list - La liste des gomtries.
-   * @param ray - Le rayon  intersecter avec les gomtries de l'espace.
+   * @param ray - Le rayon  intersecter avec les gomtries.
    * @param t_max - Le temps maximal.
-   * @param builder - Le constructeur de voxel (pour vrifier si l'intersection est  l'intrieur du voxel).
-   * @param voxel - Le voxel de la carte o sont raliss les tests d'intersection.
-   * @return Une liste des gomtries transparentes intersectes en <b>ordre dcroissant</b> dbutant par une gomtrie opaque s'il y a eu lieu. La liste sera <b>vide</b> s'il n'y a <b>aucune intersection</b> sur le temps maximal.
+   * @param map - La carte des voxels.
+   * @param builder - Le constructeur de voxel attitr  la carte de voxels.
+   * @param extremum_voxel - Le voxel extremum associ  la carte de voxels.
+   * @return <b>true</b> si une gomtrie opaque est intersecte avant le temps maximal et <b>false</b> sinon.
    */
-  private List<SRay> nearestOpaqueIntersectionInVoxel(List<SGeometry> list, SRay ray, final double t_max, SVoxelBuilder builder, SVoxel voxel)
+  protected boolean occludedInVoxelMap(SRay ray, double t_max, Map<SVoxel,List<SGeometry>> map, SVoxelBuilder builder, SVoxel extremum_voxel)
   {
-    // Obtenir la liste complte des intersections tries en ordre croissant
-    List<SRay> list_intersection = intersections(list, ray, t_max);
+    if(map == null || map.isEmpty())
+      return false;
     
-    // Iterer sur l'ensemble des intersections et conserver celle 
-    // o il y a des gomtries transparentes et une seule opaque s'il y en a une
-    List<SRay> return_list = new ArrayList<SRay>();
+    // Crer la ligne de voxel  parcourir un  un
+    SFastTraversalVoxelAlgorithm line_of_voxel = new SFastTraversalVoxelAlgorithm(builder.getDimension(), ray, t_max, extremum_voxel);
     
-    for(SRay r : list_intersection)
-    {
-      // Ajouter et traiter l'intersection uniquement si elle se retrouve dans le voxel
-      if(builder.buildVoxel(r.getIntersectionPosition()).equals(voxel))
+    SIntersectionStatistics statistics = SIntersectionStatistics.ENABLED ? SIntersectionStatistics.local() : null;
+    
+    SVoxelMailbox mailbox = new SVoxelMailbox(ray, t_max);
+    
+    try{
+      
+      while(line_of_voxel.asNextVoxel())
       {
-        return_list.add(r);   // ajouter cette intersection
+        List<SGeometry> list = map.get(line_of_voxel.nextVoxel());
         
-        // Si la gomtrie intersect n'est pas transparente,
-        // ce sera la dernire intersection ajoute  la liste
-        // car elle sera la seule intersection opaque de la liste.
-        if(!r.getGeometry().isTransparent())
-        {
-          Collections.reverse(return_list);     // Inverser l'ordre en ordre dcroissant
-          return return_list;                   // retourner une liste avec gomtrie opaque
-        }
+        // Seuls les voxels de la carte sont compts (comme pour la recherche de l'intersection la plus prs)
+        if(SIntersectionStatistics.ENABLED && list != null)
+          statistics.countStep(SIntersectionStatistics.VOXEL_VISIT);
+        
+        if(list != null)
+          for(SGeometry g : list)
+            if(!g.isTransparent() && mailbox.visit(g))
+            {
+              if(SIntersectionStatistics.ENABLED)
+                statistics.countGeometryTest(g);
+              
+              if(g.intersectionTime(ray, t_max) < t_max)
+                return true;
+            }
       }
+      
+      return false;
+      
+    }finally{
+      mailbox.close();
     }
+  }
+  
+  /**
+   * Mthode qui value le filtre de transmission d'un rayon au travers des gomtries d'une carte de voxels avant un temps maximal.
+   * Une gomtrie transparente pouvant tre rfrence dans plusieurs voxels, elle n'est teste (et filtre) qu'une seule fois (voir SVoxelMailbox).
+   * Le parcours de la ligne de voxels se termine ds la premire intersection opaque trouve.
+   * 
+   * @param ray - Le rayon  intersecter avec les gomtries.
+   * @param t_max - Le temps maximal.
+   * @param map - La carte des voxels.
+   * @param builder - Le constructeur de voxel attitr  la carte de voxels.
+   * @param extremum_voxel - Le voxel extremum associ  la carte de voxels.
+   * @param filter - Le filtre de transmission accumul jusqu' prsent.
+   * @return Le filtre de transmission aprs le passage au travers des gomtries ou le filtre <b>NO_TRANSMITTANCE</b> s'il y a une intersection opaque.
+   */
+  protected SColor transmittanceInVoxelMap(SRay ray, double t_max, Map<SVoxel,List<SGeometry>> map, SVoxelBuilder builder, SVoxel extremum_voxel, SColor filter)
+  {
+    if(map == null || map.isEmpty())
+      return filter;
     
-    Collections.reverse(return_list);           // Inverser l'ordre en ordre dcroissant
-    return return_list;                         // retourner une liste sans gomtrie opaque
+    // Crer la ligne de voxel  parcourir un  un
+    SFastTraversalVoxelAlgorithm line_of_voxel = new SFastTraversalVoxelAlgorithm(builder.getDimension(), ray, t_max, extremum_voxel);
+    
+    SIntersectionStatistics statistics = SIntersectionStatistics.ENABLED ? SIntersectionStatistics.local() : null;
+    
+    SVoxelMailbox mailbox = new SVoxelMailbox(ray, t_max);
+    
+    try{
+      
+      while(line_of_voxel.asNextVoxel())
+      {
+        List<SGeometry> list = map.get(line_of_voxel.nextVoxel());
+        
+        // Seuls les voxels de la carte sont compts (comme pour la recherche de l'intersection la plus prs)
+        if(SIntersectionStatistics.ENABLED && list != null)
+          statistics.countStep(SIntersectionStatistics.VOXEL_VISIT);
+        
+        if(list != null)
+          for(SGeometry g : list)
+            if(mailbox.visit(g))
+            {
+              if(SIntersectionStatistics.ENABLED)
+                statistics.countGeometryTest(g);
+              
+              if(g.intersectionTime(ray, t_max) < t_max)
+                if(!g.isTransparent())
+                  return NO_TRANSMITTANCE;
+                else
+                  filter = filter.multiply(transparencyColor(g));
+            }
+      }
+      
+      return filter;
+      
+    }finally{
+      mailbox.close();
+    }
   }
   
   /**
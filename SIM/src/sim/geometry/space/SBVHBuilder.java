@@ -0,0 +1,914 @@
+/**
+ *
+ */
+package sim.geometry.space;
+
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.RecursiveTask;
+
+import sim.geometry.SGeometry;
+import sim.util.SChronometer;
+
+/**
+ * <p>
+ * La classe <b>SBVHBuilder</b> reprsente un constructeur <b>parallle</b> de hirarchie de volumes englobants selon l'heuristique
+ * de l'aire des surfaces (SAH) value par intervalles (<i>binned SAH</i>). Le travail est rparti par un <i>ForkJoinPool</i> :
+ * <ul>- Les botes englobantes des gomtries sont construites en parallle par intervalles de gomtries.</ul>
+ * <ul>- La bote d'un noeud et la rpartition de ses gomtries dans les intervalles SAH sont des rductions parallles lorsque le noeud est grand.</ul>
+ * <ul>- Les deux enfants d'un noeud sont construits simultanment (rcursion <i>fork/join</i> sur les intervalles de gomtries).</ul>
+ * </p>
+ *
+ * <p>
+ * Les noeuds sont d'abord construits sous forme d'arbre puis aplatis en profondeur (l'enfant de gauche suit immdiatement son parent)
+ * dans des tableaux de types primitifs. Les rductions tant exactes (minimum, maximum et comptes) et la partition tant squentielle,
+ * la hirarchie obtenue ne dpend pas du nombre de fils d'excution.
+ * </p>
+ *
+ * <p>
+ * La profondeur de la hirarchie est limite (voir <b>MAX_DEPTH</b>) : une distribution dgnre des centres (ex. : suite gomtrique
+ * de positions dont chaque coupe isole une seule gomtrie) ne peut pas puiser la pile de la construction et de l'aplatissement rcursifs.
+ * </p>
+ *
+ * <p>
+ * Les botes englobantes construites en parallle sont galement utilises par les espaces de voxels (voir <b>buildBoundingBoxes</b>).
+ * </p>
+ *
+ * @author Simon Vzina
+ * @since 2026-10-17
+ * @version 2026-10-17
+ */
+public class SBVHBuilder {
+
+  //--------------
+  // CONSTANTES //
+  //--------------
+
+  /**
+   * La constante <b>NB_BIN</b> correspond au nombre d'intervalles (<i>bins</i>) utiliss par axe pour valuer les coupes selon l'heuristique SAH.
+   */
+  private static final int NB_BIN = 16;
+
+  /**
+   * La constante <b>MAX_LEAF_SIZE</b> correspond au nombre maximal de gomtries dans une feuille lorsqu'une coupe est encore possible.
+   */
+  private static final int MAX_LEAF_SIZE = 4;
+
+  /**
+   * La constante <b>MAX_DEPTH</b> correspond  la profondeur maximale d'un noeud. Un noeud de cette profondeur devient une feuille
+   * peu importe son nombre de gomtries.
+   */
+  static final int MAX_DEPTH = 64;
+
+  /**
+   * La constante <b>TRAVERSAL_COST</b> correspond au cot relatif du parcours d'un noeud par rapport au cot d'un test d'intersection avec une gomtrie.
+   */
+  private static final double TRAVERSAL_COST = 1.0;
+
+  /**
+   * La constante <b>FORK_THRESHOLD</b> correspond au nombre minimal de gomtries d'un noeud pour que ses enfants soient construits en parallle.
+   */
+  private static final int FORK_THRESHOLD = 4096;
+
+  /**
+   * La constante <b>REDUCTION_GRAIN</b> correspond au nombre de gomtries traites par une tche de rduction (bote d'un noeud et intervalles SAH).
+   * Un noeud plus petit que deux fois cette valeur est rduit squentiellement.
+   */
+  private static final int REDUCTION_GRAIN = 16384;
+
+  /**
+   * La constante <b>BOX_GRAIN</b> correspond au nombre de gomtries dont la bote englobante est construite par une mme tche.
+   */
+  private static final int BOX_GRAIN = 1024;
+
+  //-------------
+  // VARIABLES //
+  //-------------
+
+  /**
+   * La variable <b>pool</b> correspond au regroupement de fils d'excution de la construction.
+   */
+  private final ForkJoinPool pool;
+
+  /**
+   * La variable <b>box_min</b> correspond aux points minimaux des botes des gomtries (3 valeurs par gomtrie).
+   */
+  private double[] box_min;
+
+  /**
+   * La variable <b>box_max</b> correspond aux points maximaux des botes des gomtries (3 valeurs par gomtrie).
+   */
+  private double[] box_max;
+
+  /**
+   * La variable <b>centroid</b> correspond aux centres des botes des gomtries (3 valeurs par gomtrie).
+   */
+  private double[] centroid;
+
+  /**
+   * La variable <b>index</b> correspond aux indices des gomtries rordonns par la construction (chaque feuille rfrence un intervalle continu).
+   */
+  private int[] index;
+
+  /**
+   * La variable <b>primitive_tab</b> correspond aux gomtries de la hirarchie ordonnes selon les feuilles.
+   */
+  private SGeometry[] primitive_tab;
+
+  /**
+   * La variable <b>node_bounds</b> correspond aux botes des noeuds {x_min, y_min, z_min, x_max, y_max, z_max} (6 valeurs par noeud).
+   */
+  private double[] node_bounds;
+
+  /**
+   * La variable <b>node_skip</b> correspond  l'indice du noeud  visiter aprs le sous-arbre d'un noeud.
+   */
+  private int[] node_skip;
+
+  /**
+   * La variable <b>node_first</b> correspond  l'indice de la premire gomtrie d'une feuille dans <b>primitive_tab</b>.
+   */
+  private int[] node_first;
+
+  /**
+   * La variable <b>node_count</b> correspond au nombre de gomtries d'une feuille (0 pour un noeud interne).
+   */
+  private int[] node_count;
+
+  /**
+   * La variable <b>nb_node</b> correspond au nombre de noeuds de la hirarchie.
+   */
+  private int nb_node;
+
+  /**
+   * La variable <b>box_time</b> correspond  la dure (en secondes) de la dernire construction de botes englobantes.
+   */
+  private double box_time;
+
+  /**
+   * La variable <b>hierarchy_time</b> correspond  la dure (en secondes) de la dernire construction de hirarchie.
+   */
+  private double hierarchy_time;
+
+  //----------------
+  // CONSTRUCTEUR //
+  //----------------
+
+  /**
+   * Constructeur d'un constructeur de hirarchie utilisant un fil d'excution par processeur.
+   */
+  public SBVHBuilder()
+  {
+    this(Runtime.getRuntime().availableProcessors());
+  }
+
+  /**
+   * Constructeur d'un constructeur de hirarchie.
+   *
+   * @param nb_thread - Le nombre de fils d'excution (au moins 1).
+   */
+  public SBVHBuilder(int nb_thread)
+  {
+    pool = new ForkJoinPool(Math.max(1, nb_thread));
+
+    primitive_tab = new SGeometry[0];
+    node_bounds = new double[0];
+    node_skip = node_first = node_count = new int[0];
+    nb_node = 0;
+  }
+
+  //------------
+  // MTHODES //
+  //------------
+
+  /**
+   * Mthode pour construire en parallle les botes englobantes d'une liste de gomtries.
+   *
+   * @param geometry_list - La liste des gomtries.
+   * @return Les botes englobantes dans l'ordre de la liste (<b>null</b> pour une gomtrie ne pouvant pas tre englobe).
+   */
+  public SBoundingBox[] buildBoundingBoxes(final List<SGeometry> geometry_list)
+  {
+    SChronometer chrono = new SChronometer();
+    chrono.start();
+
+    final SGeometry[] geometry_tab = geometry_list.toArray(new SGeometry[geometry_list.size()]);
+    final SBoundingBox[] box_tab = new SBoundingBox[geometry_tab.length];
+
+    pool.invoke(new SRangeAction(new SRange(){
+
+      @Override
+      public void compute(int begin, int end)
+      {
+        SBoundingBoxBuilder box_builder = new SBoundingBoxBuilder();
+
+        for(int i = begin; i < end; i++)
+          box_tab[i] = box_builder.buildBoundingBox(geometry_tab[i]);
+      }
+    }, 0, geometry_tab.length, BOX_GRAIN));
+
+    chrono.stop();
+    box_time = chrono.getTime();
+
+    return box_tab;
+  }
+
+  /**
+   * Mthode pour construire la hirarchie aplatie  partir d'une liste de botes englobantes.
+   *
+   * @param bounding_box_list - La liste des botes englobantes des gomtries.
+   */
+  public void build(final List<SBoundingBox> bounding_box_list)
+  {
+    SChronometer chrono = new SChronometer();
+    chrono.start();
+
+    int n = bounding_box_list.size();
+
+    primitive_tab = new SGeometry[n];
+    nb_node = 0;
+
+    if(n == 0)
+    {
+      node_bounds = new double[0];
+      node_skip = node_first = node_count = new int[0];
+
+      chrono.stop();
+      hierarchy_time = chrono.getTime();
+      return;
+    }
+
+    // Botes et centres des gomtries (3 valeurs par gomtrie)
+    box_min = new double[3*n];
+    box_max = new double[3*n];
+    centroid = new double[3*n];
+    index = new int[n];
+
+    final SBoundingBox[] box_tab = bounding_box_list.toArray(new SBoundingBox[n]);
+
+    pool.invoke(new SRangeAction(new SRange(){
+
+      @Override
+      public void compute(int begin, int end)
+      {
+        for(int i = begin; i < end; i++)
+        {
+          SBoundingBox box = box_tab[i];
+
+          box_min[3*i] = box.getMinPoint().getX();
+          box_min[3*i+1] = box.getMinPoint().getY();
+          box_min[3*i+2] = box.getMinPoint().getZ();
+
+          box_max[3*i] = box.getMaxPoint().getX();
+          box_max[3*i+1] = box.getMaxPoint().getY();
+          box_max[3*i+2] = box.getMaxPoint().getZ();
+
+          for(int a = 0; a < 3; a++)
+            centroid[3*i+a] = 0.5*(box_min[3*i+a] + box_max[3*i+a]);
+
+          index[i] = i;
+        }
+      }
+    }, 0, n, BOX_GRAIN));
+
+    // Construction parallle de l'arbre
+    SBuildNode root = pool.invoke(new SNodeTask(0, n, 0));
+
+    // Le nombre de noeuds est connu  la fin de la construction (au plus 2n-1 pour n feuilles)
+    node_bounds = new double[6*root.size];
+    node_skip = new int[root.size];
+    node_first = new int[root.size];
+    node_count = new int[root.size];
+
+    flatten(root);
+
+    // Ordonner les gomtries selon les feuilles
+    for(int i = 0; i < n; i++)
+      primitive_tab[i] = box_tab[index[i]].getGeometry();
+
+    // Librer les tableaux de travail
+    box_min = box_max = centroid = null;
+    index = null;
+
+    chrono.stop();
+    hierarchy_time = chrono.getTime();
+  }
+
+  /**
+   * Mthode pour librer les fils d'excution du constructeur.
+   */
+  public void close()
+  {
+    pool.shutdown();
+  }
+
+  /**
+   * Mthode pour excuter une tche parallle  l'aide des fils d'excution du constructeur (ex. : remplissage d'une carte de voxels).
+   *
+   * @param task - La tche.
+   * @return Le rsultat de la tche.
+   */
+  <T> T invoke(ForkJoinTask<T> task)
+  {
+    return pool.invoke(task);
+  }
+
+  /**
+   * Mthode pour obtenir le nombre de fils d'excution de la construction.
+   *
+   * @return Le nombre de fils d'excution.
+   */
+  public int getNbThread()
+  {
+    return pool.getParallelism();
+  }
+
+  /**
+   * Mthode pour obtenir la dure de la dernire construction de botes englobantes.
+   *
+   * @return La dure en secondes.
+   */
+  public double getBoundingBoxTime()
+  {
+    return box_time;
+  }
+
+  /**
+   * Mthode pour obtenir la dure de la dernire construction de hirarchie.
+   *
+   * @return La dure en secondes.
+   */
+  public double getHierarchyTime()
+  {
+    return hierarchy_time;
+  }
+
+  /**
+   * Mthode pour obtenir les gomtries de la hirarchie ordonnes selon les feuilles.
+   *
+   * @return Les gomtries.
+   */
+  public SGeometry[] getPrimitives()
+  {
+    return primitive_tab;
+  }
+
+  /**
+   * Mthode pour obtenir les botes des noeuds (6 valeurs par noeud).
+   *
+   * @return Les botes des noeuds.
+   */
+  public double[] getNodeBounds()
+  {
+    return node_bounds;
+  }
+
+  /**
+   * Mthode pour obtenir l'indice du noeud suivant le sous-arbre de chaque noeud.
+   *
+   * @return Les indices de saut.
+   */
+  public int[] getNodeSkip()
+  {
+    return node_skip;
+  }
+
+  /**
+   * Mthode pour obtenir l'indice de la premire gomtrie de chaque feuille.
+   *
+   * @return Les indices des premires gomtries.
+   */
+  public int[] getNodeFirst()
+  {
+    return node_first;
+  }
+
+  /**
+   * Mthode pour obtenir le nombre de gomtries de chaque feuille (0 pour un noeud interne).
+   *
+   * @return Les nombres de gomtries.
+   */
+  public int[] getNodeCount()
+  {
+    return node_count;
+  }
+
+  /**
+   * Mthode pour obtenir le nombre de noeuds de la hirarchie.
+   *
+   * @return Le nombre de noeuds.
+   */
+  public int getNbNode()
+  {
+    return nb_node;
+  }
+
+  /**
+   * Mthode rcursive pour construire le noeud contenant les gomtries index[begin..end[ selon l'heuristique SAH.
+   * Les enfants d'un grand noeud sont construits en parallle.
+   *
+   * @param begin - Le premier indice (inclus).
+   * @param end - Le dernier indice (exclu).
+   * @param depth - La profondeur du noeud (0 pour la racine).
+   * @return Le noeud construit.
+   */
+  private SBuildNode buildNode(int begin, int end, int depth)
+  {
+    int count = end - begin;
+
+    SBuildNode node = new SBuildNode(begin, end);
+
+    // Bote du noeud et bote des centres {c_min, c_max}
+    SBounds bounds = count < 2*REDUCTION_GRAIN ? computeBounds(begin, end) : new SBoundsTask(begin, end).invoke();
+
+    System.arraycopy(bounds.node, 0, node.bounds, 0, 6);
+
+    // valuer la meilleure coupe selon l'heuristique SAH (par intervalles sur les centres).
+    // Aucune coupe n'est value  la profondeur maximale : le noeud devient une feuille.
+    int best_axis = -1;
+    int best_bin = -1;
+    double best_cost = Double.POSITIVE_INFINITY;
+
+    double[] extent = new double[3];
+
+    for(int a = 0; a < 3; a++)
+      extent[a] = bounds.centroid[3+a] - bounds.centroid[a];
+
+    if(count > 1 && depth < MAX_DEPTH)
+    {
+      SBinning binning = count < 2*REDUCTION_GRAIN ? computeBinning(begin, end, bounds.centroid, extent) : new SBinningTask(begin, end, bounds.centroid, extent).invoke();
+
+      double[] right_area = new double[NB_BIN];
+      double[] acc = new double[6];
+
+      for(int a = 0; a < 3; a++)
+      {
+        if(extent[a] <= 0.0)
+          continue;
+
+        int[] bin_count = binning.count[a];
+        double[] bin_bounds = binning.bounds[a];
+
+        // Balayage de droite  gauche : aire des botes  droite de chaque coupe
+        resetBounds(acc, 0);
+
+        for(int b = NB_BIN - 1; b > 0; b--)
+        {
+          mergeBounds(acc, bin_bounds, 6*b);
+          right_area[b] = area(acc, 0);
+        }
+
+        // Balayage de gauche  droite : cot de chaque coupe
+        resetBounds(acc, 0);
+        int left_count = 0;
+
+        for(int b = 0; b < NB_BIN - 1; b++)
+        {
+          mergeBounds(acc, bin_bounds, 6*b);
+          left_count += bin_count[b];
+
+          int right_count = count - left_count;
+
+          if(left_count == 0 || right_count == 0)
+            continue;
+
+          double cost = left_count * area(acc, 0) + right_count * right_area[b+1];
+
+          if(cost < best_cost)
+          {
+            best_cost = cost;
+            best_axis = a;
+            best_bin = b;
+          }
+        }
+      }
+    }
+
+    // Cot relatif d'une coupe par rapport  celui d'une feuille
+    double node_area = area(node.bounds, 0);
+    double split_cost = node_area > 0.0 ? TRAVERSAL_COST + best_cost / node_area : Double.POSITIVE_INFINITY;
+
+    boolean make_leaf = best_axis < 0 || (count <= MAX_LEAF_SIZE && split_cost >= count);
+
+    if(make_leaf)
+      return node;
+
+    // Partitionner les gomtries de part et d'autre de la coupe
+    double c_min = bounds.centroid[best_axis];
+    int mid = begin;
+
+    for(int i = begin; i < end; i++)
+      if(binOf(centroid[3*index[i] + best_axis], c_min, extent[best_axis]) <= best_bin)
+      {
+        int tmp = index[i];
+        index[i] = index[mid];
+        index[mid] = tmp;
+        mid++;
+      }
+
+    // Construire les deux enfants simultanment si le noeud est grand
+    if(count >= FORK_THRESHOLD)
+    {
+      SNodeTask left_task = new SNodeTask(begin, mid, depth + 1);
+      left_task.fork();
+
+      node.right = buildNode(mid, end, depth + 1);
+      node.left = left_task.join();
+    }
+    else
+    {
+      node.left = buildNode(begin, mid, depth + 1);
+      node.right = buildNode(mid, end, depth + 1);
+    }
+
+    node.size = 1 + node.left.size + node.right.size;
+
+    return node;
+  }
+
+  /**
+   * Mthode pour valuer squentiellement la bote des gomtries index[begin..end[ et la bote de leurs centres.
+   */
+  private SBounds computeBounds(int begin, int end)
+  {
+    SBounds result = new SBounds();
+
+    for(int i = begin; i < end; i++)
+    {
+      int p = 3*index[i];
+
+      for(int a = 0; a < 3; a++)
+      {
+        result.node[a] = Math.min(result.node[a], box_min[p+a]);
+        result.node[3+a] = Math.max(result.node[3+a], box_max[p+a]);
+        result.centroid[a] = Math.min(result.centroid[a], centroid[p+a]);
+        result.centroid[3+a] = Math.max(result.centroid[3+a], centroid[p+a]);
+      }
+    }
+
+    return result;
+  }
+
+  /**
+   * Mthode pour rpartir squentiellement les gomtries index[begin..end[ dans les intervalles SAH des axes d'tendue non nulle.
+   */
+  private SBinning computeBinning(int begin, int end, double[] c_bounds, double[] extent)
+  {
+    SBinning result = new SBinning();
+
+    for(int a = 0; a < 3; a++)
+    {
+      if(extent[a] <= 0.0)
+        continue;
+
+      int[] bin_count = result.count[a];
+      double[] bin_bounds = result.bounds[a];
+
+      for(int i = begin; i < end; i++)
+      {
+        int p = 3*index[i];
+        int k = 6*binOf(centroid[p+a], c_bounds[a], extent[a]);
+
+        bin_count[k/6]++;
+
+        for(int j = 0; j < 3; j++)
+        {
+          bin_bounds[k+j] = Math.min(bin_bounds[k+j], box_min[p+j]);
+          bin_bounds[k+3+j] = Math.max(bin_bounds[k+3+j], box_max[p+j]);
+        }
+      }
+    }
+
+    return result;
+  }
+
+  /**
+   * Mthode rcursive pour aplatir un sous-arbre en profondeur  la suite des noeuds existants.
+   * La profondeur de la rcursion est limite par celle de la hirarchie (voir <b>MAX_DEPTH</b>).
+   *
+   * @param node - La racine du sous-arbre.
+   */
+  private void flatten(SBuildNode node)
+  {
+    int k = nb_node++;
+
+    System.arraycopy(node.bounds, 0, node_bounds, 6*k, 6);
+    node_first[k] = node.begin;
+
+    if(node.left == null)
+    {
+      node_count[k] = node.end - node.begin;
+      node_skip[k] = k + 1;
+      return;
+    }
+
+    node_count[k] = 0;
+
+    // L'enfant de gauche suit immdiatement le noeud, l'enfant de droite suit le sous-arbre de gauche
+    flatten(node.left);
+    flatten(node.right);
+
+    node_skip[k] = nb_node;
+  }
+
+  /**
+   * Mthode pour obtenir l'intervalle (<i>bin</i>) associ  une coordonne d'un centre.
+   */
+  private static int binOf(double c, double c_min, double extent)
+  {
+    int b = (int)(NB_BIN * (c - c_min) / extent);
+
+    return Math.min(Math.max(b, 0), NB_BIN - 1);
+  }
+
+  /**
+   * Mthode pour rinitialiser une bote vide  la position k d'un tableau.
+   */
+  private static void resetBounds(double[] bounds, int k)
+  {
+    for(int a = 0; a < 3; a++)
+    {
+      bounds[k+a] = Double.POSITIVE_INFINITY;
+      bounds[k+3+a] = Double.NEGATIVE_INFINITY;
+    }
+  }
+
+  /**
+   * Mthode pour agrandir la bote <b>acc</b> afin d'inclure la bote  la position k d'un tableau.
+   */
+  private static void mergeBounds(double[] acc, double[] bounds, int k)
+  {
+    for(int a = 0; a < 3; a++)
+    {
+      acc[a] = Math.min(acc[a], bounds[k+a]);
+      acc[3+a] = Math.max(acc[3+a], bounds[k+3+a]);
+    }
+  }
+
+  /**
+   * Mthode pour agrandir deux botes de mme taille lment par lment (tableaux de plusieurs botes).
+   */
+  private static void mergeAllBounds(double[] acc, double[] bounds)
+  {
+    for(int k = 0; k < acc.length; k += 6)
+      for(int a = 0; a < 3; a++)
+      {
+        acc[k+a] = Math.min(acc[k+a], bounds[k+a]);
+        acc[k+3+a] = Math.max(acc[k+3+a], bounds[k+3+a]);
+      }
+  }
+
+  /**
+   * Mthode pour obtenir l'aire de la surface de la bote  la position k d'un tableau (0 pour une bote vide).
+   */
+  private static double area(double[] bounds, int k)
+  {
+    double dx = bounds[k+3] - bounds[k];
+    double dy = bounds[k+4] - bounds[k+1];
+    double dz = bounds[k+5] - bounds[k+2];
+
+    if(dx < 0.0 || dy < 0.0 || dz < 0.0)
+      return 0.0;
+
+    return 2.0*(dx*dy + dy*dz + dz*dx);
+  }
+
+  /**
+   * La classe interne <b>SBuildNode</b> reprsente un noeud de la hirarchie en construction (avant l'aplatissement).
+   */
+  private static class SBuildNode {
+
+    private final int begin;
+    private final int end;
+    private final double[] bounds;
+
+    private SBuildNode left;
+    private SBuildNode right;
+
+    /**
+     * La variable <b>size</b> correspond au nombre de noeuds du sous-arbre (incluant ce noeud).
+     */
+    private int size;
+
+    /**
+     * Constructeur d'une feuille contenant les gomtries index[begin..end[.
+     *
+     * @param begin - Le premier indice (inclus).
+     * @param end - Le dernier indice (exclu).
+     */
+    private SBuildNode(int begin, int end)
+    {
+      this.begin = begin;
+      this.end = end;
+      this.bounds = new double[6];
+      this.left = null;
+      this.right = null;
+      this.size = 1;
+    }
+
+  }//fin de la classe interne SBuildNode
+
+  /**
+   * La classe interne <b>SBounds</b> reprsente la bote d'un ensemble de gomtries et la bote de leurs centres.
+   */
+  private static class SBounds {
+
+    private final double[] node = new double[6];
+    private final double[] centroid = new double[6];
+
+    private SBounds()
+    {
+      resetBounds(node, 0);
+      resetBounds(centroid, 0);
+    }
+
+    private void merge(SBounds other)
+    {
+      mergeBounds(node, other.node, 0);
+      mergeBounds(centroid, other.centroid, 0);
+    }
+
+  }//fin de la classe interne SBounds
+
+  /**
+   * La classe interne <b>SBinning</b> reprsente la rpartition d'un ensemble de gomtries dans les intervalles SAH des trois axes :
+   * nombre de gomtries et bote de chaque intervalle.
+   */
+  private static class SBinning {
+
+    private final int[][] count = new int[3][NB_BIN];
+    private final double[][] bounds = new double[3][6*NB_BIN];
+
+    private SBinning()
+    {
+      for(int a = 0; a < 3; a++)
+        for(int b = 0; b < NB_BIN; b++)
+          resetBounds(bounds[a], 6*b);
+    }
+
+    private void merge(SBinning other)
+    {
+      for(int a = 0; a < 3; a++)
+      {
+        for(int b = 0; b < NB_BIN; b++)
+          count[a][b] += other.count[a][b];
+
+        mergeAllBounds(bounds[a], other.bounds[a]);
+      }
+    }
+
+  }//fin de la classe interne SBinning
+
+  /**
+   * L'interface interne <b>SRange</b> reprsente un traitement squentiel d'un intervalle d'indices.
+   */
+  private interface SRange {
+
+    /**
+     * Mthode pour traiter squentiellement un intervalle d'indices.
+     *
+     * @param begin - Le premier indice (inclus).
+     * @param end - Le dernier indice (exclu).
+     */
+    public void compute(int begin, int end);
+
+  }//fin de l'interface interne SRange
+
+  /**
+   * La classe interne <b>SRangeAction</b> reprsente un traitement parallle d'un intervalle d'indices [begin, end[
+   * coup en deux tant qu'il dpasse la taille d'un grain.
+   */
+  private static class SRangeAction extends RecursiveAction {
+
+    private static final long serialVersionUID = 1L;
+
+    private final SRange range;
+    private final int begin;
+    private final int end;
+    private final int grain;
+
+    private SRangeAction(SRange range, int begin, int end, int grain)
+    {
+      this.range = range;
+      this.begin = begin;
+      this.end = end;
+      this.grain = grain;
+    }
+
+    @Override
+    protected void compute()
+    {
+      if(end - begin <= grain)
+        range.compute(begin, end);
+      else
+      {
+        int mid = (begin + end) >>> 1;
+        invokeAll(new SRangeAction(range, begin, mid, grain), new SRangeAction(range, mid, end, grain));
+      }
+    }
+
+  }//fin de la classe interne SRangeAction
+
+  /**
+   * La classe interne <b>SNodeTask</b> reprsente la construction parallle d'un sous-arbre.
+   */
+  private class SNodeTask extends RecursiveTask<SBuildNode> {
+
+    private static final long serialVersionUID = 1L;
+
+    private final int begin;
+    private final int end;
+    private final int depth;
+
+    private SNodeTask(int begin, int end, int depth)
+    {
+      this.begin = begin;
+      this.end = end;
+      this.depth = depth;
+    }
+
+    @Override
+    protected SBuildNode compute()
+    {
+      return buildNode(begin, end, depth);
+    }
+
+  }//fin de la classe interne SNodeTask
+
+  /**
+   * La classe interne <b>SBoundsTask</b> reprsente la rduction parallle de la bote d'un noeud et de la bote de ses centres.
+   */
+  private class SBoundsTask extends RecursiveTask<SBounds> {
+
+    private static final long serialVersionUID = 1L;
+
+    private final int begin;
+    private final int end;
+
+    private SBoundsTask(int begin, int end)
+    {
+      this.begin = begin;
+      this.end = end;
+    }
+
+    @Override
+    protected SBounds compute()
+    {
+      if(end - begin <= REDUCTION_GRAIN)
+        return computeBounds(begin, end);
+
+      int mid = (begin + end) >>> 1;
+
+      SBoundsTask left = new SBoundsTask(begin, mid);
+      left.fork();
+
+      SBounds result = new SBoundsTask(mid, end).compute();
+      result.merge(left.join());
+
+      return result;
+    }
+
+  }//fin de la classe interne SBoundsTask
+
+  /**
+   * La classe interne <b>SBinningTask</b> reprsente la rduction parallle de la rpartition des gomtries d'un noeud dans les intervalles SAH.
+   */
+  private class SBinningTask extends RecursiveTask<SBinning> {
+
+    private static final long serialVersionUID = 1L;
+
+    private final int begin;
+    private final int end;
+    private final double[] c_bounds;
+    private final double[] extent;
+
+    private SBinningTask(int begin, int end, double[] c_bounds, double[] extent)
+    {
+      this.begin = begin;
+      this.end = end;
+      this.c_bounds = c_bounds;
+      this.extent = extent;
+    }
+
+    @Override
+    protected SBinning compute()
+    {
+      if(end - begin <= REDUCTION_GRAIN)
+        return computeBinning(begin, end, c_bounds, extent);
+
+      int mid = (begin + end) >>> 1;
+
+      SBinningTask left = new SBinningTask(begin, mid, c_bounds, extent);
+      left.fork();
+
+      SBinning result = new SBinningTask(mid, end, c_bounds, extent).compute();
+      result.merge(left.join());
+
+      return result;
+    }
+
+  }//fin de la classe interne SBinningTask
+
+}//fin de la classe SBVHBuilder
@@ -0,0 +1,632 @@
+/**
+ *
+ */
+package sim.geometry.space;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import sim.exception.SRuntimeException;
+import sim.geometry.SGeometry;
+import sim.geometry.SRay;
+import sim.graphics.SColor;
+import sim.math.SVector3d;
+import sim.util.SLog;
+
+/**
+ * <p>
+ * La classe <b>SBVHSpace</b> reprsente un espace de gomtries organises dans une hirarchie de volumes englobants
+ * (<i>bounding volume hierarchy</i>). Chaque noeud de la hirarchie est une bote aligne sur les axes x, y et z contenant
+ * l'ensemble des gomtries de ses deux enfants. Un rayon ne testera ainsi que les gomtries des noeuds qu'il traverse.
+ * </p>
+ *
+ * <p>
+ * La hirarchie est construite selon l'heuristique de l'aire des surfaces (<i>surface area heuristic</i>, SAH) ce qui
+ * l'adapte d'elle-mme aux scnes o la taille des gomtries varie beaucoup, contrairement  une grille de voxels dont la taille est unique.
+ * La construction est ralise en parallle par la classe SBVHBuilder.
+ * </p>
+ *
+ * <p>
+ * Les noeuds sont rangs en profondeur (l'enfant de gauche suit immdiatement son parent) dans des tableaux de types primitifs.
+ * Chaque noeud conserve l'indice du noeud suivant son sous-arbre (<i>skip</i>) ce qui permet un parcours sans pile.
+ * Les gomtries n'admettant pas de bote englobante (ex. plan infini) sont testes linairement.
+ * </p>
+ *
+ * @author Simon Vzina
+ * @since 2026-10-17
+ * @version 2026-10-17
+ */
+public class SBVHSpace extends SAbstractGeometrySpace {
+
+  //-------------
+  // VARIABLES //
+  //-------------
+
+  /**
+   * La variable <b>linear_list</b> correspond  la liste des gomtries sans bote englobante qui seront testes linairement.
+   */
+  private List<SGeometry> linear_list;
+
+  /**
+   * La variable <b>primitive_tab</b> correspond aux gomtries de la hirarchie ordonnes de sorte que chaque feuille
+   * fait rfrence  un intervalle continu du tableau.
+   */
+  private SGeometry[] primitive_tab;
+
+  /**
+   * La variable <b>node_bounds</b> correspond aux botes des noeuds {x_min, y_min, z_min, x_max, y_max, z_max} (6 valeurs par noeud).
+   */
+  private double[] node_bounds;
+
+  /**
+   * La variable <b>node_skip</b> correspond  l'indice du noeud  visiter aprs le sous-arbre d'un noeud (lorsque sa bote n'est pas traverse).
+   */
+  private int[] node_skip;
+
+  /**
+   * La variable <b>node_first</b> correspond  l'indice de la premire gomtrie d'une feuille dans <b>primitive_tab</b>.
+   */
+  private int[] node_first;
+
+  /**
+   * La variable <b>node_count</b> correspond au nombre de gomtries d'une feuille (0 pour un noeud interne).
+   */
+  private int[] node_count;
+
+  /**
+   * La variable <b>nb_node</b> correspond au nombre de noeuds de la hirarchie.
+   */
+  private int nb_node;
+
+  //----------------
+  // CONSTRUCTEUR //
+  //----------------
+
+  /**
+   * Constructeur d'un espace de gomtries en hirarchie de volumes englobants.
+   */
+  public SBVHSpace()
+  {
+    super();
+
+    linear_list = new ArrayList<SGeometry>();
+    primitive_tab = new SGeometry[0];
+    nb_node = 0;
+  }
+
+  //------------
+  // MTHODES //
+  //------------
+
+  @Override
+  public SRay nearestIntersection(SRay ray, double t_max) throws SRuntimeException
+  {
+    // Comptabiliser la requte  l'espace des gomtries
+    if(SIntersectionStatistics.ENABLED)
+      SIntersectionStatistics.local().countStep(SIntersectionStatistics.QUERY);
+    
+    // Vrifier si le rayon a dj intersect une gomtrie
+    if(ray.asIntersected())
+      throw new SRuntimeException("Erreur SBVHSpace 001 : Le rayon en paramtre a dj intersect une gomtrie.");
+
+    // Vrifier la valeur de t_max est adquate
+    if(t_max < 0.0)
+      throw new SRuntimeException("Erreur SBVHSpace 002 : Le temps maximale ne peut pas tre ngative.");
+
+    // Vrifier si l'espace a t initialis
+    if(!space_initialized)
+      throw new SRuntimeException("Erreur SBVHSpace 003 : L'espace de gomtries de la hirarchie n'a pas t initialis.");
+
+    // Tester les gomtries sans bote englobante. 
+    // L'intersection la plus prs trouve jusqu' prsent sera le rayon d'origine s'il n'y en a pas.
+    SRay nearest = nearestIntersection(linear_list, ray, t_max);
+    double[] t_nearest = { nearest.asIntersected() ? nearest.getT() : t_max };
+
+    // La gomtrie de la hirarchie intersecte la plus prs (le rayon intersect est construit  la fin)
+    SGeometry nearest_in_bvh = nearestInHierarchy(ray, t_nearest);
+
+    // Une intersection dans la hirarchie est ncessairement plus prs que celle des gomtries sans bote
+    if(nearest_in_bvh != null)
+      return nearest_in_bvh.completeHit(ray, t_nearest[0]);
+    else
+      return nearest;
+  }
+
+  /**
+   * Mthode pour obtenir le temps de l'intersection la plus prs et la gomtrie intersecte <b>sans construire le rayon intersect</b>
+   * (normale, coordonne uv). Le rayon intersect peut tre construit par la suite  l'aide de la mthode <b>completeHit</b> de la gomtrie.
+   *
+   * @param ray - Le rayon  intersecter avec les gomtries de l'espace.
+   * @param t_max - Le temps maximal.
+   * @param hit - Le tableau (d'au moins une case) o sera place la gomtrie intersecte (<b>null</b> s'il n'y a pas d'intersection).
+   * @return Le temps de l'intersection la plus prs ou <b>t_max</b> s'il n'y a pas d'intersection.
+   * @throws SRuntimeException Si le rayon a dj intersect une gomtrie, si le temps maximal est ngatif ou si l'espace n'a pas t initialis.
+   */
+  public double nearestIntersectionTime(SRay ray, double t_max, SGeometry[] hit) throws SRuntimeException
+  {
+    // Comptabiliser la requte  l'espace des gomtries
+    if(SIntersectionStatistics.ENABLED)
+      SIntersectionStatistics.local().countStep(SIntersectionStatistics.QUERY);
+    
+    if(ray.asIntersected())
+      throw new SRuntimeException("Erreur SBVHSpace 015 : Le rayon en paramtre a dj intersect une gomtrie.");
+
+    if(t_max < 0.0)
+      throw new SRuntimeException("Erreur SBVHSpace 016 : Le temps maximale ne peut pas tre ngative.");
+
+    if(!space_initialized)
+      throw new SRuntimeException("Erreur SBVHSpace 017 : L'espace de gomtries de la hirarchie n'a pas t initialis.");
+
+    // Tester les gomtries sans bote englobante
+    if(SIntersectionStatistics.ENABLED)
+      SIntersectionStatistics.local().countGeometryTest(linear_list);
+
+    hit[0] = null;
+    double[] t_nearest = { t_max };
+
+    for(SGeometry g : linear_list)
+    {
+      double t = g.intersectionTime(ray, t_nearest[0]);
+
+      if(t < t_nearest[0])
+      {
+        hit[0] = g;
+        t_nearest[0] = t;
+      }
+    }
+
+    // Tester les gomtries de la hirarchie
+    SGeometry nearest_in_bvh = nearestInHierarchy(ray, t_nearest);
+
+    if(nearest_in_bvh != null)
+      hit[0] = nearest_in_bvh;
+
+    return t_nearest[0];
+  }
+
+  /**
+   * Mthode pour obtenir la gomtrie de la hirarchie intersecte le plus prs par un rayon.
+   *
+   * @param ray - Le rayon.
+   * @param t_nearest - Le temps de l'intersection la plus prs trouve jusqu' prsent (ou le temps maximal). 
+   *                    Il est remplac par le temps de l'intersection trouve dans la hirarchie s'il y a lieu.
+   * @return La gomtrie intersecte ou <b>null</b> s'il n'y a pas d'intersection plus prs que <b>t_nearest</b> dans la hirarchie.
+   */
+  private SGeometry nearestInHierarchy(SRay ray, double[] t_nearest)
+  {
+    if(nb_node == 0)
+      return null;
+
+    // Paramtres du rayon pour le test des botes
+    double[] origin = { ray.getOrigin().getX(), ray.getOrigin().getY(), ray.getOrigin().getZ() };
+    double[] inv_dir = inverseDirection(ray);
+
+    SGeometry nearest_in_bvh = null;
+
+    SIntersectionStatistics statistics = SIntersectionStatistics.ENABLED ? SIntersectionStatistics.local() : null;
+    int node = 0;
+
+    // Parcours sans pile : descendre dans un noeud travers, sinon sauter  la suite de son sous-arbre
+    while(node < nb_node)
+    {
+      if(SIntersectionStatistics.ENABLED)
+        statistics.countStep(SIntersectionStatistics.NODE_VISIT);
+
+      if(intersectBox(node, origin, inv_dir, t_nearest[0]))
+      {
+        int count = node_count[node];
+
+        // Tester les gomtries d'une feuille et rduire le temps maximal  chaque intersection trouve
+        for(int i = node_first[node]; i < node_first[node] + count; i++)
+        {
+          if(SIntersectionStatistics.ENABLED)
+            statistics.countGeometryTest(primitive_tab[i]);
+
+          double t = primitive_tab[i].intersectionTime(ray, t_nearest[0]);
+
+          if(t < t_nearest[0])
+          {
+            nearest_in_bvh = primitive_tab[i];
+            t_nearest[0] = t;
+          }
+        }
+
+        node++;
+      }
+      else
+        node = node_skip[node];
+    }
+
+    return nearest_in_bvh;
+  }
+
+  @Override
+  public List<SRay> nearestOpaqueIntersection(SRay ray, double t_max) throws SRuntimeException
+  {
+    // Comptabiliser la requte  l'espace des gomtries
+    if(SIntersectionStatistics.ENABLED)
+      SIntersectionStatistics.local().countStep(SIntersectionStatistics.QUERY);
+    
+    // Vrifier si le rayon a dj intersect une gomtrie
+    if(ray.asIntersected())
+      throw new SRuntimeException("Erreur SBVHSpace 004 : Le rayon en paramtre a dj intersect une gomtrie.");
+
+    // Vrifier la valeur de t_max est adquate
+    if(t_max < 0.0)
+      throw new SRuntimeException("Erreur SBVHSpace 005 : Le temps maximale ne peut pas tre ngative.");
+
+    // Vrifier si l'espace a t initialis
+    if(!space_initialized)
+      throw new SRuntimeException("Erreur SBVHSpace 006 : L'espace de gomtries de la hirarchie n'a pas t initialis.");
+
+    // La liste dtermine dans la liste linaire des gomtries
+    List<SRay> list_not_in_bvh = nearestOpaqueIntersection(linear_list, ray, t_max);
+
+    // Les intersections au-del de l'intersection opaque la plus prs sont inutiles
+    double t_opaque = t_max;
+
+    if(!list_not_in_bvh.isEmpty() && !list_not_in_bvh.get(0).getGeometry().isTransparent())
+      t_opaque = list_not_in_bvh.get(0).getT();
+
+    // Les intersections dans la hirarchie avant l'intersection opaque la plus prs
+    List<SRay> list_in_bvh = new ArrayList<SRay>();
+
+    if(nb_node > 0)
+    {
+      double[] origin = { ray.getOrigin().getX(), ray.getOrigin().getY(), ray.getOrigin().getZ() };
+      double[] inv_dir = inverseDirection(ray);
+
+      SIntersectionStatistics statistics = SIntersectionStatistics.ENABLED ? SIntersectionStatistics.local() : null;
+      int node = 0;
+
+      while(node < nb_node)
+      {
+        if(SIntersectionStatistics.ENABLED)
+          statistics.countStep(SIntersectionStatistics.NODE_VISIT);
+
+        if(intersectBox(node, origin, inv_dir, t_opaque))
+        {
+          int count = node_count[node];
+
+          for(int i = node_first[node]; i < node_first[node] + count; i++)
+          {
+            if(SIntersectionStatistics.ENABLED)
+              statistics.countGeometryTest(primitive_tab[i]);
+
+            SRay result_ray = primitive_tab[i].intersection(ray);
+
+            if(result_ray.asIntersected() && result_ray.getT() < t_opaque)
+            {
+              list_in_bvh.add(result_ray);
+
+              // Une gomtrie opaque limite la suite du parcours
+              if(!result_ray.getGeometry().isTransparent())
+                t_opaque = result_ray.getT();
+            }
+          }
+
+          node++;
+        }
+        else
+          node = node_skip[node];
+      }
+    }
+
+    // La liste fusionne adquatement (trie, coupe  la premire gomtrie opaque et inverse)
+    return mergeNearestOpaqueIntersection(list_in_bvh, list_not_in_bvh);
+  }
+
+  @Override
+  public boolean occluded(SRay ray, double t_max) throws SRuntimeException
+  {
+    // Comptabiliser la requte  l'espace des gomtries
+    if(SIntersectionStatistics.ENABLED)
+      SIntersectionStatistics.local().countStep(SIntersectionStatistics.QUERY);
+    
+    // Vrifier si le rayon a dj intersect une gomtrie
+    if(ray.asIntersected())
+      throw new SRuntimeException("Erreur SBVHSpace 008 : Le rayon en paramtre a dj intersect une gomtrie.");
+    
+    // Vrifier la valeur de t_max est adquate
+    if(t_max < 0.0)
+      throw new SRuntimeException("Erreur SBVHSpace 009 : Le temps maximale ne peut pas tre ngative.");
+    
+    // Vrifier si l'espace a t initialis
+    if(!space_initialized)
+      throw new SRuntimeException("Erreur SBVHSpace 010 : L'espace de gomtries de la hirarchie n'a pas t initialis.");
+
+    // Tester les gomtries sans bote englobante
+    if(occluded(linear_list, ray, t_max))
+      return true;
+
+    if(nb_node == 0)
+      return false;
+
+    double[] origin = { ray.getOrigin().getX(), ray.getOrigin().getY(), ray.getOrigin().getZ() };
+    double[] inv_dir = inverseDirection(ray);
+
+    SIntersectionStatistics statistics = SIntersectionStatistics.ENABLED ? SIntersectionStatistics.local() : null;
+    int node = 0;
+
+    // Parcours sans pile se terminant ds la premire gomtrie opaque intersecte
+    while(node < nb_node)
+    {
+      if(SIntersectionStatistics.ENABLED)
+        statistics.countStep(SIntersectionStatistics.NODE_VISIT);
+
+      if(intersectBox(node, origin, inv_dir, t_max))
+      {
+        for(int i = node_first[node]; i < node_first[node] + node_count[node]; i++)
+          if(!primitive_tab[i].isTransparent())
+          {
+            if(SIntersectionStatistics.ENABLED)
+              statistics.countGeometryTest(primitive_tab[i]);
+
+            if(primitive_tab[i].intersectionTime(ray, t_max) < t_max)
+              return true;
+          }
+
+        node++;
+      }
+      else
+        node = node_skip[node];
+    }
+
+    return false;
+  }
+
+  @Override
+  public SColor transmittance(SRay ray, double t_max) throws SRuntimeException
+  {
+    // Comptabiliser la requte  l'espace des gomtries
+    if(SIntersectionStatistics.ENABLED)
+      SIntersectionStatistics.local().countStep(SIntersectionStatistics.QUERY);
+    
+    // Vrifier si le rayon a dj intersect une gomtrie
+    if(ray.asIntersected())
+      throw new SRuntimeException("Erreur SBVHSpace 011 : Le rayon en paramtre a dj intersect une gomtrie.");
+    
+    // Vrifier la valeur de t_max est adquate
+    if(t_max < 0.0)
+      throw new SRuntimeException("Erreur SBVHSpace 012 : Le temps maximale ne peut pas tre ngative.");
+    
+    // Vrifier si l'espace a t initialis
+    if(!space_initialized)
+      throw new SRuntimeException("Erreur SBVHSpace 013 : L'espace de gomtries de la hirarchie n'a pas t initialis.");
+
+    // Filtrer par les gomtries sans bote englobante
+    SColor filter = transmittance(linear_list, ray, t_max, FULL_TRANSMITTANCE);
+
+    if(filter == NO_TRANSMITTANCE || nb_node == 0)
+      return filter;
+
+    double[] origin = { ray.getOrigin().getX(), ray.getOrigin().getY(), ray.getOrigin().getZ() };
+    double[] inv_dir = inverseDirection(ray);
+
+    SIntersectionStatistics statistics = SIntersectionStatistics.ENABLED ? SIntersectionStatistics.local() : null;
+    int node = 0;
+
+    // Parcours sans pile se terminant ds la premire gomtrie opaque intersecte.
+    // Chaque gomtrie n'tant rfrence qu'une seule fois dans la hirarchie, elle ne sera filtre qu'une seule fois.
+    while(node < nb_node)
+    {
+      if(SIntersectionStatistics.ENABLED)
+        statistics.countStep(SIntersectionStatistics.NODE_VISIT);
+
+      if(intersectBox(node, origin, inv_dir, t_max))
+      {
+        for(int i = node_first[node]; i < node_first[node] + node_count[node]; i++)
+        {
+          if(SIntersectionStatistics.ENABLED)
+            statistics.countGeometryTest(primitive_tab[i]);
+
+          if(primitive_tab[i].intersectionTime(ray, t_max) < t_max)
+            if(primitive_tab[i].isTransparent())
+              filter = filter.multiply(transparencyColor(primitive_tab[i]));
+            else
+              return NO_TRANSMITTANCE;
+        }
+
+        node++;
+      }
+      else
+        node = node_skip[node];
+    }
+
+    return filter;
+  }
+
+  @Override
+  public List<SGeometry> listInsideGeometry(SVector3d v) throws SRuntimeException
+  {
+    // Vrifier que l'initialisation a t complte
+    if(!space_initialized)
+      throw new SRuntimeException("Erreur SBVHSpace 007 : L'espace de gomtries de la hirarchie n'a pas t initialis.");
+
+    // Ajouter les gomtries sans bote o le vecteur v s'y retrouve.
+    List<SGeometry> inside_list = listInsideGeometry(linear_list, v);
+
+    double x = v.getX();
+    double y = v.getY();
+    double z = v.getZ();
+
+    int node = 0;
+
+    // Parcourir uniquement les noeuds dont la bote contient le vecteur v
+    while(node < nb_node)
+    {
+      int k = 6*node;
+
+      if(x >= node_bounds[k] && y >= node_bounds[k+1] && z >= node_bounds[k+2] && x <= node_bounds[k+3] && y <= node_bounds[k+4] && z <= node_bounds[k+5])
+      {
+        for(int i = node_first[node]; i < node_first[node] + node_count[node]; i++)
+          if(primitive_tab[i].isClosedGeometry())
+            if(primitive_tab[i].isInside(v))
+              inside_list.add(primitive_tab[i]);
+
+        node++;
+      }
+      else
+        node = node_skip[node];
+    }
+
+    return inside_list;
+  }
+
+  @Override
+  public void initialize()
+  {
+    SLog.logWriteLine("Message SBVHSpace : Construction de l'espace des gomtries en hirarchie de volumes englobants.");
+
+    // Sparer les gomtries avec et sans bote englobante
+    SGeometryCollectionSplitter splitter = new SGeometryCollectionSplitter(geometry_list, SGeometryCollectionSplitter.SPLIT_BOX_AND_NO_BOX);
+
+    linear_list = splitter.getNoBoxList();
+
+    List<SGeometry> list_with_box = splitter.getSplitList().get(0);
+
+    // Constructeur parallle de la hirarchie
+    SBVHBuilder builder = new SBVHBuilder();
+
+    // Obtenir toutes les botes englobantes disponibles (construites en parallle)
+    SBoundingBox[] box_tab = builder.buildBoundingBoxes(list_with_box);
+    List<SBoundingBox> bounding_box_list = new ArrayList<SBoundingBox>();
+
+    for(int i = 0; i < box_tab.length; i++)
+      if(box_tab[i] != null)
+        bounding_box_list.add(box_tab[i]);
+      else
+        linear_list.add(list_with_box.get(i));
+
+    builder.build(bounding_box_list);
+    builder.close();
+
+    primitive_tab = builder.getPrimitives();
+    node_bounds = builder.getNodeBounds();
+    node_skip = builder.getNodeSkip();
+    node_first = builder.getNodeFirst();
+    node_count = builder.getNodeCount();
+    nb_node = builder.getNbNode();
+
+    SLog.logWriteLine("Message SBVHSpace : Nombre de gomtries dans la hirarchie : " + primitive_tab.length + " gomtries.");
+    SLog.logWriteLine("Message SBVHSpace : Nombre de gomtries hors de la hirarchie : " + linear_list.size() + " gomtries.");
+    SLog.logWriteLine("Message SBVHSpace : Nombre de noeuds : " + nb_node + " noeuds (profondeur maximale : " + evaluateDepth() + ").");
+    SLog.logWriteLine("Message SBVHSpace : Construction parallle avec " + builder.getNbThread() + " fils d'excution.");
+    SLog.logWriteLine("Message SBVHSpace : Dure de construction des botes englobantes : " + builder.getBoundingBoxTime() + " s.");
+    SLog.logWriteLine("Message SBVHSpace : Dure de construction de la hirarchie : " + builder.getHierarchyTime() + " s.");
+    SLog.logWriteLine("Message SBVHSpace : Fin de la construction de l'espace des gomtries en hirarchie de volumes englobants.");
+    SLog.logWriteLine();
+
+    space_initialized = true;
+  }
+
+  /**
+   * Mthode pour obtenir la bote englobante de l'ensemble des gomtries de l'espace (la bote du noeud racine)
+   * sous la forme {x_min, y_min, z_min, x_max, y_max, z_max}. Cette bote n'existe que si toutes les gomtries sont dans la hirarchie.
+   * 
+   * @return La bote englobante de l'espace ou <b>null</b> s'il n'y a pas de noeud ou si des gomtries sont hors de la hirarchie.
+   * @throws SRuntimeException Si l'espace n'a pas t initialis.
+   */
+  double[] getBounds() throws SRuntimeException
+  {
+    if(!space_initialized)
+      throw new SRuntimeException("Erreur SBVHSpace 014 : L'espace de gomtries de la hirarchie n'a pas t initialis.");
+    
+    if(nb_node == 0 || !linear_list.isEmpty())
+      return null;
+    
+    return Arrays.copyOf(node_bounds, 6);
+  }
+  
+  /**
+   * Mthode pour valuer le test d'intersection entre un rayon et la bote d'un noeud (mthode des <i>slabs</i>).
+   *
+   * @param node - L'indice du noeud.
+   * @param origin - L'origine du rayon.
+   * @param inv_dir - L'inverse des composantes de la direction du rayon.
+   * @param t_max - Le temps maximal.
+   * @return <b>true</b> si le rayon traverse la bote entre le temps 0 et le temps maximal et <b>false</b> sinon.
+   */
+  private boolean intersectBox(int node, double[] origin, double[] inv_dir, double t_max)
+  {
+    int k = 6*node;
+
+    double t_near = 0.0;
+    double t_far = t_max;
+
+    for(int a = 0; a < 3; a++)
+    {
+      double t1 = (node_bounds[k+a] - origin[a]) * inv_dir[a];
+      double t2 = (node_bounds[k+3+a] - origin[a]) * inv_dir[a];
+
+      // Une composante nulle de la direction donne (0 * infini) lorsque l'origine est sur une face : la bote est alors accepte sur cet axe
+      if(t1 != t1 || t2 != t2)
+        continue;
+
+      if(t1 > t2)
+      {
+        double tmp = t1;
+        t1 = t2;
+        t2 = tmp;
+      }
+
+      if(t1 > t_near)
+        t_near = t1;
+
+      if(t2 < t_far)
+        t_far = t2;
+
+      if(t_near > t_far)
+        return false;
+    }
+
+    return true;
+  }
+
+  /**
+   * Mthode pour obtenir l'inverse des composantes de la direction d'un rayon.
+   *
+   * @param ray - Le rayon.
+   * @return L'inverse des composantes (x,y,z) de la direction (infini pour une composante nulle).
+   */
+  private static double[] inverseDirection(SRay ray)
+  {
+    SVector3d d = ray.getDirection();
+
+    double[] inv_dir = { 1.0 / d.getX(), 1.0 / d.getY(), 1.0 / d.getZ() };
+
+    return inv_dir;
+  }
+
+  /**
+   * Mthode pour valuer la profondeur maximale de la hirarchie.
+   *
+   * @return La profondeur maximale (1 pour une hirarchie  un seul noeud).
+   */
+  private int evaluateDepth()
+  {
+    // Pile des indices de fin de sous-arbre des anctres du noeud courant
+    int[] end_stack = new int[nb_node + 1];
+    int depth = 0;
+    int max_depth = 0;
+
+    for(int node = 0; node < nb_node; node++)
+    {
+      while(depth > 0 && end_stack[depth - 1] <= node)
+        depth--;
+
+      end_stack[depth++] = node_skip[node];
+      max_depth = Math.max(max_depth, depth);
+    }
+
+    return max_depth;
+  }
+
+  @Override
+  public String toString()
+  {
+    return super.toString() + ", Nb node : " + nb_node;
+  }
+
+}//fin de la classe SBVHSpace
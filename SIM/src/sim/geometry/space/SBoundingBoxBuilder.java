@@ -5,8 +5,17 @@ package sim.geometry.space;
 
 import sim.geometry.SAbstractGeometry;
 import sim.geometry.SBTriangleGeometry;
+import sim.geometry.SConeGeometry;
+import sim.geometry.SCubeGeometry;
+import sim.geometry.SDiskGeometry;
 import sim.geometry.SGeometry;
+import sim.geometry.SLens;
+import sim.geometry.SSphereGeometry;
+import sim.geometry.SSphericalCapGeometry;
+import sim.geometry.STransformableGeometry;
 import sim.geometry.STriangleGeometry;
+import sim.geometry.STubeGeometry;
+import sim.math.SImpossibleNormalizationException;
 import sim.math.SMath;
 import sim.math.SVector3d;
 
@@ -17,23 +26,32 @@ import sim.math.SVector3d;
  * Les gomtries pouvant tre englobes par une botes sont les suivantes :
  * <ul>- STriangleGeometry</ul>
  * <ul>- SBtriangleGeometry</ul>
+ * <ul>- SSphereGeometry</ul>
+ * <ul>- SCubeGeometry</ul>
+ * <ul>- SDiskGeometry</ul>
+ * <ul>- STubeGeometry</ul>
+ * <ul>- SCylinderGeometry</ul>
+ * <ul>- SConeGeometry</ul>
+ * <ul>- SSphericalCapGeometry</ul>
+ * <ul>- SLens</ul>
+ * <ul>- SInstanceGeometry</ul>
+ * <ul>- STransformableGeometry (si sa gomtrie interne peut tre englobe)</ul>
  * <p>
+ * Le plan infini (SPlaneGeometry) ne peut pas tre englob et demeure dans la liste linaire des espaces gomtriques.
+ * </p>
  * 
  * @author Simon Vzina
  * @since 2015-08-04
- * @since 2015-12-17
+ * @version 2026-10-17
  */
 public class SBoundingBoxBuilder {
 
   /**
-   * La constante <b>POSITIVE_MULTIPLICATOR</b> correspond  une constante faiblement suprieure  1.0. 
+   * La constante <b>PADDING_FACTOR</b> correspond au facteur d'agrandissement relatif des botes englobantes.
+   * Les coordonnes de la bote sont dplaces vers l'extrieur d'une distance gale  ce facteur multipli par
+   * la plus grande valeur entre 1 et la valeur absolue de la coordonne.
    */
-  private static final double POSITIVE_MULTIPLICATOR = 1.0 + 10.0*SMath.EPSILON;
-  
-  /**
-   * La constante <b>POSITIVE_MULTIPLICATOR</b> correspond  une constante faiblement infrieure  1.0. 
-   */
-  private static final double NEGATIVE_MULTIPLICATOR = 1.0 - 10.0*SMath.EPSILON;
+  private static final double PADDING_FACTOR = 10.0*SMath.EPSILON;
   
   /**
    * Constructeur d'un fabriquant de bote englobante par dfaut. 
@@ -57,6 +75,25 @@ public class SBoundingBoxBuilder {
       
       case SAbstractGeometry.BTRIANGLE_CODE : return buildBoundingBoxForSBTriangleGeometry((SBTriangleGeometry)geometry);
       
+      case SAbstractGeometry.SPHERE_CODE : return buildBoundingBoxForSSphereGeometry((SSphereGeometry)geometry);
+      
+      case SAbstractGeometry.CUBE_CODE : return buildBoundingBoxForSCubeGeometry((SCubeGeometry)geometry);
+      
+      case SAbstractGeometry.DISK_CODE : return buildBoundingBoxForSDiskGeometry((SDiskGeometry)geometry);
+      
+      case SAbstractGeometry.TUBE_CODE :
+      case SAbstractGeometry.CYLINDER_CODE : return buildBoundingBoxForSTubeGeometry((STubeGeometry)geometry);
+      
+      case SAbstractGeometry.CONE_CODE : return buildBoundingBoxForSConeGeometry((SConeGeometry)geometry);
+      
+      case SAbstractGeometry.SPHERICAL_CAP_CODE : return buildBoundingBoxForSSphericalCapGeometry((SSphericalCapGeometry)geometry);
+      
+      case SAbstractGeometry.LENS_CODE : return buildBoundingBoxForSLens((SLens)geometry);
+      
+      case SAbstractGeometry.INSTANCE_CODE : return buildBoundingBoxForSInstanceGeometry((SInstanceGeometry)geometry);
+      
+      case SAbstractGeometry.TRANSFORMABLE_CODE : return buildBoundingBoxForSTransformableGeometry((STransformableGeometry)geometry);
+      
       default : return null;
     }
   }
@@ -70,19 +107,11 @@ public class SBoundingBoxBuilder {
   {
     SVector3d[] tab = { triangle.getP0(), triangle.getP1(), triangle.getP2() };
     
-    SVector3d min = SVector3d.findMinValue(tab);
-    SVector3d max = SVector3d.findMaxValue(tab);
-    
-    //Si le triangle est parallle  l'un des 6 plans de la bote, la bote sera mal dfinie
-    //Modifions par un "delta" nos coordonnes pour viter cette situation  
-    min = new SVector3d(min.getX()*NEGATIVE_MULTIPLICATOR, min.getY()*NEGATIVE_MULTIPLICATOR, min.getZ()*NEGATIVE_MULTIPLICATOR);
-    max = new SVector3d(max.getX()*POSITIVE_MULTIPLICATOR, max.getY()*POSITIVE_MULTIPLICATOR, max.getZ()*POSITIVE_MULTIPLICATOR);
-    
-    return new SBoundingBox(triangle, min, max);
+    return buildBoundingBox(triangle, tab);
   }
   
   /**
-   * Mthode pour obtenir une bote englobante autour de la gomtrie du STriangleGeometry.
+   * Mthode pour obtenir une bote englobante autour de la gomtrie du SBTriangleGeometry.
    * @param triangle - La gomtrie du triangle.
    * @return La bote englobante autour du triangle.
    */
@@ -90,15 +119,250 @@ public class SBoundingBoxBuilder {
   {
     SVector3d[] tab = { triangle.getP0(), triangle.getP1(), triangle.getP2() };
     
+    return buildBoundingBox(triangle, tab);
+  }
+  
+  /**
+   * Mthode pour obtenir une bote englobante autour d'une instance de maillage (SInstanceGeometry).
+   * La bote englobe les huit coins de la bote du maillage transforms dans la scne.
+   * @param instance - L'instance du maillage.
+   * @return La bote englobante autour de l'instance.
+   */
+  private SBoundingBox buildBoundingBoxForSInstanceGeometry(SInstanceGeometry instance)
+  {
+    return buildBoundingBox(instance, instance.getCorners());
+  }
+  
+  /**
+   * Mthode pour obtenir une bote englobante autour d'une gomtrie transformable (STransformableGeometry).
+   * La bote englobe les huit coins de la bote de la gomtrie interne transforms dans la scne.
+   * @param transformable - La gomtrie transformable.
+   * @return La bote englobante autour de la gomtrie transformable ou <b>null</b> si sa gomtrie interne ne peut pas tre englobe.
+   */
+  private SBoundingBox buildBoundingBoxForSTransformableGeometry(STransformableGeometry transformable)
+  {
+    if(transformable.getGeometry() == null)
+      return null;
+    
+    SBoundingBox box = buildBoundingBox(transformable.getGeometry());
+    
+    if(box == null)
+      return null;
+    
+    SVector3d min = box.getMinPoint();
+    SVector3d max = box.getMaxPoint();
+    
+    SVector3d[] tab = new SVector3d[8];
+    
+    for(int i = 0; i < 8; i++)
+      tab[i] = transformable.getTransformation().multiplyPosition(new SVector3d((i & 1) == 0 ? min.getX() : max.getX(), 
+                                                                               (i & 2) == 0 ? min.getY() : max.getY(), 
+                                                                               (i & 4) == 0 ? min.getZ() : max.getZ()));
+    
+    return buildBoundingBox(transformable, tab);
+  }
+  
+  /**
+   * Mthode pour obtenir une bote englobante autour de la gomtrie du SSphereGeometry.
+   * @param sphere - La gomtrie de la sphre.
+   * @return La bote englobante autour de la sphre.
+   */
+  private SBoundingBox buildBoundingBoxForSSphereGeometry(SSphereGeometry sphere)
+  {
+    double R = sphere.getRay();
+    SVector3d extent = new SVector3d(R, R, R);
+    
+    SVector3d[] tab = { sphere.getPosition().substract(extent), sphere.getPosition().add(extent) };
+    
+    return buildBoundingBox(sphere, tab);
+  }
+  
+  /**
+   * Mthode pour obtenir une bote englobante autour de la gomtrie du SCubeGeometry.
+   * @param cube - La gomtrie du cube.
+   * @return La bote englobante autour du cube.
+   */
+  private SBoundingBox buildBoundingBoxForSCubeGeometry(SCubeGeometry cube)
+  {
+    double half_size = cube.getSize() / 2.0;
+    SVector3d extent = new SVector3d(half_size, half_size, half_size);
+    
+    SVector3d[] tab = { cube.getPosition().substract(extent), cube.getPosition().add(extent) };
+    
+    return buildBoundingBox(cube, tab);
+  }
+  
+  /**
+   * Mthode pour obtenir une bote englobante autour de la gomtrie du SDiskGeometry.
+   * @param disk - La gomtrie du disque.
+   * @return La bote englobante autour du disque.
+   */
+  private SBoundingBox buildBoundingBoxForSDiskGeometry(SDiskGeometry disk)
+  {
+    SVector3d extent = diskExtent(disk.getNormal(), disk.getRay());
+    
+    SVector3d[] tab = { disk.getPosition().substract(extent), disk.getPosition().add(extent) };
+    
+    return buildBoundingBox(disk, tab);
+  }
+  
+  /**
+   * Mthode pour obtenir une bote englobante autour de la gomtrie du STubeGeometry (incluant le SCylinderGeometry).
+   * La bote englobe les deux disques situs aux extrmits P1 et P2 du tube.
+   * 
+   * @param tube - La gomtrie du tube.
+   * @return La bote englobante autour du tube.
+   */
+  private SBoundingBox buildBoundingBoxForSTubeGeometry(STubeGeometry tube)
+  {
+    SVector3d extent = diskExtent(tubeAxis(tube), tube.getRay());
+    
+    SVector3d[] tab = { tube.getP1().substract(extent), tube.getP1().add(extent), 
+                        tube.getP2().substract(extent), tube.getP2().add(extent) };
+    
+    return buildBoundingBox(tube, tab);
+  }
+  
+  /**
+   * Mthode pour obtenir une bote englobante autour de la gomtrie du SConeGeometry.
+   * La bote englobe le disque de la base du cne (en P1) et son sommet (en P2).
+   * 
+   * @param cone - La gomtrie du cne.
+   * @return La bote englobante autour du cne.
+   */
+  private SBoundingBox buildBoundingBoxForSConeGeometry(SConeGeometry cone)
+  {
+    SVector3d extent = diskExtent(tubeAxis(cone), cone.getRay());
+    
+    SVector3d[] tab = { cone.getP1().substract(extent), cone.getP1().add(extent), cone.getP2() };
+    
+    return buildBoundingBox(cone, tab);
+  }
+  
+  /**
+   * Mthode pour obtenir une bote englobante autour de la gomtrie du SSphericalCapGeometry.
+   * La bote englobe le disque de la base de la calotte ainsi que ce mme disque dplac de la flche de la calotte 
+   * de part et d'autre de la base (le sens de la courbure n'a donc pas d'importance).
+   * 
+   * @param cap - La gomtrie de la calotte sphrique.
+   * @return La bote englobante autour de la calotte sphrique.
+   */
+  private SBoundingBox buildBoundingBoxForSSphericalCapGeometry(SSphericalCapGeometry cap)
+  {
+    SVector3d extent = diskExtent(cap.getNormal(), cap.getRay());
+    SVector3d shift = cap.getNormal().multiply(capSagitta(cap.getRadiusOfCurvature(), cap.getRay()));
+    
+    SVector3d top = cap.getPosition().add(shift);
+    SVector3d bottom = cap.getPosition().substract(shift);
+    
+    SVector3d[] tab = { top.substract(extent), top.add(extent), bottom.substract(extent), bottom.add(extent) };
+    
+    return buildBoundingBox(cap, tab);
+  }
+  
+  /**
+   * Mthode pour obtenir une bote englobante autour de la gomtrie du SLens.
+   * La bote correspond  celle du cylindre de la lentille prolong de la flche de chaque face convexe.
+   * 
+   * @param lens - La gomtrie de la lentille.
+   * @return La bote englobante autour de la lentille.
+   */
+  private SBoundingBox buildBoundingBoxForSLens(SLens lens)
+  {
+    SVector3d axis = tubeAxis(lens);
+    SVector3d extent = diskExtent(axis, lens.getRay());
+    
+    //Une face concave (ou plane) demeure  l'intrieur du cylindre, seule une face convexe le dpasse
+    double h1 = lens.getCurvature1() > 0.0 ? capSagitta(lens.getCurvature1(), lens.getRay()) : 0.0;
+    double h2 = lens.getCurvature2() > 0.0 ? capSagitta(lens.getCurvature2(), lens.getRay()) : 0.0;
+    
+    SVector3d Q1 = lens.getP1().substract(axis.multiply(h1));
+    SVector3d Q2 = lens.getP2().add(axis.multiply(h2));
+    
+    SVector3d[] tab = { Q1.substract(extent), Q1.add(extent), Q2.substract(extent), Q2.add(extent) };
+    
+    return buildBoundingBox(lens, tab);
+  }
+  
+  /**
+   * Mthode pour construire la bote englobante d'un ensemble de points. 
+   * Afin d'viter une bote mal dfinie (par exemple un triangle parallle  l'un des 6 plans de la bote), 
+   * la bote est agrandie vers l'extrieur d'un faible "delta" sur chacun de ses axes.
+   * 
+   * @param geometry - La gomtrie  tre embote.
+   * @param tab - Les points  englober.
+   * @return La bote englobante.
+   */
+  private SBoundingBox buildBoundingBox(SGeometry geometry, SVector3d[] tab)
+  {
     SVector3d min = SVector3d.findMinValue(tab);
     SVector3d max = SVector3d.findMaxValue(tab);
     
-    //Si le triangle est parallle  l'un des 6 plans de la bote, la bote sera mal dfinie
-    //Modifions par un "delta" nos coordonnes pour viter cette situation  
-    min = new SVector3d(min.getX()*NEGATIVE_MULTIPLICATOR, min.getY()*NEGATIVE_MULTIPLICATOR, min.getZ()*NEGATIVE_MULTIPLICATOR);
-    max = new SVector3d(max.getX()*POSITIVE_MULTIPLICATOR, max.getY()*POSITIVE_MULTIPLICATOR, max.getZ()*POSITIVE_MULTIPLICATOR);
+    min = new SVector3d(min.getX() - padding(min.getX()), min.getY() - padding(min.getY()), min.getZ() - padding(min.getZ()));
+    max = new SVector3d(max.getX() + padding(max.getX()), max.getY() + padding(max.getY()), max.getZ() + padding(max.getZ()));
+    
+    return new SBoundingBox(geometry, min, max);
+  }
+  
+  /**
+   * Mthode pour obtenir le "delta" d'agrandissement d'une coordonne d'une bote englobante. 
+   * Ce "delta" est toujours positif, peu importe le signe de la coordonne.
+   * 
+   * @param value - La coordonne.
+   * @return Le "delta" d'agrandissement.
+   */
+  private static double padding(double value)
+  {
+    return PADDING_FACTOR * Math.max(1.0, Math.abs(value));
+  }
+  
+  /**
+   * Mthode pour obtenir la demi-tendue selon les axes x, y et z d'un disque de rayon R dont la normale est <b>n</b>.
+   * Selon l'axe i, cette demi-tendue est gale  R*sqrt(1 - n_i^2).
+   * 
+   * @param n - La normale au disque (normalise).
+   * @param R - Le rayon du disque.
+   * @return La demi-tendue du disque selon chaque axe.
+   */
+  private static SVector3d diskExtent(SVector3d n, double R)
+  {
+    return new SVector3d(R*Math.sqrt(Math.max(0.0, 1.0 - n.getX()*n.getX())),
+                         R*Math.sqrt(Math.max(0.0, 1.0 - n.getY()*n.getY())),
+                         R*Math.sqrt(Math.max(0.0, 1.0 - n.getZ()*n.getZ())));
+  }
+  
+  /**
+   * Mthode pour obtenir l'axe normalis d'un tube orient de P1 vers P2.
+   * Si l'axe est dgnr (P1 = P2), l'axe nul sera retourn ce qui donnera une tendue gale au rayon selon chaque axe.
+   * 
+   * @param tube - La gomtrie du tube.
+   * @return L'axe normalis du tube.
+   */
+  private static SVector3d tubeAxis(STubeGeometry tube)
+  {
+    try{
+      return tube.getP2().substract(tube.getP1()).normalize();
+    }catch(SImpossibleNormalizationException e){
+      return new SVector3d(0.0, 0.0, 0.0);
+    }
+  }
+  
+  /**
+   * Mthode pour obtenir la flche (hauteur) d'une calotte sphrique de rayon de courbure Rc dont la base est de rayon R.
+   * Si le rayon de courbure est plus petit que le rayon de la base, la flche est limite par le rayon de courbure.
+   * 
+   * @param Rc - Le rayon de courbure de la calotte (le signe n'est pas considr).
+   * @param R - Le rayon de la base de la calotte.
+   * @return La flche de la calotte.
+   */
+  private static double capSagitta(double Rc, double R)
+  {
+    double abs_Rc = Math.abs(Rc);
     
-    return new SBoundingBox(triangle, min, max);
+    if(abs_Rc <= R)
+      return abs_Rc;
+    else
+      return abs_Rc - Math.sqrt(abs_Rc*abs_Rc - R*R);
   }
   
 }//fin de la classe SBoundingBoxBuilder
@@ -144,6 +144,17 @@ public class SFastTraversalVoxelAlgorithm {
       t_max_z = distance/ray_direction.getZ();
     }
     
+    //Un rayon parallle  un axe ne change jamais de voxel selon cet axe. 
+    //Lorsque l'origine est sur la frontire d'un voxel, la division 0/0 donne NaN ce qui fausserait le parcours.
+    if(ray_direction.getX() == 0.0)
+      t_max_x = Double.POSITIVE_INFINITY;
+    
+    if(ray_direction.getY() == 0.0)
+      t_max_y = Double.POSITIVE_INFINITY;
+    
+    if(ray_direction.getZ() == 0.0)
+      t_max_z = Double.POSITIVE_INFINITY;
+    
     // valuer le temps min_t 
     min_t = 0.0;
     
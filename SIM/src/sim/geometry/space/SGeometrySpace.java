@@ -8,6 +8,7 @@ import java.util.List;
 import sim.exception.SRuntimeException;
 import sim.geometry.SGeometry;
 import sim.geometry.SRay;
+import sim.graphics.SColor;
 import sim.math.SVector3d;
 
 /**
@@ -16,7 +17,7 @@ import sim.math.SVector3d;
  * 
  * @author Simon Vzina
  * @since 2015-01-10
- * @version 2015-12-29
+ * @version 2026-10-17
  */
 public interface SGeometrySpace {
 
@@ -55,6 +56,43 @@ public interface SGeometrySpace {
 	 */
 	public List<SRay> nearestOpaqueIntersection(SRay ray, double t_max) throws SRuntimeException;
 	
+	/**
+	 * Mthode qui dtermine si une gomtrie <b>opaque</b> de l'espace est intersecte par un rayon avant un certain temps maximal.
+	 * La recherche se termine ds la premire intersection opaque trouve (peu importe qu'elle soit la plus prs) 
+	 * et les gomtries transparentes sont ignores.
+	 * 
+	 * @param ray - Le rayon  intersecter avec les gomtries de l'espace.
+	 * @param t_max - Le temps maximal.
+	 * @return <b>true</b> si une gomtrie opaque est intersecte avant le temps maximal et <b>false</b> sinon.
+	 * @throws SRuntimeException Si le rayon a dj intersect une autre gomtrie.
+	 * @throws SRuntimeException Si la valeur de t_max est ngative.
+	 * @throws SRuntimeException Si l'espace des gomtries n'a pas t pralablement initialis.
+	 */
+	public boolean occluded(SRay ray, double t_max) throws SRuntimeException;
+	
+	/**
+	 * Mthode qui value le filtre de transmission (la couleur de transparence) des gomtries de l'espace intersectes par un rayon avant un certain temps maximal.
+	 * Le filtre correspond au produit de la couleur de transparence des matriaux des gomtries transparentes traverses.
+	 * La recherche se termine ds la premire intersection opaque trouve et le filtre sera alors la couleur noire.
+	 * 
+	 * @param ray - Le rayon  intersecter avec les gomtries de l'espace.
+	 * @param t_max - Le temps maximal.
+	 * @return Le filtre de transmission. Ce sera la <b>couleur blanche</b> s'il n'y a <b>aucune intersection</b> et la <b>couleur noire</b> s'il y a une <b>intersection opaque</b>.
+	 * @throws SRuntimeException Si le rayon a dj intersect une autre gomtrie.
+	 * @throws SRuntimeException Si la valeur de t_max est ngative.
+	 * @throws SRuntimeException Si l'espace des gomtries n'a pas t pralablement initialis.
+	 */
+	public SColor transmittance(SRay ray, double t_max) throws SRuntimeException;
+	
+	/**
+	 * Mthode pour dterminer si l'espace contient au moins une gomtrie transparente.
+	 * Lorsque ce n'est pas le cas, le filtre de transmission d'un rayon ne peut tre que blanc ou noir
+	 * et la mthode <b>occluded</b> suffit pour valuer la visibilit d'une source de lumire.
+	 * 
+	 * @return <b>true</b> si l'espace contient une gomtrie transparente et <b>false</b> sinon.
+	 */
+	public boolean hasTransparentGeometry();
+	
 	/**
 	 * Mthode pour obtenir la liste des gomtries o la position du vecteur <i>v</i> se retrouve  l'intrieur.
 	 * Si la liste est vide, c'est que le vecteur <i>v</i> se retrouve  l'intrieur d'aucune gomtrie.
@@ -0,0 +1,281 @@
+/**
+ *
+ */
+package sim.geometry.space;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+
+import sim.exception.SConstructorException;
+import sim.exception.SNoImplementationException;
+import sim.exception.SRuntimeException;
+import sim.geometry.SAbstractGeometry;
+import sim.geometry.SGeometry;
+import sim.geometry.SRay;
+import sim.math.SMatrix4x4;
+import sim.math.SVector3d;
+import sim.math.SVectorUV;
+import sim.util.SBufferedReader;
+import sim.util.SKeyWordDecoder;
+import sim.util.SReadingException;
+
+/**
+ * La classe <b>SInstanceGeometry</b> reprsente une <b>instance</b> d'un maillage : une gomtrie de haut niveau faisant rfrence
+ *  un espace de gomtries de bas niveau (SBVHSpace) partag entre toutes les instances du mme maillage et  une transformation
+ * (homothtie, rotation puis translation) plaant le maillage dans la scne.
+ *
+ * <p>Le rayon est transform dans l'espace du maillage (l'espace objet)  la frontire de l'instance. Sa direction n'est pas normalise
+ * afin que le temps d'intersection dans l'espace objet soit gal au temps d'intersection dans la scne. La normale est ramene dans la scne
+ * par la transpose de la matrice inverse et la coordonne uv est celle de la gomtrie du maillage.</p>
+ *
+ * <p>Le test d'intersection (<b>intersectionTime</b>) ne construit pas le rayon intersect dans l'espace objet : il retient (par <i>thread</i>)
+ * la gomtrie du maillage intersecte. Si l'instance est retenue, <b>completeHit</b> complte l'intersection de cette seule gomtrie
+ * sans parcourir  nouveau la hirarchie.</p>
+ *
+ * <p>Le rayon intersect fait rfrence  la gomtrie du maillage (partage). Son matriel est donc celui de la primitive d'origine du maillage.
+ * Une instance est considre <b>opaque</b> : un maillage comportant un matriel transparent ne doit pas tre instanci.</p>
+ *
+ * @author Simon Vzina
+ * @since 2026-10-17
+ * @version 2026-10-17
+ */
+public class SInstanceGeometry extends SAbstractGeometry {
+
+  //-------------
+  // VARIABLES //
+  //-------------
+
+  /**
+   * La variable <b>space</b> correspond  l'espace de gomtries du maillage dans l'espace objet (partag entre les instances).
+   */
+  private final SBVHSpace space;
+
+  /**
+   * La variable <b>object_to_world</b> correspond  la matrice de transformation de l'espace objet vers la scne (TrRzyxSc).
+   */
+  private final SMatrix4x4 object_to_world;
+
+  /**
+   * La variable <b>world_to_object</b> correspond  la matrice de transformation inverse de la scne vers l'espace objet (ScRxyzTr).
+   */
+  private final SMatrix4x4 world_to_object;
+
+  /**
+   * La variable <b>normal_matrix</b> correspond  la matrice de transformation des normales de l'espace objet vers la scne
+   * (transpose de la matrice inverse).
+   */
+  private final SMatrix4x4 normal_matrix;
+
+  /**
+   * La variable <b>corners</b> correspond aux huit coins de la bote englobante du maillage transforms dans la scne.
+   */
+  private final SVector3d[] corners;
+
+  /**
+   * La variable <b>last_hit</b> correspond  la dernire intersection value par l'instance (propre  chaque <i>thread</i>).
+   */
+  private final ThreadLocal<SInstanceHit> last_hit = new ThreadLocal<SInstanceHit>() {
+
+    @Override
+    protected SInstanceHit initialValue()
+    {
+      return new SInstanceHit();
+    }
+  };
+
+  //----------------
+  // CONSTRUCTEUR //
+  //----------------
+
+  /**
+   * Constructeur d'une instance d'un maillage.
+   *
+   * @param space - L'espace de gomtries du maillage (initialis).
+   * @param scale - Le vecteur dfinissant la matrice <b>d'homoththie</b> (<i>scale</i>).
+   * @param rotation - Le vecteur dfinissant la matrice <b>de rotation</b> (en degr).
+   * @param translation - Le vecteur dfinissant la matrice <b>de translation</b>.
+   * @throws SConstructorException Si une composante de l'homothtie est nulle ou si le maillage n'est pas entirement contenu dans la hirarchie.
+   */
+  public SInstanceGeometry(SBVHSpace space, SVector3d scale, SVector3d rotation, SVector3d translation) throws SConstructorException
+  {
+    super();
+
+    if(scale.getX() == 0.0 || scale.getY() == 0.0 || scale.getZ() == 0.0)
+      throw new SConstructorException("Erreur SInstanceGeometry 001 : L'homothtie '" + scale + "' d'une instance doit tre inversible (composantes non nulles).");
+
+    double[] bounds = space.getBounds();
+
+    if(bounds == null)
+      throw new SConstructorException("Erreur SInstanceGeometry 002 : Le maillage d'une instance doit tre entirement contenu dans la hirarchie de volumes englobants.");
+
+    this.space = space;
+
+    object_to_world = SMatrix4x4.TrRzyxSc(translation, rotation, scale);
+
+    SVector3d inverse_scale = new SVector3d(1.0 / scale.getX(), 1.0 / scale.getY(), 1.0 / scale.getZ());
+    world_to_object = SMatrix4x4.ScRxyzTr(inverse_scale, rotation.multiply(-1.0), translation.multiply(-1.0));
+
+    normal_matrix = world_to_object.transpose();
+
+    // Les huit coins de la bote du maillage placs dans la scne
+    corners = new SVector3d[8];
+
+    for(int i = 0; i < 8; i++)
+      corners[i] = object_to_world.multiplyPosition(new SVector3d(bounds[(i & 1) == 0 ? 0 : 3], bounds[(i & 2) == 0 ? 1 : 4], bounds[(i & 4) == 0 ? 2 : 5]));
+  }
+
+  //------------
+  // MTHODES //
+  //------------
+
+  /**
+   * Mthode pour obtenir les huit coins de la bote englobante du maillage placs dans la scne.
+   * La bote aligne sur les axes contenant ces coins englobe l'instance.
+   *
+   * @return Les coins de la bote transforme.
+   */
+  SVector3d[] getCorners()
+  {
+    return corners;
+  }
+
+  @Override
+  public int getCodeName()
+  {
+    return SAbstractGeometry.INSTANCE_CODE;
+  }
+
+  @Override
+  public boolean isTransparent()
+  {
+    return false;
+  }
+
+  @Override
+  public boolean isClosedGeometry()
+  {
+    return false;
+  }
+
+  @Override
+  public boolean isInside(SVector3d v)
+  {
+    return false;
+  }
+
+  @Override
+  public double intersectionTime(SRay ray) throws SRuntimeException
+  {
+    return intersectionTime(ray, NO_INTERSECTION);
+  }
+
+  @Override
+  public double intersectionTime(SRay ray, double t_max) throws SRuntimeException
+  {
+    if(ray.asIntersected())
+      throw new SRuntimeException("Erreur SInstanceGeometry 003 : Le rayon a dj intersect une autre gomtrie.");
+
+    // Retenir la gomtrie du maillage intersecte pour complter l'intersection si l'instance est retenue.
+    // Le temps tant conserv dans l'espace objet, le temps maximal limite directement le parcours de la hirarchie.
+    SInstanceHit hit = last_hit.get();
+
+    hit.ray = ray;
+    hit.t = space.nearestIntersectionTime(toObjectRay(ray), t_max, hit.geometry);
+
+    if(hit.geometry[0] == null)
+      hit.t = NO_INTERSECTION;
+
+    return hit.t;
+  }
+
+  @Override
+  public SRay completeHit(SRay ray, double t) throws SRuntimeException
+  {
+    SInstanceHit hit = last_hit.get();
+
+    SGeometry geometry = (hit.ray == ray && hit.t == t) ? hit.geometry[0] : null;
+
+    hit.ray = null;
+    hit.geometry[0] = null;
+
+    SRay object_ray;
+
+    if(geometry != null)
+      object_ray = geometry.completeHit(toObjectRay(ray), t);
+    else
+    {
+      // Retrouver l'intersection dans l'espace objet (le temps maximal limite le parcours de la hirarchie)
+      object_ray = space.nearestIntersection(toObjectRay(ray), Math.nextUp(t));
+    }
+
+    if(!object_ray.asIntersected())
+      throw new SRuntimeException("Erreur SInstanceGeometry 004 : L'intersection au temps t = " + t + " n'a pas t retrouve dans le maillage de l'instance.");
+
+    SVector3d normal = normal_matrix.multiplyDirection(object_ray.getNormal()).normalize();
+
+    if(object_ray.asUV())
+      return ray.intersection(object_ray.getGeometry(), normal, object_ray.getUV(), t, object_ray.isInsideIntersection());
+    else
+      return ray.intersection(object_ray.getGeometry(), normal, t, object_ray.isInsideIntersection());
+  }
+
+  /**
+   * Mthode pour obtenir le rayon transform dans l'espace objet. La direction n'est pas normalise afin de conserver le temps d'intersection.
+   *
+   * @param ray - Le rayon dans la scne.
+   * @return Le rayon dans l'espace objet.
+   */
+  private SRay toObjectRay(SRay ray)
+  {
+    return new SRay(world_to_object.multiplyPosition(ray.getOrigin()), world_to_object.multiplyDirection(ray.getDirection()), ray.getRefractiveIndex());
+  }
+
+  @Override
+  protected boolean isInsideIntersection(SRay ray, double intersection_t)
+  {
+    throw new SNoImplementationException("Erreur SInstanceGeometry 005 : Cette mthode n'est pas implmente, car elle n'est pas utile au fonctionnement de la classe.");
+  }
+
+  @Override
+  protected SVector3d evaluateIntersectionNormal(SRay ray, double intersection_t)
+  {
+    throw new SNoImplementationException("Erreur SInstanceGeometry 006 : Cette mthode n'est pas implmente, car elle n'est pas utile au fonctionnement de la classe.");
+  }
+
+  @Override
+  protected SVectorUV evaluateIntersectionUV(SRay ray, double intersection_t)
+  {
+    throw new SNoImplementationException("Erreur SInstanceGeometry 007 : Cette mthode n'est pas implmente, car elle n'est pas utile au fonctionnement de la classe.");
+  }
+
+  @Override
+  public void write(BufferedWriter bw) throws IOException
+  {
+    // Une instance n'est pas crite : elle est reconstruite  la lecture du modle (SModel) qui l'a gnre.
+  }
+
+  @Override
+  protected boolean read(SBufferedReader sbr, int code, String remaining_line) throws SReadingException, IOException
+  {
+    return false;
+  }
+
+  @Override
+  public String getReadableName()
+  {
+    return SKeyWordDecoder.KW_GEOMETRY;
+  }
+
+  /**
+   * La classe interne <b>SInstanceHit</b> reprsente la dernire intersection value par une instance : le rayon dans la scne,
+   * le temps de l'intersection et la gomtrie du maillage intersecte.
+   */
+  private static class SInstanceHit {
+
+    private SRay ray = null;
+    private double t = NO_INTERSECTION;
+    private final SGeometry[] geometry = new SGeometry[1];
+
+  }//fin de la classe interne SInstanceHit
+
+}//fin de la classe SInstanceGeometry
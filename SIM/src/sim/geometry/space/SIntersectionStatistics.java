@@ -0,0 +1,435 @@
+/**
+ *
+ */
+package sim.geometry.space;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+
+import sim.geometry.SGeometry;
+import sim.util.SLog;
+
+/**
+ * La classe <b>SIntersectionStatistics</b> reprsente les statistiques des tests d'intersection raliss dans les espaces de gomtries.
+ * Les compteurs sont classs par type de rayon (primaire, ombre, rflexion, rfraction), par tape de parcours et par type de gomtrie.
+ *
+ * <p>
+ * Chaque <i>thread</i> de calcul possde ses propres compteurs (sans synchronisation).
+ * Les compteurs de tous les <i>threads</i> sont additionns uniquement lors de la lecture des statistiques
+ * qui doit tre ralise aprs la fin du calcul (ex. : aprs le ray tracing).
+ * </p>
+ *
+ * <p>
+ * Les compteurs d'un <i>thread</i> termin sont fusionns dans un total commun et retirs de la liste des statistiques
+ * (lors de l'enregistrement d'un nouveau <i>thread</i> ou d'une lecture). La liste ne crot donc pas avec le nombre
+ * de <i>threads</i> crs au fil des rendus (ex. : un <i>pool</i> de <i>threads</i> par image d'une squence).
+ * </p>
+ *
+ * <p>
+ * Lorsque la constante <b>ENABLED</b> est <b>false</b>, les appels protgs par <code>if(SIntersectionStatistics.ENABLED)</code>
+ * sont retirs par le compilateur et le comptage n'a plus aucun cot.
+ * </p>
+ *
+ * @author Simon Vzina
+ * @since 2026-10-17
+ * @version 2026-10-17
+ */
+public final class SIntersectionStatistics {
+
+  //--------------
+  // CONSTANTES //
+  //--------------
+
+  /**
+   * La constante <b>ENABLED</b> permet d'activer le comptage des statistiques d'intersection.
+   * Une valeur <b>false</b> retire le comptage  la compilation (pour un rendu de production).
+   */
+  public static final boolean ENABLED = true;
+
+  /**
+   * La constante <b>PRIMARY</b> correspond au type de rayon primaire (rayon lanc de la camra).
+   */
+  public static final int PRIMARY = 0;
+
+  /**
+   * La constante <b>SHADOW</b> correspond au type de rayon d'ombre (rayon lanc vers une source de lumire).
+   */
+  public static final int SHADOW = 1;
+
+  /**
+   * La constante <b>REFLECTION</b> correspond au type de rayon de rflexion.
+   */
+  public static final int REFLECTION = 2;
+
+  /**
+   * La constante <b>REFRACTION</b> correspond au type de rayon de rfraction.
+   */
+  public static final int REFRACTION = 3;
+
+  /**
+   * La constante <b>RAY_TYPE_NAME</b> correspond au nom des types de rayon.
+   */
+  public static final String[] RAY_TYPE_NAME = { "primaire", "ombre", "rflexion", "rfraction" };
+
+  /**
+   * La constante <b>QUERY</b> correspond  l'tape d'une requte  l'espace des gomtries.
+   */
+  public static final int QUERY = 0;
+
+  /**
+   * La constante <b>NODE_VISIT</b> correspond  l'tape de la visite d'un noeud d'une hirarchie de volumes englobants.
+   */
+  public static final int NODE_VISIT = 1;
+
+  /**
+   * La constante <b>VOXEL_VISIT</b> correspond  l'tape de la visite d'un voxel lors du parcours d'une carte de voxels.
+   */
+  public static final int VOXEL_VISIT = 2;
+
+  /**
+   * La constante <b>GEOMETRY_TEST</b> correspond  l'tape d'un test d'intersection avec une gomtrie.
+   */
+  public static final int GEOMETRY_TEST = 3;
+
+  /**
+   * La constante <b>STEP_NAME</b> correspond au nom des tapes de parcours.
+   */
+  public static final String[] STEP_NAME = { "requtes", "noeuds visits", "voxels visits", "tests d'intersection" };
+
+  /**
+   * La constante <b>NB_GEOMETRY_CODE</b> correspond au nombre de codes de gomtrie comptabiliss.
+   * Un code  l'extrieur de cet intervalle est comptabilis avec le code 0.
+   */
+  private static final int NB_GEOMETRY_CODE = 32;
+
+  /**
+   * La constante <b>ALL_STATISTICS</b> correspond  la liste des statistiques des <i>threads</i> actifs ayant ralis un comptage.
+   */
+  private static final List<SIntersectionStatistics> ALL_STATISTICS = new ArrayList<SIntersectionStatistics>();
+
+  /**
+   * La constante <b>FINISHED_STATISTICS</b> correspond au total des statistiques des <i>threads</i> termins.
+   */
+  private static final SIntersectionStatistics FINISHED_STATISTICS = new SIntersectionStatistics(null);
+
+  /**
+   * La constante <b>LOCAL_STATISTICS</b> correspond aux statistiques propres  chaque <i>thread</i>.
+   */
+  private static final ThreadLocal<SIntersectionStatistics> LOCAL_STATISTICS = new ThreadLocal<SIntersectionStatistics>() {
+
+    @Override
+    protected SIntersectionStatistics initialValue()
+    {
+      SIntersectionStatistics statistics = new SIntersectionStatistics(Thread.currentThread());
+
+      synchronized(ALL_STATISTICS)
+      {
+        mergeFinishedStatistics();
+        ALL_STATISTICS.add(statistics);
+      }
+
+      return statistics;
+    }
+  };
+
+  //-------------
+  // VARIABLES //
+  //-------------
+
+  /**
+   * La variable <b>owner</b> correspond au <i>thread</i> propritaire des compteurs (<b>null</b> pour le total des <i>threads</i> termins).
+   */
+  private final Thread owner;
+
+  /**
+   * La variable <b>ray_type</b> correspond au type du rayon prsentement trait par le <i>thread</i>.
+   */
+  private int ray_type;
+
+  /**
+   * La variable <b>step_count</b> correspond au nombre d'tapes ralises par type de rayon (<b>[ray_type][step]</b>).
+   */
+  private final long[][] step_count;
+
+  /**
+   * La variable <b>geometry_count</b> correspond au nombre de tests d'intersection par type de rayon et par code de gomtrie (<b>[ray_type][code]</b>).
+   */
+  private final long[][] geometry_count;
+
+  /**
+   * La variable <b>geometry_name</b> correspond au nom des gomtries associ  leur code de gomtrie.
+   */
+  private final String[] geometry_name;
+
+  //-----------------
+  // CONSTRUCTEURS //
+  //-----------------
+
+  /**
+   * Constructeur des statistiques d'un <i>thread</i>.
+   *
+   * @param owner - Le <i>thread</i> propritaire des compteurs.
+   */
+  private SIntersectionStatistics(Thread owner)
+  {
+    this.owner = owner;
+    ray_type = PRIMARY;
+    step_count = new long[RAY_TYPE_NAME.length][STEP_NAME.length];
+    geometry_count = new long[RAY_TYPE_NAME.length][NB_GEOMETRY_CODE];
+    geometry_name = new String[NB_GEOMETRY_CODE];
+  }
+
+  //------------
+  // MTHODES //
+  //------------
+
+  /**
+   * Mthode pour obtenir les statistiques du <i>thread</i> courant.
+   *
+   * @return Les statistiques du <i>thread</i> courant.
+   */
+  public static SIntersectionStatistics local()
+  {
+    return LOCAL_STATISTICS.get();
+  }
+
+  /**
+   * Mthode pour dfinir le type des prochains rayons traits par le <i>thread</i> courant.
+   *
+   * @param ray_type - Le type de rayon (PRIMARY, SHADOW, REFLECTION ou REFRACTION).
+   */
+  public static void setRayType(int ray_type)
+  {
+    if(ENABLED)
+      LOCAL_STATISTICS.get().ray_type = ray_type;
+  }
+
+  /**
+   * Mthode pour comptabiliser une tape de parcours pour le type de rayon courant.
+   *
+   * @param step - L'tape de parcours.
+   */
+  public void countStep(int step)
+  {
+    step_count[ray_type][step]++;
+  }
+
+  /**
+   * Mthode pour comptabiliser plusieurs tapes de parcours pour le type de rayon courant.
+   *
+   * @param step - L'tape de parcours.
+   * @param value - Le nombre d'tapes  ajouter.
+   */
+  public void countStep(int step, int value)
+  {
+    step_count[ray_type][step] += value;
+  }
+
+  /**
+   * Mthode pour comptabiliser un test d'intersection avec une gomtrie pour le type de rayon courant.
+   *
+   * @param geometry - La gomtrie teste.
+   */
+  public void countGeometryTest(SGeometry geometry)
+  {
+    int code = geometry.getCodeName();
+
+    if(code < 0 || code >= NB_GEOMETRY_CODE)
+      code = 0;
+
+    if(geometry_name[code] == null)
+      geometry_name[code] = geometry.getClass().getSimpleName();
+
+    step_count[ray_type][GEOMETRY_TEST]++;
+    geometry_count[ray_type][code]++;
+  }
+
+  /**
+   * Mthode pour comptabiliser les tests d'intersection avec toutes les gomtries d'une liste pour le type de rayon courant.
+   *
+   * @param list - La liste des gomtries testes.
+   */
+  public void countGeometryTest(List<SGeometry> list)
+  {
+    for(SGeometry g : list)
+      countGeometryTest(g);
+  }
+
+  /**
+   * Mthode pour obtenir le nombre total d'une tape de parcours ralise par l'ensemble des <i>threads</i>.
+   *
+   * @param step - L'tape de parcours.
+   * @return Le nombre total de l'tape de parcours.
+   */
+  public static long getCount(int step)
+  {
+    long[][] total_step = new long[RAY_TYPE_NAME.length][STEP_NAME.length];
+
+    sum(total_step, new long[RAY_TYPE_NAME.length][NB_GEOMETRY_CODE], new String[NB_GEOMETRY_CODE]);
+
+    long count = 0;
+
+    for(int type = 0; type < RAY_TYPE_NAME.length; type++)
+      count += total_step[type][step];
+
+    return count;
+  }
+
+  /**
+   * Mthode pour obtenir le nombre total de tests d'intersection raliss par l'ensemble des <i>threads</i>.
+   *
+   * @return Le nombre total de tests d'intersection.
+   */
+  public static long getIntersectionTestCount()
+  {
+    return getCount(GEOMETRY_TEST);
+  }
+
+  /**
+   * Mthode pour rinitialiser les statistiques de l'ensemble des <i>threads</i>.
+   * Cette mthode doit tre appele lorsqu'aucun calcul n'est en cours.
+   */
+  public static void reset()
+  {
+    synchronized(ALL_STATISTICS)
+    {
+      mergeFinishedStatistics();
+
+      FINISHED_STATISTICS.clear();
+
+      for(SIntersectionStatistics s : ALL_STATISTICS)
+        s.clear();
+    }
+  }
+
+  /**
+   * Mthode pour remettre  zro les compteurs.
+   */
+  private void clear()
+  {
+    for(int type = 0; type < RAY_TYPE_NAME.length; type++)
+    {
+      Arrays.fill(step_count[type], 0);
+      Arrays.fill(geometry_count[type], 0);
+    }
+  }
+
+  /**
+   * Mthode pour ajouter les compteurs d'autres statistiques  ces statistiques.
+   *
+   * @param statistics - Les statistiques  ajouter.
+   */
+  private void add(SIntersectionStatistics statistics)
+  {
+    for(int type = 0; type < RAY_TYPE_NAME.length; type++)
+    {
+      for(int step = 0; step < STEP_NAME.length; step++)
+        step_count[type][step] += statistics.step_count[type][step];
+
+      for(int code = 0; code < NB_GEOMETRY_CODE; code++)
+        geometry_count[type][code] += statistics.geometry_count[type][code];
+    }
+
+    for(int code = 0; code < NB_GEOMETRY_CODE; code++)
+      if(statistics.geometry_name[code] != null)
+        geometry_name[code] = statistics.geometry_name[code];
+  }
+
+  /**
+   * Mthode pour fusionner les statistiques des <i>threads</i> termins dans le total commun et les retirer de la liste.
+   * La fin d'un <i>thread</i> dtecte par <b>isAlive()</b> garantit que ses compteurs sont visibles.
+   * Cette mthode doit tre appele en dtenant le verrou de la liste <b>ALL_STATISTICS</b>.
+   */
+  private static void mergeFinishedStatistics()
+  {
+    Iterator<SIntersectionStatistics> iterator = ALL_STATISTICS.iterator();
+
+    while(iterator.hasNext())
+    {
+      SIntersectionStatistics s = iterator.next();
+
+      if(!s.owner.isAlive())
+      {
+        FINISHED_STATISTICS.add(s);
+        iterator.remove();
+      }
+    }
+  }
+
+  /**
+   * Mthode pour additionner les statistiques des <i>threads</i> termins et actifs.
+   *
+   * @param total_step - Le tableau qui contiendra le nombre total de chaque tape par type de rayon.
+   * @param total_geometry - Le tableau qui contiendra le nombre total de tests par type de rayon et par code de gomtrie.
+   * @param name - Le tableau qui contiendra le nom des gomtries associ  leur code de gomtrie.
+   */
+  private static void sum(long[][] total_step, long[][] total_geometry, String[] name)
+  {
+    synchronized(ALL_STATISTICS)
+    {
+      mergeFinishedStatistics();
+
+      List<SIntersectionStatistics> list = new ArrayList<SIntersectionStatistics>(ALL_STATISTICS);
+      list.add(FINISHED_STATISTICS);
+
+      for(SIntersectionStatistics s : list)
+        for(int type = 0; type < RAY_TYPE_NAME.length; type++)
+        {
+          for(int step = 0; step < STEP_NAME.length; step++)
+            total_step[type][step] += s.step_count[type][step];
+
+          for(int code = 0; code < NB_GEOMETRY_CODE; code++)
+          {
+            total_geometry[type][code] += s.geometry_count[type][code];
+
+            if(s.geometry_name[code] != null)
+              name[code] = s.geometry_name[code];
+          }
+        }
+    }
+  }
+
+  /**
+   * Mthode pour crire dans le fichier log le rapport des statistiques d'intersection de l'ensemble des <i>threads</i>.
+   * Cette mthode doit tre appele lorsqu'aucun calcul n'est en cours.
+   *
+   * @param owner - Le nom de la classe qui demande l'criture du rapport.
+   */
+  public static void logReport(String owner)
+  {
+    if(!ENABLED)
+    {
+      SLog.logWriteLine("Message " + owner + " : Les statistiques d'intersection sont dsactives.");
+      return;
+    }
+
+    long[][] total_step = new long[RAY_TYPE_NAME.length][STEP_NAME.length];
+    long[][] total_geometry = new long[RAY_TYPE_NAME.length][NB_GEOMETRY_CODE];
+    String[] name = new String[NB_GEOMETRY_CODE];
+
+    sum(total_step, total_geometry, name);
+
+    long total = 0;
+    for(int type = 0; type < RAY_TYPE_NAME.length; type++)
+      total += total_step[type][GEOMETRY_TEST];
+
+    SLog.logWriteLine("Message " + owner + " : Nombre de tests d'intersection raliss : " + total + " tests.");
+
+    for(int type = 0; type < RAY_TYPE_NAME.length; type++)
+    {
+      StringBuilder line = new StringBuilder("Message " + owner + " : Rayons " + RAY_TYPE_NAME[type] + " :");
+
+      for(int step = 0; step < STEP_NAME.length; step++)
+        line.append(" " + STEP_NAME[step] + " = " + total_step[type][step] + ";");
+
+      for(int code = 0; code < NB_GEOMETRY_CODE; code++)
+        if(total_geometry[type][code] > 0)
+          line.append(" " + (name[code] != null ? name[code] : "code " + code) + " = " + total_geometry[type][code] + ";");
+
+      SLog.logWriteLine(line.toString());
+    }
+  }
+
+}//fin de la classe SIntersectionStatistics
@@ -8,6 +8,7 @@ import java.util.List;
 import sim.exception.SRuntimeException;
 import sim.geometry.SGeometry;
 import sim.geometry.SRay;
+import sim.graphics.SColor;
 import sim.math.SVector3d;
 import sim.util.SLog;
 
@@ -18,7 +19,7 @@ import sim.util.SLog;
  * 
  * @author Simon Vzina
  * @since 2015-01-10
- * @version 2015-12-27
+ * @version 2026-10-17
  */
 public class SLinearSpace extends SAbstractGeometrySpace {
 
@@ -33,6 +34,10 @@ public class SLinearSpace extends SAbstractGeometrySpace {
 	@Override
 	public SRay nearestIntersection(SRay ray, double t_max)throws SRuntimeException
 	{
+		// Comptabiliser la requte  l'espace des gomtries
+		if(SIntersectionStatistics.ENABLED)
+			SIntersectionStatistics.local().countStep(SIntersectionStatistics.QUERY);
+		
 		//Vrifier si le rayon a dj intersect une gomtrie
 		if(ray.asIntersected())
 			throw new SRuntimeException("Erreur SLinearSpace 001 : Le rayon en paramtre a dj intersect une gomtrie.");
@@ -45,20 +50,17 @@ public class SLinearSpace extends SAbstractGeometrySpace {
     if(!space_initialized)
       throw new SRuntimeException("Erreur SLinearSpace 003 : L'espace de gomtrie n'a pas t initialis.");
     
-		//Obtenir la liste des intersections
-		List<SRay> list_intersection = intersections(geometry_list, ray, t_max);
-		
-		//Si la liste n'est pas vide, la premire intersection sera l'lment [0] de la liste, 
-		//car elle doit tre trie en ordre croissant de temps/distante
-		if(!list_intersection.isEmpty())
-			return list_intersection.get(0);
-		else
-			return ray;	//sans intersection, on retourne le rayon d'origine
+		//Obtenir l'intersection la plus prs (sans intersection, on retourne le rayon d'origine)
+		return nearestIntersection(geometry_list, ray, t_max);
 	}
 	
 	@Override
 	public List<SRay> nearestOpaqueIntersection(SRay ray, final double t_max)throws SRuntimeException
 	{
+		// Comptabiliser la requte  l'espace des gomtries
+		if(SIntersectionStatistics.ENABLED)
+			SIntersectionStatistics.local().countStep(SIntersectionStatistics.QUERY);
+		
 	  //Vrifier si le rayon a dj intersect une gomtrie
     if(ray.asIntersected())
       throw new SRuntimeException("Erreur SLinearSpace 004 : Le rayon en paramtre a dj intersect une gomtrie.");
@@ -74,6 +76,50 @@ public class SLinearSpace extends SAbstractGeometrySpace {
 	  return nearestOpaqueIntersection(geometry_list, ray, t_max);
 	}
 	
+  @Override
+  public boolean occluded(SRay ray, double t_max) throws SRuntimeException
+  {
+    // Comptabiliser la requte  l'espace des gomtries
+    if(SIntersectionStatistics.ENABLED)
+      SIntersectionStatistics.local().countStep(SIntersectionStatistics.QUERY);
+    
+    // Vrifier si le rayon a dj intersect une gomtrie
+    if(ray.asIntersected())
+      throw new SRuntimeException("Erreur SLinearSpace 008 : Le rayon en paramtre a dj intersect une gomtrie.");
+    
+    // Vrifier la valeur de t_max est adquate
+    if(t_max < 0.0)
+      throw new SRuntimeException("Erreur SLinearSpace 009 : Le temps maximale ne peut pas tre ngative.");
+    
+    // Vrifier si l'espace a t initialis
+    if(!space_initialized)
+      throw new SRuntimeException("Erreur SLinearSpace 010 : L'espace de gomtrie n'a pas t initialis.");
+    
+    return occluded(geometry_list, ray, t_max);
+  }
+  
+  @Override
+  public SColor transmittance(SRay ray, double t_max) throws SRuntimeException
+  {
+    // Comptabiliser la requte  l'espace des gomtries
+    if(SIntersectionStatistics.ENABLED)
+      SIntersectionStatistics.local().countStep(SIntersectionStatistics.QUERY);
+    
+    // Vrifier si le rayon a dj intersect une gomtrie
+    if(ray.asIntersected())
+      throw new SRuntimeException("Erreur SLinearSpace 011 : Le rayon en paramtre a dj intersect une gomtrie.");
+    
+    // Vrifier la valeur de t_max est adquate
+    if(t_max < 0.0)
+      throw new SRuntimeException("Erreur SLinearSpace 012 : Le temps maximale ne peut pas tre ngative.");
+    
+    // Vrifier si l'espace a t initialis
+    if(!space_initialized)
+      throw new SRuntimeException("Erreur SLinearSpace 013 : L'espace de gomtrie n'a pas t initialis.");
+    
+    return transmittance(geometry_list, ray, t_max, FULL_TRANSMITTANCE);
+  }
+  
   @Override
   public List<SGeometry> listInsideGeometry(SVector3d v) throws SRuntimeException
   {
@@ -4,14 +4,15 @@
 package sim.geometry.space;
 
 import java.util.ArrayList;
-import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.RecursiveTask;
 
 import sim.exception.SRuntimeException;
 import sim.geometry.SGeometry;
 import sim.geometry.SRay;
+import sim.graphics.SColor;
 import sim.math.SMath;
 import sim.math.SVector3d;
 import sim.util.SLog;
@@ -20,13 +21,25 @@ import sim.util.SLog;
  * La classe <b>SMultiVoxelSpace</b> reprsente un espace de gomtrie partitionn en plusieurs niveaux de rsolution de voxel.
  * Une gomtrie sera ainsi introduite dans un seul espace de gomtrie en fonction de sa taille afin de regrouper les gomtries
  * de taille semblable.
+ * <p>Les cartes de voxels sont remplies en parallle : chaque tche construit une carte partielle pour un intervalle de botes englobantes
+ * et les cartes partielles sont fusionnes dans l'ordre des intervalles. Les gomtries d'un voxel sont ainsi ordonnes comme lors
+ * d'un remplissage squentiel.</p>
  * 
  * @author Simon Vzina
  * @since 2015-11-25
- * @version 2015-12-29
+ * @version 2026-10-17
  */
 public class SMultiVoxelSpace extends SAbstractVoxelSpace {
 
+  //--------------
+  // CONSTANTES //
+  //--------------
+  
+  /**
+   * La constante <b>MAP_GRAIN</b> correspond au nombre de botes englobantes insres dans une mme carte partielle de voxels.
+   */
+  private static final int MAP_GRAIN = 1024;
+  
   //-------------
   // VARIABLES //
   //-------------
@@ -70,6 +83,10 @@ public class SMultiVoxelSpace extends SAbstractVoxelSpace {
   @Override
   public SRay nearestIntersection(SRay ray, double t_max) throws SRuntimeException
   {
+    // Comptabiliser la requte  l'espace des gomtries
+    if(SIntersectionStatistics.ENABLED)
+      SIntersectionStatistics.local().countStep(SIntersectionStatistics.QUERY);
+    
     // Vrifier si le rayon a dj intersect une gomtrie
     if(ray.asIntersected())
       throw new SRuntimeException("Erreur SMultiVoxelSpace 001 : Le rayon en paramtre a dj intersect une gomtrie.");
@@ -82,21 +99,20 @@ public class SMultiVoxelSpace extends SAbstractVoxelSpace {
     if(!space_initialized)
       throw new SRuntimeException("Erreur SMultiVoxelSpace 003 : L'espace de gomtries de voxel n'a pas t initialis.");
     
-    //Rsultat de l'intersection avec la carte de voxel. Sera gale  "ray" s'il y en a pas eu.
-    SRay intersection_in_voxel = nearestIntersectionInVoxelMapList(ray, t_max);
-    
-    //Rsultat de l'intersection avec les gomtries hors voxel
-    List<SRay> list_intersection_not_in_voxel = intersections(linear_list, ray, t_max);
+    //Rsultat de l'intersection avec les gomtries hors voxel. Sera gale  "ray" s'il y en a pas eu.
+    SRay intersection_not_in_voxel = nearestIntersection(linear_list, ray, t_max);
     
-    // Ajouter l'intersection de la carte de voxel  la liste linaire.
-    // Cette liste sera ainsi pas vide.
-    list_intersection_not_in_voxel.add(intersection_in_voxel);
+    // Le parcours de la carte de voxel peut s'arrter  l'intersection hors voxel (si elle existe)
+    double t_nearest = intersection_not_in_voxel.asIntersected() ? intersection_not_in_voxel.getT() : t_max;
     
-    // Trier la liste pour le dernier lment ajout.
-    Collections.sort(list_intersection_not_in_voxel); 
+    //Rsultat de l'intersection avec la carte de voxel. Sera gale  "ray" s'il y en a pas eu.
+    SRay intersection_in_voxel = nearestIntersectionInVoxelMapList(ray, t_nearest);
     
-    // Retourner le permier lment de la liste (sera sans intersection s'il n'y en a pas eu).
-    return list_intersection_not_in_voxel.get(0);
+    // Retourner l'intersection la plus prs (sera sans intersection s'il n'y en a pas eu).
+    if(intersection_in_voxel.asIntersected())
+      return intersection_in_voxel;
+    else
+      return intersection_not_in_voxel;
   }
 
   /**
@@ -133,9 +149,6 @@ public class SMultiVoxelSpace extends SAbstractVoxelSpace {
       
       
       
-      // Le rayon ayant ralis l'intersection la plus prs
-      SRay minimum_ray = ray;
-      
       
       
       
@@ -196,7 +209,11 @@ public class SMultiVoxelSpace extends SAbstractVoxelSpace {
      
       
       
-      // STRATGIE 3 : Itration en "parallle"
+      // STRATGIE 3 : Itration en "parallle" (une bote aux lettres commune  toutes les cartes, voir SVoxelMailbox)
+      
+      SVoxelMailbox mailbox = new SVoxelMailbox(ray, t_max);
+      
+      try{
       
       // Faire les passages supplmentaires
       int FTVA_over = 0;
@@ -227,8 +244,8 @@ public class SMultiVoxelSpace extends SAbstractVoxelSpace {
             if(!FTVA.asNextVoxel()) 
               FTVA_over++;
             else
-              // Une intersection  temps plus court a t trouv, donc son itration est termin
-              if(minimum_ray.asIntersected() && FTVA.nextMinTime() > minimum_ray.getT())
+              // Le prochain voxel dbute aprs l'intersection la plus prs, donc son itration est termin
+              if(FTVA.nextMinTime() > mailbox.getNearestTime())
               {
                 FTVA.close();
                 FTVA_over++;
@@ -242,19 +259,8 @@ public class SMultiVoxelSpace extends SAbstractVoxelSpace {
                   if(FTVA.nextMaxTime() > max_time)
                     max_time = FTVA.nextMaxTime();
                     
-                  SVoxel voxel = FTVA.nextVoxel();
-                    
-                  SRay new_intersection = nearestIntersectionInVoxelMap(ray, t_max, voxel_map_list.get(i), voxel_builder_list.get(i), voxel);
-                  
-                  // Mise  jour de l'intersection la plus prs en comparaison entre carte de voxels
-                  if(new_intersection.asIntersected())
-                  {
-                    FTVA.close();
-                    FTVA_over++;
-                      
-                    if(new_intersection.getT() < minimum_ray.getT())
-                      minimum_ray = new_intersection;
-                  }
+                  // Une gomtrie prsente dans plusieurs cartes n'est teste qu'une seule fois
+                  nearestIntersectionInVoxelMap(mailbox, ray, voxel_map_list.get(i), FTVA.nextVoxel());
                 }
                 else
                   if(FTVA.nextMinTime() == max_time)
@@ -270,7 +276,11 @@ public class SMultiVoxelSpace extends SAbstractVoxelSpace {
         
       }//fin while
       
-      return minimum_ray;
+      return mailbox.buildNearestIntersection();
+      
+      }finally{
+        mailbox.close();
+      }
     }
     
     
@@ -279,6 +289,10 @@ public class SMultiVoxelSpace extends SAbstractVoxelSpace {
   @Override
   public List<SRay> nearestOpaqueIntersection(SRay ray, double t_max) throws SRuntimeException
   {
+    // Comptabiliser la requte  l'espace des gomtries
+    if(SIntersectionStatistics.ENABLED)
+      SIntersectionStatistics.local().countStep(SIntersectionStatistics.QUERY);
+    
     // Vrifier si le rayon a dj intersect une gomtrie
     if(ray.asIntersected())
       throw new SRuntimeException("Erreur SMultiVoxelSpace 004 : Le rayon en paramtre a dj intersect une gomtrie.");
@@ -396,9 +410,11 @@ public class SMultiVoxelSpace extends SAbstractVoxelSpace {
       }//fin for
      */
       
-      // VERSION 3 : ITRER EN PARALLLE
+      // VERSION 3 : ITRER EN PARALLLE (une bote aux lettres commune  toutes les cartes, voir SVoxelMailbox)
       
-      SRay minimum_opaque_ray = ray;
+      SVoxelMailbox mailbox = new SVoxelMailbox(ray, t_max);
+      
+      try{
       
       // Faire les passages supplmentaires
       int FTVA_over = 0;
@@ -423,7 +439,8 @@ public class SMultiVoxelSpace extends SAbstractVoxelSpace {
             if(!FTVA.asNextVoxel()) 
               FTVA_over++;
             else
-              if(minimum_opaque_ray.asIntersected() && FTVA.nextMinTime() > minimum_opaque_ray.getT())
+              // Le prochain voxel dbute aprs l'intersection opaque la plus prs, donc son itration est termin
+              if(FTVA.nextMinTime() > mailbox.getOpaqueTime())
               {
                 FTVA.close();
                 FTVA_over++;
@@ -437,25 +454,8 @@ public class SMultiVoxelSpace extends SAbstractVoxelSpace {
                   if(FTVA.nextMaxTime() > max_time)
                     max_time = FTVA.nextMaxTime();
                   
-                  SVoxel voxel = FTVA.nextVoxel();
-                  
-                  List<SRay> list = nearestOpaqueIntersectionInVoxelMap(ray, t_max, voxel_map_list.get(i), voxel_builder_list.get(i), voxel); 
-                  
-                  // Condition d'arrt si une intersection opaque a t trouve dans le FTVA courant
-                  if(!list.isEmpty())
-                    if(!list.get(0).getGeometry().isTransparent())
-                    {
-                      FTVA.close();
-                      FTVA_over++;
-                      
-                      // Mise  jour de l'intersection opaque de moindre temps
-                      if(list.get(0).getT() < minimum_opaque_ray.getT())
-                        minimum_opaque_ray = list.get(0);
-                    }
-                  
-                  // Ajouter la nouvelle liste de l'intersection opaque  la liste cumulative
-                  return_list = mergeNearestOpaqueIntersection(return_list, list);
-                  
+                  // Une gomtrie prsente dans plusieurs cartes n'est teste qu'une seule fois
+                  nearestOpaqueIntersectionInVoxelMap(mailbox, ray, voxel_map_list.get(i), FTVA.nextVoxel());
                 }
                 else
                   if(FTVA.nextMinTime() == max_time)
@@ -472,10 +472,74 @@ public class SMultiVoxelSpace extends SAbstractVoxelSpace {
         
       }//fin while
         
-      return return_list;
+      return mailbox.buildOpaqueIntersectionList();
+      
+      }finally{
+        mailbox.close();
+      }
     }//fin else  
   }
   
+  @Override
+  public boolean occluded(SRay ray, double t_max) throws SRuntimeException
+  {
+    // Comptabiliser la requte  l'espace des gomtries
+    if(SIntersectionStatistics.ENABLED)
+      SIntersectionStatistics.local().countStep(SIntersectionStatistics.QUERY);
+    
+    // Vrifier si le rayon a dj intersect une gomtrie
+    if(ray.asIntersected())
+      throw new SRuntimeException("Erreur SMultiVoxelSpace 007 : Le rayon en paramtre a dj intersect une gomtrie.");
+    
+    // Vrifier la valeur de t_max est adquate
+    if(t_max < 0.0)
+      throw new SRuntimeException("Erreur SMultiVoxelSpace 008 : Le temps maximale ne peut pas tre ngative.");
+    
+    // Vrifier si l'espace a t initialis
+    if(!space_initialized)
+      throw new SRuntimeException("Erreur SMultiVoxelSpace 009 : L'espace de gomtries de voxel n'a pas t initialis.");
+    
+    // Tester les gomtries hors voxel avant de parcourir les cartes de voxel
+    if(occluded(linear_list, ray, t_max))
+      return true;
+    
+    // Chaque gomtrie tant dans une seule carte, l'ordre de parcours des cartes n'a pas d'importance
+    for(int i = 0; i < voxel_map_list.size(); i++)
+      if(occludedInVoxelMap(ray, t_max, voxel_map_list.get(i), voxel_builder_list.get(i), absolute_extremum_voxel_list.get(i)))
+        return true;
+    
+    return false;
+  }
+  
+  @Override
+  public SColor transmittance(SRay ray, double t_max) throws SRuntimeException
+  {
+    // Comptabiliser la requte  l'espace des gomtries
+    if(SIntersectionStatistics.ENABLED)
+      SIntersectionStatistics.local().countStep(SIntersectionStatistics.QUERY);
+    
+    // Vrifier si le rayon a dj intersect une gomtrie
+    if(ray.asIntersected())
+      throw new SRuntimeException("Erreur SMultiVoxelSpace 010 : Le rayon en paramtre a dj intersect une gomtrie.");
+    
+    // Vrifier la valeur de t_max est adquate
+    if(t_max < 0.0)
+      throw new SRuntimeException("Erreur SMultiVoxelSpace 011 : Le temps maximale ne peut pas tre ngative.");
+    
+    // Vrifier si l'espace a t initialis
+    if(!space_initialized)
+      throw new SRuntimeException("Erreur SMultiVoxelSpace 012 : L'espace de gomtries de voxel n'a pas t initialis.");
+    
+    // Filtrer par les gomtries hors voxel avant de parcourir les cartes de voxel
+    SColor filter = transmittance(linear_list, ray, t_max, FULL_TRANSMITTANCE);
+    
+    // Chaque gomtrie tant dans une seule carte, l'ordre de parcours des cartes n'a pas d'importance
+    for(int i = 0; i < voxel_map_list.size() && filter != NO_TRANSMITTANCE; i++)
+      filter = transmittanceInVoxelMap(ray, t_max, voxel_map_list.get(i), voxel_builder_list.get(i), absolute_extremum_voxel_list.get(i), filter);
+    
+    return filter;
+  }
+  
   @Override
   public List<SGeometry> listInsideGeometry(SVector3d v)
   {
@@ -494,8 +558,8 @@ public class SMultiVoxelSpace extends SAbstractVoxelSpace {
   {
     SLog.logWriteLine("Message SMultiVoxelSpace : Construction de l'espace des gomtries avec voxel multiple.");
     
-    // Gnrateur de bote englobante
-    SBoundingBoxBuilder box_builder = new SBoundingBoxBuilder();            
+    // Gnrateur parallle de botes englobantes
+    SBVHBuilder box_builder = new SBVHBuilder();
     
     // Sparateur de la collection de gomtrie
     //SGeometryCollectionSplitter splitter = new SGeometryCollectionSplitter(geometry_list, SGeometryCollectionSplitter.SPLIT_BOX_AND_NO_BOX);
@@ -518,11 +582,9 @@ public class SMultiVoxelSpace extends SAbstractVoxelSpace {
       // Liste des botes englobantes autour des gomtrie de la liste
       List<SBoundingBox> bounding_box_list = new ArrayList<SBoundingBox>();   
       
-      // Obtenir toutes les botes englobantes disponibles
-      for(SGeometry g : l)
+      // Obtenir toutes les botes englobantes disponibles (construites en parallle)
+      for(SBoundingBox box : box_builder.buildBoundingBoxes(l))
       {
-        SBoundingBox box = box_builder.buildBoundingBox(g);
-        
         if(box != null)
           bounding_box_list.add(box);
         else
@@ -539,27 +601,26 @@ public class SMultiVoxelSpace extends SAbstractVoxelSpace {
         SVoxelBuilder voxel_builder = new SVoxelBuilder(evaluator.getDimension()); 
         voxel_builder_list.add(voxel_builder);
         
-        // Construire la carte des voxels qui vont accueillir ces gomtries
-        Map<SVoxel, List<SGeometry>> voxel_map = new HashMap<SVoxel, List<SGeometry>>();
-        voxel_map_list.add(voxel_map);
+        // Construire en parallle la carte des voxels qui vont accueillir ces gomtries,
+        // son voxel d'extrme et le nombre de rfrences selon les botes englobantes (avant le test exact des triangles)
+        SBoundingBox[] box_tab = bounding_box_list.toArray(new SBoundingBox[bounding_box_list.size()]);
         
-        // Construire le voxel d'extrme  la nouvelle carte et le mettre  jour  chaque insertion de gomtrie
-        SVoxel extremum_voxel = new SVoxel(0, 0, 0);
-                
-        // Iterer sur l'ensemble botes englobante.
-        // Intgrer leur voxels attitrs avec leur gomtrie  la carte des voxels.
-        // Mettre  jour le voxel d'extrme
-        for(SBoundingBox box : bounding_box_list)
-          extremum_voxel = addGeometryToMap(voxel_map, extremum_voxel, box.getGeometry(), voxel_builder.buildVoxel(box));     
+        SPartialVoxelMap partial = box_builder.invoke(new SVoxelMapTask(voxel_builder, box_tab, 0, box_tab.length));
+        
+        Map<SVoxel, List<SGeometry>> voxel_map = partial.map;
+        long nb_box_reference = partial.nb_box_reference;
+        
+        voxel_map_list.add(voxel_map);
         
         // Mettre le voxel d'extrme dans la liste (pour le faire correspondre avec la bonne carte)
-        absolute_extremum_voxel_list.add(extremum_voxel);
+        absolute_extremum_voxel_list.add(partial.extremum_voxel);
         
         // Messages multiples  afficher
         SLog.logWriteLine("Message SMultiVoxelSpace : Construction de l'espace des voxels #" + (list_count+1) +".");
         SLog.logWriteLine("Message SMultiVoxelSpace : Nombre de gomtries dans la carte de voxels : " + bounding_box_list.size() + " gomtries.");
         SLog.logWriteLine("Message SMultiVoxelSpace : Taille des voxels : " + evaluator.getDimension() + " units.");  
-        SLog.logWriteLine("Message SMultiVoxelSpace : Nombre de rfrence  des gomtries : " + evaluateNbGeometryReference(voxel_map) + " rfrences.");
+        SLog.logWriteLine("Message SMultiVoxelSpace : Dure de construction des botes englobantes : " + box_builder.getBoundingBoxTime() + " s (" + box_builder.getNbThread() + " fils d'excution).");
+        SLog.logWriteLine("Message SMultiVoxelSpace : Nombre de rfrence  des gomtries : " + evaluateNbGeometryReference(voxel_map) + " rfrences (" + nb_box_reference + " selon les botes englobantes avant le test exact des triangles).");
         SLog.logWriteLine("Message SMultiVoxelSpace : Nombre moyen de rfrence  des gomtries par voxel : " + evaluateNbGeometryReferencePerVoxel(voxel_map) + " rfrences/voxel.");
         
         SLog.logWriteLine();
@@ -576,6 +637,8 @@ public class SMultiVoxelSpace extends SAbstractVoxelSpace {
       }
     }//fin for
   
+    box_builder.close();
+    
     // Remarque : le comptage s'effectuant  la fin de la boucle for, le nombre est prsentement gal  list_count (et non list_count+1)
     SLog.logWriteLine("Message SMultiVoxelSpace : Fin de la construction des " + (list_count) + " espaces multiples de voxels.");
     SLog.logWriteLine();
@@ -583,4 +646,91 @@ public class SMultiVoxelSpace extends SAbstractVoxelSpace {
     space_initialized = true;
   }
   
+  /**
+   * La classe interne <b>SPartialVoxelMap</b> reprsente la carte des voxels d'un intervalle de botes englobantes,
+   * son voxel d'extrme et son nombre de rfrences selon les botes englobantes.
+   */
+  private class SPartialVoxelMap {
+    
+    private final Map<SVoxel, List<SGeometry>> map = new HashMap<SVoxel, List<SGeometry>>();
+    private SVoxel extremum_voxel = new SVoxel(0, 0, 0);
+    private long nb_box_reference = 0;
+    
+    /**
+     * Mthode pour ajouter  la suite de cette carte celle d'un intervalle de botes suivant.
+     * Les gomtries d'un voxel dj prsent sont ajoutes  la fin de sa liste.
+     * 
+     * @param next - La carte de l'intervalle suivant.
+     */
+    private void merge(SPartialVoxelMap next)
+    {
+      for(Map.Entry<SVoxel, List<SGeometry>> entry : next.map.entrySet())
+      {
+        List<SGeometry> l = map.get(entry.getKey());
+        
+        if(l == null)
+          map.put(entry.getKey(), entry.getValue());
+        else
+          l.addAll(entry.getValue());
+      }
+      
+      extremum_voxel = updateExtremumVoxel(extremum_voxel, next.extremum_voxel);
+      nb_box_reference += next.nb_box_reference;
+    }
+    
+  }//fin de la classe interne SPartialVoxelMap
+  
+  /**
+   * La classe interne <b>SVoxelMapTask</b> reprsente le remplissage parallle d'une carte de voxels  partir des botes englobantes box_tab[begin..end[.
+   */
+  private class SVoxelMapTask extends RecursiveTask<SPartialVoxelMap> {
+    
+    private static final long serialVersionUID = 1L;
+    
+    private final SVoxelBuilder voxel_builder;
+    private final SBoundingBox[] box_tab;
+    private final int begin;
+    private final int end;
+    
+    private SVoxelMapTask(SVoxelBuilder voxel_builder, SBoundingBox[] box_tab, int begin, int end)
+    {
+      this.voxel_builder = voxel_builder;
+      this.box_tab = box_tab;
+      this.begin = begin;
+      this.end = end;
+    }
+    
+    @Override
+    protected SPartialVoxelMap compute()
+    {
+      if(end - begin <= MAP_GRAIN)
+      {
+        SPartialVoxelMap result = new SPartialVoxelMap();
+        
+        // Intgrer les voxels attitrs des botes avec leur gomtrie  la carte partielle et mettre  jour son voxel d'extrme
+        for(int i = begin; i < end; i++)
+        {
+          result.extremum_voxel = addGeometryToMap(result.map, result.extremum_voxel, box_tab[i].getGeometry(), voxel_builder.buildVoxel(box_tab[i]));
+          result.nb_box_reference += voxel_builder.countVoxel(box_tab[i]);
+        }
+        
+        return result;
+      }
+      
+      int mid = (begin + end) >>> 1;
+      
+      SVoxelMapTask left = new SVoxelMapTask(voxel_builder, box_tab, begin, mid);
+      left.fork();
+      
+      SPartialVoxelMap right = new SVoxelMapTask(voxel_builder, box_tab, mid, end).compute();
+      
+      // L'intervalle de gauche prcde celui de droite dans la carte fusionne
+      SPartialVoxelMap result = left.join();
+      result.merge(right);
+      
+      return result;
+    }
+    
+  }//fin de la classe interne SVoxelMapTask
+  
 }//fin SMultiVoxelSpace
@@ -6,6 +6,10 @@ package sim.geometry.space;
 import java.util.ArrayList;
 import java.util.List;
 
+import sim.geometry.SAbstractGeometry;
+import sim.geometry.SGeometricUtil;
+import sim.geometry.SGeometry;
+import sim.geometry.STriangleGeometry;
 import sim.math.SVector3d;
 
 /**
@@ -15,13 +19,21 @@ import sim.math.SVector3d;
  * le constructeur de voxel va convertir en espace voxel les coordonne (x,y,z) des arguments. Dans le cas d'une bote,
  * il est possible que la bote ncessite plusieurs voxels en raison de la grande taille de la bote
  * ou de la petite taille espace du voxel.</p>
+ * <p>Un triangle n'est retenu que dans les voxels qu'il chevauche rellement (test exact des axes sparateurs)
+ * et non dans tous les voxels touchs par sa bote englobante.</p>
  * 
  * @author Simon Vzina
  * @since 2015-08-04
- * @version 2015-08-04
+ * @version 2026-10-17
  */
 public class SVoxelBuilder {
 
+  /**
+   * La constante <b>OVERLAP_MARGIN</b> correspond  l'agrandissement relatif d'un voxel lors du test de chevauchement d'un triangle.
+   * Un triangle effleurant la frontire d'un voxel y demeure ainsi rfrenc malgr l'erreur d'arrondi.
+   */
+  private static final double OVERLAP_MARGIN = 1e-6;
+  
   private final double dimension;   //la dimension espace d'un unit voxel ("1" unit voxel = "dimension" unit monde)
  
   /**
@@ -59,6 +71,7 @@ public class SVoxelBuilder {
   /**
    * Mthode pour construire une liste de voxel dans lequel une bote englobant est situe  l'intrieur.
    * Si la dimension du voxel est grande et que la bote est petite, la liste peut contenir qu'un seul voxel.
+   * Pour un triangle, seuls les voxels rellement chevauchs par le triangle sont retenus (voir isGeometryInVoxel).
    * @param box - La bote.
    * @return La liste de voxels o est situ la bote.
    */
@@ -75,9 +88,52 @@ public class SVoxelBuilder {
       for(int i = min.getX(); i <= max.getX(); i++)
         for(int j = min.getY(); j <= max.getY(); j++)
           for(int k = min.getZ(); k <= max.getZ(); k++)
-            list.add(new SVoxel(i, j, k));
+            if(isGeometryInVoxel(box.getGeometry(), i, j, k))
+              list.add(new SVoxel(i, j, k));
     
     return list;
   }
   
+  /**
+   * Mthode pour obtenir le nombre de voxels touchs par une bote englobante (sans le test exact des triangles).
+   * @param box - La bote.
+   * @return Le nombre de voxels touchs par la bote.
+   */
+  public long countVoxel(SBoundingBox box)
+  {
+    SVoxel min = buildVoxel(box.getMinPoint());
+    SVoxel max = buildVoxel(box.getMaxPoint());
+    
+    return (long)(max.getX() - min.getX() + 1) * (max.getY() - min.getY() + 1) * (max.getZ() - min.getZ() + 1);
+  }
+  
+  /**
+   * Mthode pour dterminer si une gomtrie doit tre rfrence dans un voxel touch par sa bote englobante.
+   * Un triangle (STriangleGeometry ou SBTriangleGeometry) n'est rfrenc que s'il chevauche le voxel (test exact des axes sparateurs).
+   * Toute autre gomtrie est rfrence dans chaque voxel de sa bote englobante.
+   * @param geometry - La gomtrie.
+   * @param x - La coordonne x du voxel.
+   * @param y - La coordonne y du voxel.
+   * @param z - La coordonne z du voxel.
+   * @return <b>true</b> si la gomtrie doit tre rfrence dans le voxel et <b>false</b> sinon.
+   */
+  public boolean isGeometryInVoxel(SGeometry geometry, int x, int y, int z)
+  {
+    switch(geometry.getCodeName())
+    {
+      case SAbstractGeometry.TRIANGLE_CODE :
+      case SAbstractGeometry.BTRIANGLE_CODE :
+        
+        STriangleGeometry triangle = (STriangleGeometry)geometry;
+        
+        double half = 0.5 * dimension * (1.0 + OVERLAP_MARGIN);
+        
+        SVector3d center = new SVector3d((x + 0.5) * dimension, (y + 0.5) * dimension, (z + 0.5) * dimension);
+        
+        return SGeometricUtil.isTriangleOverlappingBox(triangle.getP0(), triangle.getP1(), triangle.getP2(), center, new SVector3d(half, half, half));
+        
+      default : return true;
+    }
+  }
+  
 }//fin de la classe SVoxelBuilder
@@ -0,0 +1,837 @@
+/**
+ *
+ */
+package sim.geometry.space;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.RecursiveTask;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+
+import sim.exception.SRuntimeException;
+import sim.geometry.SGeometry;
+import sim.util.SChronometer;
+
+/**
+ * La classe <b>SVoxelGrid</b> reprsente une grille compacte de voxels limite  la bote englobant l'ensemble des gomtries.
+ * Les rfrences aux gomtries sont ranges selon le format <i>compressed sparse row</i> (CSR) : un tableau <b>cell_offset</b>
+ * donne pour chaque cellule le dbut de sa plage dans un tableau compact <b>references</b> d'indices de gomtrie.
+ * Une rfrence cote ainsi un seul entier et la consultation d'une cellule ne ncessite aucune allocation.
+ *
+ * <p>La grille est <b>dense</b> (une entre de <b>cell_offset</b> par cellule de la bote) lorsque le nombre de cellules demeure
+ * comparable au nombre de rfrences. Pour une scne parse, la grille est <b>hache</b> : seules les cellules occupes
+ * sont conserves dans une table de hachage  adressage ouvert (cl = indice linaire de la cellule).</p>
+ *
+ * <p>Une gomtrie est rfrence dans chaque cellule touche par sa bote englobante, sauf un triangle qui n'est rfrenc
+ * que dans les cellules qu'il chevauche rellement (voir SVoxelBuilder.isGeometryInVoxel).</p>
+ *
+ * <p>Les coordonnes de cellule (ix, iy, iz) sont relatives au voxel minimal de la grille. Un voxel (x, y, z) au sens de SVoxelBuilder
+ * correspond donc  la cellule (x - min_x, y - min_y, z - min_z).</p>
+ *
+ * @author Simon Vzina
+ * @since 2026-10-17
+ * @version 2026-10-17
+ */
+final class SVoxelGrid {
+
+  //--------------
+  // CONSTANTES //
+  //--------------
+
+  /**
+   * La constante <b>DENSE_MAX_CELL_PER_REFERENCE</b> correspond au nombre maximal de cellules par rfrence pour lequel la grille est dense.
+   * Au-del, la grille est hache afin que la mmoire demeure proportionnelle au nombre de rfrences.
+   */
+  private static final int DENSE_MAX_CELL_PER_REFERENCE = 8;
+
+  /**
+   * La constante <b>EMPTY_KEY</b> correspond  la cl d'une entre libre de la table de hachage.
+   */
+  private static final long EMPTY_KEY = -1L;
+
+  /**
+   * La constante <b>BOX_GRAIN</b> correspond au nombre de botes englobantes traites par une mme tche de construction.
+   */
+  private static final int BOX_GRAIN = 1024;
+
+  /**
+   * La constante <b>SLOT_GRAIN</b> correspond au nombre d'entres d'un bloc de la somme cumulative et du tri des rfrences.
+   */
+  private static final int SLOT_GRAIN = 65536;
+
+  /**
+   * Les constantes <b>XXX_PASS</b> correspondent aux passages de la construction raliss par une tche (voir SGridTask).
+   */
+  private static final int RANGE_PASS = 0;
+  private static final int CELL_PASS = 1;
+  private static final int COUNT_PASS = 2;
+  private static final int BLOCK_PASS = 3;
+  private static final int OFFSET_PASS = 4;
+  private static final int FILL_PASS = 5;
+  private static final int SORT_PASS = 6;
+
+  //-------------
+  // VARIABLES //
+  //-------------
+
+  /**
+   * La variable <b>builder</b> correspond au constructeur de voxel dfinissant la dimension des cellules.
+   */
+  private final SVoxelBuilder builder;
+
+  /**
+   * La variable <b>dimension</b> correspond  la dimension d'une cellule en unit monde.
+   */
+  private final double dimension;
+
+  /**
+   * Les variables <b>min_x</b>, <b>min_y</b> et <b>min_z</b> correspondent aux coordonnes du voxel minimal de la grille.
+   */
+  private final int min_x, min_y, min_z;
+
+  /**
+   * Les variables <b>nx</b>, <b>ny</b> et <b>nz</b> correspondent au nombre de cellules de la grille selon chaque axe.
+   */
+  private final int nx, ny, nz;
+
+  /**
+   * La variable <b>hashed</b> dtermine si la grille est hache (<b>true</b>) ou dense (<b>false</b>).
+   */
+  private final boolean hashed;
+
+  /**
+   * La variable <b>keys</b> correspond aux indices linaires des cellules occupes de la table de hachage (<b>null</b> si la grille est dense).
+   */
+  private final long[] keys;
+
+  /**
+   * La variable <b>cell_offset</b> correspond au dbut de la plage de rfrences de chaque cellule (ou entre de la table de hachage).
+   * La plage de la cellule i est [cell_offset[i], cell_offset[i+1]).
+   */
+  private final int[] cell_offset;
+
+  /**
+   * La variable <b>references</b> correspond aux indices de gomtrie de l'ensemble des cellules, rangs cellule par cellule.
+   */
+  private final int[] references;
+
+  /**
+   * La variable <b>geometries</b> correspond aux gomtries de la grille. L'indice d'une gomtrie est sa position dans ce tableau.
+   */
+  private final SGeometry[] geometries;
+
+  /**
+   * La variable <b>nb_box_reference</b> correspond au nombre de rfrences selon les botes englobantes seulement (avant le test exact des triangles).
+   */
+  private final long nb_box_reference;
+
+  /**
+   * La variable <b>nb_occupied_cell</b> correspond au nombre de cellules contenant au moins une rfrence.
+   */
+  private final int nb_occupied_cell;
+
+  /**
+   * La variable <b>build_time</b> correspond  la dure (en secondes) de la construction de la grille.
+   */
+  private final double build_time;
+
+  /**
+   * Les variables suivantes sont les tableaux de travail de la construction (librs  la fin du constructeur) :
+   * <ul>
+   * <li><b>box_tab</b> : les botes englobantes des gomtries.</li>
+   * <li><b>range</b> : la plage de voxels de chaque bote (min x, y, z puis max x, y, z).</li>
+   * <li><b>box_cell</b> : les indices linaires des cellules retenues, rangs gomtrie par gomtrie.</li>
+   * <li><b>box_begin</b> et <b>box_end</b> : la plage [box_begin[i], box_end[i]) des cellules retenues de la gomtrie i dans <b>box_cell</b>.</li>
+   * <li><b>counter</b> : le nombre de rfrences de chaque entre, puis la position courante de son rangement.</li>
+   * <li><b>block_offset</b> : le nombre de rfrences d'un bloc d'entres, puis le dbut de sa plage de rfrences.</li>
+   * </ul>
+   */
+  private SBoundingBox[] box_tab;
+  private int[] range;
+  private long[] box_cell;
+  private int[] box_begin;
+  private int[] box_end;
+  private AtomicIntegerArray counter;
+  private int[] block_offset;
+
+  //----------------
+  // CONSTRUCTEUR //
+  //----------------
+
+  /**
+   * Constructeur d'une grille de voxels  partir des botes englobantes des gomtries.
+   * Les passages de la construction (cellules de chaque gomtrie, comptage, somme cumulative et rangement des rfrences)
+   * sont rpartis sur les fils d'excution d'un constructeur de hirarchie. Les rfrences d'une cellule sont ranges
+   * selon l'indice de leur gomtrie, la grille est donc identique  celle d'une construction squentielle.
+   *
+   * @param builder - Le constructeur de voxel dfinissant la dimension des cellules.
+   * @param box_list - La liste des botes englobantes (non vide).
+   * @param pool - Le constructeur de hirarchie dont les fils d'excution ralisent la construction.
+   * @throws SRuntimeException Si le nombre de rfrences dpasse la capacit d'un tableau.
+   */
+  SVoxelGrid(SVoxelBuilder builder, List<SBoundingBox> box_list, SBVHBuilder pool) throws SRuntimeException
+  {
+    SChronometer chrono = new SChronometer();
+    chrono.start();
+
+    this.builder = builder;
+    this.dimension = builder.getDimension();
+
+    box_tab = box_list.toArray(new SBoundingBox[box_list.size()]);
+
+    int nb_box = box_tab.length;
+
+    geometries = new SGeometry[nb_box];
+
+    // Plage de voxels de chaque bote (min x, y, z puis max x, y, z)
+    range = new int[6*nb_box];
+
+    pool.invoke(new SGridTask(RANGE_PASS, 0, nb_box, BOX_GRAIN));
+
+    int gx0 = Integer.MAX_VALUE, gy0 = Integer.MAX_VALUE, gz0 = Integer.MAX_VALUE;
+    int gx1 = Integer.MIN_VALUE, gy1 = Integer.MIN_VALUE, gz1 = Integer.MIN_VALUE;
+
+    // Dbut de la plage de cellules de chaque gomtrie selon sa bote englobante (borne suprieure de ses rfrences)
+    box_begin = new int[nb_box];
+
+    long nb_aabb_reference = 0;
+
+    for(int i = 0; i < nb_box; i++)
+    {
+      gx0 = Math.min(gx0, range[6*i]);
+      gy0 = Math.min(gy0, range[6*i+1]);
+      gz0 = Math.min(gz0, range[6*i+2]);
+      gx1 = Math.max(gx1, range[6*i+3]);
+      gy1 = Math.max(gy1, range[6*i+4]);
+      gz1 = Math.max(gz1, range[6*i+5]);
+
+      if(nb_aabb_reference <= Integer.MAX_VALUE - 1)
+        box_begin[i] = (int)nb_aabb_reference;
+
+      nb_aabb_reference += (long)(range[6*i+3] - range[6*i] + 1) * (range[6*i+4] - range[6*i+1] + 1) * (range[6*i+5] - range[6*i+2] + 1);
+    }
+
+    if(nb_aabb_reference > Integer.MAX_VALUE - 1)
+      throw new SRuntimeException("Erreur SVoxelGrid 001 : Le nombre de rfrences (" + nb_aabb_reference + ") dpasse la capacit de la grille de voxels.");
+
+    nb_box_reference = nb_aabb_reference;
+
+    min_x = gx0;
+    min_y = gy0;
+    min_z = gz0;
+
+    nx = gx1 - gx0 + 1;
+    ny = gy1 - gy0 + 1;
+    nz = gz1 - gz0 + 1;
+
+    // Premier passage : retenir les cellules de chaque gomtrie (indice linaire)  partir du dbut de sa plage.
+    // Le test exact d'un triangle n'est ncessaire que si sa bote touche plus d'une cellule.
+    box_cell = new long[(int)nb_aabb_reference];
+    box_end = new int[nb_box];
+
+    int nb_reference = (int)(long)pool.invoke(new SGridTask(CELL_PASS, 0, nb_box, BOX_GRAIN));
+
+    long nb_cell = (long)nx * ny * nz;
+
+    hashed = nb_cell > Integer.MAX_VALUE - 1 || nb_cell > (long)DENSE_MAX_CELL_PER_REFERENCE * nb_reference;
+
+    // Une entre (slot) par cellule pour la grille dense ou par entre de la table pour la grille hache
+    int nb_slot;
+
+    if(hashed)
+    {
+      keys = buildKeyTable(box_cell, box_begin, box_end);
+      nb_slot = keys.length;
+    }
+    else
+    {
+      keys = null;
+      nb_slot = (int)nb_cell;
+    }
+
+    // Deuxime passage : compter les rfrences de chaque entre
+    counter = new AtomicIntegerArray(nb_slot);
+
+    pool.invoke(new SGridTask(COUNT_PASS, 0, nb_box, BOX_GRAIN));
+
+    // Somme cumulative par blocs d'entres : total de chaque bloc, dbut de chaque bloc puis dbut de chaque entre.
+    // Le compteur d'une entre devient ensuite la position courante de son rangement.
+    cell_offset = new int[nb_slot + 1];
+
+    int nb_block = (nb_slot + SLOT_GRAIN - 1) / SLOT_GRAIN;
+    block_offset = new int[nb_block];
+
+    pool.invoke(new SGridTask(BLOCK_PASS, 0, nb_block, 1));
+
+    int total = 0;
+
+    for(int b = 0; b < nb_block; b++)
+    {
+      int block_total = block_offset[b];
+
+      block_offset[b] = total;
+      total += block_total;
+    }
+
+    cell_offset[nb_slot] = total;
+
+    nb_occupied_cell = (int)(long)pool.invoke(new SGridTask(OFFSET_PASS, 0, nb_block, 1));
+
+    // Troisime passage : ranger les indices de gomtrie  la position courante de chaque entre,
+    // puis trier les rfrences de chaque entre (l'ordre de rangement dpend des fils d'excution)
+    references = new int[nb_reference];
+
+    pool.invoke(new SGridTask(FILL_PASS, 0, nb_box, BOX_GRAIN));
+    pool.invoke(new SGridTask(SORT_PASS, 0, nb_block, 1));
+
+    // Librer les tableaux de travail
+    box_tab = null;
+    range = box_begin = box_end = block_offset = null;
+    box_cell = null;
+    counter = null;
+
+    chrono.stop();
+    build_time = chrono.getTime();
+  }
+
+  //------------
+  // MTHODES //
+  //------------
+
+  /**
+   * Mthode pour construire la table de hachage des cellules occupes (taille en puissance de 2, taux de remplissage d'au plus 1/2).
+   *
+   * @param cell - Les indices linaires des cellules retenues (avec rptitions).
+   * @param begin - Le dbut de la plage d'indices de chaque gomtrie.
+   * @param end - La fin (exclue) de la plage d'indices de chaque gomtrie.
+   * @return La table des cls.
+   */
+  private static long[] buildKeyTable(long[] cell, int[] begin, int[] end)
+  {
+    long[] table = new long[1024];
+    Arrays.fill(table, EMPTY_KEY);
+
+    int size = 0;
+
+    for(int i = 0; i < begin.length; i++)
+      for(int r = begin[i]; r < end[i]; r++)
+        if(insertKey(table, cell[r]))
+        {
+          size++;
+
+          if(2*size > table.length)
+          {
+            long[] old_table = table;
+
+            table = new long[2*old_table.length];
+            Arrays.fill(table, EMPTY_KEY);
+
+            for(long k : old_table)
+              if(k != EMPTY_KEY)
+                insertKey(table, k);
+          }
+        }
+
+    return table;
+  }
+
+  /**
+   * Mthode pour insrer une cl dans une table de hachage.
+   *
+   * @param table - La table.
+   * @param key - La cl.
+   * @return <b>true</b> si la cl a t ajoute et <b>false</b> si elle tait dj prsente.
+   */
+  private static boolean insertKey(long[] table, long key)
+  {
+    int mask = table.length - 1;
+    int i = hash(key) & mask;
+
+    while(table[i] != EMPTY_KEY)
+    {
+      if(table[i] == key)
+        return false;
+
+      i = (i + 1) & mask;
+    }
+
+    table[i] = key;
+    return true;
+  }
+
+  /**
+   * Mthode pour valuer le code de hachage d'une cl.
+   *
+   * @param key - La cl.
+   * @return Le code de hachage.
+   */
+  private static int hash(long key)
+  {
+    int h = (int)(key ^ (key >>> 32)) * 0x9E3779B9;
+
+    return h ^ (h >>> 16);
+  }
+
+  /**
+   * Mthode pour obtenir l'indice linaire d'une cellule.
+   *
+   * @param ix - La coordonne x de la cellule.
+   * @param iy - La coordonne y de la cellule.
+   * @param iz - La coordonne z de la cellule.
+   * @return L'indice linaire.
+   */
+  private long key(int ix, int iy, int iz)
+  {
+    return ix + nx * (iy + (long)ny * iz);
+  }
+
+  /**
+   * Mthode pour obtenir l'entre d'une cellule de la grille (la cellule doit tre dans la grille).
+   *
+   * @param ix - La coordonne x de la cellule.
+   * @param iy - La coordonne y de la cellule.
+   * @param iz - La coordonne z de la cellule.
+   * @return L'entre de la cellule ou -1 si elle n'est pas dans la table de hachage.
+   */
+  private int slot(int ix, int iy, int iz)
+  {
+    if(!hashed)
+      return ix + nx * (iy + ny * iz);
+    else
+      return slotOfKey(key(ix, iy, iz));
+  }
+
+  /**
+   * Mthode pour obtenir l'entre d'une cellule de la grille  partir de son indice linaire.
+   *
+   * @param key - L'indice linaire de la cellule.
+   * @return L'entre de la cellule ou -1 si elle n'est pas dans la table de hachage.
+   */
+  private int slotOfKey(long key)
+  {
+    if(!hashed)
+      return (int)key;
+
+    int mask = keys.length - 1;
+    int i = hash(key) & mask;
+
+    while(keys[i] != EMPTY_KEY)
+    {
+      if(keys[i] == key)
+        return i;
+
+      i = (i + 1) & mask;
+    }
+
+    return -1;
+  }
+
+  /**
+   * Mthode pour obtenir la cellule de la grille dans laquelle les rfrences doivent tre lues.
+   *
+   * @param ix - La coordonne x de la cellule (relative  la grille).
+   * @param iy - La coordonne y de la cellule (relative  la grille).
+   * @param iz - La coordonne z de la cellule (relative  la grille).
+   * @return L'entre de la cellule ou -1 si la cellule est vide.
+   */
+  int getCell(int ix, int iy, int iz)
+  {
+    int s = slot(ix, iy, iz);
+
+    if(s < 0 || cell_offset[s] == cell_offset[s+1])
+      return -1;
+    else
+      return s;
+  }
+
+  /**
+   * Mthode pour obtenir le dbut de la plage de rfrences d'une cellule.
+   *
+   * @param cell - L'entre de la cellule.
+   * @return L'indice de la premire rfrence.
+   */
+  int getReferenceStart(int cell)
+  {
+    return cell_offset[cell];
+  }
+
+  /**
+   * Mthode pour obtenir la fin (exclue) de la plage de rfrences d'une cellule.
+   *
+   * @param cell - L'entre de la cellule.
+   * @return L'indice suivant la dernire rfrence.
+   */
+  int getReferenceEnd(int cell)
+  {
+    return cell_offset[cell+1];
+  }
+
+  /**
+   * Mthode pour obtenir l'indice de gomtrie d'une rfrence.
+   *
+   * @param reference - L'indice de la rfrence.
+   * @return L'indice de la gomtrie.
+   */
+  int getReference(int reference)
+  {
+    return references[reference];
+  }
+
+  /**
+   * Mthode pour obtenir une gomtrie de la grille.
+   *
+   * @param index - L'indice de la gomtrie.
+   * @return La gomtrie.
+   */
+  SGeometry getGeometry(int index)
+  {
+    return geometries[index];
+  }
+
+  /**
+   * Mthode pour obtenir la liste des gomtries rfrences dans la cellule contenant un point.
+   *
+   * @param voxel - Le voxel du point (au sens de SVoxelBuilder).
+   * @return La liste des gomtries de la cellule (vide si le voxel est  l'extrieur de la grille).
+   */
+  List<SGeometry> listGeometry(SVoxel voxel)
+  {
+    List<SGeometry> list = new ArrayList<SGeometry>();
+
+    int ix = voxel.getX() - min_x;
+    int iy = voxel.getY() - min_y;
+    int iz = voxel.getZ() - min_z;
+
+    if(ix < 0 || iy < 0 || iz < 0 || ix >= nx || iy >= ny || iz >= nz)
+      return list;
+
+    int cell = getCell(ix, iy, iz);
+
+    if(cell >= 0)
+      for(int r = cell_offset[cell]; r < cell_offset[cell+1]; r++)
+        list.add(geometries[references[r]]);
+
+    return list;
+  }
+
+  /**
+   * Mthode pour obtenir le constructeur de voxel de la grille.
+   *
+   * @return Le constructeur de voxel.
+   */
+  SVoxelBuilder getBuilder()
+  {
+    return builder;
+  }
+
+  /**
+   * Mthode pour obtenir la dimension d'une cellule en unit monde.
+   *
+   * @return La dimension d'une cellule.
+   */
+  double getDimension()
+  {
+    return dimension;
+  }
+
+  /**
+   * Mthode pour obtenir la coordonne x du voxel minimal de la grille.
+   *
+   * @return La coordonne x du voxel minimal.
+   */
+  int getMinX()
+  {
+    return min_x;
+  }
+
+  /**
+   * Mthode pour obtenir la coordonne y du voxel minimal de la grille.
+   *
+   * @return La coordonne y du voxel minimal.
+   */
+  int getMinY()
+  {
+    return min_y;
+  }
+
+  /**
+   * Mthode pour obtenir la coordonne z du voxel minimal de la grille.
+   *
+   * @return La coordonne z du voxel minimal.
+   */
+  int getMinZ()
+  {
+    return min_z;
+  }
+
+  /**
+   * Mthode pour obtenir le nombre de cellules de la grille selon l'axe x.
+   *
+   * @return Le nombre de cellules selon x.
+   */
+  int getNbCellX()
+  {
+    return nx;
+  }
+
+  /**
+   * Mthode pour obtenir le nombre de cellules de la grille selon l'axe y.
+   *
+   * @return Le nombre de cellules selon y.
+   */
+  int getNbCellY()
+  {
+    return ny;
+  }
+
+  /**
+   * Mthode pour obtenir le nombre de cellules de la grille selon l'axe z.
+   *
+   * @return Le nombre de cellules selon z.
+   */
+  int getNbCellZ()
+  {
+    return nz;
+  }
+
+  /**
+   * Mthode pour dterminer si la grille est hache (scne parse) plutt que dense.
+   *
+   * @return <b>true</b> si la grille est hache et <b>false</b> si elle est dense.
+   */
+  boolean isHashed()
+  {
+    return hashed;
+  }
+
+  /**
+   * Mthode pour obtenir le nombre de gomtries de la grille.
+   *
+   * @return Le nombre de gomtries.
+   */
+  int getNbGeometry()
+  {
+    return geometries.length;
+  }
+
+  /**
+   * Mthode pour obtenir le nombre de rfrences  des gomtries dans les cellules.
+   *
+   * @return Le nombre de rfrences.
+   */
+  int getNbReference()
+  {
+    return references.length;
+  }
+
+  /**
+   * Mthode pour obtenir le nombre de rfrences qu'aurait la grille si chaque gomtrie tait rfrence dans toutes
+   * les cellules touches par sa bote englobante (sans le test exact des triangles).
+   *
+   * @return Le nombre de rfrences selon les botes englobantes.
+   */
+  long getNbBoxReference()
+  {
+    return nb_box_reference;
+  }
+
+  /**
+   * Mthode pour obtenir le nombre de cellules contenant au moins une rfrence.
+   *
+   * @return Le nombre de cellules occupes.
+   */
+  int getNbOccupiedCell()
+  {
+    return nb_occupied_cell;
+  }
+
+  /**
+   * Mthode pour obtenir la mmoire occupe par les tableaux de la grille (en octets, sans les gomtries).
+   *
+   * @return La mmoire occupe.
+   */
+  long getMemorySize()
+  {
+    long size = 4L * cell_offset.length + 4L * references.length + 4L * geometries.length;
+
+    if(hashed)
+      size += 8L * keys.length;
+
+    return size;
+  }
+
+  /**
+   * Mthode pour obtenir la dure de la construction de la grille.
+   *
+   * @return La dure en secondes.
+   */
+  double getBuildTime()
+  {
+    return build_time;
+  }
+
+  /**
+   * La classe interne <b>SGridTask</b> reprsente un passage parallle de la construction de la grille sur l'intervalle [begin, end[
+   * de botes englobantes ou de blocs d'entres. Le rsultat est la somme des valeurs retournes par chaque grain
+   * (le nombre de rfrences retenues ou le nombre de cellules occupes selon le passage).
+   */
+  private class SGridTask extends RecursiveTask<Long> {
+
+    private static final long serialVersionUID = 1L;
+
+    private final int pass;
+    private final int begin;
+    private final int end;
+    private final int grain;
+
+    private SGridTask(int pass, int begin, int end, int grain)
+    {
+      this.pass = pass;
+      this.begin = begin;
+      this.end = end;
+      this.grain = grain;
+    }
+
+    @Override
+    protected Long compute()
+    {
+      if(end - begin <= grain)
+        return computePass(begin, end);
+
+      int mid = (begin + end) >>> 1;
+
+      SGridTask left = new SGridTask(pass, begin, mid, grain);
+      left.fork();
+
+      long right = new SGridTask(pass, mid, end, grain).compute();
+
+      return left.join() + right;
+    }
+
+    /**
+     * Mthode pour raliser squentiellement le passage sur un intervalle.
+     *
+     * @param begin - Le premier indice (inclus).
+     * @param end - Le dernier indice (exclu).
+     * @return La valeur du passage sur l'intervalle.
+     */
+    private long computePass(int begin, int end)
+    {
+      long result = 0;
+
+      switch(pass)
+      {
+        // Plage de voxels de chaque bote
+        case RANGE_PASS :
+          for(int i = begin; i < end; i++)
+          {
+            geometries[i] = box_tab[i].getGeometry();
+
+            SVoxel min = builder.buildVoxel(box_tab[i].getMinPoint());
+            SVoxel max = builder.buildVoxel(box_tab[i].getMaxPoint());
+
+            range[6*i]   = min.getX();
+            range[6*i+1] = min.getY();
+            range[6*i+2] = min.getZ();
+            range[6*i+3] = max.getX();
+            range[6*i+4] = max.getY();
+            range[6*i+5] = max.getZ();
+          }
+          break;
+
+        // Cellules retenues de chaque gomtrie
+        case CELL_PASS :
+          for(int i = begin; i < end; i++)
+          {
+            boolean single = range[6*i] == range[6*i+3] && range[6*i+1] == range[6*i+4] && range[6*i+2] == range[6*i+5];
+
+            int r = box_begin[i];
+
+            for(int z = range[6*i+2]; z <= range[6*i+5]; z++)
+              for(int y = range[6*i+1]; y <= range[6*i+4]; y++)
+                for(int x = range[6*i]; x <= range[6*i+3]; x++)
+                  if(single || builder.isGeometryInVoxel(geometries[i], x, y, z))
+                    box_cell[r++] = key(x - min_x, y - min_y, z - min_z);
+
+            box_end[i] = r;
+            result += r - box_begin[i];
+          }
+          break;
+
+        // Nombre de rfrences de chaque entre
+        case COUNT_PASS :
+          for(int i = begin; i < end; i++)
+            for(int r = box_begin[i]; r < box_end[i]; r++)
+              counter.incrementAndGet(slotOfKey(box_cell[r]));
+          break;
+
+        // Nombre de rfrences de chaque bloc d'entres
+        case BLOCK_PASS :
+          for(int b = begin; b < end; b++)
+          {
+            int sum = 0;
+
+            for(int s = b*SLOT_GRAIN; s < blockEnd(b); s++)
+              sum += counter.get(s);
+
+            block_offset[b] = sum;
+          }
+          break;
+
+        // Dbut de la plage de chaque entre (et position courante de son rangement) et nombre de cellules occupes
+        case OFFSET_PASS :
+          for(int b = begin; b < end; b++)
+          {
+            int offset = block_offset[b];
+
+            for(int s = b*SLOT_GRAIN; s < blockEnd(b); s++)
+            {
+              int count = counter.get(s);
+
+              if(count != 0)
+                result++;
+
+              cell_offset[s] = offset;
+              counter.set(s, offset);
+
+              offset += count;
+            }
+          }
+          break;
+
+        // Rangement des indices de gomtrie
+        case FILL_PASS :
+          for(int i = begin; i < end; i++)
+            for(int r = box_begin[i]; r < box_end[i]; r++)
+              references[counter.getAndIncrement(slotOfKey(box_cell[r]))] = i;
+          break;
+
+        // Tri des rfrences de chaque entre selon l'indice de gomtrie
+        case SORT_PASS :
+          for(int b = begin; b < end; b++)
+            for(int s = b*SLOT_GRAIN; s < blockEnd(b); s++)
+              if(cell_offset[s+1] - cell_offset[s] > 1)
+                Arrays.sort(references, cell_offset[s], cell_offset[s+1]);
+          break;
+
+        default : throw new SRuntimeException("Erreur SVoxelGrid 002 : Le passage de construction '" + pass + "' n'est pas dfini.");
+      }
+
+      return result;
+    }
+
+    /**
+     * Mthode pour obtenir la fin (exclue) de l'intervalle d'entres d'un bloc.
+     *
+     * @param block - L'indice du bloc.
+     * @return L'indice suivant la dernire entre du bloc.
+     */
+    private int blockEnd(int block)
+    {
+      return (int)Math.min((long)(block + 1) * SLOT_GRAIN, counter.length());
+    }
+
+  }//fin de la classe interne SGridTask
+
+}//fin de la classe SVoxelGrid
@@ -0,0 +1,257 @@
+/**
+ *
+ */
+package sim.geometry.space;
+
+import sim.geometry.SRay;
+import sim.math.SVector3d;
+
+/**
+ * La classe <b>SVoxelGridTraversal</b> reprsente le parcours d'un rayon dans une grille de voxels (SVoxelGrid) par un algorithme
+ * d'analyseur diffrentiel numrique en trois dimensions (3D-DDA) de <i>John Amanatides</i> et <i>Andrew Woo</i>.
+ *
+ * <p>Contrairement  SFastTraversalVoxelAlgorithm, le rayon est d'abord restreint  la bote de la grille et le parcours s'effectue
+ * sur des coordonnes entires relatives  la grille : aucun voxel n'est allou lors du passage d'une cellule  l'autre.</p>
+ *
+ * @author Simon Vzina
+ * @since 2026-10-17
+ * @version 2026-10-17
+ */
+final class SVoxelGridTraversal {
+
+  //-------------
+  // VARIABLES //
+  //-------------
+
+  /**
+   * La variable <b>grid</b> correspond  la grille parcourue.
+   */
+  private final SVoxelGrid grid;
+
+  /**
+   * Les variables <b>nx</b>, <b>ny</b> et <b>nz</b> correspondent au nombre de cellules de la grille selon chaque axe.
+   */
+  private final int nx, ny, nz;
+
+  /**
+   * Les variables <b>step_x</b>, <b>step_y</b> et <b>step_z</b> correspondent  la direction du changement de cellule selon chaque axe (-1 ou +1).
+   */
+  private final int step_x, step_y, step_z;
+
+  /**
+   * Les variables <b>t_delta_x</b>, <b>t_delta_y</b> et <b>t_delta_z</b> correspondent au temps pour traverser une cellule selon chaque axe.
+   */
+  private final double t_delta_x, t_delta_y, t_delta_z;
+
+  /**
+   * La variable <b>t_end</b> correspond au temps de sortie de la grille (ou au temps maximal s'il est plus petit).
+   */
+  private final double t_end;
+
+  /**
+   * Les variables <b>ix</b>, <b>iy</b> et <b>iz</b> correspondent aux coordonnes de la prochaine cellule du parcours.
+   */
+  private int ix, iy, iz;
+
+  /**
+   * Les variables <b>t_next_x</b>, <b>t_next_y</b> et <b>t_next_z</b> correspondent au temps de franchissement de la prochaine frontire selon chaque axe.
+   */
+  private double t_next_x, t_next_y, t_next_z;
+
+  /**
+   * La variable <b>t_min</b> correspond au temps d'entre dans la prochaine cellule du parcours.
+   */
+  private double t_min;
+
+  /**
+   * La variable <b>out</b> dtermine si le parcours est termin.
+   */
+  private boolean out;
+
+  //----------------
+  // CONSTRUCTEUR //
+  //----------------
+
+  /**
+   * Constructeur du parcours d'un rayon dans une grille de voxels.
+   *
+   * @param grid - La grille de voxels.
+   * @param ray - Le rayon.
+   * @param t_max - Le temps maximal que le rayon est autoris  parcourir.
+   */
+  SVoxelGridTraversal(SVoxelGrid grid, SRay ray, double t_max)
+  {
+    this.grid = grid;
+
+    nx = grid.getNbCellX();
+    ny = grid.getNbCellY();
+    nz = grid.getNbCellZ();
+
+    double dimension = grid.getDimension();
+
+    SVector3d origin = ray.getOrigin();
+    SVector3d direction = ray.getDirection();
+
+    double ox = origin.getX(), oy = origin.getY(), oz = origin.getZ();
+    double dx = direction.getX(), dy = direction.getY(), dz = direction.getZ();
+
+    double x0 = grid.getMinX() * dimension, y0 = grid.getMinY() * dimension, z0 = grid.getMinZ() * dimension;
+
+    // Restreindre le rayon  la bote de la grille
+    double[] interval = { 0.0, t_max };
+
+    boolean inside = clip(interval, ox, dx, x0, x0 + nx * dimension) &&
+                     clip(interval, oy, dy, y0, y0 + ny * dimension) &&
+                     clip(interval, oz, dz, z0, z0 + nz * dimension);
+
+    t_min = interval[0];
+    t_end = interval[1];
+
+    out = !inside || t_min > t_end;
+
+    step_x = dx > 0 ? 1 : -1;
+    step_y = dy > 0 ? 1 : -1;
+    step_z = dz > 0 ? 1 : -1;
+
+    t_delta_x = Math.abs(dimension / dx);
+    t_delta_y = Math.abs(dimension / dy);
+    t_delta_z = Math.abs(dimension / dz);
+
+    if(out)
+      return;
+
+    // La premire cellule est celle du point d'entre dans la grille
+    ix = clamp((int)Math.floor((ox + dx * t_min) / dimension) - grid.getMinX(), nx);
+    iy = clamp((int)Math.floor((oy + dy * t_min) / dimension) - grid.getMinY(), ny);
+    iz = clamp((int)Math.floor((oz + dz * t_min) / dimension) - grid.getMinZ(), nz);
+
+    // Le temps de la prochaine frontire est valu depuis l'origine du rayon (comme SFastTraversalVoxelAlgorithm)
+    t_next_x = dx == 0.0 ? Double.POSITIVE_INFINITY : ((grid.getMinX() + ix + (step_x > 0 ? 1 : 0)) * dimension - ox) / dx;
+    t_next_y = dy == 0.0 ? Double.POSITIVE_INFINITY : ((grid.getMinY() + iy + (step_y > 0 ? 1 : 0)) * dimension - oy) / dy;
+    t_next_z = dz == 0.0 ? Double.POSITIVE_INFINITY : ((grid.getMinZ() + iz + (step_z > 0 ? 1 : 0)) * dimension - oz) / dz;
+  }
+
+  //------------
+  // MTHODES //
+  //------------
+
+  /**
+   * Mthode pour restreindre l'intervalle de temps d'un rayon  une tranche [lo, hi] selon un axe.
+   *
+   * @param interval - L'intervalle [t_min, t_max]  restreindre.
+   * @param o - La composante de l'origine du rayon.
+   * @param d - La composante de la direction du rayon.
+   * @param lo - La borne infrieure de la tranche.
+   * @param hi - La borne suprieure de la tranche.
+   * @return <b>false</b> si le rayon est parallle  la tranche et  l'extrieur de celle-ci et <b>true</b> sinon.
+   */
+  private static boolean clip(double[] interval, double o, double d, double lo, double hi)
+  {
+    if(d == 0.0)
+      return o >= lo && o <= hi;
+
+    double t0 = (lo - o) / d;
+    double t1 = (hi - o) / d;
+
+    if(t0 > t1)
+    {
+      double t = t0;
+      t0 = t1;
+      t1 = t;
+    }
+
+    if(t0 > interval[0])
+      interval[0] = t0;
+
+    if(t1 < interval[1])
+      interval[1] = t1;
+
+    return true;
+  }
+
+  /**
+   * Mthode pour ramener une coordonne de cellule dans l'intervalle [0, n-1].
+   *
+   * @param i - La coordonne.
+   * @param n - Le nombre de cellules selon l'axe.
+   * @return La coordonne ramene dans la grille.
+   */
+  private static int clamp(int i, int n)
+  {
+    if(i < 0)
+      return 0;
+    else
+      if(i >= n)
+        return n - 1;
+      else
+        return i;
+  }
+
+  /**
+   * Mthode pour dterminer s'il reste des cellules  parcourir.
+   *
+   * @return <b>true</b> s'il reste des cellules et <b>false</b> sinon.
+   */
+  boolean asNextCell()
+  {
+    return !out;
+  }
+
+  /**
+   * Mthode pour obtenir le temps d'entre dans la prochaine cellule du parcours.
+   *
+   * @return Le temps d'entre dans la prochaine cellule.
+   */
+  double nextMinTime()
+  {
+    return t_min;
+  }
+
+  /**
+   * Mthode pour obtenir la prochaine cellule du parcours et avancer  la suivante.
+   *
+   * @return L'entre de la cellule dans la grille ou -1 si la cellule est vide.
+   */
+  int nextCell()
+  {
+    int cell = grid.getCell(ix, iy, iz);
+
+    // Avancer selon l'axe dont la frontire est franchie en premier
+    if(t_next_x < t_next_y)
+      if(t_next_x < t_next_z)
+      {
+        t_min = t_next_x;
+        t_next_x += t_delta_x;
+        ix += step_x;
+        out = ix < 0 || ix >= nx;
+      }
+      else
+      {
+        t_min = t_next_z;
+        t_next_z += t_delta_z;
+        iz += step_z;
+        out = iz < 0 || iz >= nz;
+      }
+    else
+      if(t_next_y < t_next_z)
+      {
+        t_min = t_next_y;
+        t_next_y += t_delta_y;
+        iy += step_y;
+        out = iy < 0 || iy >= ny;
+      }
+      else
+      {
+        t_min = t_next_z;
+        t_next_z += t_delta_z;
+        iz += step_z;
+        out = iz < 0 || iz >= nz;
+      }
+
+    if(t_min > t_end)
+      out = true;
+
+    return cell;
+  }
+
+}//fin de la classe SVoxelGridTraversal
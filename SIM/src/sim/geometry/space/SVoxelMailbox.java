@@ -0,0 +1,461 @@
+/**
+ *
+ */
+package sim.geometry.space;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import sim.geometry.SGeometry;
+import sim.geometry.SRay;
+
+/**
+ * La classe <b>SVoxelMailbox</b> reprsente la <b>bote aux lettres</b> (<i>mailboxing</i>) d'une requte d'un rayon dans une carte de voxels.
+ * Une gomtrie rfrence dans plusieurs voxels n'est teste qu'une seule fois par rayon : son numro d'identification est marqu
+ * dans un ensemble propre au <i>thread</i> courant qui est vid  chaque nouvelle requte (par incrmentation d'une estampille, sans rallocation).
+ *
+ * <p>L'intersection d'une gomtrie peut se situer hors du voxel o elle a t teste. Plutt que d'tre rejete (puis teste de nouveau
+ * dans un voxel suivant), elle est conserve comme meilleure intersection. Le parcours de la ligne de voxels se termine lorsque le temps
+ * d'entre du prochain voxel dpasse le temps de cette intersection, car toute gomtrie intersecte plus tt est rfrence dans un voxel dj parcouru.</p>
+ *
+ * <p>Une bote aux lettres doit tre ferme (mthode <b>close</b>)  la fin de la requte. Une requte imbrique dans une autre
+ * (ex. : une gomtrie interrogeant elle-mme une carte de voxels) utilise alors son propre ensemble.</p>
+ *
+ * @author Simon Vzina
+ * @since 2026-10-17
+ * @version 2026-10-17
+ */
+final class SVoxelMailbox {
+
+  //--------------
+  // CONSTANTES //
+  //--------------
+
+  /**
+   * La constante <b>LOCAL_VISITED_SET</b> correspond  l'ensemble des gomtries testes propre  chaque <i>thread</i>.
+   */
+  private static final ThreadLocal<SVisitedSet> LOCAL_VISITED_SET = new ThreadLocal<SVisitedSet>() {
+
+    @Override
+    protected SVisitedSet initialValue()
+    {
+      return new SVisitedSet();
+    }
+  };
+
+  //-------------
+  // VARIABLES //
+  //-------------
+
+  /**
+   * La variable <b>visited</b> correspond  l'ensemble des gomtries testes par le rayon de la requte.
+   */
+  private final SVisitedSet visited;
+
+  /**
+   * La variable <b>ray</b> correspond au rayon de la requte.
+   */
+  private final SRay ray;
+
+  /**
+   * La variable <b>t_max</b> correspond au temps maximal de la requte.
+   */
+  private final double t_max;
+
+  /**
+   * La variable <b>nearest</b> correspond  la gomtrie de l'intersection la plus prs trouve jusqu' prsent (<b>null</b> s'il n'y en a pas).
+   */
+  private SGeometry nearest;
+
+  /**
+   * La variable <b>t_nearest</b> correspond au temps de l'intersection la plus prs (le temps maximal s'il n'y en a pas).
+   */
+  private double t_nearest;
+
+  /**
+   * La variable <b>opaque</b> correspond  la gomtrie opaque de l'intersection opaque la plus prs (<b>null</b> s'il n'y en a pas).
+   */
+  private SGeometry opaque;
+
+  /**
+   * La variable <b>t_opaque</b> correspond au temps de l'intersection opaque la plus prs (le temps maximal s'il n'y en a pas).
+   */
+  private double t_opaque;
+
+  /**
+   * La variable <b>transparent_geometry</b> correspond aux gomtries transparentes intersectes avant le temps maximal.
+   */
+  private SGeometry[] transparent_geometry;
+
+  /**
+   * La variable <b>transparent_t</b> correspond aux temps d'intersection des gomtries transparentes.
+   */
+  private double[] transparent_t;
+
+  /**
+   * La variable <b>nb_transparent</b> correspond au nombre de gomtries transparentes intersectes.
+   */
+  private int nb_transparent;
+
+  //----------------
+  // CONSTRUCTEUR //
+  //----------------
+
+  /**
+   * Constructeur d'une bote aux lettres pour une requte d'un rayon.
+   *
+   * @param ray - Le rayon de la requte.
+   * @param t_max - Le temps maximal de la requte.
+   */
+  SVoxelMailbox(SRay ray, double t_max)
+  {
+    SVisitedSet set = LOCAL_VISITED_SET.get();
+
+    // Une requte imbrique ne doit pas effacer les marques de la requte en cours
+    if(set.in_use)
+      set = new SVisitedSet();
+
+    set.in_use = true;
+    set.clear();
+
+    this.visited = set;
+    this.ray = ray;
+    this.t_max = t_max;
+
+    nearest = null;
+    t_nearest = t_max;
+
+    opaque = null;
+    t_opaque = t_max;
+
+    transparent_geometry = null;
+    transparent_t = null;
+    nb_transparent = 0;
+  }
+
+  //------------
+  // MTHODES //
+  //------------
+
+  /**
+   * Mthode pour marquer une gomtrie comme teste par le rayon de la requte.
+   *
+   * @param geometry - La gomtrie.
+   * @return <b>true</b> si la gomtrie n'avait pas encore t teste (elle doit l'tre) et <b>false</b> sinon.
+   */
+  boolean visit(SGeometry geometry)
+  {
+    return visited.add(geometry.getID());
+  }
+
+  /**
+   * Mthode pour marquer une gomtrie comme teste par le rayon de la requte  partir de son indice dans une grille de voxels (SVoxelGrid).
+   * Cette marque n'utilise aucune table de hachage (une estampille par indice).
+   *
+   * @param index - L'indice de la gomtrie dans la grille.
+   * @return <b>true</b> si la gomtrie n'avait pas encore t teste (elle doit l'tre) et <b>false</b> sinon.
+   */
+  boolean visit(int index)
+  {
+    return visited.addIndex(index);
+  }
+
+  /**
+   * Mthode pour obtenir le temps de l'intersection la plus prs trouve jusqu' prsent (le temps maximal s'il n'y en a pas).
+   *
+   * @return Le temps de l'intersection la plus prs.
+   */
+  double getNearestTime()
+  {
+    return t_nearest;
+  }
+
+  /**
+   * Mthode pour proposer une intersection. Elle est conserve si elle est plus prs que l'intersection la plus prs.
+   *
+   * @param geometry - La gomtrie intersecte.
+   * @param t - Le temps de l'intersection.
+   */
+  void offerNearest(SGeometry geometry, double t)
+  {
+    if(t < t_nearest)
+    {
+      nearest = geometry;
+      t_nearest = t;
+    }
+  }
+
+  /**
+   * Mthode pour construire le rayon intersect de l'intersection la plus prs.
+   *
+   * @return Le rayon intersect ou le rayon de la requte s'il n'y a pas eu d'intersection.
+   */
+  SRay buildNearestIntersection()
+  {
+    if(nearest != null)
+      return nearest.completeHit(ray, t_nearest);
+    else
+      return ray;
+  }
+
+  /**
+   * Mthode pour obtenir le temps de l'intersection opaque la plus prs trouve jusqu' prsent (le temps maximal s'il n'y en a pas).
+   *
+   * @return Le temps de l'intersection opaque la plus prs.
+   */
+  double getOpaqueTime()
+  {
+    return t_opaque;
+  }
+
+  /**
+   * Mthode pour proposer une intersection avec une gomtrie opaque ou transparente. Elle est ignore si elle dpasse le temps maximal.
+   * Une intersection opaque est conserve si elle est plus prs que l'intersection opaque la plus prs et
+   * une intersection transparente est conserve dans la liste des intersections transparentes.
+   *
+   * @param geometry - La gomtrie intersecte.
+   * @param t - Le temps de l'intersection.
+   */
+  void offerOpaque(SGeometry geometry, double t)
+  {
+    if(t >= t_max)
+      return;
+    
+    if(!geometry.isTransparent())
+    {
+      if(t < t_opaque)
+      {
+        opaque = geometry;
+        t_opaque = t;
+      }
+    }
+    else
+    {
+      if(transparent_geometry == null)
+      {
+        transparent_geometry = new SGeometry[4];
+        transparent_t = new double[4];
+      }
+      else
+        if(nb_transparent == transparent_geometry.length)
+        {
+          transparent_geometry = Arrays.copyOf(transparent_geometry, 2*nb_transparent);
+          transparent_t = Arrays.copyOf(transparent_t, 2*nb_transparent);
+        }
+
+      transparent_geometry[nb_transparent] = geometry;
+      transparent_t[nb_transparent] = t;
+      nb_transparent++;
+    }
+  }
+
+  /**
+   * Mthode pour construire la liste des intersections transparentes situes avant l'intersection opaque la plus prs en <b>ordre dcroissant</b>
+   * de temps. La liste dbute par l'intersection opaque s'il y en a une. Seules les intersections retenues sont construites (normale, coordonne uv).
+   *
+   * @return La liste des intersections en ordre dcroissant dbutant par l'intersection opaque s'il y a eu lieu.
+   */
+  List<SRay> buildOpaqueIntersectionList()
+  {
+    // Conserver les intersections transparentes avant l'intersection opaque et les trier en ordre dcroissant (tri par insertion)
+    int n = 0;
+
+    for(int i = 0; i < nb_transparent; i++)
+      if(transparent_t[i] < t_opaque)
+      {
+        SGeometry g = transparent_geometry[i];
+        double t = transparent_t[i];
+
+        int j = n - 1;
+
+        while(j >= 0 && transparent_t[j] < t)
+        {
+          transparent_geometry[j+1] = transparent_geometry[j];
+          transparent_t[j+1] = transparent_t[j];
+          j--;
+        }
+
+        transparent_geometry[j+1] = g;
+        transparent_t[j+1] = t;
+        n++;
+      }
+
+    List<SRay> list = new ArrayList<SRay>(n + 1);
+
+    if(opaque != null)
+      list.add(opaque.completeHit(ray, t_opaque));
+
+    for(int i = 0; i < n; i++)
+      list.add(transparent_geometry[i].completeHit(ray, transparent_t[i]));
+
+    return list;
+  }
+
+  /**
+   * Mthode pour fermer la bote aux lettres  la fin de la requte (l'ensemble des gomtries testes peut alors tre rutilis).
+   */
+  void close()
+  {
+    visited.in_use = false;
+  }
+
+  //------------------
+  // CLASSE INTERNE //
+  //------------------
+
+  /**
+   * La classe interne <b>SVisitedSet</b> reprsente un ensemble de numros d'identification de gomtries (table de hachage  adressage ouvert).
+   * Une entre n'appartient  l'ensemble que si son estampille est l'estampille courante. L'ensemble est donc vid en temps constant.
+   */
+  private static final class SVisitedSet {
+
+    /**
+     * La variable <b>keys</b> correspond aux numros d'identification des gomtries.
+     */
+    private long[] keys;
+
+    /**
+     * La variable <b>stamps</b> correspond  l'estampille de chaque entre de la table.
+     */
+    private int[] stamps;
+
+    /**
+     * La variable <b>index_stamps</b> correspond  l'estampille de chaque indice de gomtrie d'une grille de voxels.
+     */
+    private int[] index_stamps;
+
+    /**
+     * La variable <b>stamp</b> correspond  l'estampille courante (celle de la requte en cours).
+     */
+    private int stamp;
+
+    /**
+     * La variable <b>size</b> correspond au nombre de gomtries de l'ensemble.
+     */
+    private int size;
+
+    /**
+     * La variable <b>in_use</b> dtermine si l'ensemble est utilis par une requte en cours.
+     */
+    private boolean in_use;
+
+    /**
+     * Constructeur d'un ensemble vide.
+     */
+    private SVisitedSet()
+    {
+      keys = new long[1024];
+      stamps = new int[1024];
+      index_stamps = new int[0];
+      stamp = 1;
+      size = 0;
+      in_use = false;
+    }
+
+    /**
+     * Mthode pour vider l'ensemble.
+     */
+    private void clear()
+    {
+      size = 0;
+      stamp++;
+
+      // Au dbordement de l'estampille, toutes les entres sont effaces
+      if(stamp == Integer.MAX_VALUE)
+      {
+        Arrays.fill(stamps, 0);
+        Arrays.fill(index_stamps, 0);
+        stamp = 1;
+      }
+    }
+
+    /**
+     * Mthode pour ajouter un numro d'identification  l'ensemble.
+     *
+     * @param id - Le numro d'identification.
+     * @return <b>true</b> s'il a t ajout et <b>false</b> s'il tait dj dans l'ensemble.
+     */
+    private boolean add(long id)
+    {
+      int mask = keys.length - 1;
+      int i = hash(id) & mask;
+
+      while(stamps[i] == stamp)
+      {
+        if(keys[i] == id)
+          return false;
+
+        i = (i + 1) & mask;
+      }
+
+      keys[i] = id;
+      stamps[i] = stamp;
+      size++;
+
+      // Conserver un taux de remplissage d'au plus 1/2
+      if(2*size > keys.length)
+        grow();
+
+      return true;
+    }
+
+    /**
+     * Mthode pour ajouter un indice de gomtrie  l'ensemble.
+     *
+     * @param index - L'indice de la gomtrie.
+     * @return <b>true</b> s'il a t ajout et <b>false</b> s'il tait dj dans l'ensemble.
+     */
+    private boolean addIndex(int index)
+    {
+      if(index >= index_stamps.length)
+        index_stamps = Arrays.copyOf(index_stamps, Math.max(index + 1, 2*index_stamps.length));
+
+      if(index_stamps[index] == stamp)
+        return false;
+
+      index_stamps[index] = stamp;
+      return true;
+    }
+
+    /**
+     * Mthode pour doubler la taille de la table en conservant les entres de l'estampille courante.
+     */
+    private void grow()
+    {
+      long[] old_keys = keys;
+      int[] old_stamps = stamps;
+
+      keys = new long[2*old_keys.length];
+      stamps = new int[2*old_keys.length];
+
+      int mask = keys.length - 1;
+
+      for(int k = 0; k < old_keys.length; k++)
+        if(old_stamps[k] == stamp)
+        {
+          int i = hash(old_keys[k]) & mask;
+
+          while(stamps[i] == stamp)
+            i = (i + 1) & mask;
+
+          keys[i] = old_keys[k];
+          stamps[i] = stamp;
+        }
+    }
+
+    /**
+     * Mthode pour valuer le code de hachage d'un numro d'identification.
+     *
+     * @param id - Le numro d'identification.
+     * @return Le code de hachage.
+     */
+    private int hash(long id)
+    {
+      int h = (int)(id ^ (id >>> 32)) * 0x9E3779B9;
+
+      return h ^ (h >>> 16);
+    }
+  }
+
+}//fin de la classe SVoxelMailbox
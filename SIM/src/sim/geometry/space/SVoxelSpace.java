@@ -4,14 +4,12 @@
 package sim.geometry.space;
 
 import java.util.ArrayList;
-import java.util.Collections;
-import java.util.HashMap;
 import java.util.List;
-import java.util.Map;
 
 import sim.exception.SRuntimeException;
 import sim.geometry.SGeometry;
 import sim.geometry.SRay;
+import sim.graphics.SColor;
 import sim.math.SVector3d;
 import sim.util.SLog;
 
@@ -26,9 +24,14 @@ import sim.util.SLog;
  * et le lancer d'un rayon parcourera un nombre limit de voxels ce qui ainsi limitera le nombre de tests d'intersection.
  * </p>
  * 
+ * <p>
+ * Les voxels sont rangs dans une grille compacte (voir SVoxelGrid) limite  la bote englobant les gomtries
+ * et parcourue sans allocation (voir SVoxelGridTraversal).
+ * </p>
+ * 
  * @author Simon Vzina
  * @since 2015-08-04
- * @version 2015-12-29
+ * @version 2026-10-17
  */
 public class SVoxelSpace extends SAbstractVoxelSpace {
 
@@ -37,21 +40,10 @@ public class SVoxelSpace extends SAbstractVoxelSpace {
   //-------------
   
   /**
-   * La variable <b>voxel_map</b> correspond  la carte des voxels o sont situes des gomtries admettant une bote englobante.
-   */
-  private final Map<SVoxel, List<SGeometry>> voxel_map;  
-  
-  /**
-   * La variable <b>voxel_builder</b> correspond au constructeur de voxel. 
-   * La taille des voxels sera dtermine par un objet de type SVoxelDimensionEvaluator. 
+   * La variable <b>voxel_grid</b> correspond  la grille compacte des voxels o sont situes des gomtries admettant une bote englobante
+   * (<b>null</b> s'il n'y en a pas). La taille des voxels sera dtermine par un objet de type SVoxelDimensionEvaluator. 
    */
-  private SVoxelBuilder voxel_builder;                   
-  
-  /**
-   * La variable <b>absolute_extremum_voxel</b> correspond  un voxel de coordonne extremums en valeur absolue  celle contenue dans la carte de voxel.
-   * Ceci permet de connatre la taille maximal de la carte des voxels.
-   */
-  private SVoxel absolute_extremum_voxel;               
+  private SVoxelGrid voxel_grid;
   
   //----------------
   // CONSTRUCTEUR //
@@ -64,9 +56,7 @@ public class SVoxelSpace extends SAbstractVoxelSpace {
   {
     super();
     
-    voxel_map = new HashMap<SVoxel, List<SGeometry>>();
-    voxel_builder = null;
-    absolute_extremum_voxel = null;
+    voxel_grid = null;
   }
 
   //------------
@@ -76,6 +66,10 @@ public class SVoxelSpace extends SAbstractVoxelSpace {
   @Override
   public SRay nearestIntersection(SRay ray, double t_max) throws SRuntimeException
   {
+    // Comptabiliser la requte  l'espace des gomtries
+    if(SIntersectionStatistics.ENABLED)
+      SIntersectionStatistics.local().countStep(SIntersectionStatistics.QUERY);
+    
     // Vrifier si le rayon a dj intersect une gomtrie
     if(ray.asIntersected())
       throw new SRuntimeException("Erreur SVoxelSpace 003 : Le rayon en paramtre a dj intersect une gomtrie.");
@@ -88,21 +82,20 @@ public class SVoxelSpace extends SAbstractVoxelSpace {
     if(!space_initialized)
       throw new SRuntimeException("Erreur SVoxelSpace 005 : L'espace de gomtries de voxel n'a pas t initialis.");
     
-    //Rsultat de l'intersection avec la carte de voxel. Sera gale  "ray" s'il y en a pas eu.
-    SRay intersection_in_voxel = nearestIntersectionInVoxelMap(ray, t_max);
-    
-    //Rsultat de l'intersection avec les gomtries hors voxel
-    List<SRay> list_intersection_not_in_voxel = intersections(linear_list, ray, t_max);
+    //Rsultat de l'intersection avec les gomtries hors voxel. Sera gale  "ray" s'il y en a pas eu.
+    SRay intersection_not_in_voxel = nearestIntersection(linear_list, ray, t_max);
     
-    // Ajouter l'intersection de la carte de voxel  la liste linaire.
-    // Cette liste sera ainsi pas vide.
-    list_intersection_not_in_voxel.add(intersection_in_voxel);
+    // Le parcours de la carte de voxel peut s'arrter  l'intersection hors voxel (si elle existe)
+    double t_nearest = intersection_not_in_voxel.asIntersected() ? intersection_not_in_voxel.getT() : t_max;
     
-    // Trier la liste pour le dernier lment ajout.
-    Collections.sort(list_intersection_not_in_voxel); 
+    //Rsultat de l'intersection avec la carte de voxel. Sera gale  "ray" s'il y en a pas eu.
+    SRay intersection_in_voxel = nearestIntersectionInVoxelMap(ray, t_nearest);
     
-    // Retourner le permier lment de la liste (sera sans intersection s'il n'y en a pas eu).
-    return list_intersection_not_in_voxel.get(0);
+    // Retourner l'intersection la plus prs (sera sans intersection s'il n'y en a pas eu).
+    if(intersection_in_voxel.asIntersected())
+      return intersection_in_voxel;
+    else
+      return intersection_not_in_voxel;
     
     /*
     //Identification de l'intersection la plus prs (de plus petite valeur de ray.getT())
@@ -120,40 +113,70 @@ public class SVoxelSpace extends SAbstractVoxelSpace {
   }
 
   /**
-   * Mthode pour obtenir l'intersection la plus prs entre un rayon et des gomtries situes dans la carte de voxel.
+   * Mthode pour obtenir l'intersection la plus prs entre un rayon et des gomtries situes dans la grille de voxels.
+   * Chaque gomtrie n'est teste qu'une seule fois (voir SVoxelMailbox) et le parcours se termine lorsque la prochaine cellule
+   * dbute aprs l'intersection la plus prs trouve.
+   * 
    * @param ray - Le rayon  intersecter avec les gomtries.
    * @param t_max - Le temps maximal.
    * @return Le rayon avec les caractristiques de l'intersection (s'il y en a eu une).
    */
   private SRay nearestIntersectionInVoxelMap(SRay ray, double t_max)
   {
-    //Raliser des calculs d'intersection avec les gomtries de la carte uniquement si elle n'est pas vide
-    if(!voxel_map.isEmpty())
-    {
-      //Crer la ligne de voxel  parcourir un  un
-      SFastTraversalVoxelAlgorithm line_of_voxel = new SFastTraversalVoxelAlgorithm(voxel_builder.getDimension(), ray, t_max, absolute_extremum_voxel);
+    //Raliser des calculs d'intersection avec les gomtries de la grille uniquement si elle existe
+    if(voxel_grid == null)
+      return ray;
+    
+    //Crer la ligne de cellules  parcourir une  une
+    SVoxelGridTraversal line_of_cell = new SVoxelGridTraversal(voxel_grid, ray, t_max);
+    
+    SVoxelMailbox mailbox = new SVoxelMailbox(ray, t_max);
+    
+    try{
       
-      //Faire l'itration sur la ligne de voxel depuis l'origine du rayon
-      while(line_of_voxel.asNextVoxel())
+      SIntersectionStatistics statistics = SIntersectionStatistics.ENABLED ? SIntersectionStatistics.local() : null;
+      
+      //Faire l'itration sur la ligne de cellules tant que la prochaine cellule dbute avant l'intersection la plus prs
+      while(line_of_cell.asNextCell() && line_of_cell.nextMinTime() <= mailbox.getNearestTime())
       {
-        SVoxel voxel = line_of_voxel.nextVoxel();
+        int cell = line_of_cell.nextCell();
         
-        // Faire le test de l'intersection des gomtries situes dans le voxel en cours
-        SRay ray_intersection = nearestIntersectionInVoxelMap(ray, t_max, voxel_map, voxel_builder, voxel);
-        
-        // Retourner le rsultat de l'intersection s'il y en a une, car elle sera ncessairement de plus court temps
-        if(ray_intersection.asIntersected())
-          return ray_intersection;
+        if(cell >= 0)
+        {
+          if(SIntersectionStatistics.ENABLED)
+            statistics.countStep(SIntersectionStatistics.VOXEL_VISIT);
+          
+          for(int r = voxel_grid.getReferenceStart(cell); r < voxel_grid.getReferenceEnd(cell); r++)
+          {
+            int index = voxel_grid.getReference(r);
+            
+            if(mailbox.visit(index))
+            {
+              SGeometry g = voxel_grid.getGeometry(index);
+              
+              if(SIntersectionStatistics.ENABLED)
+                statistics.countGeometryTest(g);
+              
+              mailbox.offerNearest(g, g.intersectionTime(ray, mailbox.getNearestTime()));
+            }
+          }
+        }
       }
+      
+      return mailbox.buildNearestIntersection();
+      
+    }finally{
+      mailbox.close();
     }
-    
-    // Aucune intersection valide n'a t trouve.
-    return ray;
   }
   
   @Override
   public List<SRay> nearestOpaqueIntersection(SRay ray, double t_max) throws SRuntimeException
   {
+    // Comptabiliser la requte  l'espace des gomtries
+    if(SIntersectionStatistics.ENABLED)
+      SIntersectionStatistics.local().countStep(SIntersectionStatistics.QUERY);
+    
     // Vrifier si le rayon a dj intersect une gomtrie
     if(ray.asIntersected())
       throw new SRuntimeException("Erreur SVoxelSpace 006 : Le rayon en paramtre a dj intersect une gomtrie.");
@@ -234,39 +257,60 @@ public class SVoxelSpace extends SAbstractVoxelSpace {
   /**
    * Mthode pour obtenir la liste des intersections transparente en ordre dcroissant dont la plus loign (premire de la liste) sera une gomtrie opaque s'il y a eu intersection de cette nature.
    * 
+   * Chaque gomtrie n'est teste qu'une seule fois (voir SVoxelMailbox) et le parcours se termine lorsque le prochain voxel
+   * dbute aprs l'intersection opaque la plus prs trouve.
+   * 
    * @param ray - Le rayon  intersecter.
    * @param t_max - Le temps maximal pouvant tre parcouru par le rayon.
    * @return La liste des intersections transparente en odre dcroissant dont le premier lment sera une gomtrie opaque s'il y a eu intersection de cette nature.
    */
   private List<SRay> nearestOpaqueIntersectionInVoxelMap(SRay ray, double t_max)
   {
-    List<SRay> return_list = new ArrayList<SRay>();
+    if(voxel_grid == null)
+      return new ArrayList<SRay>();
     
-    if(!voxel_map.isEmpty())
-    {
-      //Crer la ligne de voxel  parcourir un  un
-      SFastTraversalVoxelAlgorithm line_of_voxel = new SFastTraversalVoxelAlgorithm(voxel_builder.getDimension(), ray, t_max, absolute_extremum_voxel);
+    //Crer la ligne de cellules  parcourir une  une
+    SVoxelGridTraversal line_of_cell = new SVoxelGridTraversal(voxel_grid, ray, t_max);
+    
+    SVoxelMailbox mailbox = new SVoxelMailbox(ray, t_max);
+    
+    try{
       
-      while(line_of_voxel.asNextVoxel())
+      SIntersectionStatistics statistics = SIntersectionStatistics.ENABLED ? SIntersectionStatistics.local() : null;
+      
+      while(line_of_cell.asNextCell() && line_of_cell.nextMinTime() <= mailbox.getOpaqueTime())
       {
-        SVoxel voxel = line_of_voxel.nextVoxel();
-        
-        // Obtenir la liste de l'intersection opaque associ au voxel courant
-        List<SRay> list = nearestOpaqueIntersectionInVoxelMap(ray, t_max, voxel_map, voxel_builder, voxel);
+        int cell = line_of_cell.nextCell();
         
-        // Ajouter cette liste  la liste  retourner
-        return_list = mergeNearestOpaqueIntersection(return_list, list);
-        
-        // Retourner cette liste si l'intersection opaque a dj t trouve.
-        if(!return_list.isEmpty())
-          if(!return_list.get(0).getGeometry().isTransparent())
-            return return_list;
+        if(cell >= 0)
+        {
+          if(SIntersectionStatistics.ENABLED)
+            statistics.countStep(SIntersectionStatistics.VOXEL_VISIT);
+          
+          for(int r = voxel_grid.getReferenceStart(cell); r < voxel_grid.getReferenceEnd(cell); r++)
+          {
+            int index = voxel_grid.getReference(r);
+            
+            if(mailbox.visit(index))
+            {
+              SGeometry g = voxel_grid.getGeometry(index);
+              
+              if(SIntersectionStatistics.ENABLED)
+                statistics.countGeometryTest(g);
+              
+              mailbox.offerOpaque(g, g.intersectionTime(ray, mailbox.getOpaqueTime()));
+            }
+          }
+        }
       }
+      
+      // La liste est vide, elle contient uniquement des gomtries transparentes ou elle dbute par l'intersection opaque
+      return mailbox.buildOpaqueIntersectionList();
+      
+    }finally{
+      mailbox.close();
     }
     
-    // La liste est vide ou elle contient uniquement des gomtries transparentes
-    return return_list;
-    
     /*
     SRay nearest_opaque_intersection = ray;                             //l'intersection opaque la plus prs ... initialement, il n'y en a pas !
     
@@ -337,6 +381,159 @@ public class SVoxelSpace extends SAbstractVoxelSpace {
     */
   }
   
+  @Override
+  public boolean occluded(SRay ray, double t_max) throws SRuntimeException
+  {
+    // Comptabiliser la requte  l'espace des gomtries
+    if(SIntersectionStatistics.ENABLED)
+      SIntersectionStatistics.local().countStep(SIntersectionStatistics.QUERY);
+    
+    // Vrifier si le rayon a dj intersect une gomtrie
+    if(ray.asIntersected())
+      throw new SRuntimeException("Erreur SVoxelSpace 010 : Le rayon en paramtre a dj intersect une gomtrie.");
+    
+    // Vrifier la valeur de t_max est adquate
+    if(t_max < 0.0)
+      throw new SRuntimeException("Erreur SVoxelSpace 011 : Le temps maximale ne peut pas tre ngative.");
+    
+    // Vrifier si l'espace a t initialis
+    if(!space_initialized)
+      throw new SRuntimeException("Erreur SVoxelSpace 012 : L'espace de gomtries de voxel n'a pas t initialis.");
+    
+    // Tester les gomtries hors voxel avant de parcourir la carte de voxel
+    if(occluded(linear_list, ray, t_max))
+      return true;
+    
+    if(voxel_grid == null)
+      return false;
+    
+    SVoxelGridTraversal line_of_cell = new SVoxelGridTraversal(voxel_grid, ray, t_max);
+    
+    SVoxelMailbox mailbox = new SVoxelMailbox(ray, t_max);
+    
+    try{
+      
+      SIntersectionStatistics statistics = SIntersectionStatistics.ENABLED ? SIntersectionStatistics.local() : null;
+      
+      // Le parcours se termine ds la premire intersection opaque avant le temps maximal
+      while(line_of_cell.asNextCell())
+      {
+        int cell = line_of_cell.nextCell();
+        
+        if(cell >= 0)
+        {
+          // Seules les cellules occupes sont comptes (comme pour la recherche de l'intersection la plus prs)
+          if(SIntersectionStatistics.ENABLED)
+            statistics.countStep(SIntersectionStatistics.VOXEL_VISIT);
+          
+          for(int r = voxel_grid.getReferenceStart(cell); r < voxel_grid.getReferenceEnd(cell); r++)
+          {
+            int index = voxel_grid.getReference(r);
+            SGeometry g = voxel_grid.getGeometry(index);
+            
+            if(!g.isTransparent() && mailbox.visit(index))
+            {
+              if(SIntersectionStatistics.ENABLED)
+                statistics.countGeometryTest(g);
+              
+              if(g.intersectionTime(ray, t_max) < t_max)
+                return true;
+            }
+          }
+        }
+      }
+      
+      return false;
+      
+    }finally{
+      mailbox.close();
+    }
+  }
+  
+  @Override
+  public SColor transmittance(SRay ray, double t_max) throws SRuntimeException
+  {
+    // Comptabiliser la requte  l'espace des gomtries
+    if(SIntersectionStatistics.ENABLED)
+      SIntersectionStatistics.local().countStep(SIntersectionStatistics.QUERY);
+    
+    // Vrifier si le rayon a dj intersect une gomtrie
+    if(ray.asIntersected())
+      throw new SRuntimeException("Erreur SVoxelSpace 013 : Le rayon en paramtre a dj intersect une gomtrie.");
+    
+    // Vrifier la valeur de t_max est adquate
+    if(t_max < 0.0)
+      throw new SRuntimeException("Erreur SVoxelSpace 014 : Le temps maximale ne peut pas tre ngative.");
+    
+    // Vrifier si l'espace a t initialis
+    if(!space_initialized)
+      throw new SRuntimeException("Erreur SVoxelSpace 015 : L'espace de gomtries de voxel n'a pas t initialis.");
+    
+    // Filtrer par les gomtries hors voxel avant de parcourir la carte de voxel
+    SColor filter = transmittance(linear_list, ray, t_max, FULL_TRANSMITTANCE);
+    
+    if(filter == NO_TRANSMITTANCE)
+      return filter;
+    
+    if(voxel_grid == null)
+      return filter;
+    
+    SVoxelGridTraversal line_of_cell = new SVoxelGridTraversal(voxel_grid, ray, t_max);
+    
+    SVoxelMailbox mailbox = new SVoxelMailbox(ray, t_max);
+    
+    try{
+      
+      SIntersectionStatistics statistics = SIntersectionStatistics.ENABLED ? SIntersectionStatistics.local() : null;
+      
+      // Une gomtrie transparente n'est filtre qu'une seule fois et le parcours se termine ds la premire intersection opaque
+      while(line_of_cell.asNextCell())
+      {
+        int cell = line_of_cell.nextCell();
+        
+        if(cell >= 0)
+        {
+          if(SIntersectionStatistics.ENABLED)
+            statistics.countStep(SIntersectionStatistics.VOXEL_VISIT);
+          
+          for(int r = voxel_grid.getReferenceStart(cell); r < voxel_grid.getReferenceEnd(cell); r++)
+          {
+            int index = voxel_grid.getReference(r);
+            
+            if(mailbox.visit(index))
+            {
+              SGeometry g = voxel_grid.getGeometry(index);
+              
+              if(SIntersectionStatistics.ENABLED)
+                statistics.countGeometryTest(g);
+              
+              if(g.intersectionTime(ray, t_max) < t_max)
+                if(!g.isTransparent())
+                  return NO_TRANSMITTANCE;
+                else
+                  filter = filter.multiply(transparencyColor(g));
+            }
+          }
+        }
+      }
+      
+      return filter;
+      
+    }finally{
+      mailbox.close();
+    }
+  }
+  
+  /**
+   * Mthode pour obtenir la grille des voxels de l'espace.
+   * 
+   * @return La grille des voxels ou <b>null</b> si aucune gomtrie ne possde de bote englobante.
+   */
+  SVoxelGrid getVoxelGrid()
+  {
+    return voxel_grid;
+  }
+  
   @Override
   public List<SGeometry> listInsideGeometry(SVector3d v)
   {
@@ -345,8 +542,13 @@ public class SVoxelSpace extends SAbstractVoxelSpace {
       throw new SRuntimeException("Erreur SVoxelSpace 009 : L'espace de voxel n'a pas t initialis.");
     
     // Liste des gomtries o le vecteur v sera situ  l'intrieur.
-    // Dbutons avec la liste disponible  partir des informations de la carte des voxels.
-    List<SGeometry> inside_list = listInsideGeometryInMap(voxel_map, voxel_builder, v);
+    // Dbutons avec la liste disponible  partir des informations de la grille des voxels.
+    List<SGeometry> inside_list;
+    
+    if(voxel_grid != null)
+      inside_list = listInsideGeometry(voxel_grid.listGeometry(voxel_grid.getBuilder().buildVoxel(v)), v);
+    else
+      inside_list = new ArrayList<SGeometry>();
     
     // Ajouter les gomtries sans bote o le vecteur v s'y retrouve.
     inside_list.addAll(listInsideGeometry(linear_list, v));
@@ -359,8 +561,8 @@ public class SVoxelSpace extends SAbstractVoxelSpace {
   {
     SLog.logWriteLine("Message SVoxelSpace : Construction de l'espace des gomtries avec voxel.");
     
-    // Gnrateur de bote englobante
-    SBoundingBoxBuilder box_builder = new SBoundingBoxBuilder();            
+    // Gnrateur parallle de botes englobantes
+    SBVHBuilder box_builder = new SBVHBuilder();
     
     // Sparateur de la collection de gomtrie
     SGeometryCollectionSplitter splitter = new SGeometryCollectionSplitter(geometry_list, SGeometryCollectionSplitter.SPLIT_BOX_AND_NO_BOX);
@@ -374,15 +576,18 @@ public class SVoxelSpace extends SAbstractVoxelSpace {
     // Liste des botes englobantes autour des gomtrie de la liste
     List<SBoundingBox> bounding_box_list = new ArrayList<SBoundingBox>();   
     
-    // Obtenir toutes les botes englobantes disponibles
-    for(SGeometry g : list_with_box)
+    // Obtenir toutes les botes englobantes disponibles (construites en parallle)
+    SBoundingBox[] box_tab = box_builder.buildBoundingBoxes(list_with_box);
+    
+    for(SBoundingBox box : box_tab)
     {
-      SBoundingBox box = box_builder.buildBoundingBox(g);
-      
       if(box != null)
         bounding_box_list.add(box);
       else
+      {
+        box_builder.close();
         throw new SRuntimeException("Erreur SVoxelSpace XXX : Ceci n'est pas suppos se produire!");
+      }
     }
     
     // S'assurer que la liste des botes n'est pas vide, sinon il n'y a pas de carte de voxel  construire
@@ -395,23 +600,21 @@ public class SVoxelSpace extends SAbstractVoxelSpace {
       SVoxelDimensionEvaluator evaluator = new SVoxelDimensionEvaluator(bounding_box_list, SVoxelDimensionEvaluator.MID_AVERAGE_LENGHT_ALGORITHM);
       //SVoxelDimensionEvaluator evaluator = new SVoxelDimensionEvaluator(bounding_box_list, SVoxelDimensionEvaluator.SMALLEST_AVERAGE_LENGHT_ALGORITHM); 
       
-      // Gnrateur de voxel pour la carte de voxel en construction
-      voxel_builder = new SVoxelBuilder(evaluator.getDimension()); 
-            
-      // Construire le voxel d'extrme  la nouvelle carte et le mettre  jour  chaque insertion de gomtrie
-      absolute_extremum_voxel = new SVoxel(0, 0, 0);
-              
-      // Iterer sur l'ensemble botes englobante.
-      // Intgrer leur voxels attitrs avec leur gomtrie  la carte des voxels.
-      // Mettre  jour le voxel d'extrme
-      for(SBoundingBox box : bounding_box_list)
-        absolute_extremum_voxel = addGeometryToMap(voxel_map, absolute_extremum_voxel, box.getGeometry(), voxel_builder.buildVoxel(box));     
+      // Construire en parallle la grille compacte des voxels (limite  la bote englobant les gomtries)
+      try{
+        voxel_grid = new SVoxelGrid(new SVoxelBuilder(evaluator.getDimension()), bounding_box_list, box_builder);
+      }finally{
+        box_builder.close();
+      }
       
       // Messages multiples  afficher
       SLog.logWriteLine("Message SVoxelSpace : Nombre de gomtries dans la carte de voxels : " + bounding_box_list.size() + " gomtries.");
       SLog.logWriteLine("Message SVoxelSpace : Taille des voxels : " + evaluator.getDimension() + " units.");  
-      SLog.logWriteLine("Message SVoxelSpace : Nombre de rfrence  des gomtries : " + evaluateNbGeometryReference(voxel_map) + " rfrences.");
-      SLog.logWriteLine("Message SVoxelSpace : Nombre moyen de rfrence  des gomtries par voxel : " + evaluateNbGeometryReferencePerVoxel(voxel_map) + " rfrences/voxel.");
+      SLog.logWriteLine("Message SVoxelSpace : Dure de construction des botes englobantes : " + box_builder.getBoundingBoxTime() + " s (" + box_builder.getNbThread() + " fils d'excution).");
+      SLog.logWriteLine("Message SVoxelSpace : Dure de construction de la grille de voxels : " + voxel_grid.getBuildTime() + " s (" + box_builder.getNbThread() + " fils d'excution).");
+      SLog.logWriteLine("Message SVoxelSpace : Grille de voxels " + (voxel_grid.isHashed() ? "hache" : "dense") + " : " + voxel_grid.getNbCellX() + " x " + voxel_grid.getNbCellY() + " x " + voxel_grid.getNbCellZ() + " voxels (" + voxel_grid.getNbOccupiedCell() + " voxels occups, " + voxel_grid.getMemorySize() + " octets).");
+      SLog.logWriteLine("Message SVoxelSpace : Nombre de rfrence  des gomtries : " + voxel_grid.getNbReference() + " rfrences (" + voxel_grid.getNbBoxReference() + " selon les botes englobantes avant le test exact des triangles).");
+      SLog.logWriteLine("Message SVoxelSpace : Nombre moyen de rfrence  des gomtries par voxel : " + (double) voxel_grid.getNbReference() / (double) voxel_grid.getNbOccupiedCell() + " rfrences/voxel.");
       
       SLog.logWriteLine();
     }//fin if
@@ -419,8 +622,10 @@ public class SVoxelSpace extends SAbstractVoxelSpace {
     {
       // Il n'y a pas de bote englobante de disponible pour l'espace avec voxel
       SLog.logWriteLine("Message SVoxelSpace : Aucune gomtrie ne possde de bote englobante! Le choix d'un espace de gomtries en voxel devient infficace.");
+      
+      box_builder.close();
      
-      voxel_builder = null;   // Il n'y a pas de constructeur de voxel disponible
+      voxel_grid = null;      // Il n'y a pas de grille de voxels disponible
     }
     
     SLog.logWriteLine("Message SVoxelSpace : Fin de la construction de l'espace des gomtries avec voxel.");
@@ -3,6 +3,10 @@
  */
 package sim.graphics;
 
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import sim.exception.SRuntimeException;
 import sim.geometry.SRay;
 import sim.graphics.shader.SShader;
 import sim.math.SVector3d;
@@ -12,10 +16,21 @@ import sim.math.SVectorPixel;
  * Classe abstraite reprsentant un raytracer.
  * @author Simon Vzina
  * @since 2015-04-11
- * @version 2015-07-16
+ * @version 2026-10-17
  */
 public abstract class SAbstractRaytracer implements SRaytracer {
 
+	 /**
+	  * La constante <b>COARSE_STEP</b> correspond  l'espacement (en pixels) de la grille de pixels de la premire passe d'un rendu contrl par un jeton.
+	  * Chaque passe suivante divise cet espacement par deux jusqu' atteindre un pixel.
+	  */
+	 public static final int COARSE_STEP = 16;
+	 
+	 /**
+	  * La constante <b>CLOSE_TIMEOUT</b> correspond au temps maximal d'attente (en secondes) de la fin des tches d'un excuteur lors de sa fermeture.
+	  */
+	 private static final long CLOSE_TIMEOUT = 10;
+	 
 	 protected final SViewFrustum view_frustum; // pyramide de vue du raytracer
 	 protected final SShader shader; // shader du raytracer
 	 protected final SViewport viewport; // viewport du raytracer
@@ -43,13 +58,121 @@ public abstract class SAbstractRaytracer implements SRaytracer {
 		raytrace(nbPixels());
 	}
 
+	@Override
+	public boolean raytrace(SRenderToken token) throws SRuntimeException
+	{
+	  boolean completed = true;
+	  
+	  // Raffiner la grille de pixels de la plus grossire  la plus fine
+	  for(int step = COARSE_STEP; step >= 1 && completed; step /= 2)
+	    completed = raytraceLevel(step, token);
+	  
+	  // L'image (complte ou partielle) occupe tout le viewport : l'itration des pixels est termine
+	  viewport.endPixelIteration();
+	  
+	  return completed;
+	}
+	
+	@Override
+	public void raytraceRegion(int x_min, int y_min, int x_max, int y_max) throws SRuntimeException
+	{
+	  checkRegion(x_min, y_min, x_max, y_max);
+	  
+	  for(int y = y_min; y < y_max; y++)
+	    for(int x = x_min; x < x_max; x++)
+	      viewport.setColor(x, y, evaluatePixelColor(x, y));
+	}
+	
+	/**
+	 * Mthode pour vrifier qu'une rgion rectangulaire est non vide et comprise dans le viewport.
+	 * 
+	 * @param x_min - La coordonne x minimale (incluse).
+	 * @param y_min - La coordonne y minimale (incluse).
+	 * @param x_max - La coordonne x maximale (exclue).
+	 * @param y_max - La coordonne y maximale (exclue).
+	 * @throws SRuntimeException Si la rgion est vide ou  l'extrieur du viewport.
+	 */
+	protected void checkRegion(int x_min, int y_min, int x_max, int y_max) throws SRuntimeException
+	{
+	  if(x_min < 0 || y_min < 0 || x_max > viewport.getWidth() || y_max > viewport.getHeight() || x_min >= x_max || y_min >= y_max)
+	    throw new SRuntimeException("Erreur SAbstractRaytracer 001 : La rgion [" + x_min + "," + x_max + "[ x [" + y_min + "," + y_max + "[ n'est pas une rgion du viewport.");
+	}
+	
+	/**
+	 * Mthode pour calculer l'ensemble des lignes d'une passe de raffinement. Le jeton est consult avant chaque ligne.
+	 * Les lignes d'une passe affectent des rgions disjointes du viewport et peuvent tre calcules en parallle.
+	 * 
+	 * @param step - L'espacement (en pixels) de la grille de pixels de la passe.
+	 * @param token - Le jeton de rendu.
+	 * @return <b>true</b> si la passe est complte et <b>false</b> si elle a t interrompue.
+	 * @throws SRuntimeException S'il y a eu une erreur lors du calcul.
+	 */
+	protected boolean raytraceLevel(int step, SRenderToken token) throws SRuntimeException
+	{
+	  for(int y = 0; y < viewport.getHeight(); y += step)
+	  {
+	    if(token.isStopRequested())
+	      return false;
+	    
+	    raytraceLevelRow(y, step);
+	  }
+	  
+	  return true;
+	}
+	
+	/**
+	 * Mthode pour calculer une ligne d'une passe de raffinement. Chaque pixel calcul affecte sa couleur au bloc de step x step pixels dont il est le coin suprieur gauche.
+	 * Les pixels dj calculs lors de la passe prcdente (sur la grille deux fois plus espace) ne sont pas calculs de nouveau.
+	 * 
+	 * @param y - La coordonne y de la ligne (multiple de step).
+	 * @param step - L'espacement (en pixels) de la grille de pixels de la passe.
+	 */
+	protected final void raytraceLevelRow(int y, int step)
+	{
+	  int width = viewport.getWidth();
+	  int y_max = Math.min(y + step, viewport.getHeight());
+	  
+	  // Sur une ligne de la passe prcdente, seuls les pixels impairs de la grille sont nouveaux
+	  boolean previous_row = step < COARSE_STEP && y % (2*step) == 0;
+	  int x_begin = previous_row ? step : 0;
+	  int x_step = previous_row ? 2*step : step;
+	  
+	  for(int x = x_begin; x < width; x += x_step)
+	    viewport.fillColor(x, y, Math.min(x + step, width), y_max, evaluatePixelColor(x, y));
+	}
+	
+	@Override
+	public void close()
+	{
+	  // Aucune ressource  librer par dfaut
+	}
+	
+	/**
+	 * Mthode pour fermer un excuteur de tches en attendant la fin des tches en cours.
+	 * Les tches sont interrompues si elles ne se terminent pas dans le dlai prvu.
+	 * 
+	 * @param executor - L'excuteur  fermer.
+	 */
+	protected static void shutdownExecutor(ExecutorService executor)
+	{
+	  executor.shutdown();
+	  
+	  try{
+	    if(!executor.awaitTermination(CLOSE_TIMEOUT, TimeUnit.SECONDS))
+	      executor.shutdownNow();
+	  }catch(InterruptedException e){
+	    executor.shutdownNow();
+	    Thread.currentThread().interrupt();
+	  }
+	}
+	
 	/* (non-Javadoc)
 	 * @see sim.graphics.SRaytracer#nbPixels()
 	 */
 	@Override
-	public int nbPixels() 
+	public long nbPixels() 
 	{
-		return viewport.getHeight() * viewport.getHeight();
+		return viewport.getNbPixels();
 	}
 
 	/**
@@ -60,6 +183,18 @@ public abstract class SAbstractRaytracer implements SRaytracer {
 	   */
 	abstract protected SColor evaluatePixelColor(SVectorPixel pixel);
 	
+	/**
+	 * Mthode pour valuer la couleur  attribuer au pixel de coordonne (x,y).
+	 * 
+	 * @param x - La coordonne x du pixel.
+	 * @param y - La coordonne y du pixel.
+	 * @return La couleur  attribuer au pixel.
+	 */
+	protected SColor evaluatePixelColor(int x, int y)
+	{
+	  return evaluatePixelColor(new SVectorPixel(x, y));
+	}
+	
 	/**
 	   * Mthode pour calculer la couleur associ  un rayon lanc depuis la position de la camra et traversant un pixel de la pyramide de vue. La coordonne du
 	   * pixel sera calcule par la pyramide de vue (view frustum) et la couleur sera dtermine par le shader ayant accs  la gomtrie de la scne et des
@@ -70,8 +205,37 @@ public abstract class SAbstractRaytracer implements SRaytracer {
 	   */
 	  protected SColor raytracePixel(SVectorPixel pixel)
 	  {
-	    // La coordonne 3d du pixel dans les coordonnes de la scne
-	    SVector3d position_pixel = view_frustum.viewportToViewFrustum(pixel);
+	    return raytracePixel(pixel.getX(), pixel.getY());
+	  }
+	  
+	  /**
+	   * Mthode pour calculer la couleur associ  un rayon lanc depuis la position de la camra et traversant le pixel de coordonne (x,y)
+	   * de la pyramide de vue. Cette version vite la construction d'une coordonne pixel lors du parcours d'un bloc de pixels.
+	   * 
+	   * @param x - La coordonne x du pixel.
+	   * @param y - La coordonne y du pixel.
+	   * @return La couleur calcule par <b>le lanc d'un rayon</b> dans le pixel.
+	   */
+	  protected SColor raytracePixel(int x, int y)
+	  {
+	    return raytracePixel(x, y, 0, 1);
+	  }
+	  
+	  /**
+	   * Mthode pour calculer la couleur associ  un rayon lanc depuis la position de la camra et traversant un chantillon du pixel de coordonne (x,y)
+	   * de la pyramide de vue. La coordonne de l'chantillon dans le pixel dpend uniquement du pixel et de l'indice de l'chantillon,
+	   * ce qui rend le rendu reproductible peu importe l'ordre de calcul des pixels.
+	   * 
+	   * @param x - La coordonne x du pixel.
+	   * @param y - La coordonne y du pixel.
+	   * @param sample - L'indice de l'chantillon (de 0  nb_sample-1).
+	   * @param nb_sample - Le nombre d'chantillons lancs dans le pixel.
+	   * @return La couleur calcule par <b>le lanc d'un rayon</b> dans le pixel.
+	   */
+	  protected SColor raytracePixel(int x, int y, int sample, int nb_sample)
+	  {
+	    // La coordonne 3d de l'chantillon du pixel dans les coordonnes de la scne
+	    SVector3d position_pixel = view_frustum.viewportToViewFrustum(x, y, sample, nb_sample);
 
 	    // Direction du rayon normalis
 	    SVector3d direction = position_pixel.substract(view_frustum.getCameraPosition()).normalize();
@@ -0,0 +1,94 @@
+/**
+ *
+ */
+package sim.graphics;
+
+import sim.exception.SConstructorException;
+
+/**
+ * La classe <b>SArrayFrameBuffer</b> reprsente un tampon de viewport conserv en mmoire (<i>heap</i>) dans un tableau de nombres rels.
+ * Il s'agit du tampon par dfaut. Sa taille est limite par la capacit d'un tableau Java.
+ *
+ * @author Simon Vzina
+ * @since 2026-10-17
+ * @version 2026-10-17
+ */
+public class SArrayFrameBuffer implements SFrameBuffer {
+
+  //--------------
+  // CONSTANTES //
+  //--------------
+
+  /**
+   * La constante <b>MAX_LENGTH</b> correspond au nombre maximal de canaux d'un tampon conserv dans un tableau.
+   */
+  private static final long MAX_LENGTH = Integer.MAX_VALUE - 8;
+
+  //-------------
+  // VARIABLES //
+  //-------------
+
+  /**
+   * La variable <b>data</b> correspond au tableau des canaux.
+   */
+  private final float[] data;
+
+  //----------------
+  // CONSTRUCTEUR //
+  //----------------
+
+  /**
+   * Constructeur d'un tampon dont les canaux sont initialiss  zro.
+   *
+   * @param length - Le nombre de canaux.
+   * @throws SConstructorException Si le nombre de canaux dpasse la capacit d'un tableau.
+   */
+  public SArrayFrameBuffer(long length) throws SConstructorException
+  {
+    if(length < 0 || length > MAX_LENGTH)
+      throw new SConstructorException("Erreur SArrayFrameBuffer 001 : Le tampon de '" + length + "' canaux dpasse la capacit d'un tableau. Utilisez un tampon projet en mmoire (framebuffer_file).");
+
+    data = new float[(int)length];
+  }
+
+  //------------
+  // MTHODES //
+  //------------
+
+  @Override
+  public long getLength()
+  {
+    return data.length;
+  }
+
+  @Override
+  public float get(long index)
+  {
+    return data[(int)index];
+  }
+
+  @Override
+  public void put(long index, float value)
+  {
+    data[(int)index] = value;
+  }
+
+  @Override
+  public void get(long index, float[] dst, int offset, int length)
+  {
+    System.arraycopy(data, (int)index, dst, offset, length);
+  }
+
+  @Override
+  public void put(long index, float[] src, int offset, int length)
+  {
+    System.arraycopy(src, offset, data, (int)index, length);
+  }
+
+  @Override
+  public void close()
+  {
+    // Le tableau est libr par le ramasse-miettes
+  }
+
+}//fin de la classe SArrayFrameBuffer
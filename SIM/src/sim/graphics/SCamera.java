@@ -22,7 +22,7 @@ import sim.util.SStringUtil;
  * Classe qui reprsente une camra.
  * @author Simon
  * @since 2014-12-26
- * @version 2014-11-28
+ * @version 2026-10-17
  */
 public class SCamera extends SAbstractReadableWriteable {
 
@@ -90,6 +90,33 @@ public class SCamera extends SAbstractReadableWriteable {
 		}
 	}
 	
+	/**
+	 * Constructeur de la camra avec l'ensemble de ses paramtres.
+	 * @param position - La position de la camra.
+	 * @param look_at - L'endroit o regarde la camra.
+	 * @param up - L'orientation du haut de la camra.
+	 * @param view_angle - L'angle d'ouverture (en degrs) de la pyramide de vue selon l'axe y.
+	 * @param z_near - La distance  l'cran de face.
+	 * @param z_far - La distance  l'cran de fond.
+	 * @throws SConstructorException Si les paramtres de la camra ne permettent une construction complte de celle-ci.
+	 */
+	public SCamera(SVector3d position, SVector3d look_at, SVector3d up, double view_angle, double z_near, double z_far) throws SConstructorException
+	{
+	  this.position = position;
+	  this.look_at = look_at;
+	  this.up = up;
+	  
+	  this.view_angle = view_angle;
+	  this.z_near = z_near;
+	  this.z_far = z_far;
+	  
+	  try{
+	    initialize();
+	  }catch(SInitializationException e){
+	    throw new SConstructorException("Erreur SCamera 011 : La construction de la camra n'est pas possible en raison de ses paramtres aux constructeurs." + SStringUtil.END_LINE_CARACTER + "\t" + e.getMessage(), e);
+	  }
+	}
+	
 	/**
 	 * Constructeur de la camra  partir d'information lue dans un fichier de format .txt.
 	 * @param br Le BufferedReader cherchant l'information de le fichier .txt.
@@ -119,6 +146,15 @@ public class SCamera extends SAbstractReadableWriteable {
 		return position;
 	}
 	
+	/**
+	 * Mthode pour obtenir la position o regarde la camra.
+	 * @return La position o regarde la camra.
+	 */
+	public SVector3d getLookAt()
+	{
+	  return look_at;
+	}
+	
 	/**
 	 * Mthode pour obtenir l'orientation du devant de la camra. 
 	 * En d'autres mots, la camera point dans la direction de ce vecteur.
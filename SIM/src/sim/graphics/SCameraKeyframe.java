@@ -0,0 +1,174 @@
+/**
+ *
+ */
+package sim.graphics;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.util.List;
+
+import sim.exception.SConstructorException;
+import sim.util.SBufferedReader;
+import sim.util.SInitializationException;
+import sim.util.SKeyWordDecoder;
+import sim.util.SReadingException;
+import sim.util.SStringUtil;
+
+/**
+ * La classe <b>SCameraKeyframe</b> reprsente une <b>image cl</b> de la camra lors du rendu d'une squence d'images (animation).
+ * Une image cl est une camra complte associe  un numro d'image (<i>frame</i>). Les paramtres non dfinis prennent
+ * leur valeur par dfaut comme pour une camra.
+ * <p>La camra d'une image situe entre deux images cls est obtenue par interpolation linaire de leurs paramtres.</p>
+ *
+ * @author Simon Vzina
+ * @since 2026-10-17
+ * @version 2026-10-17
+ */
+public class SCameraKeyframe extends SCamera {
+
+  //--------------
+  // CONSTANTES //
+  //--------------
+
+  /**
+   * La constante <b>KEYWORD_PARAMETER</b> correspond  un tableau contenant l'ensemble des mots cls
+   *  utiliser reconnus lors de la dfinition de l'objet par une lecture en fichier.
+   */
+  private static final String[] KEYWORD_PARAMETER = { SKeyWordDecoder.KW_FRAME };
+
+  //-------------
+  // VARIABLES //
+  //-------------
+
+  /**
+   * La variable <b>frame</b> correspond au numro de l'image de la squence associe  l'image cl.
+   */
+  private int frame;
+
+  //-----------------
+  // CONSTRUCTEURS //
+  //-----------------
+
+  /**
+   * Constructeur d'une image cl de la camra  partir d'information lue dans un fichier de format txt.
+   *
+   * @param sbr - Le BufferedReader cherchant l'information dans le fichier txt.
+   * @throws IOException Si une erreur de l'objet SBufferedWriter est lance.
+   * @throws SConstructorException Si une erreur est survenue  la construction.
+   */
+  public SCameraKeyframe(SBufferedReader sbr) throws IOException, SConstructorException
+  {
+    super();
+
+    try{
+      read(sbr);
+    }catch(SInitializationException e){
+      throw new SConstructorException("Erreur SCameraKeyframe 001 : Une erreur  l'initialisation est survenue." + SStringUtil.END_LINE_CARACTER + "\t" + e.getMessage(), e);
+    }
+  }
+
+  //------------
+  // MTHODES //
+  //------------
+
+  /**
+   * Mthode pour obtenir le numro de l'image associe  l'image cl.
+   *
+   * @return Le numro de l'image.
+   */
+  public int getFrame()
+  {
+    return frame;
+  }
+
+  /**
+   * Mthode pour obtenir la camra d'une image de la squence  partir d'une liste d'images cls trie par numro d'image.
+   * Avant la premire image cl (et aprs la dernire), la camra de l'image cl la plus proche est utilise.
+   *
+   * @param camera - La camra  utiliser s'il n'y a pas d'image cl.
+   * @param keyframe_list - La liste des images cls trie par numro d'image.
+   * @param frame - Le numro de l'image.
+   * @return La camra de l'image.
+   * @throws SConstructorException Si la camra interpole n'est pas valide (ex. : vecteur haut nul).
+   */
+  public static SCamera interpolate(SCamera camera, List<SCameraKeyframe> keyframe_list, int frame) throws SConstructorException
+  {
+    SCameraKeyframe previous = null;
+    SCameraKeyframe next = null;
+
+    for(SCameraKeyframe k : keyframe_list)
+      if(k.frame <= frame)
+        previous = k;
+      else
+      {
+        next = k;
+        break;
+      }
+
+    if(previous == null && next == null)
+      return camera;
+
+    if(previous == null)
+      return next;
+
+    if(next == null)
+      return previous;
+
+    double t = (double)(frame - previous.frame) / (double)(next.frame - previous.frame);
+
+    return new SCamera(previous.getPosition().multiply(1.0 - t).add(next.getPosition().multiply(t)),
+                       previous.getLookAt().multiply(1.0 - t).add(next.getLookAt().multiply(t)),
+                       previous.getUp().multiply(1.0 - t).add(next.getUp().multiply(t)),
+                       (1.0 - t)*previous.getViewAngle() + t*next.getViewAngle(),
+                       (1.0 - t)*previous.getZNear() + t*next.getZNear(),
+                       (1.0 - t)*previous.getZFar() + t*next.getZFar());
+  }
+
+  @Override
+  public void write(BufferedWriter bw) throws IOException
+  {
+    bw.write(SKeyWordDecoder.KW_CAMERA_KEYFRAME);
+    bw.write(SStringUtil.END_LINE_CARACTER);
+
+    bw.write(SKeyWordDecoder.KW_FRAME);
+    bw.write("\t\t\t");
+    bw.write(Integer.toString(frame));
+    bw.write(SStringUtil.END_LINE_CARACTER);
+
+    //crire les paramtres hrits de la classe SCamera
+    writeSCameraParameter(bw);
+
+    bw.write(SKeyWordDecoder.KW_END);
+    bw.write(SStringUtil.END_LINE_CARACTER);
+    bw.write(SStringUtil.END_LINE_CARACTER);
+  }
+
+  @Override
+  protected boolean read(SBufferedReader sbr, int code, String remaining_line) throws SReadingException
+  {
+    if(super.read(sbr, code, remaining_line))
+      return true;
+
+    switch(code)
+    {
+      case SKeyWordDecoder.CODE_FRAME : frame = readIntEqualOrGreaterThanZero(remaining_line, SKeyWordDecoder.KW_FRAME); return true;
+
+      default : return false;
+    }
+  }
+
+  @Override
+  public String getReadableName()
+  {
+    return SKeyWordDecoder.KW_CAMERA_KEYFRAME;
+  }
+
+  @Override
+  public String[] getReadableParameterName()
+  {
+    String[] other_parameters = super.getReadableParameterName();
+
+    return SStringUtil.merge(other_parameters, KEYWORD_PARAMETER);
+  }
+
+}//fin de la classe SCameraKeyframe
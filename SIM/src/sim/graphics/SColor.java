@@ -22,7 +22,7 @@ import sim.util.SStringUtil;
  * @see java.io.BufferedWriter
  * @author Simon Vezina
  * @since 2014-12-18
- * @version 2016-01-18
+ * @version 2026-10-17
  */
 public class SColor implements SVector {
 
@@ -352,6 +352,57 @@ public class SColor implements SVector {
 		return new Color((float)nor_color.getRed(), (float)nor_color.getGreen(), (float)nor_color.getBlue());
 	}
 	
+	/**
+	 * Mthode qui retourne la reprsentation entire RGB [0..255] (format 0xRRGGBB) d'une couleur dfinie par ses canaux aprs sa normalisation
+	 * selon l'algorithme de normalisation en vigueur. Le rsultat correspond  <b>normalizeColor().getRGB()</b> sans le canal alpha, 
+	 * mais aucun objet n'est construit ce qui permet de convertir rapidement un tampon d'image complet.
+	 * 
+	 * @param red - Le canal rouge (positif).
+	 * @param green - Le canal vert (positif).
+	 * @param blue - Le canal bleu (positif).
+	 * @return La couleur normalise en format RGB.
+	 * @throws SRuntimeException Si l'algorithme de normalisation n'est pas reconnu par le systme.
+	 */
+	public static int normalizeRGB(float red, float green, float blue) throws SRuntimeException
+	{
+	  return normalizeRGB(red, green, blue, color_normalization);
+	}
+	
+	/**
+	 * Mthode qui retourne la reprsentation entire RGB [0..255] (format 0xRRGGBB) d'une couleur dfinie par ses canaux aprs sa normalisation
+	 * selon un algorithme de normalisation donn (indpendamment de l'algorithme en vigueur). 
+	 * 
+	 * @param red - Le canal rouge (positif).
+	 * @param green - Le canal vert (positif).
+	 * @param blue - Le canal bleu (positif).
+	 * @param normalization - Le code de l'algorithme de normalisation (voir COLOR_NORMALIZATION).
+	 * @return La couleur normalise en format RGB.
+	 * @throws SRuntimeException Si l'algorithme de normalisation n'est pas reconnu par le systme.
+	 */
+	public static int normalizeRGB(float red, float green, float blue, int normalization) throws SRuntimeException
+	{
+	  switch(normalization)
+	  {
+	    case CLAMP_CHANNEL_NORMALIZATION :
+	      red = Math.min(red, (float)CHANNEL_MAX_VALUE);
+	      green = Math.min(green, (float)CHANNEL_MAX_VALUE);
+	      blue = Math.min(blue, (float)CHANNEL_MAX_VALUE);
+	      break;
+	      
+	    case DIVISION_FACTOR_NORMALIZATION :
+	      float max = Math.max(1.0f, Math.max(red, Math.max(green, blue)));
+	      red = red / max;
+	      green = green / max;
+	      blue = blue / max;
+	      break;
+	      
+	    default : throw new SRuntimeException("Erreur SColor 010 : Le type de normalisation '" + normalization + "' n'est pas reconnu par le systme.");
+	  }
+	  
+	  // Mme conversion que la classe Color : arrondi du canal [0..1] vers [0..255]
+	  return ((int)(red*255 + 0.5) << 16) | ((int)(green*255 + 0.5) << 8) | (int)(blue*255 + 0.5);
+	}
+	
 	@Override
 	public String toString()
 	{
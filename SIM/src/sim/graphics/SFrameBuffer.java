@@ -0,0 +1,66 @@
+/**
+ *
+ */
+package sim.graphics;
+
+/**
+ * L'interface <b>SFrameBuffer</b> reprsente le tampon de nombres rels (<i>float</i>) contenant les canaux des pixels d'un viewport.
+ * Les indices sont de type <i>long</i> afin de permettre des images dont le nombre de canaux dpasse la capacit d'un tableau Java.
+ * <p>Les accs  des indices distincts peuvent tre raliss simultanment par plusieurs fils d'excution.</p>
+ *
+ * @author Simon Vzina
+ * @since 2026-10-17
+ * @version 2026-10-17
+ */
+public interface SFrameBuffer {
+
+  /**
+   * Mthode pour obtenir le nombre de canaux du tampon.
+   *
+   * @return Le nombre de canaux.
+   */
+  public long getLength();
+
+  /**
+   * Mthode pour obtenir la valeur d'un canal du tampon.
+   *
+   * @param index - L'indice du canal.
+   * @return La valeur du canal.
+   */
+  public float get(long index);
+
+  /**
+   * Mthode pour affecter la valeur d'un canal du tampon.
+   *
+   * @param index - L'indice du canal.
+   * @param value - La valeur du canal.
+   */
+  public void put(long index, float value);
+
+  /**
+   * Mthode pour copier une squence de canaux conscutifs du tampon dans un tableau.
+   *
+   * @param index - L'indice du premier canal du tampon.
+   * @param dst - Le tableau de destination.
+   * @param offset - L'indice du premier lment du tableau  crire.
+   * @param length - Le nombre de canaux  copier.
+   */
+  public void get(long index, float[] dst, int offset, int length);
+
+  /**
+   * Mthode pour copier un tableau dans une squence de canaux conscutifs du tampon.
+   *
+   * @param index - L'indice du premier canal du tampon.
+   * @param src - Le tableau source.
+   * @param offset - L'indice du premier lment du tableau  lire.
+   * @param length - Le nombre de canaux  copier.
+   */
+  public void put(long index, float[] src, int offset, int length);
+
+  /**
+   * Mthode pour librer les ressources du tampon (ex. : la projection en mmoire et le fichier de travail). 
+   * Le tampon ne doit plus tre utilis par la suite.
+   */
+  public void close();
+
+}//fin de l'interface SFrameBuffer
@@ -0,0 +1,375 @@
+/**
+ *
+ */
+package sim.graphics;
+
+import java.io.BufferedInputStream;
+import java.io.DataInputStream;
+import java.io.EOFException;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+
+import sim.exception.SRuntimeException;
+
+/**
+ * La classe <b>SHDRImage</b> reprsente une image  grande gamme dynamique (<i>HDR</i>) dont les canaux RGB linaires
+ * sont conservs en nombres rels. Elle permet de relire une image crite en format PFM ou Radiance HDR par la classe SImageWriter
+ * afin de lui appliquer un mappage de tons (voir SToneMapper) sans refaire le rendu.
+ * <p>Les canaux sont rangs ligne par ligne  partir du coin suprieur gauche de l'image.</p>
+ *
+ * @author Simon Vzina
+ * @since 2026-10-17
+ * @version 2026-10-17
+ */
+public class SHDRImage {
+
+  //--------------
+  // CONSTANTES //
+  //--------------
+
+  /**
+   * La constante <b>CHANNEL_PER_PIXEL</b> correspond au nombre de canaux (RGB) conservs pour chaque pixel.
+   */
+  public static final int CHANNEL_PER_PIXEL = 3;
+
+  //-------------
+  // VARIABLES //
+  //-------------
+
+  /**
+   * La variable <b>width</b> correspond  la largeur de l'image.
+   */
+  private final int width;
+
+  /**
+   * La variable <b>height</b> correspond  la hauteur de l'image.
+   */
+  private final int height;
+
+  /**
+   * La variable <b>rgb</b> correspond aux canaux RGB de l'image.
+   */
+  private final float[] rgb;
+
+  //----------------
+  // CONSTRUCTEUR //
+  //----------------
+
+  /**
+   * Constructeur d'une image HDR.
+   *
+   * @param width - La largeur de l'image.
+   * @param height - La hauteur de l'image.
+   * @param rgb - Les canaux RGB de l'image (de taille width*height*3).
+   * @throws SRuntimeException Si le tampon n'a pas la taille de l'image.
+   */
+  public SHDRImage(int width, int height, float[] rgb) throws SRuntimeException
+  {
+    if(rgb.length != (long)width * height * CHANNEL_PER_PIXEL)
+      throw new SRuntimeException("Erreur SHDRImage 001 : Le tampon de taille '" + rgb.length + "' n'a pas la taille d'une image " + width + "x" + height + ".");
+
+    this.width = width;
+    this.height = height;
+    this.rgb = rgb;
+  }
+
+  //------------
+  // MTHODES //
+  //------------
+
+  /**
+   * Mthode pour obtenir la largeur de l'image.
+   *
+   * @return La largeur.
+   */
+  public int getWidth()
+  {
+    return width;
+  }
+
+  /**
+   * Mthode pour obtenir la hauteur de l'image.
+   *
+   * @return La hauteur.
+   */
+  public int getHeight()
+  {
+    return height;
+  }
+
+  /**
+   * Mthode pour obtenir le tampon des canaux RGB de l'image.
+   *
+   * @return Le tampon des canaux (rang ligne par ligne).
+   */
+  public float[] getRGB()
+  {
+    return rgb;
+  }
+
+  /**
+   * Mthode pour lire une image HDR en format PFM (extension .pfm) ou Radiance HDR (extension .hdr).
+   *
+   * @param file_name - Le nom du fichier.
+   * @return L'image lue.
+   * @throws IOException Si le fichier ne peut pas tre lu.
+   * @throws SRuntimeException Si l'extension ou le contenu du fichier n'est pas reconnu.
+   */
+  public static SHDRImage read(String file_name) throws IOException, SRuntimeException
+  {
+    String name = file_name.toLowerCase();
+
+    DataInputStream in = new DataInputStream(new BufferedInputStream(new FileInputStream(file_name), 1 << 16));
+
+    try{
+      if(name.endsWith("." + SImageWriter.FORMAT_EXTENSION[SImageWriter.PFM]))
+        return readPFM(in, file_name);
+
+      if(name.endsWith("." + SImageWriter.FORMAT_EXTENSION[SImageWriter.HDR]))
+        return readHDR(in, file_name);
+
+      throw new SRuntimeException("Erreur SHDRImage 002 : Le fichier '" + file_name + "' n'est pas en format PFM ou HDR.");
+    }finally{
+      in.close();
+    }
+  }
+
+  /**
+   * Mthode pour lire une image en format PFM (couleur ou niveaux de gris).
+   *
+   * @param in - Le flux de lecture.
+   * @param file_name - Le nom du fichier (pour les messages d'erreur).
+   * @return L'image lue.
+   * @throws IOException Si le fichier ne peut pas tre lu.
+   * @throws SRuntimeException Si l'en-tte n'est pas valide.
+   */
+  private static SHDRImage readPFM(DataInputStream in, String file_name) throws IOException, SRuntimeException
+  {
+    String type = readToken(in);
+
+    int nb_channel;
+
+    if(type.equals("PF"))
+      nb_channel = 3;
+    else
+      if(type.equals("Pf"))
+        nb_channel = 1;
+      else
+        throw new SRuntimeException("Erreur SHDRImage 003 : Le fichier '" + file_name + "' n'est pas un fichier PFM valide.");
+
+    int width;
+    int height;
+    double scale;
+
+    try{
+      width = Integer.parseInt(readToken(in));
+      height = Integer.parseInt(readToken(in));
+      scale = Double.parseDouble(readToken(in));
+    }catch(NumberFormatException e){
+      throw new SRuntimeException("Erreur SHDRImage 004 : L'en-tte du fichier '" + file_name + "' n'est pas valide.", e);
+    }
+
+    // Le signe de l'chelle dtermine l'ordre des octets
+    ByteBuffer row = ByteBuffer.allocate(width * nb_channel * 4).order(scale < 0 ? ByteOrder.LITTLE_ENDIAN : ByteOrder.BIG_ENDIAN);
+
+    float[] rgb = new float[width * height * CHANNEL_PER_PIXEL];
+
+    // Les lignes sont ranges de bas en haut
+    for(int y = height-1; y >= 0; y--)
+    {
+      in.readFully(row.array());
+      row.clear();
+
+      for(int x = 0, k = y * width * CHANNEL_PER_PIXEL; x < width; x++, k += CHANNEL_PER_PIXEL)
+        if(nb_channel == 3)
+        {
+          rgb[k] = row.getFloat();
+          rgb[k+1] = row.getFloat();
+          rgb[k+2] = row.getFloat();
+        }
+        else
+          rgb[k] = rgb[k+1] = rgb[k+2] = row.getFloat();
+    }
+
+    return new SHDRImage(width, height, rgb);
+  }
+
+  /**
+   * Mthode pour lire une image en format Radiance HDR (RGBE), compresse par plages ou non.
+   * Seule l'orientation standard (-Y height +X width) est supporte.
+   *
+   * @param in - Le flux de lecture.
+   * @param file_name - Le nom du fichier (pour les messages d'erreur).
+   * @return L'image lue.
+   * @throws IOException Si le fichier ne peut pas tre lu.
+   * @throws SRuntimeException Si l'en-tte n'est pas valide.
+   */
+  private static SHDRImage readHDR(DataInputStream in, String file_name) throws IOException, SRuntimeException
+  {
+    String line = readLine(in);
+
+    if(!line.startsWith("#?"))
+      throw new SRuntimeException("Erreur SHDRImage 005 : Le fichier '" + file_name + "' n'est pas un fichier HDR valide.");
+
+    // Lignes de l'en-tte jusqu' la ligne vide
+    while(!(line = readLine(in)).isEmpty())
+      if(line.startsWith("FORMAT=") && !line.equals("FORMAT=32-bit_rle_rgbe"))
+        throw new SRuntimeException("Erreur SHDRImage 006 : Le format '" + line + "' du fichier '" + file_name + "' n'est pas support.");
+
+    String[] resolution = readLine(in).trim().split("\\s+");
+
+    if(resolution.length != 4 || !resolution[0].equals("-Y") || !resolution[2].equals("+X"))
+      throw new SRuntimeException("Erreur SHDRImage 007 : L'orientation de l'image du fichier '" + file_name + "' n'est pas supporte.");
+
+    int width;
+    int height;
+
+    try{
+      height = Integer.parseInt(resolution[1]);
+      width = Integer.parseInt(resolution[3]);
+    }catch(NumberFormatException e){
+      throw new SRuntimeException("Erreur SHDRImage 008 : La rsolution du fichier '" + file_name + "' n'est pas valide.", e);
+    }
+
+    float[] rgb = new float[width * height * CHANNEL_PER_PIXEL];
+    byte[] rgbe = new byte[width * 4];
+
+    for(int y = 0; y < height; y++)
+    {
+      readHDRScanline(in, rgbe, width, file_name);
+
+      for(int x = 0, k = y * width * CHANNEL_PER_PIXEL; x < width; x++, k += CHANNEL_PER_PIXEL)
+      {
+        int e = rgbe[4*x + 3] & 0xff;
+
+        if(e == 0)
+          rgb[k] = rgb[k+1] = rgb[k+2] = 0.0f;
+        else
+        {
+          float f = (float)Math.scalb(1.0, e - (128 + 8));
+
+          rgb[k] = ((rgbe[4*x] & 0xff) + 0.5f) * f;
+          rgb[k+1] = ((rgbe[4*x + 1] & 0xff) + 0.5f) * f;
+          rgb[k+2] = ((rgbe[4*x + 2] & 0xff) + 0.5f) * f;
+        }
+      }
+    }
+
+    return new SHDRImage(width, height, rgb);
+  }
+
+  /**
+   * Mthode pour lire une ligne RGBE d'un fichier HDR, compresse par plages ou non.
+   *
+   * @param in - Le flux de lecture.
+   * @param rgbe - Le tampon de taille width*4 qui contiendra la ligne.
+   * @param width - La largeur de l'image.
+   * @param file_name - Le nom du fichier (pour les messages d'erreur).
+   * @throws IOException Si le fichier ne peut pas tre lu.
+   * @throws SRuntimeException Si la compression de la ligne n'est pas valide.
+   */
+  private static void readHDRScanline(DataInputStream in, byte[] rgbe, int width, String file_name) throws IOException, SRuntimeException
+  {
+    if(width < SImageWriter.HDR_MIN_RLE_WIDTH || width >= SImageWriter.HDR_MAX_RLE_WIDTH)
+    {
+      in.readFully(rgbe);
+      return;
+    }
+
+    in.readFully(rgbe, 0, 4);
+
+    // Ligne non compresse (le premier pixel a dj t lu)
+    if(rgbe[0] != 2 || rgbe[1] != 2 || (rgbe[2] & 0x80) != 0)
+    {
+      in.readFully(rgbe, 4, rgbe.length - 4);
+      return;
+    }
+
+    if((((rgbe[2] & 0xff) << 8) | (rgbe[3] & 0xff)) != width)
+      throw new SRuntimeException("Erreur SHDRImage 009 : Une ligne compresse du fichier '" + file_name + "' n'a pas la largeur de l'image.");
+
+    for(int c = 0; c < 4; c++)
+    {
+      int x = 0;
+
+      while(x < width)
+      {
+        int count = in.readUnsignedByte();
+
+        if(count > 128)
+        {
+          count -= 128;
+
+          if(count > width - x)
+            throw new SRuntimeException("Erreur SHDRImage 010 : Une plage du fichier '" + file_name + "' dpasse la largeur de l'image.");
+
+          byte value = in.readByte();
+
+          for(int i = 0; i < count; i++)
+            rgbe[4*(x++) + c] = value;
+        }
+        else
+        {
+          if(count == 0 || count > width - x)
+            throw new SRuntimeException("Erreur SHDRImage 010 : Une plage du fichier '" + file_name + "' dpasse la largeur de l'image.");
+
+          for(int i = 0; i < count; i++)
+            rgbe[4*(x++) + c] = in.readByte();
+        }
+      }
+    }
+  }
+
+  /**
+   * Mthode pour lire un mot (spar par des espaces) de l'en-tte d'un fichier.
+   *
+   * @param in - Le flux de lecture.
+   * @return Le mot lu.
+   * @throws IOException Si la fin du fichier est atteinte.
+   */
+  private static String readToken(DataInputStream in) throws IOException
+  {
+    StringBuilder token = new StringBuilder();
+
+    int c = in.readUnsignedByte();
+
+    while(Character.isWhitespace(c))
+      c = in.readUnsignedByte();
+
+    // Le caractre d'espacement suivant le mot est consomm (un seul aprs le dernier mot de l'en-tte)
+    while(!Character.isWhitespace(c))
+    {
+      token.append((char)c);
+      c = in.readUnsignedByte();
+    }
+
+    return token.toString();
+  }
+
+  /**
+   * Mthode pour lire une ligne de l'en-tte d'un fichier.
+   *
+   * @param in - Le flux de lecture.
+   * @return La ligne lue (sans le caractre de fin de ligne).
+   * @throws IOException Si la fin du fichier est atteinte.
+   */
+  private static String readLine(DataInputStream in) throws IOException
+  {
+    StringBuilder line = new StringBuilder();
+
+    int c;
+
+    while((c = in.read()) != '\n')
+    {
+      if(c < 0)
+        throw new EOFException();
+
+      line.append((char)c);
+    }
+
+    return line.toString();
+  }
+
+}//fin de la classe SHDRImage
@@ -0,0 +1,526 @@
+/**
+ *
+ */
+package sim.graphics;
+
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.Adler32;
+import java.util.zip.Deflater;
+
+import sim.exception.SRuntimeException;
+import sim.util.SLog;
+import sim.util.SStringUtil;
+
+/**
+ * La classe <b>SImageEncoder</b> reprsente une tape d'criture d'images PNG <b>asynchrone</b> et <b>parallle</b>.
+ * L'criture d'une image se fait en deux temps :
+ * <ul>- Une copie RGB 8 bits du viewport est construite par bandes en parallle. Cette copie est la seule tape bloquante :
+ * le viewport peut tre effac et rutilis pour le rendu suivant ds le retour de la mthode <b>writePNG</b>.</ul>
+ * <ul>- En arrire-plan, chaque bande de STRIP_HEIGHT lignes est filtre et compresse indpendamment (<i>deflate</i> brut termin par
+ * un vidage synchronis) puis les flux compresss sont concatns dans l'ordre en un seul flux zlib dont la somme Adler-32 est
+ * obtenue en combinant celles des bandes.</ul>
+ * <p>L'image produite est identique pixel par pixel  celle de la classe SImageWriter. La compression est lgrement moins
+ * bonne puisque le dictionnaire de compression n'est pas partag entre les bandes.</p>
+ * <p>Les images sont crites dans leur ordre de soumission. La mthode <b>close</b> doit tre appele  la fin de l'application
+ * afin d'attendre l'criture des images en attente.</p>
+ *
+ * @author Simon Vzina
+ * @since 2026-10-17
+ * @version 2026-10-17
+ */
+public class SImageEncoder {
+
+  //--------------
+  // CONSTANTES //
+  //--------------
+
+  /**
+   * La constante <b>STRIP_HEIGHT</b> correspond au nombre de lignes d'une bande compresse indpendamment.
+   */
+  private static final int STRIP_HEIGHT = 64;
+
+  /**
+   * La constante <b>ZLIB_HEADER</b> correspond  l'en-tte d'un flux zlib (mthode <i>deflate</i>, fentre de 32 Ko, compression par dfaut).
+   */
+  private static final byte[] ZLIB_HEADER = { (byte)0x78, (byte)0x9C };
+
+  /**
+   * La constante <b>ADLER_BASE</b> correspond au module de la somme de contrle Adler-32.
+   */
+  private static final long ADLER_BASE = 65521;
+
+  /**
+   * La constante <b>BUFFER_LENGTH</b> correspond  la taille du tampon d'criture du fichier et du tampon de compression.
+   */
+  private static final int BUFFER_LENGTH = 1 << 16;
+
+  /**
+   * La constante <b>CLOSE_TIMEOUT</b> correspond au temps maximal d'attente (en secondes) de l'criture des images en attente lors de la fermeture.
+   */
+  private static final long CLOSE_TIMEOUT = 600;
+
+  //-------------
+  // VARIABLES //
+  //-------------
+
+  /**
+   * La variable <b>strip_executor</b> correspond aux fils d'excution convertissant et compressant les bandes.
+   */
+  private final ExecutorService strip_executor;
+
+  /**
+   * La variable <b>writer_executor</b> correspond au fil d'excution assemblant et crivant les fichiers (un seul afin de conserver l'ordre des images).
+   * Il est distinct des fils des bandes afin de ne jamais occuper un fil attendu par ses propres bandes.
+   */
+  private final ExecutorService writer_executor;
+
+  /**
+   * La variable <b>nb_thread</b> correspond au nombre de fils d'excution des bandes.
+   */
+  private final int nb_thread;
+
+  //----------------
+  // CONSTRUCTEUR //
+  //----------------
+
+  /**
+   * Constructeur d'une tape d'criture utilisant un fil d'excution par processeur pour les bandes.
+   */
+  public SImageEncoder()
+  {
+    this(Runtime.getRuntime().availableProcessors());
+  }
+
+  /**
+   * Constructeur d'une tape d'criture.
+   *
+   * @param nb_thread - Le nombre de fils d'excution des bandes (au moins 1).
+   */
+  public SImageEncoder(int nb_thread)
+  {
+    this.nb_thread = Math.max(1, nb_thread);
+
+    // Fils dmons : une criture en attente ne doit pas empcher la fin de l'application si close() n'est pas appele
+    ThreadFactory factory = new ThreadFactory(){
+
+      @Override
+      public Thread newThread(Runnable r)
+      {
+        Thread thread = new Thread(r, "SImageEncoder");
+        thread.setDaemon(true);
+        return thread;
+      }
+    };
+
+    this.strip_executor = Executors.newFixedThreadPool(this.nb_thread, factory);
+    this.writer_executor = Executors.newSingleThreadExecutor(factory);
+  }
+
+  //------------
+  // MTHODES //
+  //------------
+
+  /**
+   * Mthode pour crire le contenu d'un viewport dans un fichier PNG en arrire-plan.
+   * La mthode retourne ds que la copie RGB du viewport est termine.
+   *
+   * @param viewport - Le viewport.
+   * @param file_name - Le nom du fichier (incluant l'extension).
+   * @return Le rsultat de l'criture (une erreur d'criture est obtenue par la mthode <b>get</b>).
+   */
+  public Future<?> writePNG(SViewport viewport, final String file_name)
+  {
+    final int width = viewport.getWidth();
+    final int height = viewport.getHeight();
+
+    final int[] rgb = snapshot(viewport);
+
+    return writer_executor.submit(new Callable<Object>(){
+
+      @Override
+      public Object call() throws IOException
+      {
+        try{
+          encodePNG(rgb, width, height, file_name);
+        }catch(IOException e){
+          SLog.logWriteLine("Message SImageEncoder : Une erreur de type IOException est survenue lors de l'criture de l'image '" + file_name + "'." + SStringUtil.END_LINE_CARACTER + "\t" + e.getMessage());
+          throw e;
+        }
+
+        return null;
+      }
+    });
+  }
+
+  /**
+   * Mthode pour obtenir le rsultat d'une criture dj ralise (ex. : criture synchrone d'un format non pris en charge par cette classe).
+   *
+   * @return Un rsultat termin.
+   */
+  public static Future<?> done()
+  {
+    FutureTask<Object> task = new FutureTask<Object>(new Runnable(){
+
+      @Override
+      public void run()
+      {
+
+      }
+    }, null);
+
+    task.run();
+
+    return task;
+  }
+
+  /**
+   * Mthode pour attendre la fin de l'criture d'une image.
+   *
+   * @param future - Le rsultat de l'criture.
+   * @throws IOException Si une erreur est survenue lors de l'criture du fichier.
+   * @throws SRuntimeException Si l'attente a t interrompue ou si la conversion de l'image a chou.
+   */
+  public static void waitFor(Future<?> future) throws IOException, SRuntimeException
+  {
+    try{
+      future.get();
+    }catch(InterruptedException e){
+      Thread.currentThread().interrupt();
+      throw new SRuntimeException("Erreur SImageEncoder 003 : L'attente de l'criture de l'image a t interrompue.", e);
+    }catch(ExecutionException e){
+      if(e.getCause() instanceof IOException)
+        throw (IOException)e.getCause();
+
+      if(e.getCause() instanceof RuntimeException)
+        throw (RuntimeException)e.getCause();
+
+      throw new SRuntimeException("Erreur SImageEncoder 004 : L'criture de l'image a chou." + SStringUtil.END_LINE_CARACTER + "\t" + e.getCause().getMessage(), e.getCause());
+    }
+  }
+
+  /**
+   * Mthode pour attendre l'criture des images en attente et librer les fils d'excution.
+   */
+  public void close()
+  {
+    writer_executor.shutdown();
+
+    try{
+      if(!writer_executor.awaitTermination(CLOSE_TIMEOUT, TimeUnit.SECONDS))
+        SLog.logWriteLine("Message SImageEncoder : Des images n'ont pas t crites aprs " + CLOSE_TIMEOUT + " s.");
+    }catch(InterruptedException e){
+      Thread.currentThread().interrupt();
+    }
+
+    strip_executor.shutdownNow();
+  }
+
+  /**
+   * Mthode pour construire la copie RGB (format <i>int</i> 0xRRGGBB) d'un viewport par bandes en parallle.
+   *
+   * @param viewport - Le viewport.
+   * @return La copie RGB range ligne par ligne.
+   */
+  private int[] snapshot(final SViewport viewport)
+  {
+    // Seul un viewport conserv dans le heap est copi (son nombre de pixels ne dpasse pas la capacit d'un tableau)
+    final int[] rgb = new int[(int)viewport.getNbPixels()];
+    final int width = viewport.getWidth();
+    final int height = viewport.getHeight();
+
+    // Une bande par fil d'excution
+    int strip = (height + nb_thread - 1) / nb_thread;
+
+    List<Future<?>> list = new ArrayList<Future<?>>();
+
+    for(int y = 0; y < height; y += strip)
+    {
+      final int y_min = y;
+      final int y_max = Math.min(y + strip, height);
+
+      list.add(strip_executor.submit(new Runnable(){
+
+        @Override
+        public void run()
+        {
+          viewport.copyRGB(rgb, 0, y_min, width, y_max);
+        }
+      }));
+    }
+
+    waitAll(list);
+
+    return rgb;
+  }
+
+  /**
+   * Mthode pour compresser en parallle une copie RGB et l'crire dans un fichier PNG.
+   *
+   * @param rgb - La copie RGB range ligne par ligne.
+   * @param width - La largeur de l'image.
+   * @param height - La hauteur de l'image.
+   * @param file_name - Le nom du fichier.
+   * @throws IOException Si une erreur d'criture est survenue.
+   */
+  private void encodePNG(final int[] rgb, final int width, final int height, String file_name) throws IOException
+  {
+    List<Future<SStrip>> list = new ArrayList<Future<SStrip>>();
+
+    for(int y = 0; y < height; y += STRIP_HEIGHT)
+    {
+      final int y_min = y;
+      final int y_max = Math.min(y + STRIP_HEIGHT, height);
+
+      list.add(strip_executor.submit(new Callable<SStrip>(){
+
+        @Override
+        public SStrip call()
+        {
+          return compressStrip(rgb, width, height, y_min, y_max);
+        }
+      }));
+    }
+
+    OutputStream out = new BufferedOutputStream(new FileOutputStream(file_name), BUFFER_LENGTH);
+
+    try{
+      SImageWriter.writePNGHeader(out, width, height);
+
+      // Flux zlib : en-tte, bandes compresses dans l'ordre et somme Adler-32 des donnes filtres
+      SImageWriter.SChunkOutputStream idat = new SImageWriter.SChunkOutputStream(out, "IDAT");
+      idat.write(ZLIB_HEADER);
+
+      long adler = 1;
+
+      for(Future<SStrip> future : list)
+      {
+        SStrip strip = get(future);
+
+        strip.data.writeTo(idat);
+        adler = combineAdler32(adler, strip.adler, strip.length);
+      }
+
+      idat.write((int)(adler >>> 24));
+      idat.write((int)(adler >>> 16));
+      idat.write((int)(adler >>> 8));
+      idat.write((int)adler);
+      idat.flush();
+
+      SImageWriter.writeChunk(out, "IEND", new byte[0], 0);
+
+    }finally{
+      out.close();
+    }
+  }
+
+  /**
+   * Mthode pour filtrer et compresser une bande de lignes d'une copie RGB.
+   * Le flux compress est termin par un vidage synchronis (ou par un bloc final pour la dernire bande)
+   * afin de pouvoir tre concatn aux flux des autres bandes.
+   *
+   * @param rgb - La copie RGB range ligne par ligne.
+   * @param width - La largeur de l'image.
+   * @param height - La hauteur de l'image.
+   * @param y_min - La premire ligne de la bande (incluse).
+   * @param y_max - La dernire ligne de la bande (exclue).
+   * @return La bande compresse.
+   */
+  private static SStrip compressStrip(int[] rgb, int width, int height, int y_min, int y_max)
+  {
+    int row_length = width * 3;
+
+    // Les lignes courante et prcdente sont prcdes de 3 octets nuls (pixel virtuel  gauche du premier pixel)
+    byte[] current = new byte[row_length + 3];
+    byte[] previous = new byte[row_length + 3];
+    byte[] filtered = new byte[(row_length + 1) * (y_max - y_min)];
+    byte[] row = new byte[row_length + 1];
+
+    // La ligne prcdant la bande est ncessaire aux filtres Up et Paeth de sa premire ligne
+    if(y_min > 0)
+      readRow(rgb, width, y_min - 1, previous);
+
+    for(int y = y_min; y < y_max; y++)
+    {
+      readRow(rgb, width, y, current);
+
+      SImageWriter.filterRow(current, previous, row, row_length);
+      System.arraycopy(row, 0, filtered, (y - y_min) * row.length, row.length);
+
+      byte[] swap = previous;
+      previous = current;
+      current = swap;
+    }
+
+    Adler32 adler = new Adler32();
+    adler.update(filtered);
+
+    // Compression brute (sans en-tte zlib)
+    Deflater deflater = new Deflater(Deflater.DEFAULT_COMPRESSION, true);
+    deflater.setInput(filtered);
+
+    ByteArrayOutputStream data = new ByteArrayOutputStream(filtered.length / 2 + 64);
+    byte[] buffer = new byte[BUFFER_LENGTH];
+
+    if(y_max == height)
+    {
+      deflater.finish();
+
+      while(!deflater.finished())
+      {
+        int n = deflater.deflate(buffer);
+        data.write(buffer, 0, n);
+      }
+    }
+    else
+    {
+      // Le vidage est complet lorsque le tampon de sortie n'est pas rempli
+      int n;
+
+      do{
+        n = deflater.deflate(buffer, 0, buffer.length, Deflater.SYNC_FLUSH);
+        data.write(buffer, 0, n);
+      }while(n == buffer.length);
+    }
+
+    deflater.end();
+
+    return new SStrip(data, adler.getValue(), filtered.length);
+  }
+
+  /**
+   * Mthode pour convertir une ligne d'une copie RGB en octets RGB 8 bits.
+   *
+   * @param rgb - La copie RGB range ligne par ligne.
+   * @param width - La largeur de l'image.
+   * @param y - La coordonne y de la ligne.
+   * @param row - Le tampon qui contiendra les octets de la ligne  partir de l'indice 3.
+   */
+  private static void readRow(int[] rgb, int width, int y, byte[] row)
+  {
+    for(int i = y*width, k = 3; k < row.length; i++, k += 3)
+    {
+      int c = rgb[i];
+
+      row[k] = (byte)(c >> 16);
+      row[k+1] = (byte)(c >> 8);
+      row[k+2] = (byte)c;
+    }
+  }
+
+  /**
+   * Mthode pour combiner les sommes Adler-32 de deux suites d'octets conscutives (algorithme <i>adler32_combine</i> de zlib).
+   *
+   * @param adler1 - La somme de la premire suite.
+   * @param adler2 - La somme de la deuxime suite.
+   * @param length2 - La longueur de la deuxime suite.
+   * @return La somme de la concatnation des deux suites.
+   */
+  static long combineAdler32(long adler1, long adler2, long length2)
+  {
+    long remainder = length2 % ADLER_BASE;
+
+    long sum1 = adler1 & 0xffff;
+    long sum2 = (remainder * sum1) % ADLER_BASE;
+
+    sum1 += (adler2 & 0xffff) + ADLER_BASE - 1;
+    sum2 += ((adler1 >>> 16) & 0xffff) + ((adler2 >>> 16) & 0xffff) + ADLER_BASE - remainder;
+
+    if(sum1 >= ADLER_BASE)
+      sum1 -= ADLER_BASE;
+
+    if(sum1 >= ADLER_BASE)
+      sum1 -= ADLER_BASE;
+
+    if(sum2 >= (ADLER_BASE << 1))
+      sum2 -= (ADLER_BASE << 1);
+
+    if(sum2 >= ADLER_BASE)
+      sum2 -= ADLER_BASE;
+
+    return sum1 | (sum2 << 16);
+  }
+
+  /**
+   * Mthode pour attendre la fin d'une liste de tches.
+   *
+   * @param list - Les tches.
+   */
+  private static void waitAll(List<Future<?>> list)
+  {
+    for(Future<?> future : list)
+      get(future);
+  }
+
+  /**
+   * Mthode pour obtenir le rsultat d'une tche. Une erreur de la tche est relance.
+   *
+   * @param future - La tche.
+   * @return Le rsultat de la tche.
+   * @throws SRuntimeException Si la tche a chou ou si l'attente a t interrompue.
+   */
+  private static <T> T get(Future<T> future) throws SRuntimeException
+  {
+    try{
+      return future.get();
+    }catch(InterruptedException e){
+      Thread.currentThread().interrupt();
+      throw new SRuntimeException("Erreur SImageEncoder 001 : L'attente d'une bande de l'image a t interrompue.", e);
+    }catch(ExecutionException e){
+      if(e.getCause() instanceof RuntimeException)
+        throw (RuntimeException)e.getCause();
+
+      throw new SRuntimeException("Erreur SImageEncoder 002 : La conversion d'une bande de l'image a chou." + SStringUtil.END_LINE_CARACTER + "\t" + e.getCause().getMessage(), e.getCause());
+    }
+  }
+
+  /**
+   * La classe <b>SStrip</b> reprsente une bande compresse d'une image PNG.
+   */
+  private static class SStrip {
+
+    /**
+     * La variable <b>data</b> correspond au flux <i>deflate</i> brut de la bande.
+     */
+    private final ByteArrayOutputStream data;
+
+    /**
+     * La variable <b>adler</b> correspond  la somme Adler-32 des lignes filtres de la bande.
+     */
+    private final long adler;
+
+    /**
+     * La variable <b>length</b> correspond au nombre d'octets filtrs de la bande.
+     */
+    private final long length;
+
+    /**
+     * Constructeur d'une bande compresse.
+     *
+     * @param data - Le flux compress.
+     * @param adler - La somme Adler-32 des donnes filtres.
+     * @param length - Le nombre d'octets filtrs.
+     */
+    public SStrip(ByteArrayOutputStream data, long adler, long length)
+    {
+      this.data = data;
+      this.adler = adler;
+      this.length = length;
+    }
+
+  }//fin de la classe SStrip
+
+}//fin de la classe SImageEncoder
@@ -0,0 +1,612 @@
+/**
+ *
+ */
+package sim.graphics;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.zip.CRC32;
+import java.util.zip.Deflater;
+import java.util.zip.DeflaterOutputStream;
+
+import sim.exception.SRuntimeException;
+
+/**
+ * La classe <b>SImageWriter</b> permet d'crire le contenu d'un viewport dans un fichier image <b>ligne par ligne</b>.
+ * Seule une ligne de l'image est conserve en mmoire lors de l'criture, ce qui permet d'crire une image dont le tampon est projet en mmoire
+ * (voir SMappedFrameBuffer) sans jamais la copier entirement dans le <i>heap</i>.
+ *
+ * <p>Formats supports :
+ * <ul>- PNG : RGB 8 bits compress de faon incrmentale (<i>deflate</i>) avec un filtre adaptatif par ligne.</ul>
+ * <ul>- PPM : RGB 8 bits non compress (format binaire P6).</ul>
+ * <ul>- PFM : RGB en nombres rels 32 bits non normaliss (<i>Portable Float Map</i>).</ul>
+ * <ul>- HDR : RGB non normalis en format RGBE de Radiance (mantisses 8 bits et exposant commun) compress par plages (<i>RLE</i>).</ul>
+ * </p>
+ * <p>Les formats PFM et HDR conservent les valeurs linaires des canaux (image  grande gamme dynamique) et peuvent tre
+ * convertis ultrieurement en image 8 bits par la classe SToneMapper sans refaire le rendu.</p>
+ * <p>Les formats 8 bits utilisent la normalisation des couleurs de la classe SColor (comme la mthode getBufferedImage du viewport).</p>
+ *
+ * @author Simon Vzina
+ * @since 2026-10-17
+ * @version 2026-10-17
+ */
+public class SImageWriter {
+
+  //--------------
+  // CONSTANTES //
+  //--------------
+
+  /**
+   * La constante <b>PNG</b> correspond au code du format PNG.
+   */
+  public static final int PNG = 0;
+
+  /**
+   * La constante <b>PPM</b> correspond au code du format PPM.
+   */
+  public static final int PPM = 1;
+
+  /**
+   * La constante <b>PFM</b> correspond au code du format PFM.
+   */
+  public static final int PFM = 2;
+
+  /**
+   * La constante <b>HDR</b> correspond au code du format Radiance HDR (RGBE).
+   */
+  public static final int HDR = 3;
+
+  /**
+   * La constante <b>FORMAT_EXTENSION</b> correspond aux extensions de fichier des formats (indexes par le code du format).
+   */
+  public static final String[] FORMAT_EXTENSION = { "png", "ppm", "pfm", "hdr" };
+
+  /**
+   * La constante <b>HDR_MIN_RLE_WIDTH</b> correspond  la largeur minimale d'une ligne compresse par plages en format HDR.
+   */
+  static final int HDR_MIN_RLE_WIDTH = 8;
+
+  /**
+   * La constante <b>HDR_MAX_RLE_WIDTH</b> correspond  la largeur maximale (exclue) d'une ligne compresse par plages en format HDR.
+   */
+  static final int HDR_MAX_RLE_WIDTH = 0x8000;
+
+  /**
+   * La constante <b>PNG_SIGNATURE</b> correspond  la signature d'un fichier PNG.
+   */
+  private static final byte[] PNG_SIGNATURE = { (byte)137, 80, 78, 71, 13, 10, 26, 10 };
+
+  /**
+   * La constante <b>IDAT_LENGTH</b> correspond  la taille maximale (en octets) d'un bloc de donnes IDAT d'un fichier PNG.
+   */
+  private static final int IDAT_LENGTH = 1 << 16;
+
+  /**
+   * La constante <b>BUFFER_LENGTH</b> correspond  la taille du tampon d'criture du fichier.
+   */
+  private static final int BUFFER_LENGTH = 1 << 16;
+
+  //----------------
+  // CONSTRUCTEUR //
+  //----------------
+
+  /**
+   * Constructeur priv : la classe ne contient que des mthodes statiques.
+   */
+  private SImageWriter()
+  {
+
+  }
+
+  //------------
+  // MTHODES //
+  //------------
+
+  /**
+   * Mthode pour crire le contenu d'un viewport dans un fichier image.
+   *
+   * @param viewport - Le viewport.
+   * @param file_name - Le nom du fichier (incluant l'extension).
+   * @param format - Le code du format (PNG, PPM, PFM ou HDR).
+   * @throws IOException Si une erreur est survenue lors de l'criture du fichier.
+   * @throws SRuntimeException Si le format n'est pas reconnu.
+   */
+  public static void write(SViewport viewport, String file_name, int format) throws IOException, SRuntimeException
+  {
+    OutputStream out = new BufferedOutputStream(new FileOutputStream(file_name), BUFFER_LENGTH);
+
+    try{
+      switch(format)
+      {
+        case PNG : writePNG(viewport, out); break;
+
+        case PPM : writePPM(viewport, out); break;
+
+        case PFM : writePFM(viewport, out); break;
+
+        case HDR : writeHDR(viewport, out); break;
+
+        default : throw new SRuntimeException("Erreur SImageWriter 001 : Le format d'image de code '" + format + "' n'est pas reconnu.");
+      }
+    }finally{
+      out.close();
+    }
+  }
+
+  /**
+   * Mthode pour convertir une ligne du viewport en octets RGB 8 bits.
+   *
+   * @param viewport - Le viewport.
+   * @param y - La coordonne y de la ligne.
+   * @param channels - Le tampon des canaux RGBA de la ligne.
+   * @param rgb - Le tampon de taille 3*width qui contiendra les octets RGB de la ligne.
+   * @param offset - L'indice du premier octet  crire dans le tampon RGB.
+   */
+  private static void readRGBRow(SViewport viewport, int y, float[] channels, byte[] rgb, int offset)
+  {
+    viewport.getRegion(channels, 0, y, viewport.getWidth(), y+1);
+
+    for(int k = 0, i = offset; k < channels.length; k += SViewport.getChannelPerPixel(), i += 3)
+    {
+      int c = SColor.normalizeRGB(channels[k], channels[k+1], channels[k+2]);
+
+      rgb[i] = (byte)(c >> 16);
+      rgb[i+1] = (byte)(c >> 8);
+      rgb[i+2] = (byte)c;
+    }
+  }
+
+  /**
+   * Mthode pour crire le viewport en format PPM (P6).
+   *
+   * @param viewport - Le viewport.
+   * @param out - Le flux d'criture.
+   * @throws IOException Si une erreur d'criture est survenue.
+   */
+  private static void writePPM(SViewport viewport, OutputStream out) throws IOException
+  {
+    int width = viewport.getWidth();
+    int height = viewport.getHeight();
+
+    out.write(("P6\n" + width + " " + height + "\n255\n").getBytes("US-ASCII"));
+
+    float[] channels = new float[width * SViewport.getChannelPerPixel()];
+    byte[] rgb = new byte[width * 3];
+
+    for(int y = 0; y < height; y++)
+    {
+      readRGBRow(viewport, y, channels, rgb, 0);
+      out.write(rgb);
+    }
+  }
+
+  /**
+   * Mthode pour crire le viewport en format PFM. Les valeurs des canaux ne sont pas normalises (image  grande gamme dynamique).
+   * Les lignes d'un fichier PFM sont ranges de bas en haut.
+   *
+   * @param viewport - Le viewport.
+   * @param out - Le flux d'criture.
+   * @throws IOException Si une erreur d'criture est survenue.
+   */
+  private static void writePFM(SViewport viewport, OutputStream out) throws IOException
+  {
+    int width = viewport.getWidth();
+    int height = viewport.getHeight();
+
+    // Une chelle ngative indique des valeurs en ordre little-endian
+    out.write(("PF\n" + width + " " + height + "\n-1.0\n").getBytes("US-ASCII"));
+
+    float[] channels = new float[width * SViewport.getChannelPerPixel()];
+    ByteBuffer row = ByteBuffer.allocate(width * 3 * 4).order(ByteOrder.LITTLE_ENDIAN);
+
+    for(int y = height-1; y >= 0; y--)
+    {
+      viewport.getRegion(channels, 0, y, width, y+1);
+
+      row.clear();
+
+      for(int k = 0; k < channels.length; k += SViewport.getChannelPerPixel())
+      {
+        row.putFloat(channels[k]);
+        row.putFloat(channels[k+1]);
+        row.putFloat(channels[k+2]);
+      }
+
+      out.write(row.array());
+    }
+  }
+
+  /**
+   * Mthode pour crire le viewport en format Radiance HDR. Les valeurs des canaux ne sont pas normalises (image  grande gamme dynamique).
+   * Chaque ligne est compresse par plages lorsque sa largeur le permet.
+   *
+   * @param viewport - Le viewport.
+   * @param out - Le flux d'criture.
+   * @throws IOException Si une erreur d'criture est survenue.
+   */
+  private static void writeHDR(SViewport viewport, OutputStream out) throws IOException
+  {
+    int width = viewport.getWidth();
+    int height = viewport.getHeight();
+
+    out.write(("#?RADIANCE\nFORMAT=32-bit_rle_rgbe\n\n-Y " + height + " +X " + width + "\n").getBytes("US-ASCII"));
+
+    float[] channels = new float[width * SViewport.getChannelPerPixel()];
+    byte[] rgbe = new byte[width * 4];
+    byte[] component = new byte[width];
+
+    for(int y = 0; y < height; y++)
+    {
+      viewport.getRegion(channels, 0, y, width, y+1);
+
+      for(int k = 0, i = 0; k < channels.length; k += SViewport.getChannelPerPixel(), i += 4)
+        encodeRGBE(channels[k], channels[k+1], channels[k+2], rgbe, i);
+
+      if(width < HDR_MIN_RLE_WIDTH || width >= HDR_MAX_RLE_WIDTH)
+      {
+        out.write(rgbe);
+        continue;
+      }
+
+      // Ligne compresse : marqueur, puis chacune des 4 composantes compresse sparment
+      out.write(2);
+      out.write(2);
+      out.write(width >> 8);
+      out.write(width & 0xff);
+
+      for(int c = 0; c < 4; c++)
+      {
+        for(int i = 0; i < width; i++)
+          component[i] = rgbe[4*i + c];
+
+        writeRLE(out, component);
+      }
+    }
+  }
+
+  /**
+   * Mthode pour encoder une couleur linaire en format RGBE (mantisses 8 bits et exposant commun).
+   *
+   * @param r - Le canal rouge.
+   * @param g - Le canal vert.
+   * @param b - Le canal bleu.
+   * @param rgbe - Le tampon de destination.
+   * @param offset - L'indice du premier octet  crire.
+   */
+  static void encodeRGBE(float r, float g, float b, byte[] rgbe, int offset)
+  {
+    double v = Math.max(r, Math.max(g, b));
+
+    if(v < 1e-32)
+    {
+      rgbe[offset] = rgbe[offset+1] = rgbe[offset+2] = rgbe[offset+3] = 0;
+      return;
+    }
+
+    // v = m * 2^e avec m dans [0.5, 1[
+    int e = Math.getExponent(v) + 1;
+    double scale = Math.scalb(256.0, -e);
+
+    rgbe[offset] = (byte)(int)(Math.max(r, 0.0f) * scale);
+    rgbe[offset+1] = (byte)(int)(Math.max(g, 0.0f) * scale);
+    rgbe[offset+2] = (byte)(int)(Math.max(b, 0.0f) * scale);
+    rgbe[offset+3] = (byte)(e + 128);
+  }
+
+  /**
+   * Mthode pour crire une composante d'une ligne RGBE compresse par plages. Une plage de valeurs identiques est crite
+   * sous la forme (128 + longueur, valeur) et une squence de valeurs distinctes sous la forme (longueur, valeurs).
+   *
+   * @param out - Le flux d'criture.
+   * @param data - Les octets de la composante.
+   * @throws IOException Si une erreur d'criture est survenue.
+   */
+  private static void writeRLE(OutputStream out, byte[] data) throws IOException
+  {
+    final int min_run = 4;
+    int n = data.length;
+    int current = 0;
+
+    while(current < n)
+    {
+      // Trouver la prochaine plage d'au moins min_run valeurs identiques
+      int begin_run = current;
+      int run_count = 0;
+      int old_run_count = 0;
+
+      while(run_count < min_run && begin_run < n)
+      {
+        begin_run += run_count;
+        old_run_count = run_count;
+        run_count = 1;
+
+        while(begin_run + run_count < n && run_count < 127 && data[begin_run] == data[begin_run + run_count])
+          run_count++;
+      }
+
+      // Une courte plage prcdant immdiatement la plage trouve est crite comme une plage
+      if(old_run_count > 1 && old_run_count == begin_run - current)
+      {
+        out.write(128 + old_run_count);
+        out.write(data[current]);
+        current = begin_run;
+      }
+
+      // Valeurs distinctes prcdant la plage
+      while(current < begin_run)
+      {
+        int nb = Math.min(128, begin_run - current);
+
+        out.write(nb);
+        out.write(data, current, nb);
+        current += nb;
+      }
+
+      if(run_count >= min_run)
+      {
+        out.write(128 + run_count);
+        out.write(data[begin_run]);
+        current += run_count;
+      }
+    }
+  }
+
+  /**
+   * Mthode pour crire le viewport en format PNG (RGB 8 bits). Les lignes sont filtres puis compresses au fur et  mesure de leur lecture.
+   *
+   * @param viewport - Le viewport.
+   * @param out - Le flux d'criture.
+   * @throws IOException Si une erreur d'criture est survenue.
+   */
+  private static void writePNG(SViewport viewport, OutputStream out) throws IOException
+  {
+    int width = viewport.getWidth();
+    int height = viewport.getHeight();
+
+    writePNGHeader(out, width, height);
+
+    // Donnes IDAT compresses de faon incrmentale
+    Deflater deflater = new Deflater(Deflater.DEFAULT_COMPRESSION);
+    DeflaterOutputStream idat = new DeflaterOutputStream(new SChunkOutputStream(out, "IDAT"), deflater, BUFFER_LENGTH);
+
+    int row_length = width * 3;
+    float[] channels = new float[width * SViewport.getChannelPerPixel()];
+
+    // Les lignes courante et prcdente sont prcdes de 3 octets nuls (pixel virtuel  gauche du premier pixel)
+    byte[] current = new byte[row_length + 3];
+    byte[] previous = new byte[row_length + 3];
+    byte[] filtered = new byte[row_length + 1];
+
+    for(int y = 0; y < height; y++)
+    {
+      readRGBRow(viewport, y, channels, current, 3);
+
+      filterRow(current, previous, filtered, row_length);
+      idat.write(filtered);
+
+      byte[] swap = previous;
+      previous = current;
+      current = swap;
+    }
+
+    idat.finish();
+    idat.flush();
+    deflater.end();
+
+    writeChunk(out, "IEND", new byte[0], 0);
+  }
+
+  /**
+   * Mthode pour crire la signature et l'en-tte IHDR d'un fichier PNG RGB 8 bits.
+   *
+   * @param out - Le flux d'criture.
+   * @param width - La largeur de l'image.
+   * @param height - La hauteur de l'image.
+   * @throws IOException Si une erreur d'criture est survenue.
+   */
+  static void writePNGHeader(OutputStream out, int width, int height) throws IOException
+  {
+    out.write(PNG_SIGNATURE);
+
+    // En-tte IHDR : dimensions, profondeur de 8 bits, type de couleur 2 (RGB), compression, filtre et entrelacement standards
+    ByteBuffer header = ByteBuffer.allocate(13);
+    header.putInt(width);
+    header.putInt(height);
+    header.put((byte)8);
+    header.put((byte)2);
+    header.put((byte)0);
+    header.put((byte)0);
+    header.put((byte)0);
+
+    writeChunk(out, "IHDR", header.array(), header.position());
+  }
+
+  /**
+   * Mthode pour filtrer une ligne d'une image PNG. Le filtre (None, Sub, Up ou Paeth) minimisant la somme des valeurs absolues
+   * des octets filtrs est retenu (heuristique recommande par la spcification PNG).
+   *
+   * @param current - La ligne courante prcde de 3 octets nuls.
+   * @param previous - La ligne prcdente prcde de 3 octets nuls (nulle pour la premire ligne).
+   * @param filtered - Le tampon de taille row_length+1 qui contiendra le type de filtre suivi de la ligne filtre.
+   * @param row_length - Le nombre d'octets de la ligne.
+   */
+  static void filterRow(byte[] current, byte[] previous, byte[] filtered, int row_length)
+  {
+    long[] score = new long[5];
+
+    for(int i = 3; i < row_length + 3; i++)
+    {
+      int x = current[i] & 0xff;
+      int a = current[i-3] & 0xff;
+      int b = previous[i] & 0xff;
+      int c = previous[i-3] & 0xff;
+
+      score[0] += Math.abs((byte)x);
+      score[1] += Math.abs((byte)(x - a));
+      score[2] += Math.abs((byte)(x - b));
+      score[4] += Math.abs((byte)(x - paeth(a, b, c)));
+    }
+
+    // Le filtre Average (3) n'est pas considr
+    score[3] = Long.MAX_VALUE;
+
+    int type = 0;
+
+    for(int t = 1; t < score.length; t++)
+      if(score[t] < score[type])
+        type = t;
+
+    filtered[0] = (byte)type;
+
+    for(int i = 3; i < row_length + 3; i++)
+    {
+      int x = current[i] & 0xff;
+
+      switch(type)
+      {
+        case 1 : x -= current[i-3] & 0xff; break;
+
+        case 2 : x -= previous[i] & 0xff; break;
+
+        case 4 : x -= paeth(current[i-3] & 0xff, previous[i] & 0xff, previous[i-3] & 0xff); break;
+
+        default : break;
+      }
+
+      filtered[i-2] = (byte)x;
+    }
+  }
+
+  /**
+   * Mthode pour valuer le prdicteur de Paeth d'un octet d'une image PNG.
+   *
+   * @param a - L'octet  gauche.
+   * @param b - L'octet au-dessus.
+   * @param c - L'octet au-dessus  gauche.
+   * @return La prdiction.
+   */
+  private static int paeth(int a, int b, int c)
+  {
+    int p = a + b - c;
+    int pa = Math.abs(p - a);
+    int pb = Math.abs(p - b);
+    int pc = Math.abs(p - c);
+
+    if(pa <= pb && pa <= pc)
+      return a;
+
+    if(pb <= pc)
+      return b;
+
+    return c;
+  }
+
+  /**
+   * Mthode pour crire un bloc (<i>chunk</i>) d'un fichier PNG : taille, type, donnes et CRC.
+   *
+   * @param out - Le flux d'criture.
+   * @param type - Le type du bloc (4 caractres).
+   * @param data - Les donnes du bloc.
+   * @param length - Le nombre d'octets de donnes.
+   * @throws IOException Si une erreur d'criture est survenue.
+   */
+  static void writeChunk(OutputStream out, String type, byte[] data, int length) throws IOException
+  {
+    byte[] type_bytes = type.getBytes("US-ASCII");
+
+    CRC32 crc = new CRC32();
+    crc.update(type_bytes);
+    crc.update(data, 0, length);
+
+    DataOutputStream dos = new DataOutputStream(out);
+    dos.writeInt(length);
+    dos.write(type_bytes);
+    dos.write(data, 0, length);
+    dos.writeInt((int)crc.getValue());
+    dos.flush();
+  }
+
+  /**
+   * La classe <b>SChunkOutputStream</b> reprsente un flux dcoupant les donnes reues en blocs PNG d'un mme type
+   * d'au plus IDAT_LENGTH octets.
+   */
+  static class SChunkOutputStream extends OutputStream {
+
+    /**
+     * La variable <b>out</b> correspond au flux du fichier PNG.
+     */
+    private final OutputStream out;
+
+    /**
+     * La variable <b>type</b> correspond au type des blocs crits.
+     */
+    private final String type;
+
+    /**
+     * La variable <b>buffer</b> correspond aux donnes du bloc en cours.
+     */
+    private final byte[] buffer;
+
+    /**
+     * La variable <b>count</b> correspond au nombre d'octets du bloc en cours.
+     */
+    private int count;
+
+    /**
+     * Constructeur d'un flux de blocs PNG.
+     *
+     * @param out - Le flux du fichier PNG.
+     * @param type - Le type des blocs.
+     */
+    public SChunkOutputStream(OutputStream out, String type)
+    {
+      this.out = out;
+      this.type = type;
+      this.buffer = new byte[IDAT_LENGTH];
+      this.count = 0;
+    }
+
+    @Override
+    public void write(int b) throws IOException
+    {
+      if(count == buffer.length)
+        flush();
+
+      buffer[count++] = (byte)b;
+    }
+
+    @Override
+    public void write(byte[] b, int off, int len) throws IOException
+    {
+      while(len > 0)
+      {
+        if(count == buffer.length)
+          flush();
+
+        int n = Math.min(len, buffer.length - count);
+        System.arraycopy(b, off, buffer, count, n);
+
+        count += n;
+        off += n;
+        len -= n;
+      }
+    }
+
+    @Override
+    public void flush() throws IOException
+    {
+      if(count > 0)
+      {
+        writeChunk(out, type, buffer, count);
+        count = 0;
+      }
+    }
+
+  }//fin de la classe SChunkOutputStream
+
+}//fin de la classe SImageWriter
@@ -0,0 +1,260 @@
+/**
+ *
+ */
+package sim.graphics;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.FloatBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+
+import sim.exception.SConstructorException;
+import sim.util.SLog;
+import sim.util.SStringUtil;
+
+/**
+ * La classe <b>SMappedFrameBuffer</b> reprsente un tampon de viewport projet en mmoire (<i>memory-mapped file</i>)  l'extrieur du <i>heap</i>.
+ * Le systme d'exploitation charge et dcharge les pages du fichier selon les accs, ce qui permet des images dont la taille dpasse
+ * la mmoire alloue  la machine virtuelle.
+ * <p>Une projection tant limite  2 Go, le fichier est projet en plusieurs segments de CHUNK_LENGTH canaux.
+ * Le nombre de canaux d'un segment tant un multiple de 4, les canaux RGBA d'un pixel sont toujours dans le mme segment.</p>
+ * <p>Le fichier est un fichier de travail : les projections sont libres et le fichier est supprim par la mthode <b>close</b>
+ * (ou  la fin de l'excution de l'application si le tampon n'est pas ferm).</p>
+ *
+ * @author Simon Vzina
+ * @since 2026-10-17
+ * @version 2026-10-17
+ */
+public class SMappedFrameBuffer implements SFrameBuffer {
+
+  //--------------
+  // CONSTANTES //
+  //--------------
+
+  /**
+   * La constante <b>CHUNK_SHIFT</b> correspond au logarithme en base 2 du nombre de canaux d'un segment (2^28 canaux, soit 1 Go).
+   */
+  private static final int CHUNK_SHIFT = 28;
+
+  /**
+   * La constante <b>CHUNK_LENGTH</b> correspond au nombre de canaux d'un segment projet.
+   */
+  private static final long CHUNK_LENGTH = 1L << CHUNK_SHIFT;
+
+  /**
+   * La constante <b>CHUNK_MASK</b> correspond au masque de l'indice d'un canal dans son segment.
+   */
+  private static final long CHUNK_MASK = CHUNK_LENGTH - 1;
+
+  //-------------
+  // VARIABLES //
+  //-------------
+
+  /**
+   * La variable <b>length</b> correspond au nombre de canaux du tampon.
+   */
+  private final long length;
+
+  /**
+   * La variable <b>file</b> correspond au fichier de travail.
+   */
+  private final File file;
+
+  /**
+   * La variable <b>mappings</b> correspond aux projections des segments du fichier (libres  la fermeture du tampon).
+   */
+  private final MappedByteBuffer[] mappings;
+
+  /**
+   * La variable <b>chunks</b> correspond aux segments projets du fichier (vus comme des tampons de nombres rels).
+   * Les segments sont retirs  la fermeture du tampon afin qu'un accs ultrieur ne lise pas une projection libre.
+   */
+  private final FloatBuffer[] chunks;
+
+  /**
+   * La variable <b>closed</b> dtermine si le tampon a t ferm.
+   */
+  private boolean closed;
+
+  //----------------
+  // CONSTRUCTEUR //
+  //----------------
+
+  /**
+   * Constructeur d'un tampon projet dans un fichier. Le fichier est cr (ou remplac) avec la taille du tampon
+   * et ses canaux sont initialiss  zro.
+   *
+   * @param file_name - Le nom du fichier de travail.
+   * @param length - Le nombre de canaux.
+   * @throws SConstructorException Si le fichier ne peut pas tre cr ou projet en mmoire.
+   */
+  public SMappedFrameBuffer(String file_name, long length) throws SConstructorException
+  {
+    if(length < 0)
+      throw new SConstructorException("Erreur SMappedFrameBuffer 001 : Le nombre de canaux '" + length + "' ne peut pas tre ngatif.");
+
+    this.length = length;
+    this.mappings = new MappedByteBuffer[(int)((length + CHUNK_LENGTH - 1) >>> CHUNK_SHIFT)];
+    this.chunks = new FloatBuffer[mappings.length];
+    this.closed = false;
+
+    file = new File(file_name);
+    file.deleteOnExit();
+
+    try{
+
+      RandomAccessFile raf = new RandomAccessFile(file, "rw");
+
+      try{
+        // Un fichier agrandi est rempli de zros (sans criture explicite sur la plupart des systmes de fichiers)
+        raf.setLength(0);
+        raf.setLength(length * 4);
+
+        FileChannel channel = raf.getChannel();
+
+        for(int i = 0; i < chunks.length; i++)
+        {
+          long begin = i * CHUNK_LENGTH;
+          long size = Math.min(CHUNK_LENGTH, length - begin);
+
+          mappings[i] = channel.map(FileChannel.MapMode.READ_WRITE, begin * 4, size * 4);
+          chunks[i] = mappings[i].duplicate().order(ByteOrder.nativeOrder()).asFloatBuffer();
+        }
+
+      }finally{
+        // La projection demeure valide aprs la fermeture du fichier
+        raf.close();
+      }
+
+    }catch(IOException e){
+      throw new SConstructorException("Erreur SMappedFrameBuffer 002 : Le fichier '" + file_name + "' n'a pas pu tre projet en mmoire." + SStringUtil.END_LINE_CARACTER + "\t" + e.getMessage(), e);
+    }
+  }
+
+  //------------
+  // MTHODES //
+  //------------
+
+  @Override
+  public long getLength()
+  {
+    return length;
+  }
+
+  @Override
+  public float get(long index)
+  {
+    return chunks[(int)(index >>> CHUNK_SHIFT)].get((int)(index & CHUNK_MASK));
+  }
+
+  @Override
+  public void put(long index, float value)
+  {
+    chunks[(int)(index >>> CHUNK_SHIFT)].put((int)(index & CHUNK_MASK), value);
+  }
+
+  @Override
+  public void get(long index, float[] dst, int offset, int length)
+  {
+    while(length > 0)
+    {
+      int position = (int)(index & CHUNK_MASK);
+      int n = (int)Math.min(length, CHUNK_LENGTH - position);
+
+      // Une vue est utilise puisque la position d'un tampon NIO est partage entre les fils d'excution
+      FloatBuffer view = chunks[(int)(index >>> CHUNK_SHIFT)].duplicate();
+      view.position(position);
+      view.get(dst, offset, n);
+
+      index += n;
+      offset += n;
+      length -= n;
+    }
+  }
+
+  @Override
+  public void put(long index, float[] src, int offset, int length)
+  {
+    while(length > 0)
+    {
+      int position = (int)(index & CHUNK_MASK);
+      int n = (int)Math.min(length, CHUNK_LENGTH - position);
+
+      FloatBuffer view = chunks[(int)(index >>> CHUNK_SHIFT)].duplicate();
+      view.position(position);
+      view.put(src, offset, n);
+
+      index += n;
+      offset += n;
+      length -= n;
+    }
+  }
+
+  /**
+   * Mthode pour librer les projections en mmoire et supprimer le fichier de travail.
+   * Sans cette libration explicite, une projection n'est libre que lorsque le ramasse-miettes rcupre son tampon 
+   * (et le fichier ne peut pas tre supprim sur certains systmes tant qu'il est projet).
+   */
+  @Override
+  public synchronized void close()
+  {
+    if(closed)
+      return;
+
+    closed = true;
+
+    for(int i = 0; i < mappings.length; i++)
+    {
+      chunks[i] = null;
+      unmap(mappings[i]);
+      mappings[i] = null;
+    }
+
+    try{
+      Files.deleteIfExists(file.toPath());
+    }catch(IOException e){
+      SLog.logWriteLine("Message SMappedFrameBuffer : Le fichier de travail '" + file + "' n'a pas pu tre supprim (il le sera  la fin de l'excution)." + SStringUtil.END_LINE_CARACTER + "\t" + e.getMessage());
+    }
+  }
+
+  /**
+   * Mthode pour librer immdiatement la projection d'un segment. L'API publique ne le permettant pas, le <i>cleaner</i> du tampon
+   * est invoqu par rflexion (sun.misc.Unsafe.invokeCleaner  partir de Java 9 et DirectByteBuffer.cleaner() pour Java 8).
+   * Si aucune de ces mthodes n'est disponible, la projection sera libre par le ramasse-miettes.
+   *
+   * @param buffer - La projection du segment.
+   */
+  private static void unmap(MappedByteBuffer buffer)
+  {
+    try{
+      Class<?> unsafe_class = Class.forName("sun.misc.Unsafe");
+      Field field = unsafe_class.getDeclaredField("theUnsafe");
+      field.setAccessible(true);
+
+      unsafe_class.getMethod("invokeCleaner", ByteBuffer.class).invoke(field.get(null), buffer);
+      return;
+    }catch(Exception e){
+      // Java 8 : invokeCleaner n'existe pas
+    }
+
+    try{
+      Method cleaner_method = buffer.getClass().getMethod("cleaner");
+      cleaner_method.setAccessible(true);
+
+      Object cleaner = cleaner_method.invoke(buffer);
+
+      if(cleaner != null)
+        cleaner.getClass().getMethod("clean").invoke(cleaner);
+    }catch(Exception e){
+      // Libration par le ramasse-miettes
+    }
+  }
+
+}//fin de la classe SMappedFrameBuffer
@@ -15,11 +15,14 @@ import sim.geometry.SBTriangleGeometry;
 import sim.geometry.SGeometry;
 import sim.geometry.STransformableGeometry;
 import sim.geometry.STriangleGeometry;
+import sim.geometry.space.SBVHSpace;
+import sim.geometry.space.SInstanceGeometry;
 import sim.graphics.material.SMaterial;
 import sim.graphics.material.STextureMaterial;
 import sim.loader.SLoaderException;
 import sim.loader.model.SModelLoader;
 import sim.math.SImpossibleNormalizationException;
+import sim.math.SMatrix4x4;
 import sim.math.SVector3d;
 import sim.util.SAbstractReadable;
 import sim.util.SBufferedReader;
@@ -34,9 +37,14 @@ import sim.util.SStringUtil;
  * La classe <b>SModelReader</b> reprsente un lecteur de modle 3d. 
  * L'objectif de ce lecteur sera la lecture des proprits du modle dans le fichier de scne comme le nom du fichier principalement.
  * 
+ * <p>Un modle opaque est <b>instanci</b> : une seule hirarchie de volumes englobants (SBVHSpace) est construite par fichier de modle 
+ * et chaque modle lu ne contient qu'une instance (SInstanceGeometry) faisant rfrence  cette hirarchie avec sa transformation. 
+ * La mmoire et la dure de construction dpendent alors du nombre de maillages diffrents plutt que du nombre de modles dans la scne.
+ * Un modle comportant un matriel transparent est plutt copi gomtrie par gomtrie avec l'application de la transformation.</p>
+ * 
  * @author Simon Vzina
  * @since 2015-07-22
- * @version 2015-12-21
+ * @version 2026-10-17
  */
 public class SModelReader extends SAbstractReadable implements SReader {
 
@@ -70,6 +78,13 @@ public class SModelReader extends SAbstractReadable implements SReader {
    */
   private static final Map<String, SModel> model_map = new HashMap<String, SModel>();
   
+  /**
+   * La variable <b>mesh_space_map</b> correspond  la carte des hirarchies de volumes englobants des modles instancis (dans l'espace du modle).
+   * Une seule hirarchie est construite par modle et elle est partage entre toutes ses instances.
+   * La <b>cl de recherche</b> est le <b>nom du fichier</b>.
+   */
+  private static final Map<String, SBVHSpace> mesh_space_map = new HashMap<String, SBVHSpace>();
+  
   /**
    * La variable <b>file_name</b> correspond au nom du fichier comprenant les informations dfinissant le modle.
    */
@@ -214,7 +229,8 @@ public class SModelReader extends SAbstractReadable implements SReader {
 
   /**
    * Mthode pour transformer l'intgralit des gomtries contenues dans le modle en fonction des matrices de transformation.
-   * Un nouveau modle avec l'applications des matrices de transformation sera gnr.
+   * Un nouveau modle avec l'applications des matrices de transformation sera gnr. 
+   * Ce modle contient une seule instance du modle si ce dernier est opaque et une copie transforme de chaque gomtrie sinon.
    * @param model - Le modle  transformer.
    * @return Un nouveau modle o l'application des matrices de transformation a t ralise.
    */
@@ -224,6 +240,38 @@ public class SModelReader extends SAbstractReadable implements SReader {
     
     List<SPrimitive> list = model.getPrimitiveList();
     
+    // Modifier le format d'interprtation des coordonnes uv de texture pour un matriel avec texture
+    // Cependant, plusieurs instance du modle peuvent tre construire, mais une seule interprtation des
+    // coordonne uv sera possible. Ce sera la premire dfinition qui sera retenue.
+    for(SPrimitive p : list)
+      if(p.getMaterial().asTexture())
+      {
+        STextureMaterial texture_material = (STextureMaterial) p.getMaterial();
+        if(!texture_material.isUVFormatSelected())
+          texture_material.setUVFormat(uv_format);
+      }
+    
+    //Instancier le modle s'il est opaque
+    if(isInstanceable(list))
+    {
+      try{
+        SInstanceGeometry instance = new SInstanceGeometry(getMeshSpace(list), scale, rotation, translation);
+        
+        transformed_model.addPrimitive(new SPrimitive(instance, list.get(0).getMaterial()));
+        
+        SLog.logWriteLine("Message SModelReader : Instance du modle '" + file_name + "' (" + list.size() + " gomtries partages, " + mesh_space_map.size() + " maillages diffrents en mmoire).");
+        
+        return transformed_model;
+        
+      }catch(SConstructorException e){
+        SLog.logWriteLine("Message SModelReader : Le modle '" + file_name + "' ne peut pas tre instanci. Ses gomtries seront copies." + SStringUtil.END_LINE_CARACTER + "\t" + e.getMessage());
+      }
+    }
+    
+    //Les matrices de transformation des positions et des normales
+    SMatrix4x4 transformation = SMatrix4x4.TrRzyxSc(translation, rotation, scale);
+    SMatrix4x4 normal_transformation = SMatrix4x4.ScRxyzTr(new SVector3d(1.0 / scale.getX(), 1.0 / scale.getY(), 1.0 / scale.getZ()), rotation.multiply(-1.0), translation.multiply(-1.0)).transpose();
+    
     //On transforme toutes les primitives 
     int geometry_error = 0;                     //gomtrie en erreur de transformation
     
@@ -237,23 +285,13 @@ public class SModelReader extends SAbstractReadable implements SReader {
         
         switch(p.getGeometry().getCodeName())
         {
-          case SAbstractGeometry.TRIANGLE_CODE :  geometry = transformTriangleGeometry((STriangleGeometry)p.getGeometry()); break;
+          case SAbstractGeometry.TRIANGLE_CODE :  geometry = transformTriangleGeometry((STriangleGeometry)p.getGeometry(), transformation); break;
           
-          case SAbstractGeometry.BTRIANGLE_CODE : geometry = transformBTriangleGeometry((SBTriangleGeometry)p.getGeometry()); break;
+          case SAbstractGeometry.BTRIANGLE_CODE : geometry = transformBTriangleGeometry((SBTriangleGeometry)p.getGeometry(), transformation, normal_transformation); break;
           
           default :                               geometry = new STransformableGeometry(p.getGeometry(), scale, rotation, translation); break;
         }
         
-        // Modifier le format d'interprtation des coordonnes uv de texture pour un matriel avec texture
-        // Cependant, plusieurs instance du modle peuvent tre construire, mais une seule interprtation des
-        // coordonne uv sera possible. Ce sera la premire dfinition qui sera retenue.
-        if(material.asTexture())
-        {
-          STextureMaterial texture_material = (STextureMaterial) material;
-          if(!texture_material.isUVFormatSelected())
-            texture_material.setUVFormat(uv_format);
-        }
-        
         transformed_model.addPrimitive(new SPrimitive(geometry, material));      //ajouter la primitive transforme au nouveau modle
         
       }catch(SConstructorException e){
@@ -272,27 +310,82 @@ public class SModelReader extends SAbstractReadable implements SReader {
   }
   
   /**
-   * Mthode pour faire la transformation d'un STriangleGeometry dans l'espace unitaire vers l'espace transform  partir des vecteurs de transformation lus par le lecteur.
+   * Mthode pour dterminer si un modle peut tre instanci. Un modle est instanciable s'il contient au moins une gomtrie 
+   * et si tous ses matriaux sont opaques (une instance est toujours considre opaque par les espaces de gomtries).
+   * @param list - La liste des primitives du modle.
+   * @return <b>true</b> si le modle peut tre instanci et <b>false</b> sinon.
+   */
+  private boolean isInstanceable(List<SPrimitive> list)
+  {
+    if(list.isEmpty())
+      return false;
+    
+    for(SPrimitive p : list)
+      if(p.getGeometry() == null || p.getMaterial().isTransparent())
+        return false;
+    
+    return true;
+  }
+  
+  /**
+   * Mthode pour obtenir la hirarchie de volumes englobants du modle dans l'espace du modle. 
+   * La hirarchie est construite lors de la premire instance du modle et rutilise par les suivantes.
+   * @param list - La liste des primitives du modle.
+   * @return La hirarchie partage du modle.
+   */
+  private SBVHSpace getMeshSpace(List<SPrimitive> list)
+  {
+    SBVHSpace space = mesh_space_map.get(file_name);
+    
+    if(space == null)
+    {
+      SLog.logWriteLine("Message SModelReader : Construction de la hirarchie partage du modle '" + file_name + "'.");
+      
+      space = new SBVHSpace();
+      
+      for(SPrimitive p : list)
+        space.addGeometry(p.getGeometry());
+      
+      space.initialize();
+      
+      mesh_space_map.put(file_name, space);
+    }
+    
+    return space;
+  }
+  
+  /**
+   * Mthode pour faire la transformation d'un STriangleGeometry dans l'espace unitaire vers l'espace transform.
    * @param triangle - Le triangle  transform
+   * @param transformation - La matrice de transformation des positions.
    * @return La gomtrie d'un triangle unitaire transform.
+   * @throws SConstructorException Si le triangle transform est dgnr.
    */
-  private SGeometry transformTriangleGeometry(STriangleGeometry triangle)
+  private SGeometry transformTriangleGeometry(STriangleGeometry triangle, SMatrix4x4 transformation) throws SConstructorException
   {
-    //Version sans transformation des points du triangles
-    return new STriangleGeometry(triangle.getP0(), triangle.getP1(), triangle.getP2());
+    return new STriangleGeometry(transformation.multiplyPosition(triangle.getP0()), 
+                                 transformation.multiplyPosition(triangle.getP1()), 
+                                 transformation.multiplyPosition(triangle.getP2()));
   }
   
   /**
-   * Mthode pour faire la transformation d'un SBTriangleGeometry dans l'espace unitaire vers l'espace transform  partir des vecteurs de transformation lus par le lecteur.
+   * Mthode pour faire la transformation d'un SBTriangleGeometry dans l'espace unitaire vers l'espace transform.
+   * Les normales sont transformes par la transpose de la matrice inverse.
    * @param triangle - Le triangle  transform
+   * @param transformation - La matrice de transformation des positions.
+   * @param normal_transformation - La matrice de transformation des normales.
    * @return La gomtrie d'un triangle barycentrique unitaire transform.
+   * @throws SConstructorException Si le triangle transform est dgnr.
    * @throws SImpossibleNormalizationException Si un vecteur normale n'a pas pu tre normalis adquatement.
    */
-  private SGeometry transformBTriangleGeometry(SBTriangleGeometry triangle) throws SImpossibleNormalizationException
+  private SGeometry transformBTriangleGeometry(SBTriangleGeometry triangle, SMatrix4x4 transformation, SMatrix4x4 normal_transformation) throws SConstructorException, SImpossibleNormalizationException
   {
-    //Version sans transformation des triangles barycentrique
-    return new SBTriangleGeometry(triangle.getP0(), triangle.getP1(), triangle.getP2(),
-                                  triangle.getN0(), triangle.getN1(), triangle.getN2(), 
+    return new SBTriangleGeometry(transformation.multiplyPosition(triangle.getP0()), 
+                                  transformation.multiplyPosition(triangle.getP1()), 
+                                  transformation.multiplyPosition(triangle.getP2()),
+                                  normal_transformation.multiplyDirection(triangle.getN0()).normalize(), 
+                                  normal_transformation.multiplyDirection(triangle.getN1()).normalize(), 
+                                  normal_transformation.multiplyDirection(triangle.getN2()).normalize(), 
                                   triangle.getUV0(), triangle.getUV1(), triangle.getUV2());
   }
   
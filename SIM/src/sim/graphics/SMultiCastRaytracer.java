@@ -5,9 +5,9 @@ package sim.graphics;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
 
 import sim.exception.SConstructorException;
-import sim.exception.SNoImplementationException;
 import sim.exception.SRuntimeException;
 import sim.graphics.shader.SShader;
 import sim.math.SVectorPixel;
@@ -20,7 +20,7 @@ import sim.util.SStringUtil;
  * 
  * @author Simon Vzina
  * @since 2015-12-06
- * @version 2015-12-20
+ * @version 2026-10-17
  */
 public class SMultiCastRaytracer extends SAbstractRaytracer {
 
@@ -59,21 +59,21 @@ public class SMultiCastRaytracer extends SAbstractRaytracer {
     this.task = task;
     
     //Message de mauvaise fonctionnalit si la coordone interne d'un pixel n'est pas alatoire lors de super sampling
-    if(sampling > 1 && view_frustum.getPixelInternalCoordinate() != SViewFrustum.RANDOM_PIXEL)
+    if(sampling > 1 && !view_frustum.isSampledPixelInternalCoordinate())
       SLog.logWriteLine("Message SMultiCastRaytracer : Puisque le sampling est  '" + sampling + "' et que la coordonne interne d'un pixel est '" + SViewFrustum.PIXEL_COORDINATE[view_frustum.getPixelInternalCoordinate()] + "'(code = " + view_frustum.getPixelInternalCoordinate() + ") et non pas '" + SViewFrustum.PIXEL_COORDINATE[SViewFrustum.RANDOM_PIXEL] + "'(code = " + SViewFrustum.RANDOM_PIXEL + "), l'antialiasing ne peut pas tre applicable.");
   }
 
   @Override
-  public void raytrace(int nb_pixel) throws SRuntimeException
+  public void raytrace(long nb_pixel) throws SRuntimeException
   {
     // Nombre de pixel par tche
-    int pixel_per_task = nb_pixel / task;
+    long pixel_per_task = nb_pixel / task;
     
     // Faire la liste des raytracer (runnable) et la remplir
     List<SRaytracerRunnable> raytracer_list = new ArrayList<SRaytracerRunnable>();
     
     // Le nombre de pixel restant  tre affect aux diffrents thread de l'excution
-    int pixel_left_to_calculate = nb_pixel;
+    long pixel_left_to_calculate = nb_pixel;
     
     for(int i = 0; i < task; i++)
       if(i == task -1 )
@@ -111,10 +111,67 @@ public class SMultiCastRaytracer extends SAbstractRaytracer {
     
   }
 
+  @Override
+  protected boolean raytraceLevel(final int step, final SRenderToken token) throws SRuntimeException
+  {
+    final AtomicBoolean interrupted = new AtomicBoolean(false);
+    
+    // Faire la liste des threads : la thread i calcule les lignes i, i+task, i+2*task, ... de la passe
+    List<Thread> thread_list = new ArrayList<Thread>();
+    
+    for(int i = 0; i < task; i++)
+    {
+      final int first_row = i;
+      
+      thread_list.add(new Thread(new Runnable() {
+        
+        @Override
+        public void run()
+        {
+          for(int y = first_row * step; y < viewport.getHeight(); y += task * step)
+          {
+            if(token.isStopRequested())
+            {
+              interrupted.set(true);
+              return;
+            }
+            
+            raytraceLevelRow(y, step);
+          }
+        }
+      }));
+    }
+    
+    // Partir l'ensemble des threads
+    for(Thread t : thread_list)
+      t.start();
+    
+    // Faire l'attente de la fin de toutes les threads de la liste
+    for(Thread t : thread_list)
+      try{
+        t.join();
+      }catch(InterruptedException e){
+        throw new SRuntimeException("Erreur SMultiCastRaytracer 005 : Un thread fut interropue spontanment." + SStringUtil.END_LINE_CARACTER + "\t" + e.getMessage(), e);
+      }
+    
+    return !interrupted.get();
+  }
+  
   @Override
   protected SColor evaluatePixelColor(SVectorPixel pixel)
   {
-    throw new SNoImplementationException("Erreur SMultiCastRaytracer 004 : La mthode n'a pas t implmente.");
+    // Raytracting  un rayon par pixel
+    if(sampling == 1)
+      return raytracePixel(pixel);
+    
+    // Raytracing  plusieurs rayons par pixel
+    SColor sum = new SColor(0.0, 0.0, 0.0);
+    
+    for(int i = 0; i < sampling; i++)
+      sum = sum.add(raytracePixel(pixel.getX(), pixel.getY(), i, sampling));
+    
+    //Retourner la couleur aprs avoir divis par le nombre de sampling
+    return sum.multiply(1.0 / (double)sampling);
   }
 
 }//fin de la classe SMultiCastRaytracer
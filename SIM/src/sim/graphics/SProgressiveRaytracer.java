@@ -0,0 +1,383 @@
+/**
+ * 
+ */
+package sim.graphics;
+
+import sim.exception.SConstructorException;
+import sim.exception.SRuntimeException;
+import sim.graphics.shader.SShader;
+import sim.util.SLog;
+
+/**
+ * <p>
+ * La classe <b>SProgressiveRaytracer</b> reprsente un <i>ray tracer</i>  raffinement progressif.
+ * L'image est parcourue  plusieurs reprises (passes) en lanant un seul rayon par pixel  chaque passe.
+ * Pour chaque pixel, la somme des couleurs, le nombre d'chantillons et la variance de la luminance sont conservs.
+ * </p>
+ * 
+ * <p>
+ * Un pixel cesse d'tre raffin lorsque l'erreur type de sa luminance moyenne est infrieure au seuil de convergence 
+ * (relativement  sa luminance) ou lorsque le nombre maximal d'chantillons (<i>sampling</i>) est atteint.
+ * Le rendu se termine lorsque tous les pixels ont converg ou lorsque le budget de temps est coul (vrifi  la fin de chaque passe).
+ * Les pixels uniformes (ex. : l'arrire-plan) s'arrtent ainsi rapidement et l'effort se concentre sur les contours, les rflexions et les rfractions.
+ * </p>
+ * 
+ * <p>
+ * Le parcours des pixels d'une passe utilise l'itration du viewport.  la fin d'une passe qui n'est pas la dernire, 
+ * l'itration du viewport est rinitialise : la mthode <b>hasNextPixel()</b> du viewport redevient vraie et
+ * l'application poursuit le calcul comme pour une nouvelle image.
+ * </p>
+ * 
+ * @author Simon Vzina
+ * @since 2026-10-17
+ * @version 2026-10-17
+ */
+public class SProgressiveRaytracer extends STileRaytracer {
+
+  //--------------
+  // CONSTANTES //
+  //--------------
+  
+  /**
+   * La constante <b>MIN_SAMPLING</b> correspond au nombre minimal d'chantillons d'un pixel avant de pouvoir valuer sa variance.
+   */
+  public static final int MIN_SAMPLING = 8;
+  
+  /**
+   * La constante <b>MIN_LUMINANCE</b> correspond  la luminance minimale utilise pour valuer l'erreur relative d'un pixel.
+   * Elle vite qu'un pixel trs sombre ne converge jamais.
+   */
+  private static final double MIN_LUMINANCE = 0.01;
+  
+  //-------------
+  // VARIABLES //
+  //-------------
+  
+  /**
+   * La variable <b>convergence_threshold</b> correspond  l'erreur relative maximale de la luminance d'un pixel converg (0 pour ne jamais converger avant le nombre maximal d'chantillons).
+   */
+  private final double convergence_threshold;
+  
+  /**
+   * La variable <b>time_budget</b> correspond au temps maximal (en secondes) du rendu (0 pour un temps illimit).
+   */
+  private final double time_budget;
+  
+  /**
+   * La variable <b>accumulation</b> correspond  la somme des couleurs RGB des chantillons de chaque pixel.
+   * Les donnes de l'tat des pixels sont conserves dans un tableau par ligne du viewport (indice [y][x]),
+   * ce qui permet des images dont le nombre de pixels dpasse la capacit d'un tableau Java.
+   */
+  private final double[][] accumulation;
+  
+  /**
+   * La variable <b>sample_count</b> correspond au nombre d'chantillons de chaque pixel.
+   */
+  private final int[][] sample_count;
+  
+  /**
+   * La variable <b>luminance_mean</b> correspond  la moyenne de la luminance des chantillons de chaque pixel.
+   */
+  private final double[][] luminance_mean;
+  
+  /**
+   * La variable <b>luminance_m2</b> correspond  la somme des carrs des carts  la moyenne de la luminance de chaque pixel (algorithme de Welford).
+   */
+  private final double[][] luminance_m2;
+  
+  /**
+   * La variable <b>converged</b> dtermine pour chaque pixel si son raffinement est termin.
+   */
+  private final boolean[][] converged;
+  
+  /**
+   * La variable <b>start_time</b> correspond au temps (en nanosecondes) du dbut du rendu (0 s'il n'est pas dbut).
+   */
+  private long start_time;
+  
+  /**
+   * La variable <b>nb_pass</b> correspond au nombre de passes compltes.
+   */
+  private int nb_pass;
+  
+  /**
+   * La variable <b>finished</b> dtermine si le rendu est termin.
+   */
+  private boolean finished;
+  
+  /**
+   * La variable <b>coarse_pass</b> dtermine si la premire passe du plus grossier au plus fin (contrle par un jeton) est en cours.
+   * Durant cette passe, un pixel ayant dj un chantillon (passe interrompue puis reprise) n'est pas chantillonn de nouveau.
+   */
+  private boolean coarse_pass;
+  
+  //----------------
+  // CONSTRUCTEUR //
+  //----------------
+  
+  /**
+   * Constructeur d'un raytracer  raffinement progressif.
+   * 
+   * @param view_frustum - La pyramide de vue.
+   * @param shader - Le calculateur d'illumination.
+   * @param viewport - L'cran de vue.
+   * @param sampling - Le nombre maximal de rayons lancs par pixel.
+   * @param task - Le nombre de tches ralises en parallle.
+   * @param tile_size - La taille (en pixels) du ct d'une tuile.
+   * @param convergence_threshold - L'erreur relative maximale de la luminance d'un pixel converg (0 pour aucun critre de convergence).
+   * @param time_budget - Le temps maximal du rendu en secondes (0 pour un temps illimit).
+   * @throws SConstructorException Si un des paramtres n'est pas valide.
+   */
+  public SProgressiveRaytracer(SViewFrustum view_frustum, SShader shader, SViewport viewport, int sampling, int task, int tile_size, double convergence_threshold, double time_budget) throws SConstructorException
+  {
+    super(view_frustum, shader, viewport, sampling, task, tile_size);
+    
+    if(convergence_threshold < 0.0)
+      throw new SConstructorException("Erreur SProgressiveRaytracer 001 : Le seuil de convergence '" + convergence_threshold + "' ne peut pas tre ngatif.");
+    
+    if(time_budget < 0.0)
+      throw new SConstructorException("Erreur SProgressiveRaytracer 002 : Le budget de temps '" + time_budget + "' ne peut pas tre ngatif.");
+    
+    this.convergence_threshold = convergence_threshold;
+    this.time_budget = time_budget;
+    
+    int width = viewport.getWidth();
+    int height = viewport.getHeight();
+    
+    accumulation = new double[height][3 * width];
+    sample_count = new int[height][width];
+    luminance_mean = new double[height][width];
+    luminance_m2 = new double[height][width];
+    converged = new boolean[height][width];
+    
+    start_time = 0;
+    nb_pass = 0;
+    finished = false;
+    coarse_pass = false;
+    
+    if(sampling < MIN_SAMPLING)
+      SLog.logWriteLine("Message SProgressiveRaytracer : Le nombre maximal de rayons par pixel (sampling = " + sampling + ") ne permet pas de raffinement progressif.");
+  }
+  
+  //------------
+  // MTHODES //
+  //------------
+  
+  /**
+   * Mthode pour obtenir le nombre de passes compltes sur l'image.
+   * 
+   * @return Le nombre de passes.
+   */
+  public int getNbPass()
+  {
+    return nb_pass;
+  }
+  
+  /**
+   * Mthode pour obtenir le nombre d'chantillons accumuls dans un pixel.
+   * 
+   * @param x - La coordonne x du pixel.
+   * @param y - La coordonne y du pixel.
+   * @return Le nombre d'chantillons du pixel.
+   */
+  public int getNbSample(int x, int y)
+  {
+    return sample_count[y][x];
+  }
+  
+  /**
+   * Mthode pour dterminer si le raffinement progressif est termin.
+   * 
+   * @return <b>true</b> si le rendu est termin et <b>false</b> sinon.
+   */
+  public boolean isFinished()
+  {
+    return finished;
+  }
+  
+  @Override
+  public void raytrace()
+  {
+    // Effectuer l'ensemble des passes jusqu' la convergence ou l'coulement du budget de temps
+    while(viewport.hasNextPixel())
+      raytrace(nbPixels());
+  }
+  
+  @Override
+  public void raytrace(long nb_pixel) throws SRuntimeException
+  {
+    if(start_time == 0)
+      start_time = System.nanoTime();
+    
+    super.raytrace(nb_pixel);
+    
+    // Fin d'une passe : dterminer s'il faut en effectuer une autre
+    if(!viewport.hasNextPixel() && !finished)
+      endPass();
+  }
+  
+  /**
+   * Mthode pour effectuer le raffinement progressif sous le contrle d'un jeton de rendu.
+   * La premire passe (un chantillon par pixel) est calcule du plus grossier au plus fin et les passes suivantes
+   * raffinent l'image complte. Le budget de temps du raytracer demeure applicable en plus de l'chance du jeton.
+   * <p>Un rendu interrompu peut tre poursuivi par un nouvel appel avec un autre jeton. Si l'interruption a eu lieu durant la premire passe,
+   * celle-ci est reprise sans chantillonner de nouveau les pixels dj calculs (chaque pixel conserve un seul chantillon).</p>
+   * 
+   * @param token - Le jeton de rendu.
+   * @return <b>true</b> si le raffinement est termin et <b>false</b> s'il a t interrompu.
+   * @throws SRuntimeException S'il y a eu une erreur lors du calcul.
+   */
+  @Override
+  public boolean raytrace(SRenderToken token) throws SRuntimeException
+  {
+    if(start_time == 0)
+      start_time = System.nanoTime();
+    
+    // Premire passe du plus grossier au plus fin (chaque pixel reoit exactement un chantillon, mme aprs une reprise)
+    if(nb_pass == 0)
+    {
+      boolean completed;
+      
+      coarse_pass = true;
+      
+      try{
+        completed = super.raytrace(token);
+      }finally{
+        coarse_pass = false;
+      }
+      
+      if(!completed)
+        return false;
+      
+      endPass();
+    }
+    
+    // Passes suivantes : le jeton est consult entre chaque bloc de lignes
+    long nb_pixel = (long)viewport.getWidth() * getTileSize();
+    
+    while(!finished)
+    {
+      if(token.isStopRequested())
+        return false;
+      
+      raytrace(nb_pixel);
+    }
+    
+    return true;
+  }
+  
+  /**
+   * Mthode pour effectuer le raffinement progressif d'une rgion du viewport jusqu' la convergence de l'ensemble de ses pixels.
+   * Le budget de temps du raytracer n'est pas appliqu au calcul d'une rgion.
+   * 
+   * @param x_min - La coordonne x minimale (incluse).
+   * @param y_min - La coordonne y minimale (incluse).
+   * @param x_max - La coordonne x maximale (exclue).
+   * @param y_max - La coordonne y maximale (exclue).
+   * @throws SRuntimeException Si la rgion est  l'extrieur du viewport ou s'il y a eu une erreur lors du calcul.
+   */
+  @Override
+  public void raytraceRegion(int x_min, int y_min, int x_max, int y_max) throws SRuntimeException
+  {
+    boolean region_converged;
+    
+    do
+    {
+      super.raytraceRegion(x_min, y_min, x_max, y_max);
+      
+      region_converged = true;
+      
+      for(int y = y_min; y < y_max && region_converged; y++)
+        for(int x = x_min; x < x_max && region_converged; x++)
+          region_converged = converged[y][x];
+    }
+    while(!region_converged);
+  }
+  
+  /**
+   * Mthode pour terminer une passe et rinitialiser l'itration du viewport s'il reste des pixels  raffiner et du temps disponible.
+   */
+  private void endPass()
+  {
+    nb_pass++;
+    
+    long nb_active = 0;
+    
+    for(boolean[] row : converged)
+      for(boolean c : row)
+        if(!c)
+          nb_active++;
+    
+    double time = (System.nanoTime() - start_time) * 1e-9;
+    
+    if(nb_active == 0 || (time_budget > 0.0 && time >= time_budget))
+    {
+      finished = true;
+      
+      long nb_sample = 0;
+      
+      for(int[] row : sample_count)
+        for(int n : row)
+          nb_sample += n;
+      
+      SLog.logWriteLine("Message SProgressiveRaytracer : Fin du raffinement aprs " + nb_pass + " passes (" + String.format("%.2f", (double)nb_sample / viewport.getNbPixels()) + " rayons par pixel en moyenne, " + nb_active + " pixels non convergs).");
+    }
+    else
+      viewport.restartPixelIteration();
+  }
+  
+  @Override
+  protected SColor evaluatePixelColor(int x, int y)
+  {
+    double[] sum = accumulation[y];
+    int k = 3 * x;
+    
+    // Un pixel converg conserve sa couleur moyenne (de mme qu'un pixel dj chantillonn lors de la reprise de la premire passe)
+    if(!converged[y][x] && !(coarse_pass && sample_count[y][x] > 0))
+    {
+      SColor color = raytracePixel(x, y, sample_count[y][x], getSampling());
+      
+      sum[k] += color.getRed();
+      sum[k+1] += color.getGreen();
+      sum[k+2] += color.getBlue();
+      
+      // Moyenne et variance de la luminance (algorithme de Welford)
+      int n = ++sample_count[y][x];
+      double luminance = 0.2126*color.getRed() + 0.7152*color.getGreen() + 0.0722*color.getBlue();
+      double delta = luminance - luminance_mean[y][x];
+      
+      luminance_mean[y][x] += delta / n;
+      luminance_m2[y][x] += delta * (luminance - luminance_mean[y][x]);
+      
+      converged[y][x] = isConverged(x, y);
+    }
+    
+    double inv_n = 1.0 / sample_count[y][x];
+    
+    return new SColor(sum[k] * inv_n, sum[k+1] * inv_n, sum[k+2] * inv_n);
+  }
+  
+  /**
+   * Mthode pour dterminer si un pixel a converg.
+   * 
+   * @param x - La coordonne x du pixel.
+   * @param y - La coordonne y du pixel.
+   * @return <b>true</b> si le pixel a converg et <b>false</b> sinon.
+   */
+  private boolean isConverged(int x, int y)
+  {
+    int n = sample_count[y][x];
+    
+    if(n >= getSampling())
+      return true;
+    
+    if(n < MIN_SAMPLING || convergence_threshold == 0.0)
+      return false;
+    
+    // Erreur type de la moyenne de la luminance
+    double standard_error = Math.sqrt(luminance_m2[y][x] / ((n - 1) * (double)n));
+    
+    return standard_error <= convergence_threshold * Math.max(luminance_mean[y][x], MIN_LUMINANCE);
+  }
+  
+}//fin de la classe SProgressiveRaytracer
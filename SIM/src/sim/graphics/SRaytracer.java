@@ -9,7 +9,7 @@ import sim.exception.SRuntimeException;
  * Interface reprsentant un raytracer permettant de gnrer des images 2D  partir d'une description d'un environnement 3D.
  * @author Simon Vzina
  * @since 2015-04-07
- * @version 2015-04-07
+ * @version 2026-10-17
  */
 public interface SRaytracer {
 
@@ -24,12 +24,42 @@ public interface SRaytracer {
    * @param nb_pixel - Le nombre de pixels  calculer. Si le nombre est suprieur aux pixels disponibles, ils seronts tous calculs.
    * @throws SRuntimeException Si le nombre de pixels  calculer est ngatif.
    */
-  public void raytrace(int nb_pixel) throws SRuntimeException;
+  public void raytrace(long nb_pixel) throws SRuntimeException;
+  
+  /**
+   * Mthode pour effectuer le raytracing de l'ensemble des pixels du viewport sous le contrle d'un jeton de rendu (annulation et chance).
+   * Les pixels sont calculs du plus grossier au plus fin : chaque passe raffine une grille de pixels deux fois plus dense
+   * en tendant la couleur calcule aux pixels voisins qui ne sont pas encore valus. Un rendu interrompu laisse donc
+   * une image complte ( plus basse rsolution) dans le viewport.
+   * <p>L'itration des pixels du viewport est termine au retour (<b>hasNextPixel()</b> retourne <b>false</b>), que le rendu soit complt ou interrompu.</p>
+   * 
+   * @param token - Le jeton de rendu.
+   * @return <b>true</b> si le rendu est complt et <b>false</b> s'il a t interrompu.
+   * @throws SRuntimeException S'il y a eu une erreur lors du calcul.
+   */
+  public boolean raytrace(SRenderToken token) throws SRuntimeException;
+  
+  /**
+   * Mthode pour effectuer le raytracing de l'ensemble des pixels d'une rgion rectangulaire du viewport.
+   * Cette mthode est indpendante de l'itration des pixels du viewport et permet de rpartir le calcul d'une image par blocs.
+   * 
+   * @param x_min - La coordonne x minimale (incluse).
+   * @param y_min - La coordonne y minimale (incluse).
+   * @param x_max - La coordonne x maximale (exclue).
+   * @param y_max - La coordonne y maximale (exclue).
+   * @throws SRuntimeException Si la rgion est  l'extrieur du viewport ou s'il y a eu une erreur lors du calcul.
+   */
+  public void raytraceRegion(int x_min, int y_min, int x_max, int y_max) throws SRuntimeException;
  
   /**
    * Mthode pour obtenir le nombre total de pixels  calculer.
    * @return Le nombre de pixels  calculer.
    */
-  public int nbPixels();
+  public long nbPixels();
+  
+  /**
+   * Mthode pour librer les ressources du raytracer (ex. : les fils d'excution). Le raytracer ne doit plus tre utilis par la suite.
+   */
+  public void close();
   
 }//fin interface SRaytracer
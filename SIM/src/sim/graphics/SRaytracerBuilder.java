@@ -11,6 +11,7 @@ import sim.exception.SConstructorException;
 import sim.exception.SRuntimeException;
 import sim.geometry.SGeometry;
 import sim.geometry.space.SAbstractGeometrySpace;
+import sim.geometry.space.SBVHSpace;
 import sim.geometry.space.SGeometrySpace;
 import sim.geometry.space.SLinearSpace;
 import sim.geometry.space.SMultiVoxelSpace;
@@ -33,7 +34,7 @@ import sim.util.SStringUtil;
  * 
  * @author Simon Vzina
  * @since 2015-07-08
- * @version 2015-12-04
+ * @version 2026-10-17
  */
 public class SRaytracerBuilder extends SAbstractReadableWriteable {
 
@@ -48,7 +49,8 @@ public class SRaytracerBuilder extends SAbstractReadableWriteable {
   private static final String[] KEYWORD_PARAMETER = {
     SKeyWordDecoder.KW_TASK, SKeyWordDecoder.KW_SAMPLING, SKeyWordDecoder.KW_RECURSIVE_LEVEL,
     SKeyWordDecoder.KW_SPECULAR_REFLEXION, SKeyWordDecoder.KW_PIXEL_COORDINATE,
-    SKeyWordDecoder.KW_SPACE, SKeyWordDecoder.KW_COLOR_NORMALIZATION
+    SKeyWordDecoder.KW_SPACE, SKeyWordDecoder.KW_COLOR_NORMALIZATION, SKeyWordDecoder.KW_TILE_SIZE,
+    SKeyWordDecoder.KW_CONVERGENCE_THRESHOLD, SKeyWordDecoder.KW_TIME_BUDGET
   };
   
   private static int DEFAULT_NB_TASK = 1;       //nombre de tches en multiprocesseur
@@ -64,6 +66,9 @@ public class SRaytracerBuilder extends SAbstractReadableWriteable {
   //Paramtre pour la dfinition du ray tracer
   private int nb_task;                          //le nombre de tches simultanes qui seront effectues durant le calcul de l'image (multi-processeur)
   private int nb_sampling;                      //le nombre de rayon dans le calcul de la couleur d'un pixel
+  private int tile_size;                        //la taille (en pixels) du ct d'une tuile lors du calcul en parallle
+  private double convergence_threshold;         //le seuil de convergence d'un pixel en raffinement progressif (0 = sans raffinement progressif)
+  private double time_budget;                   //le budget de temps (en secondes) du raffinement progressif (0 = sans raffinement progressif)
   
   //Paramtre pour la dfinition de l'espace des gomtrie
   private int type_of_space;
@@ -80,6 +85,9 @@ public class SRaytracerBuilder extends SAbstractReadableWriteable {
     
     nb_task = DEFAULT_NB_TASK;
     nb_sampling = DEFAULT_NB_SAMPLING;
+    tile_size = STileRaytracer.DEFAULT_TILE_SIZE;
+    convergence_threshold = 0.0;
+    time_budget = 0.0;
     
     type_of_space = SAbstractGeometrySpace.LINEAR;
     
@@ -113,14 +121,26 @@ public class SRaytracerBuilder extends SAbstractReadableWriteable {
    * Mthode pour faire la construction d'un raytracer  partir de plusieurs paramtres.
    * @param viewport - Le viewport.
    * @param camera - La camra.
-   * @param geometry_space - L'espace des gomtries de la scne. 
+   * @param geometry_list - La liste des gomtries de la scne. 
    * @param light_list - La liste des lumires de la scne.
    * @return Le raytracer pouvant faire le rendu de la scne.
    * @throws SRuntimeException Si le code associ  l'espace des gomtries n'est pas reconnu par le systme.
    */
   public SRaytracer buildRaytracer(SViewport viewport, SCamera camera, List<SGeometry> geometry_list, List<SLight> light_list) throws SRuntimeException
   {
-    //Construction de l'espace des gomtries
+    return buildRaytracer(viewport, camera, buildGeometrySpace(geometry_list), light_list);
+  }
+  
+  /**
+   * Mthode pour faire la construction de l'espace des gomtries (structure d'acclration) d'une scne.
+   * L'espace retourn est initialis et peut tre rutilis par plusieurs raytracers (ex. : rendu d'une squence d'images).
+   * 
+   * @param geometry_list - La liste des gomtries de la scne.
+   * @return L'espace des gomtries initialis.
+   * @throws SRuntimeException Si le code associ  l'espace des gomtries n'est pas reconnu par le systme.
+   */
+  public SGeometrySpace buildGeometrySpace(List<SGeometry> geometry_list) throws SRuntimeException
+  {
     SGeometrySpace geometry_space;
     
     switch(type_of_space)
@@ -131,12 +151,28 @@ public class SRaytracerBuilder extends SAbstractReadableWriteable {
          
       case SAbstractGeometrySpace.MULTI_VOXEL : geometry_space = new SMultiVoxelSpace(); break;
       
+      case SAbstractGeometrySpace.BVH : geometry_space = new SBVHSpace(); break;
+      
       default : throw new SRuntimeException("Erreur SRaytracerBuilder 003 : Le type d'espace de code '" + type_of_space + "' n'est pas reconnu par le systme.");
     }
     
     geometry_space.addGeometry(geometry_list);  //ajouter les gomtries  l'espace des gomtries
     geometry_space.initialize();                //faire l'initialisation de l'espace (prcalcul pour acclrer les calculs d'intersection)
     
+    return geometry_space;
+  }
+  
+  /**
+   * Mthode pour faire la construction d'un raytracer  partir d'un espace des gomtries dj initialis.
+   * 
+   * @param viewport - Le viewport.
+   * @param camera - La camra.
+   * @param geometry_space - L'espace des gomtries de la scne (initialis). 
+   * @param light_list - La liste des lumires de la scne.
+   * @return Le raytracer pouvant faire le rendu de la scne.
+   */
+  public SRaytracer buildRaytracer(SViewport viewport, SCamera camera, SGeometrySpace geometry_space, List<SLight> light_list)
+  {
     //Construction du shader
     SShader shader;
     
@@ -149,11 +185,16 @@ public class SRaytracerBuilder extends SAbstractReadableWriteable {
     SViewFrustum view_frustum = new SViewFrustum(camera, viewport, pixel_internal_coordinate);
     
     //Construction du raytracer adquat
+    //Le raffinement progressif est utilis si un seuil de convergence ou un budget de temps est dfini (sampling devient alors le nombre maximal de rayons par pixel)
+    if(convergence_threshold > 0.0 || time_budget > 0.0)
+      return new SProgressiveRaytracer(view_frustum, shader, viewport, nb_sampling, nb_task, tile_size, convergence_threshold, time_budget);
+    
     if(nb_sampling == 1 && nb_task == 1)
       return new SSingleCastRaytracer(view_frustum, shader, viewport);
     else
       //return new SThreadPoolCastRaytracer(view_frustum, shader, viewport, nb_sampling, nb_task);
-      return new SMultiCastRaytracer(view_frustum, shader, viewport, nb_sampling, nb_task);
+      //return new SMultiCastRaytracer(view_frustum, shader, viewport, nb_sampling, nb_task);
+      return new STileRaytracer(view_frustum, shader, viewport, nb_sampling, nb_task, tile_size);
   }
   
   /* (non-Javadoc)
@@ -192,6 +233,27 @@ public class SRaytracerBuilder extends SAbstractReadableWriteable {
     bw.write(Integer.toString(nb_sampling));
     bw.write(SStringUtil.END_LINE_CARACTER);
     
+    bw.write(SKeyWordDecoder.KW_TILE_SIZE);
+    bw.write("\t\t");
+    bw.write(Integer.toString(tile_size));
+    bw.write(SStringUtil.END_LINE_CARACTER);
+    
+    if(convergence_threshold > 0.0)
+    {
+      bw.write(SKeyWordDecoder.KW_CONVERGENCE_THRESHOLD);
+      bw.write("\t");
+      bw.write(Double.toString(convergence_threshold));
+      bw.write(SStringUtil.END_LINE_CARACTER);
+    }
+    
+    if(time_budget > 0.0)
+    {
+      bw.write(SKeyWordDecoder.KW_TIME_BUDGET);
+      bw.write("\t\t");
+      bw.write(Double.toString(time_budget));
+      bw.write(SStringUtil.END_LINE_CARACTER);
+    }
+    
     bw.write(SKeyWordDecoder.KW_RECURSIVE_LEVEL);
     bw.write("\t\t");
     bw.write(Integer.toString(recursive_level));
@@ -236,7 +298,13 @@ public class SRaytracerBuilder extends SAbstractReadableWriteable {
       case SKeyWordDecoder.CODE_TASK :                nb_task = readIntGreaterThanZero(remaining_line, SKeyWordDecoder.KW_TASK); return true;
       
       case SKeyWordDecoder.CODE_SAMPLING :            nb_sampling = readIntGreaterThanZero(remaining_line, SKeyWordDecoder.KW_SAMPLING); return true;
+      
+      case SKeyWordDecoder.CODE_TILE_SIZE :           tile_size = readIntGreaterThanZero(remaining_line, SKeyWordDecoder.KW_TILE_SIZE); return true;
                          
+      case SKeyWordDecoder.CODE_CONVERGENCE_THRESHOLD : convergence_threshold = readDoubleGreaterThanZero(remaining_line, SKeyWordDecoder.KW_CONVERGENCE_THRESHOLD); return true;
+      
+      case SKeyWordDecoder.CODE_TIME_BUDGET :         time_budget = readDoubleGreaterThanZero(remaining_line, SKeyWordDecoder.KW_TIME_BUDGET); return true;
+      
       case SKeyWordDecoder.CODE_RECURSIVE_LEVEL :     recursive_level = readIntGreaterThanZero(remaining_line, SKeyWordDecoder.KW_RECURSIVE_LEVEL); return true;
       
       case SKeyWordDecoder.CODE_SPECULAR_REFLEXION :  specular_reflexion_algorithm = readIntOrExpression(remaining_line, SKeyWordDecoder.KW_SPECULAR_REFLEXION, SAbstractShader.SPECULAR_REFLEXION); return true;
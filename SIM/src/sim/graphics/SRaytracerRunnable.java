@@ -17,11 +17,15 @@ import sim.math.SVectorPixel;
  * 
  * @author Simon Vzina
  * @since 2015-12-05
- * @version 2015-12-20
+ * @version 2026-10-17
  */
 public class SRaytracerRunnable extends SAbstractRaytracer implements Runnable {
 
-  private final List<SVectorPixel> pixel_list;
+  /**
+   * La variable <b>pixel_range</b> correspond aux indices linaires [dbut, fin[ des pixels rservs dans le viewport par cette tche.
+   */
+  private final long[] pixel_range;
+  
   private final List<SColor> color_list;
   
   /**
@@ -39,7 +43,7 @@ public class SRaytracerRunnable extends SAbstractRaytracer implements Runnable {
    * @param nb_pixel_to_calculate - Le nombre de pixels qui seront calculs lors de l'excution de la tche.
    * @throws SConstructorException - Si le nombre de rayons par pixel (<i>sampling</i>) est infrieur  1.
    */
-  public SRaytracerRunnable(SViewFrustum view_frustum, SShader shader, SViewport viewport, int sampling, int nb_pixel_to_calculate) throws SConstructorException
+  public SRaytracerRunnable(SViewFrustum view_frustum, SShader shader, SViewport viewport, int sampling, long nb_pixel_to_calculate) throws SConstructorException
   {
     super(view_frustum, shader, viewport);
     
@@ -48,17 +52,18 @@ public class SRaytracerRunnable extends SAbstractRaytracer implements Runnable {
     
     this.sampling = sampling;
     
-    pixel_list = new ArrayList<SVectorPixel>();
+    pixel_range = new long[2];
     color_list = new ArrayList<SColor>();
     
-    for(int i = 0; i < nb_pixel_to_calculate && viewport.hasNextPixel(); i++)
-      pixel_list.add(viewport.nextPixel());
+    // Rserver la squence de pixels  calculer (aucun pixel si le viewport est complt)
+    if(nb_pixel_to_calculate < 1 || !viewport.claimPixels(nb_pixel_to_calculate, pixel_range))
+      pixel_range[0] = pixel_range[1] = 0;
   }
 
   @Override
-  public int nbPixels() 
+  public long nbPixels() 
   {
-    return pixel_list.size();
+    return pixel_range[1] - pixel_range[0];
   }
   
   /**
@@ -69,33 +74,41 @@ public class SRaytracerRunnable extends SAbstractRaytracer implements Runnable {
   public void setColorViewport() throws SRuntimeException
   {
     // Vrifier s'il y a des pixels  calculer
-    if(!pixel_list.isEmpty())
+    if(nbPixels() > 0)
     {
       // S'assurer que le calcul des couleurs a t effectu
       if(color_list.isEmpty())
         throw new SRuntimeException("Erreur SRaytracerRunnable 002 : Le raytracer n'a pas encore calcul de couleur pouvant tre affecte au viewport.");
       
       // Faire l'affectation des couleurs dans le viewport en fonction des coordonnes de pixel retenues dans le raytracer
-      for(int i = 0; i < pixel_list.size(); i++)
-        viewport.setColor(pixel_list.get(i), color_list.get(i));
+      int width = viewport.getWidth();
+      
+      for(int i = 0; i < color_list.size(); i++)
+      {
+        long index = pixel_range[0] + i;
+        viewport.setColor((int)(index % width), (int)(index / width), color_list.get(i));
+      }
     }
   }
 
   @Override
-  public void raytrace(int nb_pixel) throws SRuntimeException
+  public void raytrace(long nb_pixel) throws SRuntimeException
   {
     //Vrification du nombre de pixels demand en calcul
     if(nb_pixel < 0)
       throw new SRuntimeException("Erreur SRaytracerRunnable 003 : Le nombre de pixels '" + nb_pixel + "' doit tre suprieur  0.");
 
     // Itration sur l'ensemble des pixels demand en calcul
-    for(int i = 0; i < nb_pixel; i++)
+    for(long i = 0; i < nb_pixel; i++)
     {
       int index_next_color = color_list.size();
       
       // Vrifier s'il reste des pixels  valuer
-      if(index_next_color < pixel_list.size())
-        color_list.add(evaluatePixelColor(pixel_list.get(index_next_color)));
+      if(index_next_color < nbPixels())
+      {
+        long index = pixel_range[0] + index_next_color;
+        color_list.add(evaluatePixelColor((int)(index % viewport.getWidth()), (int)(index / viewport.getWidth())));
+      }
       else
         return;
     }
@@ -109,10 +122,23 @@ public class SRaytracerRunnable extends SAbstractRaytracer implements Runnable {
 
   @Override
   protected SColor evaluatePixelColor(SVectorPixel pixel)
+  {
+    return evaluatePixelColor(pixel.getX(), pixel.getY());
+  }
+  
+  /**
+   * Mthode pour valuer la couleur  attribuer au pixel de coordonne (x,y).
+   * 
+   * @param x - La coordonne x du pixel.
+   * @param y - La coordonne y du pixel.
+   * @return La couleur  attribuer au pixel.
+   */
+  @Override
+  protected SColor evaluatePixelColor(int x, int y)
   {
     // Raytracting  un rayon par pixel  
     if(sampling == 1)                         
-      return raytracePixel(pixel);
+      return raytracePixel(x, y);
     // Raytracing  plusieurs rayons par pixel
     else                                      
     {
@@ -120,7 +146,7 @@ public class SRaytracerRunnable extends SAbstractRaytracer implements Runnable {
       
       //Calcul la couleur pour chaque sampling
       for(int i=0; i<tab.length; i++)
-        tab[i] = raytracePixel(pixel);
+        tab[i] = raytracePixel(x, y, i, sampling);
       
       //Faire la somme des couleurs
       SColor sum = new SColor(0.0, 0.0, 0.0);
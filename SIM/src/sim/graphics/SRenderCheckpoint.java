@@ -0,0 +1,568 @@
+/**
+ *
+ */
+package sim.graphics;
+
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Arrays;
+import java.util.zip.CRC32;
+
+import sim.exception.SConstructorException;
+import sim.exception.SRuntimeException;
+import sim.util.SFileSearch;
+
+/**
+ * La classe <b>SRenderCheckpoint</b> reprsente un <b>fichier de reprise</b> d'un rendu. Le viewport est dcoup en blocs carrs
+ * et le fichier conserve les canaux RGBA des blocs termins. Un rendu interrompu (ex. : arrt de la machine virtuelle)
+ * peut ainsi reprendre en ne calculant que les blocs manquants.
+ *
+ * <p>
+ * Format binaire (big-endian) :
+ * <ul>- MAGIC (int), VERSION (int) et l'empreinte SHA-256 du fichier de scne (32 octets).</ul>
+ * <ul>- La largeur, la hauteur, la taille des blocs et le nombre de blocs (int).</ul>
+ * <ul>- Une suite d'enregistrements, un par bloc termin : l'indice du bloc (int), ses canaux RGBA (float) et la somme de contrle CRC-32 de l'enregistrement (int).</ul>
+ * </p>
+ *
+ * <p>
+ * La premire criture (en-tte et blocs dj termins) est ralise dans un fichier temporaire qui est synchronis sur le disque (<i>fsync</i>)
+ * puis renomm de faon atomique. Les critures suivantes ajoutent uniquement les blocs termins depuis la dernire criture  la fin du fichier,
+ * ce qui rend le cot total des sauvegardes proportionnel  la taille de l'image (et non au nombre de sauvegardes multipli par la taille de l'image).
+ * Si l'application est interrompue pendant un ajout, le dernier enregistrement est incomplet ou sa somme de contrle est invalide :
+ * il est ignor lors de la reprise et le bloc correspondant est calcul de nouveau.
+ * Une reprise est refuse si l'empreinte de la scne ou les dimensions du viewport ne correspondent pas.
+ * </p>
+ *
+ * @author Simon Vzina
+ * @since 2026-10-17
+ * @version 2026-10-17
+ */
+public class SRenderCheckpoint {
+
+  //--------------
+  // CONSTANTES //
+  //--------------
+
+  /**
+   * La constante <b>DEFAULT_TILE_SIZE</b> correspond  la taille par dfaut des blocs de pixels sauvegards tant gale  {@value}.
+   */
+  public static final int DEFAULT_TILE_SIZE = 32;
+
+  /**
+   * La constante <b>MAGIC</b> correspond  l'identifiant d'un fichier de reprise ("SIMC").
+   */
+  private static final int MAGIC = 0x53494D43;
+
+  /**
+   * La constante <b>VERSION</b> correspond  la version du format du fichier de reprise.
+   */
+  private static final int VERSION = 2;
+
+  /**
+   * La constante <b>HASH_ALGORITHM</b> correspond  l'algorithme de l'empreinte du fichier de scne.
+   */
+  private static final String HASH_ALGORITHM = "SHA-256";
+
+  /**
+   * La constante <b>HASH_LENGTH</b> correspond au nombre d'octets de l'empreinte du fichier de scne.
+   */
+  private static final int HASH_LENGTH = 32;
+
+  /**
+   * La constante <b>HEADER_LENGTH</b> correspond au nombre d'octets de l'en-tte du fichier de reprise.
+   */
+  private static final int HEADER_LENGTH = 2*4 + HASH_LENGTH + 4*4;
+
+  /**
+   * La constante <b>TEMPORARY_EXTENSION</b> correspond  l'extension du fichier temporaire utilis lors d'une sauvegarde.
+   */
+  private static final String TEMPORARY_EXTENSION = ".tmp";
+
+  //-------------
+  // VARIABLES //
+  //-------------
+
+  /**
+   * La variable <b>file</b> correspond au chemin du fichier de reprise.
+   */
+  private final Path file;
+
+  /**
+   * La variable <b>scene_hash</b> correspond  l'empreinte du fichier de scne.
+   */
+  private final byte[] scene_hash;
+
+  /**
+   * La variable <b>viewport</b> correspond au viewport sauvegard.
+   */
+  private final SViewport viewport;
+
+  /**
+   * La variable <b>tile_size</b> correspond  la taille des blocs de pixels.
+   */
+  private final int tile_size;
+
+  /**
+   * La variable <b>nb_tile_x</b> correspond au nombre de blocs selon l'axe x.
+   */
+  private final int nb_tile_x;
+
+  /**
+   * La variable <b>done_tile</b> correspond  l'tat (termin ou non) de chacun des blocs.
+   */
+  private final boolean[] done_tile;
+
+  /**
+   * La variable <b>nb_done_tile</b> correspond au nombre de blocs termins.
+   */
+  private int nb_done_tile;
+
+  /**
+   * La variable <b>pending_tile</b> correspond aux indices des blocs termins qui n'ont pas encore t crits dans le fichier de reprise
+   * (dans l'ordre o ils ont t termins).
+   */
+  private final int[] pending_tile;
+
+  /**
+   * La variable <b>nb_pending_tile</b> correspond au nombre de blocs termins qui n'ont pas encore t crits.
+   */
+  private int nb_pending_tile;
+
+  /**
+   * La variable <b>file_length</b> correspond au nombre d'octets valides du fichier de reprise (en-tte et enregistrements complets).
+   * Elle est nulle tant que le fichier n'a pas t crit ou lu.
+   */
+  private long file_length;
+
+  //----------------
+  // CONSTRUCTEUR //
+  //----------------
+
+  /**
+   * Constructeur d'un fichier de reprise dont aucun bloc n'est termin.
+   *
+   * @param file_name - Le nom du fichier de reprise.
+   * @param scene_file_name - Le nom du fichier de scne dont l'empreinte sera associe au rendu.
+   * @param viewport - Le viewport du rendu.
+   * @param tile_size - La taille des blocs de pixels.
+   * @throws FileNotFoundException Si le fichier de scne n'est pas trouv.
+   * @throws IOException Si le fichier de scne ne peut pas tre lu.
+   * @throws SConstructorException Si la taille des blocs n'est pas positive ou si le fichier de scne est trouv plus d'une fois.
+   */
+  public SRenderCheckpoint(String file_name, String scene_file_name, SViewport viewport, int tile_size) throws FileNotFoundException, IOException, SConstructorException
+  {
+    if(tile_size < 1)
+      throw new SConstructorException("Erreur SRenderCheckpoint 001 : La taille des blocs '" + tile_size + "' doit tre positive.");
+
+    this.file = Paths.get(file_name);
+    this.scene_hash = hashFile(scene_file_name);
+    this.viewport = viewport;
+    this.tile_size = tile_size;
+
+    nb_tile_x = (viewport.getWidth() + tile_size - 1) / tile_size;
+    int nb_tile_y = (viewport.getHeight() + tile_size - 1) / tile_size;
+
+    done_tile = new boolean[nb_tile_x * nb_tile_y];
+    nb_done_tile = 0;
+
+    pending_tile = new int[done_tile.length];
+    nb_pending_tile = 0;
+
+    file_length = 0;
+  }
+
+  //------------
+  // MTHODES //
+  //------------
+
+  /**
+   * Mthode pour obtenir le nombre de blocs du viewport.
+   *
+   * @return Le nombre de blocs.
+   */
+  public int getNbTile()
+  {
+    return done_tile.length;
+  }
+
+  /**
+   * Mthode pour obtenir le nombre de blocs termins.
+   *
+   * @return Le nombre de blocs termins.
+   */
+  public int getNbDoneTile()
+  {
+    return nb_done_tile;
+  }
+
+  /**
+   * Mthode pour dterminer si un bloc est termin.
+   *
+   * @param tile - L'indice du bloc.
+   * @return <b>true</b> si le bloc est termin et <b>false</b> sinon.
+   */
+  public boolean isTileDone(int tile)
+  {
+    return done_tile[tile];
+  }
+
+  /**
+   * Mthode pour indiquer qu'un bloc est termin. Ses pixels seront sauvegards  la prochaine criture du fichier de reprise.
+   *
+   * @param tile - L'indice du bloc.
+   */
+  public void setTileDone(int tile)
+  {
+    if(!done_tile[tile])
+    {
+      done_tile[tile] = true;
+      nb_done_tile++;
+
+      pending_tile[nb_pending_tile++] = tile;
+    }
+  }
+
+  /**
+   * Mthode pour obtenir les bornes d'un bloc sous la forme {x_min, y_min, x_max, y_max} (bornes max exclues).
+   *
+   * @param tile - L'indice du bloc.
+   * @param bounds - Le tableau de taille 4 qui contiendra les bornes du bloc.
+   */
+  public void getTileBounds(int tile, int[] bounds)
+  {
+    bounds[0] = (tile % nb_tile_x) * tile_size;
+    bounds[1] = (tile / nb_tile_x) * tile_size;
+    bounds[2] = Math.min(bounds[0] + tile_size, viewport.getWidth());
+    bounds[3] = Math.min(bounds[1] + tile_size, viewport.getHeight());
+  }
+
+  /**
+   * Mthode pour reprendre un rendu  partir du fichier de reprise. Les pixels des blocs termins sont copis dans le viewport.
+   * Un dernier enregistrement incomplet ou dont la somme de contrle est invalide (criture interrompue) est ignor
+   * et sera remplac lors de la prochaine criture.
+   *
+   * @return <b>true</b> si le fichier de reprise existe et a t lu et <b>false</b> s'il n'existe pas (nouveau rendu).
+   * @throws IOException Si le fichier de reprise ne peut pas tre lu.
+   * @throws SRuntimeException Si le fichier de reprise n'est pas valide ou s'il ne correspond pas  la scne ou au viewport.
+   */
+  public boolean resume() throws IOException, SRuntimeException
+  {
+    if(!Files.exists(file))
+      return false;
+
+    FileChannel channel = FileChannel.open(file, StandardOpenOption.READ);
+
+    try{
+
+      ByteBuffer header = ByteBuffer.allocate(HEADER_LENGTH);
+      
+      if(!readFully(channel, header) || header.getInt() != MAGIC || header.getInt() != VERSION)
+        throw new SRuntimeException("Erreur SRenderCheckpoint 002 : Le fichier '" + file + "' n'est pas un fichier de reprise valide.");
+
+      byte[] hash = new byte[HASH_LENGTH];
+      header.get(hash);
+
+      if(!Arrays.equals(hash, scene_hash))
+        throw new SRuntimeException("Erreur SRenderCheckpoint 003 : Le fichier de reprise '" + file + "' n'a pas t produit par cette version du fichier de scne. Supprimez-le pour recommencer le rendu.");
+
+      int width = header.getInt();
+      int height = header.getInt();
+      int size = header.getInt();
+      int nb_tile = header.getInt();
+
+      if(width != viewport.getWidth() || height != viewport.getHeight() || size != tile_size || nb_tile != done_tile.length)
+        throw new SRuntimeException("Erreur SRenderCheckpoint 004 : Le fichier de reprise '" + file + "' correspond  un viewport " + width + "x" + height +
+            " (blocs de " + size + ") alors que le rendu utilise un viewport " + viewport.getWidth() + "x" + viewport.getHeight() + " (blocs de " + tile_size + ").");
+
+      long length = HEADER_LENGTH;
+      
+      int[] bounds = new int[4];
+      ByteBuffer index = ByteBuffer.allocate(4);
+      ByteBuffer record = ByteBuffer.allocate(recordLength(tile_size * tile_size));
+      
+      // Lecture des enregistrements jusqu' la fin du fichier ou jusqu'au premier enregistrement incomplet
+      while(readFully(channel, index))
+      {
+        int tile = index.getInt();
+        
+        if(tile < 0 || tile >= nb_tile)
+          throw new SRuntimeException("Erreur SRenderCheckpoint 008 : Le fichier de reprise '" + file + "' contient le bloc '" + tile + "' alors que le viewport comporte " + nb_tile + " blocs.");
+        
+        getTileBounds(tile, bounds);
+        int nb_pixel = (bounds[2] - bounds[0]) * (bounds[3] - bounds[1]);
+        
+        record.clear();
+        record.putInt(tile);
+        record.limit(recordLength(nb_pixel));
+        
+        if(!readFully(channel, record) || !isValidRecord(record))
+          break;
+        
+        float[] region = new float[nb_pixel * SViewport.getChannelPerPixel()];
+        
+        record.position(4);
+        record.asFloatBuffer().get(region);
+        viewport.setRegion(region, bounds[0], bounds[1], bounds[2], bounds[3]);
+        
+        if(!done_tile[tile])
+        {
+          done_tile[tile] = true;
+          nb_done_tile++;
+        }
+        
+        length += record.limit();
+        index.clear();
+      }
+      
+      file_length = length;
+
+    }finally{
+      channel.close();
+    }
+
+    return true;
+  }
+
+  /**
+   * Mthode pour crire dans le fichier de reprise les blocs termins depuis la dernire criture. 
+   * La premire criture (en-tte compris) est ralise dans un fichier temporaire synchronis sur le disque
+   * qui remplace ensuite le fichier de reprise par un renommage atomique. Les critures suivantes ajoutent
+   * les nouveaux blocs  la fin du fichier avant de le synchroniser sur le disque.
+   *
+   * @throws IOException Si le fichier de reprise ne peut pas tre crit.
+   */
+  public void write() throws IOException
+  {
+    if(file_length == 0)
+      create();
+    else
+      if(nb_pending_tile > 0)
+      {
+        FileChannel channel = FileChannel.open(file, StandardOpenOption.WRITE);
+
+        try{
+          // Retrait d'un ventuel enregistrement incomplet  la fin du fichier
+          channel.truncate(file_length);
+          channel.position(file_length);
+
+          writePendingTiles(channel);
+
+          channel.force(false);
+          file_length = channel.position();
+        }finally{
+          channel.close();
+        }
+      }
+  }
+
+  /**
+   * Mthode pour crer le fichier de reprise avec son en-tte et les blocs termins. L'criture est ralise dans un fichier temporaire
+   * synchronis sur le disque qui remplace ensuite le fichier de reprise par un renommage atomique.
+   *
+   * @throws IOException Si le fichier de reprise ne peut pas tre crit.
+   */
+  private void create() throws IOException
+  {
+    Path temporary = Paths.get(file.toString() + TEMPORARY_EXTENSION);
+
+    FileChannel channel = FileChannel.open(temporary, StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING);
+
+    long length;
+
+    try{
+
+      ByteBuffer header = ByteBuffer.allocate(HEADER_LENGTH);
+
+      header.putInt(MAGIC);
+      header.putInt(VERSION);
+      header.put(scene_hash);
+      header.putInt(viewport.getWidth());
+      header.putInt(viewport.getHeight());
+      header.putInt(tile_size);
+      header.putInt(done_tile.length);
+
+      header.flip();
+      writeFully(channel, header);
+
+      writePendingTiles(channel);
+
+      // Synchronisation du contenu sur le disque avant le renommage
+      channel.force(true);
+      length = channel.position();
+
+    }finally{
+      channel.close();
+    }
+
+    try{
+      Files.move(temporary, file, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+    }catch(AtomicMoveNotSupportedException e){
+      Files.move(temporary, file, StandardCopyOption.REPLACE_EXISTING);
+    }
+
+    file_length = length;
+  }
+
+  /**
+   * Mthode pour crire  la position courante d'un canal un enregistrement pour chacun des blocs termins qui n'ont pas encore t crits.
+   *
+   * @param channel - Le canal en criture.
+   * @throws IOException Si une erreur d'criture est survenue.
+   */
+  private void writePendingTiles(FileChannel channel) throws IOException
+  {
+    int[] bounds = new int[4];
+    ByteBuffer record = ByteBuffer.allocate(recordLength(tile_size * tile_size));
+
+    for(int i = 0; i < nb_pending_tile; i++)
+    {
+      int tile = pending_tile[i];
+
+      getTileBounds(tile, bounds);
+      int nb_pixel = (bounds[2] - bounds[0]) * (bounds[3] - bounds[1]);
+
+      float[] region = new float[nb_pixel * SViewport.getChannelPerPixel()];
+      viewport.getRegion(region, bounds[0], bounds[1], bounds[2], bounds[3]);
+
+      record.clear();
+      record.putInt(tile);
+      record.asFloatBuffer().put(region);
+
+      // Somme de contrle de l'indice et des canaux
+      int data_length = 4 + region.length * 4;
+      CRC32 crc = new CRC32();
+      crc.update(record.array(), 0, data_length);
+
+      record.position(data_length);
+      record.putInt((int)crc.getValue());
+
+      record.flip();
+      writeFully(channel, record);
+    }
+
+    nb_pending_tile = 0;
+  }
+
+  /**
+   * Mthode pour dterminer si la somme de contrle d'un enregistrement lu est valide.
+   *
+   * @param record - L'enregistrement (indice du bloc, canaux et somme de contrle).
+   * @return <b>true</b> si la somme de contrle correspond au contenu de l'enregistrement et <b>false</b> sinon.
+   */
+  private static boolean isValidRecord(ByteBuffer record)
+  {
+    int data_length = record.limit() - 4;
+
+    CRC32 crc = new CRC32();
+    crc.update(record.array(), 0, data_length);
+
+    return record.getInt(data_length) == (int)crc.getValue();
+  }
+
+  /**
+   * Mthode pour obtenir le nombre d'octets de l'enregistrement d'un bloc.
+   *
+   * @param nb_pixel - Le nombre de pixels du bloc.
+   * @return Le nombre d'octets (indice, canaux et somme de contrle).
+   */
+  private static int recordLength(int nb_pixel)
+  {
+    return 4 + nb_pixel * SViewport.getChannelPerPixel() * 4 + 4;
+  }
+
+  /**
+   * Mthode pour supprimer le fichier de reprise (ex. :  la fin du rendu).
+   *
+   * @throws IOException Si le fichier ne peut pas tre supprim.
+   */
+  public void delete() throws IOException
+  {
+    Files.deleteIfExists(file);
+    file_length = 0;
+  }
+
+  /**
+   * Mthode pour obtenir l'empreinte SHA-256 d'un fichier de scne. Le fichier est recherch de la mme faon que lors de la lecture de la scne.
+   *
+   * @param scene_file_name - Le nom du fichier de scne.
+   * @return L'empreinte du fichier.
+   * @throws FileNotFoundException Si le fichier n'est pas trouv.
+   * @throws IOException Si le fichier ne peut pas tre lu.
+   * @throws SConstructorException Si le fichier est trouv plus d'une fois.
+   */
+  private static byte[] hashFile(String scene_file_name) throws FileNotFoundException, IOException, SConstructorException
+  {
+    SFileSearch search = new SFileSearch("", scene_file_name);
+
+    if(!search.isFileFound())
+      throw new FileNotFoundException("Erreur SRenderCheckpoint 005 : Le fichier de scne '" + scene_file_name + "' n'est pas trouv.");
+
+    if(search.isManyFileFound())
+      throw new SConstructorException("Erreur SRenderCheckpoint 006 : Le fichier de scne '" + scene_file_name + "' a t trouv plus d'une fois dans les diffrents sous-rpertoires.");
+
+    MessageDigest digest;
+
+    try{
+      digest = MessageDigest.getInstance(HASH_ALGORITHM);
+    }catch(NoSuchAlgorithmException e){
+      throw new SConstructorException("Erreur SRenderCheckpoint 007 : L'algorithme '" + HASH_ALGORITHM + "' n'est pas disponible.", e);
+    }
+
+    InputStream in = Files.newInputStream(Paths.get(search.getFileFoundList().get(0)));
+
+    try{
+      byte[] buffer = new byte[8192];
+      int n;
+
+      while((n = in.read(buffer)) > 0)
+        digest.update(buffer, 0, n);
+    }finally{
+      in.close();
+    }
+
+    return digest.digest();
+  }
+
+  /**
+   * Mthode pour remplir compltement un tampon  partir d'un canal.
+   *
+   * @param channel - Le canal en lecture.
+   * @param buffer - Le tampon  remplir.
+   * @return <b>true</b> si le tampon a t rempli et <b>false</b> si la fin du fichier est atteinte avant.
+   * @throws IOException Si une erreur de lecture est survenue.
+   */
+  private static boolean readFully(FileChannel channel, ByteBuffer buffer) throws IOException
+  {
+    while(buffer.hasRemaining())
+      if(channel.read(buffer) < 0)
+        return false;
+
+    buffer.flip();
+    return true;
+  }
+
+  /**
+   * Mthode pour crire compltement un tampon dans un canal.
+   *
+   * @param channel - Le canal en criture.
+   * @param buffer - Le tampon  crire.
+   * @throws IOException Si une erreur d'criture est survenue.
+   */
+  private static void writeFully(FileChannel channel, ByteBuffer buffer) throws IOException
+  {
+    while(buffer.hasRemaining())
+      channel.write(buffer);
+  }
+
+}//fin de la classe SRenderCheckpoint
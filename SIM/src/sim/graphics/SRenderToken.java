@@ -0,0 +1,118 @@
+/**
+ *
+ */
+package sim.graphics;
+
+import sim.exception.SConstructorException;
+
+/**
+ * La classe <b>SRenderToken</b> reprsente un jeton de contrle d'un rendu. Le jeton permet d'interrompre un calcul de <i>ray tracing</i>
+ * en cours par une <b>annulation</b> explicite ( partir de n'importe quel fil d'excution) ou par l'atteinte d'une <b>chance</b> (<i>deadline</i>).
+ * <p>Le raytracer consulte le jeton entre le calcul de deux lignes de pixels. Un rendu interrompu laisse ainsi une image partielle, mais valide, dans le viewport.</p>
+ *
+ * @author Simon Vzina
+ * @since 2026-10-17
+ * @version 2026-10-17
+ */
+public class SRenderToken {
+
+  //--------------
+  // CONSTANTES //
+  //--------------
+
+  /**
+   * La constante <b>NO_DEADLINE</b> correspond au budget de temps d'un rendu sans chance.
+   */
+  public static final double NO_DEADLINE = 0.0;
+
+  //-------------
+  // VARIABLES //
+  //-------------
+
+  /**
+   * La variable <b>deadline</b> correspond au temps (en nanosecondes selon System.nanoTime()) de l'chance du rendu.
+   * Cette valeur n'est pas utilise lorsque le rendu n'a pas d'chance.
+   */
+  private final long deadline;
+
+  /**
+   * La variable <b>has_deadline</b> dtermine si le rendu possde une chance.
+   */
+  private final boolean has_deadline;
+
+  /**
+   * La variable <b>cancelled</b> dtermine si le rendu a t annul. Elle est partage entre les fils d'excution.
+   */
+  private volatile boolean cancelled;
+
+  //-----------------
+  // CONSTRUCTEURS //
+  //-----------------
+
+  /**
+   * Constructeur d'un jeton de rendu sans chance.
+   */
+  public SRenderToken()
+  {
+    this(NO_DEADLINE);
+  }
+
+  /**
+   * Constructeur d'un jeton de rendu dont l'chance est fixe  partir du moment de sa construction.
+   *
+   * @param time_budget - Le temps allou au rendu en secondes (NO_DEADLINE pour un rendu sans chance).
+   * @throws SConstructorException Si le budget de temps est ngatif.
+   */
+  public SRenderToken(double time_budget) throws SConstructorException
+  {
+    if(time_budget < 0.0)
+      throw new SConstructorException("Erreur SRenderToken 001 : Le budget de temps '" + time_budget + "' ne peut pas tre ngatif.");
+
+    has_deadline = time_budget > NO_DEADLINE;
+    deadline = System.nanoTime() + (long)(time_budget * 1e9);
+    cancelled = false;
+  }
+
+  //------------
+  // MTHODES //
+  //------------
+
+  /**
+   * Mthode pour annuler le rendu. Le raytracer cessera son calcul aprs la ligne de pixels en cours.
+   */
+  public void cancel()
+  {
+    cancelled = true;
+  }
+
+  /**
+   * Mthode pour dterminer si le rendu a t annul.
+   *
+   * @return <b>true</b> si le rendu a t annul et <b>false</b> sinon.
+   */
+  public boolean isCancelled()
+  {
+    return cancelled;
+  }
+
+  /**
+   * Mthode pour dterminer si l'chance du rendu est atteinte.
+   *
+   * @return <b>true</b> si l'chance est atteinte et <b>false</b> sinon (ou s'il n'y a pas d'chance).
+   */
+  public boolean isExpired()
+  {
+    return has_deadline && System.nanoTime() - deadline >= 0;
+  }
+
+  /**
+   * Mthode pour dterminer si le rendu doit tre interrompu (annulation ou chance atteinte).
+   *
+   * @return <b>true</b> si le rendu doit tre interrompu et <b>false</b> sinon.
+   */
+  public boolean isStopRequested()
+  {
+    return cancelled || isExpired();
+  }
+
+}//fin de la classe SRenderToken
@@ -3,6 +3,9 @@
  */
 package sim.graphics;
 
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
 import java.util.List;
 import java.util.LinkedList;
 import java.io.FileNotFoundException;
@@ -11,10 +14,13 @@ import java.io.FileReader;
 import java.io.IOException;
 
 import sim.exception.SConstructorException;
+import sim.exception.SRuntimeException;
 import sim.geometry.SGeometry;
+import sim.geometry.space.SGeometrySpace;
 import sim.graphics.light.SAmbientLight;
 import sim.graphics.light.SDirectionalLight;
 import sim.graphics.light.SLight;
+import sim.graphics.light.SLightKeyframe;
 import sim.graphics.light.SPointLight;
 import sim.graphics.material.SBlinnMaterial;
 import sim.graphics.material.SBlinnTextureMaterial;
@@ -32,10 +38,12 @@ import sim.util.SStringUtil;
 /**
  * La classe <b>SScene</b> reprsente une scne en trois dimensions. 
  * Une scne comprend des primitives, des matriaux, des lumires, ainsi que des paramtres de visionnement comme une camra, un viewport et le ray tracer.
+ * <p>Une scne peut galement dfinir des images cls de la camra et des sources de lumire afin de faire le rendu d'une squence d'images.
+ * Les gomtries tant statiques, l'espace des gomtries est construit une seule fois et rutilis pour chaque image de la squence.</p>
  *  
  * @author Simon Vzina
  * @since 2014-12-26
- * @version 2015-12-03
+ * @version 2026-10-17
  */
 public class SScene extends SAbstractReadableWriteable {
 
@@ -51,7 +59,7 @@ public class SScene extends SAbstractReadableWriteable {
     SKeyWordDecoder.KW_CAMERA, SKeyWordDecoder.KW_VIEWPORT, SKeyWordDecoder.KW_RAYTRACER,
     SKeyWordDecoder.KW_PRIMITIVE, SKeyWordDecoder.KW_BLINN_MATERIAL, SKeyWordDecoder.KW_TEXTURE_MATERIAL, 
     SKeyWordDecoder.KW_AMBIENT_LIGHT, SKeyWordDecoder.KW_DIRECTIONAL_LIGHT, SKeyWordDecoder.KW_POINT_LIGHT, 
-    SKeyWordDecoder.KW_MODEL     
+    SKeyWordDecoder.KW_MODEL, SKeyWordDecoder.KW_CAMERA_KEYFRAME, SKeyWordDecoder.KW_LIGHT_KEYFRAME
   };
   
   //-------------
@@ -98,6 +106,32 @@ public class SScene extends SAbstractReadableWriteable {
 	 */
 	private final List<SGeometry> geometry_list;     
 	
+	/**
+	 * La variable 'camera_keyframe_list' correspond  la liste des images cls de la camra (trie par numro d'image aprs l'initialisation).
+	 */
+	private final List<SCameraKeyframe> camera_keyframe_list;
+	
+	/**
+	 * La variable 'light_keyframe_list' correspond  la liste des images cls des sources de lumire (trie par numro d'image aprs l'initialisation).
+	 */
+	private final List<SLightKeyframe> light_keyframe_list;
+	
+	/**
+	 * La variable 'frame_camera' correspond  la camra de l'image courante de la squence.
+	 */
+	private SCamera frame_camera;
+	
+	/**
+	 * La variable 'frame_light_list' correspond  la liste des sources de lumire de l'image courante de la squence.
+	 */
+	private List<SLight> frame_light_list;
+	
+	/**
+	 * La variable 'geometry_space' correspond  l'espace des gomtries de la scne. Il est construit lors de la premire construction d'un raytracer
+	 * et conserv pour les suivantes (<b>null</b> s'il n'est pas encore construit).
+	 */
+	private SGeometrySpace geometry_space;
+	
 	//----------------
 	// CONSTRUCTEUR //
 	//----------------
@@ -122,6 +156,13 @@ public class SScene extends SAbstractReadableWriteable {
     model_list = new LinkedList<SModel>();              
       
     geometry_list = new LinkedList<SGeometry>();   
+    
+    camera_keyframe_list = new ArrayList<SCameraKeyframe>();
+    light_keyframe_list = new ArrayList<SLightKeyframe>();
+    
+    frame_camera = null;
+    frame_light_list = null;
+    geometry_space = null;
 		
 		//Trouver le fichier  partir du rpertoire o l'excution de l'application est ralise
     SFileSearch search = new SFileSearch("", file_name);
@@ -184,14 +225,60 @@ public class SScene extends SAbstractReadableWriteable {
 	 */
 	public List<SLight> getLightList(){ return light_list; }
 	
+	/**
+	 * Mthode pour obtenir le nombre d'images de la squence dfinie par les images cls de la scne.
+	 * Une scne sans image cl comporte une seule image.
+	 * 
+	 * @return Le nombre d'images de la squence.
+	 */
+	public int getNbFrame()
+	{
+	  int last_frame = 0;
+	  
+	  for(SCameraKeyframe k : camera_keyframe_list)
+	    last_frame = Math.max(last_frame, k.getFrame());
+	  
+	  for(SLightKeyframe k : light_keyframe_list)
+	    last_frame = Math.max(last_frame, k.getFrame());
+	  
+	  return last_frame + 1;
+	}
+	
+	/**
+	 * Mthode pour slectionner l'image de la squence dont le rendu sera effectu par le prochain raytracer construit.
+	 * La camra et les sources de lumire de l'image sont interpoles  partir des images cls.
+	 * 
+	 * @param frame - Le numro de l'image.
+	 * @throws SRuntimeException Si le numro de l'image est ngatif ou si la camra ou une source interpole n'est pas valide.
+	 */
+	public void setFrame(int frame) throws SRuntimeException
+	{
+	  if(frame < 0)
+	    throw new SRuntimeException("Erreur SScene 006 : Le numro d'image '" + frame + "' ne peut pas tre ngatif.");
+	  
+	  frame_camera = SCameraKeyframe.interpolate(camera, camera_keyframe_list, frame);
+	  
+	  frame_light_list = new ArrayList<SLight>(light_list.size());
+	  
+	  int index = 0;
+	  
+	  for(SLight l : light_list)
+	    frame_light_list.add(SLightKeyframe.interpolate(l, index++, light_keyframe_list, frame));
+	}
+	
 	/**
 	 * Mthode pour faire la construction du raytracer associ  la scne en fonction de ses paramtres comme le viewport, la camra, les gomtries et les lumires.
+	 * La camra et les sources de lumire utilises sont celles de l'image courante de la squence (voir setFrame).
+	 * L'espace des gomtries est construit au premier appel et rutilis par les appels suivants.
 	 * 
 	 * @return Le ray tracer de la scne.
 	 */
 	public SRaytracer buildRaytracer()
 	{
-	  return raytracer_builder.buildRaytracer(viewport, camera, geometry_list, light_list);
+	  if(geometry_space == null)
+	    geometry_space = raytracer_builder.buildGeometrySpace(geometry_list);
+	  
+	  return raytracer_builder.buildRaytracer(viewport, frame_camera, geometry_space, frame_light_list);
 	}
 
 	@Override
@@ -226,6 +313,18 @@ public class SScene extends SAbstractReadableWriteable {
 		//crire les lumires
 		for(SLight l : light_list)
 			l.write(bw);		
+		
+		if(!camera_keyframe_list.isEmpty() || !light_keyframe_list.isEmpty())
+		{
+		  writeComment(bw, "Images cls de la squence");
+		  
+		  //crire les images cls
+		  for(SCameraKeyframe k : camera_keyframe_list)
+		    k.write(bw);
+		  
+		  for(SLightKeyframe k : light_keyframe_list)
+		    k.write(bw);
+		}
 	}
 	
 	/**
@@ -259,6 +358,25 @@ public class SScene extends SAbstractReadableWriteable {
 		SMaterialAffectation m_affectation = new SMaterialAffectation(primitive_list, material_list);
 		m_affectation.affectation();
 		
+		//Vrifier les images cls des sources de lumire
+		for(SLightKeyframe k : light_keyframe_list)
+		  if(k.getLightIndex() >= light_list.size())
+		    throw new SInitializationException("Erreur SScene 005 : L'image cl de l'image '" + k.getFrame() + "' fait rfrence  la source de lumire d'indice '" + k.getLightIndex() + "' alors que la scne comprend " + light_list.size() + " sources de lumire.");
+		
+		//Trier les images cls par numro d'image
+		Collections.sort(camera_keyframe_list, new Comparator<SCameraKeyframe>(){
+		  @Override
+		  public int compare(SCameraKeyframe a, SCameraKeyframe b){ return a.getFrame() - b.getFrame(); }
+		});
+		
+		Collections.sort(light_keyframe_list, new Comparator<SLightKeyframe>(){
+		  @Override
+		  public int compare(SLightKeyframe a, SLightKeyframe b){ return a.getFrame() - b.getFrame(); }
+		});
+		
+		//Slectionner la premire image de la squence
+		setFrame(0);
+		
 		//Message du comptage des primitives
     SLog.logWriteLine("Message SScene : La scne comprend " + primitive_count + " primitives.");
 	}
@@ -293,6 +411,10 @@ public class SScene extends SAbstractReadableWriteable {
   			                                                 model_list.add((SModel)m_reader.getValue());
   			                                               return true;
   			
+  			case SKeyWordDecoder.CODE_CAMERA_KEYFRAME :    camera_keyframe_list.add(new SCameraKeyframe(sbr)); return true;
+  			
+  			case SKeyWordDecoder.CODE_LIGHT_KEYFRAME :     light_keyframe_list.add(new SLightKeyframe(sbr)); return true;
+  			
   			default : return false;
   		}
 		}catch(SConstructorException e){
@@ -12,7 +12,7 @@ import sim.math.SVectorPixel;
  * 
  * @author Simon Vzina
  * @since 2015-04-07
- * @version 2015-07-17
+ * @version 2026-10-17
  */
 public class SSingleCastRaytracer extends SAbstractRaytracer {
 
@@ -31,20 +31,29 @@ public class SSingleCastRaytracer extends SAbstractRaytracer {
   /*
    * (non-Javadoc)
    * 
-   * @see sim.graphics.SRaytracer#raytrace(int)
+   * @see sim.graphics.SRaytracer#raytrace(long)
    */
   @Override
-  public void raytrace(int nb_pixel) throws SRuntimeException
+  public void raytrace(long nb_pixel) throws SRuntimeException
   {
     // Vrification du nombre de pixels demand en calcul
     if (nb_pixel < 0)
       throw new SRuntimeException("Erreur SSingleCastRaytracer 001 : Le nombre de pixels '" + nb_pixel + "' doit tre suprieur  0.");
 
-    for(int nb = 0; nb < nb_pixel && viewport.hasNextPixel(); nb++)
+    //Rserver la squence de pixels  calculer
+    long[] range = new long[2];
+    
+    if(nb_pixel == 0 || !viewport.claimPixels(nb_pixel, range))
+      return;
+    
+    final int width = viewport.getWidth();
+    
+    for(long index = range[0]; index < range[1]; index++)
     {
-      final SVectorPixel pixel = viewport.nextPixel();	//le prochain pixel  calculer
-      final SColor color = evaluatePixelColor(pixel);	  //dterminer la couleur calcul par le shader pour le pixel	
-      viewport.setColor(pixel, color);	                //dessiner le pixel avec la couleur dans le bon pixel
+      final int x = (int)(index % width);               //la coordonne du prochain pixel  calculer
+      final int y = (int)(index / width);
+      final SColor color = raytracePixel(x, y);	        //dterminer la couleur calcul par le shader pour le pixel	
+      viewport.setColor(x, y, color);	                  //dessiner le pixel avec la couleur dans le bon pixel
     }
   }
 
@@ -22,7 +22,7 @@ import sim.util.SStringUtil;
  * 
  * @author Simon Vzina
  * @since 2016-01-11
- * @version 2016-01-12
+ * @version 2026-10-17
  */
 public class STextureComparator extends SAbstractReadableWriteable {
 
@@ -183,6 +183,7 @@ public class STextureComparator extends SAbstractReadableWriteable {
       SRaytracer raytracer = scene.buildRaytracer();
       
       raytracer.raytrace();
+      raytracer.close();
       
       return new STexture(file_name, scene.getViewport().getBufferedImage());
       
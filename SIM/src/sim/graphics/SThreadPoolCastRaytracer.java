@@ -8,8 +8,10 @@ import java.util.List;
 import java.util.concurrent.Callable;
 import java.util.concurrent.ExecutionException;
 import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 import java.util.concurrent.FutureTask;
 import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.atomic.AtomicBoolean;
 
 import sim.exception.SConstructorException;
 import sim.exception.SRuntimeException;
@@ -25,7 +27,7 @@ import sim.util.SLog;
  * 
  * @author Simon Vzina et Robin Vzina
  * @since 2015-04-07
- * @version 2016-01-13
+ * @version 2026-10-17
  */
 public class SThreadPoolCastRaytracer extends SAbstractRaytracer {
 
@@ -106,7 +108,7 @@ public class SThreadPoolCastRaytracer extends SAbstractRaytracer {
       throw new SConstructorException("Erreur SMultiCastRaytracer 002 : Le nombre de rayon par pixel '" + task + "' n'est pas suprieur  0.");
       
     //Message de mauvaise fonctionnalit si la coordone interne d'un pixel n'est pas alatoire lors de super sampling
-    if(sampling > 1 && view_frustum.getPixelInternalCoordinate() != SViewFrustum.RANDOM_PIXEL)
+    if(sampling > 1 && !view_frustum.isSampledPixelInternalCoordinate())
       SLog.logWriteLine("Message SMultiCastRaytracer : Puisque le sampling est  '" + sampling + "' et que la coordonne interne d'un pixel est '" + SViewFrustum.PIXEL_COORDINATE[view_frustum.getPixelInternalCoordinate()] + "'(code = " + view_frustum.getPixelInternalCoordinate() + ") et non pas '" + SViewFrustum.PIXEL_COORDINATE[SViewFrustum.RANDOM_PIXEL] + "'(code = " + SViewFrustum.RANDOM_PIXEL + "), l'antialiasing ne peut pas tre applicable.");
     
     //Construction de l'excuteur du threadPool
@@ -116,30 +118,27 @@ public class SThreadPoolCastRaytracer extends SAbstractRaytracer {
   /*
    * (non-Javadoc)
    * 
-   * @see sim.graphics.SRaytracer#raytrace(int)
+   * @see sim.graphics.SRaytracer#raytrace(long)
    */
   @Override
-  public void raytrace(int nb_pixel) throws SRuntimeException
+  public void raytrace(long nb_pixel) throws SRuntimeException
   {
     //Vrification du nombre de pixels demand en calcul
     if(nb_pixel < 0)
       throw new SRuntimeException("Erreur SMultiCastRaytracer 003 : Le nombre de pixels '" + nb_pixel + "' doit tre suprieur  0.");
 
-    int count = 0; // compter le nombre de pixel calcul
+    long count = 0; // compter le nombre de pixel calcul
+    long[] range = new long[2]; // indices [dbut, fin[ des pixels rservs dans le viewport
 
     //Excuter des calculs tant que le nombre de pixel dsir n'est pas atteint
     while(count < nb_pixel)
     {
-      // S'il y a encore des pixels disponibles  tre dessin
-      if (viewport.hasNextPixel()) 
+      // S'il y a encore des pixels disponibles  tre dessin, rserver les prochains pixels  calculer
+      if (viewport.claimPixels(task, range)) 
       {
-        // le prochain pixel  calculer
         List<SVectorPixel> listSVectorPixel = new ArrayList<SVectorPixel>();
-        for(int i = 0; i < task && viewport.hasNextPixel(); i++)
-        {
-          SVectorPixel nextPixel = viewport.nextPixel();
-          listSVectorPixel.add(nextPixel);
-        }
+        for(long index = range[0]; index < range[1]; index++)
+          listSVectorPixel.add(new SVectorPixel((int)(index % viewport.getWidth()), (int)(index / viewport.getWidth())));
 
         
         List<FutureTask<SColor>> list = new ArrayList<FutureTask<SColor>>();
@@ -175,6 +174,52 @@ public class SThreadPoolCastRaytracer extends SAbstractRaytracer {
     }
   }
 
+  @Override
+  protected boolean raytraceLevel(final int step, final SRenderToken token) throws SRuntimeException
+  {
+    final AtomicBoolean interrupted = new AtomicBoolean(false);
+    
+    //Une tche par ligne de la passe : le jeton est consult au dbut de chaque ligne
+    List<Future<?>> list = new ArrayList<Future<?>>();
+    
+    for(int y = 0; y < viewport.getHeight(); y += step)
+    {
+      final int row = y;
+      
+      list.add(executor.submit(new Runnable() {
+        
+        @Override
+        public void run()
+        {
+          if(token.isStopRequested())
+            interrupted.set(true);
+          else
+            raytraceLevelRow(row, step);
+        }
+      }));
+    }
+    
+    try{
+      
+      for(Future<?> f : list)
+        f.get();
+      
+    } catch (InterruptedException e) {
+      throw new SRuntimeException("Erreur SThreadPoolCastRaytracer 006 : Raytracer interropu.", e);
+    } catch (ExecutionException e) {
+      throw new SRuntimeException("Erreur SThreadPoolCastRaytracer 007 : Erreur d'excution.", e);
+    }
+    
+    return !interrupted.get();
+  }
+  
+  @Override
+  public void close()
+  {
+    //Sans fermeture, les fils d'excution du threadPool demeurent actifs aprs le rendu
+    shutdownExecutor(executor);
+  }
+  
   @Override
   protected SColor evaluatePixelColor(SVectorPixel pixel)
   {
@@ -190,7 +235,7 @@ public class SThreadPoolCastRaytracer extends SAbstractRaytracer {
       
       //Calcul la couleur pour chaque sampling
       for(int i=0; i<tab.length; i++)
-      	tab[i] = raytracePixel(pixel);
+      	tab[i] = raytracePixel(pixel.getX(), pixel.getY(), i, sampling);
       
       //Faire la somme des couleurs
       SColor sum = new SColor(0.0, 0.0, 0.0);
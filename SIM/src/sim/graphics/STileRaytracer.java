@@ -0,0 +1,412 @@
+/**
+ *
+ */
+package sim.graphics;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import sim.exception.SConstructorException;
+import sim.exception.SRuntimeException;
+import sim.graphics.shader.SShader;
+import sim.math.SVectorPixel;
+import sim.util.SLog;
+import sim.util.SStringUtil;
+
+/**
+ * La classe <b>STileRaytracer</b> correspond  un <i>ray tracer</i> parallle dont le travail est dcoup en <b>tuiles</b>
+ * (rectangles de pixels) et rparti par un <i>ForkJoinPool</i>. Les tches sont subdivises rcursivement jusqu' la taille
+ * d'une tuile et un fil d'excution inactif peut ainsi <b>voler</b> (<i>work stealing</i>) les tuiles restantes d'un autre fil.
+ * <p>Contrairement au <b>SMultiCastRaytracer</b>, la charge de travail s'quilibre d'elle-mme lorsqu'une rgion de l'image
+ * est beaucoup plus coteuse  calculer qu'une autre et les fils d'excution sont rutiliss d'un appel  l'autre.</p>
+ *
+ * @author Simon Vzina
+ * @since 2026-10-17
+ * @version 2026-10-17
+ */
+public class STileRaytracer extends SAbstractRaytracer {
+
+  //--------------
+  // CONSTANTES //
+  //--------------
+
+  /**
+   * La constante <b>DEFAULT_TILE_SIZE</b> correspond  la taille par dfaut (en pixels) du ct d'une tuile.
+   */
+  public static final int DEFAULT_TILE_SIZE = 16;
+
+  //-------------
+  // VARIABLES //
+  //-------------
+
+  /**
+   * La variable <b>task</b> reprsente le nombre de tches effectues en parallle.
+   */
+  private final int task;
+
+  /**
+   * La variable <b>sampling</b> reprsente le nombre de rayon lanc par pixel lors du calcul de la couleur.
+   */
+  private final int sampling;
+
+  /**
+   * La variable <b>tile_size</b> reprsente la taille (en pixels) du ct d'une tuile. Une tuile de cette taille
+   * ne sera plus subdivise et sera calcule par un seul fil d'excution.
+   */
+  private final int tile_size;
+
+  /**
+   * La variable <b>pool</b> correspond au bassin de fils d'excution  vol de tches rutilis  chaque appel de calcul.
+   */
+  private final ForkJoinPool pool;
+
+  //----------------
+  // CONSTRUCTEUR //
+  //----------------
+
+  /**
+   * Constructeur d'un raytracer  tuiles.
+   *
+   * @param view_frustum - La pyramide de vue.
+   * @param shader - Le calculateur d'illumination.
+   * @param viewport - L'cran de vue.
+   * @param sampling - Le nombre de rayon lanc par pixel.
+   * @param task - Le nombre de tches ralises en parallle.
+   * @param tile_size - La taille (en pixels) du ct d'une tuile.
+   * @throws SConstructorException Si un des paramtres n'est pas suprieur  0.
+   */
+  public STileRaytracer(SViewFrustum view_frustum, SShader shader, SViewport viewport, int sampling, int task, int tile_size) throws SConstructorException
+  {
+    super(view_frustum, shader, viewport);
+
+    //Vrification que le sampling soit suprieur  0
+    if(sampling < 1)
+      throw new SConstructorException("Erreur STileRaytracer 001 : Le nombre de rayon par pixel '" + sampling + "' n'est pas suprieur  0.");
+
+    //Vrification que le nombre de tches soit suprieur  0
+    if(task < 1)
+      throw new SConstructorException("Erreur STileRaytracer 002 : Le nombre de tches '" + task + "' n'est pas suprieur  0.");
+
+    //Vrification que la taille d'une tuile soit suprieure  0
+    if(tile_size < 1)
+      throw new SConstructorException("Erreur STileRaytracer 003 : La taille d'une tuile '" + tile_size + "' n'est pas suprieure  0.");
+
+    this.sampling = sampling;
+    this.task = task;
+    this.tile_size = tile_size;
+
+    pool = new ForkJoinPool(task);
+
+    //Message de mauvaise fonctionnalit si la coordone interne d'un pixel n'est pas alatoire lors de super sampling
+    if(sampling > 1 && !view_frustum.isSampledPixelInternalCoordinate())
+      SLog.logWriteLine("Message STileRaytracer : Puisque le sampling est  '" + sampling + "' et que la coordonne interne d'un pixel est '" + SViewFrustum.PIXEL_COORDINATE[view_frustum.getPixelInternalCoordinate()] + "'(code = " + view_frustum.getPixelInternalCoordinate() + ") et non pas '" + SViewFrustum.PIXEL_COORDINATE[SViewFrustum.RANDOM_PIXEL] + "'(code = " + SViewFrustum.RANDOM_PIXEL + "), l'antialiasing ne peut pas tre applicable.");
+  }
+
+  //------------
+  // MTHODES //
+  //------------
+
+  /**
+   * Mthode pour obtenir le nombre de tches ralises en parallle.
+   *
+   * @return Le nombre de tches.
+   */
+  public int getTask()
+  {
+    return task;
+  }
+
+  /**
+   * Mthode pour obtenir le nombre de rayons lancs par pixel.
+   *
+   * @return Le nombre de rayons par pixel.
+   */
+  public int getSampling()
+  {
+    return sampling;
+  }
+
+  /**
+   * Mthode pour obtenir la taille (en pixels) du ct d'une tuile.
+   *
+   * @return La taille d'une tuile.
+   */
+  public int getTileSize()
+  {
+    return tile_size;
+  }
+
+  @Override
+  public long nbPixels()
+  {
+    return viewport.getNbPixels();
+  }
+
+  @Override
+  public void raytrace(long nb_pixel) throws SRuntimeException
+  {
+    //Vrification du nombre de pixels demand en calcul
+    if(nb_pixel < 0)
+      throw new SRuntimeException("Erreur STileRaytracer 004 : Le nombre de pixels '" + nb_pixel + "' doit tre suprieur  0.");
+
+    //Rserver dans le viewport la squence de pixels  calculer (ligne par ligne)
+    long[] range = new long[2];
+    
+    if(nb_pixel == 0 || !viewport.claimPixels(nb_pixel, range))
+      return;
+
+    int width = viewport.getWidth();
+    long begin = range[0];
+    long end = range[1];
+
+    //Dcouper la squence en rectangles : la fin de la premire ligne, les lignes compltes et le dbut de la dernire ligne
+    int y_begin = (int)(begin / width);
+    int y_end = (int)((end - 1) / width);
+    int x_begin = (int)(begin % width);
+    int x_end = (int)((end - 1) % width) + 1;
+
+    STileAction head;
+    STileAction body = null;
+    STileAction tail = null;
+
+    if(y_begin == y_end)
+      head = new STileAction(x_begin, y_begin, x_end, y_begin + 1);
+    else
+    {
+      head = new STileAction(x_begin, y_begin, width, y_begin + 1);
+
+      if(y_end > y_begin + 1)
+        body = new STileAction(0, y_begin + 1, width, y_end);
+
+      tail = new STileAction(0, y_end, x_end, y_end + 1);
+    }
+
+    try{
+      pool.invoke(new STileGroupAction(head, body, tail));
+    }catch(RuntimeException e){
+      throw new SRuntimeException("Erreur STileRaytracer 005 : Une erreur est survenue lors du calcul d'une tuile." + SStringUtil.END_LINE_CARACTER + "\t" + e.getMessage(), e);
+    }
+  }
+
+  @Override
+  protected boolean raytraceLevel(int step, SRenderToken token) throws SRuntimeException
+  {
+    AtomicBoolean interrupted = new AtomicBoolean(false);
+    
+    try{
+      pool.invoke(new SLevelAction(0, (viewport.getHeight() + step - 1) / step, step, token, interrupted));
+    }catch(RuntimeException e){
+      throw new SRuntimeException("Erreur STileRaytracer 006 : Une erreur est survenue lors du calcul d'une passe de raffinement." + SStringUtil.END_LINE_CARACTER + "\t" + e.getMessage(), e);
+    }
+    
+    return !interrupted.get();
+  }
+  
+  @Override
+  public void raytraceRegion(int x_min, int y_min, int x_max, int y_max) throws SRuntimeException
+  {
+    checkRegion(x_min, y_min, x_max, y_max);
+    
+    try{
+      pool.invoke(new STileAction(x_min, y_min, x_max, y_max));
+    }catch(RuntimeException e){
+      throw new SRuntimeException("Erreur STileRaytracer 007 : Une erreur est survenue lors du calcul d'une rgion." + SStringUtil.END_LINE_CARACTER + "\t" + e.getMessage(), e);
+    }
+  }
+  
+  @Override
+  public void close()
+  {
+    shutdownExecutor(pool);
+  }
+  
+  @Override
+  protected SColor evaluatePixelColor(SVectorPixel pixel)
+  {
+    return evaluatePixelColor(pixel.getX(), pixel.getY());
+  }
+
+  /**
+   * Mthode pour valuer la couleur  attribuer  un pixel en moyennant le nombre de rayons lancs (<i>sampling</i>).
+   *
+   * @param x - La coordonne x du pixel.
+   * @param y - La coordonne y du pixel.
+   * @return La couleur  attribuer au pixel.
+   */
+  @Override
+  protected SColor evaluatePixelColor(int x, int y)
+  {
+    // Raytracting  un rayon par pixel
+    if(sampling == 1)
+      return raytracePixel(x, y);
+
+    // Raytracing  plusieurs rayons par pixel
+    SColor sum = new SColor(0.0, 0.0, 0.0);
+
+    for(int i = 0; i < sampling; i++)
+      sum = sum.add(raytracePixel(x, y, i, sampling));
+
+    //Retourner la couleur aprs avoir divis par le nombre de sampling
+    return sum.multiply(1.0 / (double)sampling);
+  }
+
+  /**
+   * Mthode pour calculer l'ensemble des pixels d'une tuile et les affecter au viewport.
+   *
+   * @param x_min - La coordonne x minimale (incluse).
+   * @param y_min - La coordonne y minimale (incluse).
+   * @param x_max - La coordonne x maximale (exclue).
+   * @param y_max - La coordonne y maximale (exclue).
+   */
+  private void raytraceTile(int x_min, int y_min, int x_max, int y_max)
+  {
+    for(int y = y_min; y < y_max; y++)
+      for(int x = x_min; x < x_max; x++)
+        viewport.setColor(x, y, evaluatePixelColor(x, y));
+  }
+
+  /**
+   * La classe interne <b>STileAction</b> reprsente le calcul d'un rectangle de pixels [x_min, x_max[ x [y_min, y_max[.
+   * Le rectangle est coup en deux selon sa plus grande dimension tant qu'il dpasse la taille d'une tuile.
+   */
+  private class STileAction extends RecursiveAction {
+
+    private static final long serialVersionUID = 1L;
+
+    private final int x_min;
+    private final int y_min;
+    private final int x_max;
+    private final int y_max;
+
+    /**
+     * Constructeur d'une tche de calcul d'un rectangle de pixels.
+     *
+     * @param x_min - La coordonne x minimale (incluse).
+     * @param y_min - La coordonne y minimale (incluse).
+     * @param x_max - La coordonne x maximale (exclue).
+     * @param y_max - La coordonne y maximale (exclue).
+     */
+    private STileAction(int x_min, int y_min, int x_max, int y_max)
+    {
+      this.x_min = x_min;
+      this.y_min = y_min;
+      this.x_max = x_max;
+      this.y_max = y_max;
+    }
+
+    @Override
+    protected void compute()
+    {
+      int dx = x_max - x_min;
+      int dy = y_max - y_min;
+
+      // Une tuile est calcule directement
+      if(dx <= tile_size && dy <= tile_size)
+        raytraceTile(x_min, y_min, x_max, y_max);
+      else
+        // Couper selon la plus grande dimension (en multiple de la taille d'une tuile)
+        if(dx >= dy)
+        {
+          int x_mid = x_min + Math.max(1, (dx / tile_size) / 2) * tile_size;
+          invokeAll(new STileAction(x_min, y_min, x_mid, y_max), new STileAction(x_mid, y_min, x_max, y_max));
+        }
+        else
+        {
+          int y_mid = y_min + Math.max(1, (dy / tile_size) / 2) * tile_size;
+          invokeAll(new STileAction(x_min, y_min, x_max, y_mid), new STileAction(x_min, y_mid, x_max, y_max));
+        }
+    }
+
+  }//fin de la classe interne STileAction
+
+  /**
+   * La classe interne <b>STileGroupAction</b> reprsente le calcul simultan des rectangles (possiblement absents)
+   * formant une squence de pixels rserve dans le viewport.
+   */
+  private class STileGroupAction extends RecursiveAction {
+
+    private static final long serialVersionUID = 1L;
+
+    private final STileAction head;
+    private final STileAction body;
+    private final STileAction tail;
+
+    /**
+     * Constructeur d'un groupe de tches.
+     *
+     * @param head - Le rectangle de la premire ligne.
+     * @param body - Le rectangle des lignes compltes (peut tre <b>null</b>).
+     * @param tail - Le rectangle de la dernire ligne (peut tre <b>null</b>).
+     */
+    private STileGroupAction(STileAction head, STileAction body, STileAction tail)
+    {
+      this.head = head;
+      this.body = body;
+      this.tail = tail;
+    }
+
+    @Override
+    protected void compute()
+    {
+      if(body != null && tail != null)
+        invokeAll(head, body, tail);
+      else
+        if(tail != null)
+          invokeAll(head, tail);
+        else
+          head.compute();
+    }
+
+  }//fin de la classe interne STileGroupAction
+  
+  /**
+   * La classe interne <b>SLevelAction</b> reprsente le calcul d'une squence de lignes [row_min, row_max[ d'une passe de raffinement.
+   * La squence est coupe en deux jusqu' une seule ligne et le jeton de rendu est consult avant le calcul de chaque ligne.
+   */
+  private class SLevelAction extends RecursiveAction {
+    
+    private static final long serialVersionUID = 1L;
+    
+    private final int row_min;
+    private final int row_max;
+    private final int step;
+    private final SRenderToken token;
+    private final AtomicBoolean interrupted;
+    
+    /**
+     * Constructeur d'une tche de calcul d'une squence de lignes d'une passe de raffinement.
+     * 
+     * @param row_min - L'indice de la premire ligne de la passe (incluse).
+     * @param row_max - L'indice de la dernire ligne de la passe (exclue).
+     * @param step - L'espacement (en pixels) de la grille de pixels de la passe.
+     * @param token - Le jeton de rendu.
+     * @param interrupted - L'indicateur d'interruption de la passe.
+     */
+    private SLevelAction(int row_min, int row_max, int step, SRenderToken token, AtomicBoolean interrupted)
+    {
+      this.row_min = row_min;
+      this.row_max = row_max;
+      this.step = step;
+      this.token = token;
+      this.interrupted = interrupted;
+    }
+    
+    @Override
+    protected void compute()
+    {
+      if(row_max - row_min > 1)
+      {
+        int row_mid = (row_min + row_max) / 2;
+        invokeAll(new SLevelAction(row_min, row_mid, step, token, interrupted), new SLevelAction(row_mid, row_max, step, token, interrupted));
+      }
+      else
+        if(token.isStopRequested())
+          interrupted.set(true);
+        else
+          raytraceLevelRow(row_min * step, step);
+    }
+    
+  }//fin de la classe interne SLevelAction
+
+}//fin de la classe STileRaytracer
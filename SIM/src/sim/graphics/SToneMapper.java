@@ -0,0 +1,135 @@
+/**
+ *
+ */
+package sim.graphics;
+
+import java.awt.image.BufferedImage;
+import java.awt.image.DataBufferInt;
+
+import sim.exception.SConstructorException;
+
+/**
+ * La classe <b>SToneMapper</b> reprsente une tape de <b>mappage de tons</b> (<i>tone mapping</i>) convertissant une image  grande gamme dynamique
+ * (voir SHDRImage) en image RGB 8 bits. Cette tape est indpendante du rendu : une image crite en format PFM ou HDR peut tre convertie
+ * plusieurs fois (ex. : ajustement de l'exposition) sans refaire le <i>ray tracing</i>.
+ *
+ * <p>Les canaux sont d'abord multiplis par 2^<b>exposure</b> (exposition en <i>stops</i>) puis convertis selon l'oprateur :
+ * <ul>- clamp_channel : chaque canal est limit  1 (normalisation CLAMP_CHANNEL_NORMALIZATION de SColor).</ul>
+ * <ul>- division_factor : les canaux sont diviss par le plus grand canal s'il dpasse 1 (normalisation DIVISION_FACTOR_NORMALIZATION de SColor).</ul>
+ * <ul>- reinhard : les canaux sont diviss par (1 + L) o L est la luminance du pixel (oprateur global de Reinhard).</ul>
+ * </p>
+ * <p>Avec une exposition nulle, les oprateurs clamp_channel et division_factor donnent exactement l'image PNG produite par le rendu.</p>
+ *
+ * @author Simon Vzina
+ * @since 2026-10-17
+ * @version 2026-10-17
+ */
+public class SToneMapper {
+
+  //--------------
+  // CONSTANTES //
+  //--------------
+
+  /**
+   * La constante <b>TONE_MAPPING</b> correspond aux noms des oprateurs de mappage de tons (indexs par leur code).
+   */
+  public static final String[] TONE_MAPPING = { "clamp_channel", "division_factor", "reinhard" };
+
+  /**
+   * La constante <b>CLAMP_CHANNEL</b> correspond au code de l'oprateur limitant chaque canal  1.
+   */
+  public static final int CLAMP_CHANNEL = SColor.CLAMP_CHANNEL_NORMALIZATION;
+
+  /**
+   * La constante <b>DIVISION_FACTOR</b> correspond au code de l'oprateur divisant les canaux par le plus grand canal.
+   */
+  public static final int DIVISION_FACTOR = SColor.DIVISION_FACTOR_NORMALIZATION;
+
+  /**
+   * La constante <b>REINHARD</b> correspond au code de l'oprateur global de Reinhard.
+   */
+  public static final int REINHARD = 2;
+
+  //-------------
+  // VARIABLES //
+  //-------------
+
+  /**
+   * La variable <b>scale</b> correspond au facteur multiplicatif de l'exposition (2^exposure).
+   */
+  private final float scale;
+
+  /**
+   * La variable <b>operator</b> correspond au code de l'oprateur de mappage de tons.
+   */
+  private final int operator;
+
+  //----------------
+  // CONSTRUCTEUR //
+  //----------------
+
+  /**
+   * Constructeur d'une tape de mappage de tons.
+   *
+   * @param exposure - L'exposition en <i>stops</i> (0 pour conserver les valeurs du rendu).
+   * @param operator - Le code de l'oprateur de mappage de tons.
+   * @throws SConstructorException Si le code de l'oprateur n'est pas reconnu.
+   */
+  public SToneMapper(double exposure, int operator) throws SConstructorException
+  {
+    if(operator < 0 || operator >= TONE_MAPPING.length)
+      throw new SConstructorException("Erreur SToneMapper 001 : L'oprateur de mappage de tons de code '" + operator + "' n'est pas reconnu.");
+
+    this.scale = (float)Math.pow(2.0, exposure);
+    this.operator = operator;
+  }
+
+  //------------
+  // MTHODES //
+  //------------
+
+  /**
+   * Mthode pour convertir une couleur linaire en reprsentation entire RGB [0..255] (format 0xRRGGBB).
+   *
+   * @param red - Le canal rouge.
+   * @param green - Le canal vert.
+   * @param blue - Le canal bleu.
+   * @return La couleur en format RGB.
+   */
+  public int toneMapRGB(float red, float green, float blue)
+  {
+    red = Math.max(red * scale, 0.0f);
+    green = Math.max(green * scale, 0.0f);
+    blue = Math.max(blue * scale, 0.0f);
+
+    if(operator == REINHARD)
+    {
+      float factor = 1.0f / (1.0f + 0.2126f*red + 0.7152f*green + 0.0722f*blue);
+
+      return SColor.normalizeRGB(red * factor, green * factor, blue * factor, CLAMP_CHANNEL);
+    }
+
+    return SColor.normalizeRGB(red, green, blue, operator);
+  }
+
+  /**
+   * Mthode pour convertir une image HDR en image RGB 8 bits.
+   *
+   * @param hdr - L'image HDR.
+   * @return L'image convertie.
+   */
+  public BufferedImage toneMap(SHDRImage hdr)
+  {
+    BufferedImage image = new BufferedImage(hdr.getWidth(), hdr.getHeight(), BufferedImage.TYPE_INT_RGB);
+
+    // criture directe dans le tampon du BufferedImage (rang ligne par ligne comme l'image HDR)
+    int[] rgb = ((DataBufferInt)image.getRaster().getDataBuffer()).getData();
+    float[] channels = hdr.getRGB();
+
+    for(int i = 0, k = 0; i < rgb.length; i++, k += SHDRImage.CHANNEL_PER_PIXEL)
+      rgb[i] = toneMapRGB(channels[k], channels[k+1], channels[k+2]);
+
+    return image;
+  }
+
+}//fin de la classe SToneMapper
@@ -7,8 +7,14 @@ import sim.exception.SConstructorException;
 import sim.exception.SRuntimeException;
 import sim.graphics.SCamera;
 import sim.graphics.SViewport;
+import sim.graphics.sampler.SHaltonSampler;
+import sim.graphics.sampler.SPixelSampler;
+import sim.graphics.sampler.SRandomSampler;
+import sim.graphics.sampler.SSobolSampler;
+import sim.graphics.sampler.SStratifiedSampler;
 import sim.math.SVector3d;
 import sim.math.SVectorPixel;
+import sim.math.SVectorUV;
 
 /**
  * Classe qui reprsente la pyramide de vue associ au rendu  gnrer. 
@@ -16,18 +22,28 @@ import sim.math.SVectorPixel;
  * La gomtrie de la pyramide vue est exprim dans l'espace des primitives de la scne.
  * @author Simon Vzina
  * @since 2014-12-28
- * @version 2015-07-16
+ * @version 2026-10-17
  */
 public class SViewFrustum {
 
   //Mode de slection de la coordonne interne d'un pixel
-  public static final String[] PIXEL_COORDINATE = {"top_left", "top_right", "bottom_left", "bottom_right", "center", "random" };
+  public static final String[] PIXEL_COORDINATE = {"top_left", "top_right", "bottom_left", "bottom_right", "center", "random", "stratified", "halton", "sobol" };
   public static final int TOP_LEFT_PIXEL = 0;
   public static final int TOP_RIGHT_PIXEL = 1;
   public static final int BOTTOM_LEFT_PIXEL = 2;
   public static final int BOTTOM_RIGHT_PIXEL = 3;
   public static final int CENTER_PIXEL = 4;
   public static final int RANDOM_PIXEL = 5;
+  public static final int STRATIFIED_PIXEL = 6;
+  public static final int HALTON_PIXEL = 7;
+  public static final int SOBOL_PIXEL = 8;
+  
+  /**
+   * La constante <b>SAMPLER</b> correspond au gnrateur de coordonnes internes associ  chaque code de coordonne interne d'un pixel.
+   * Un code  position fixe dans le pixel n'a pas de gnrateur (valeur <b>null</b>).
+   * Les gnrateurs ne conservant aucun tat, ils peuvent tre partags par l'ensemble des <i>threads</i>.
+   */
+  private static final SPixelSampler[] SAMPLER = { null, null, null, null, null, new SRandomSampler(), new SStratifiedSampler(), new SHaltonSampler(), new SSobolSampler() };
   
   private final SVector3d camera_position;         //la position de la camera
   private final int pixel_internal_coordinate;	   //code de coordonne interne du pixel
@@ -119,6 +135,17 @@ public class SViewFrustum {
     return pixel_internal_coordinate; 
   }
   
+  /**
+   * Mthode pour dterminer si la coordonne interne d'un pixel est gnre par un chantillonneur (<i>sampler</i>).
+   * Dans ce cas, plusieurs rayons lancs dans un mme pixel traverseront des coordonnes diffrentes (<i>anti aliasing</i>).
+   * 
+   * @return <b>true</b> si la coordonne interne est chantillonne et <b>false</b> si elle est  une position fixe.
+   */
+  public boolean isSampledPixelInternalCoordinate()
+  {
+    return SAMPLER[pixel_internal_coordinate] != null;
+  }
+  
 	/**
    * Mthode pour retourner la position d'un pixel du Viewport dans le rfrentiel du ViewFrustum en coordonne xyz. 
    * Ce pixel sera situ sur le front clipping plane.
@@ -144,6 +171,33 @@ public class SViewFrustum {
     return viewportToViewFrustum(x, y, pixel_internal_coordinate);
   }
   
+  /**
+   * Mthode pour retourner la position d'un chantillon d'un pixel de coordonne xy dans le Viewport dans le rfrentiel du ViewFrustum en coordonne xyz. 
+   * Si la coordonne interne est chantillonne, la position dpend uniquement du pixel et de l'indice de l'chantillon (le rendu est reproductible).
+   * Sinon, la position est celle dtermine par le code choisi lors de la construction du SViewFrustum.
+   * 
+   * @param x - La coordonne x du pixel en largeur (width).
+   * @param y - La coordonne y du pixel en hauteur (height).
+   * @param sample - L'indice de l'chantillon (de 0  nb_sample-1).
+   * @param nb_sample - Le nombre d'chantillons lancs dans le pixel.
+   * @return Le vecteur position de l'chantillon du pixel sur le devant de la pyramide de vue.
+   */
+  public SVector3d viewportToViewFrustum(int x, int y, int sample, int nb_sample)
+  {
+    SPixelSampler sampler = SAMPLER[pixel_internal_coordinate];
+    
+    if(sampler == null)
+      return viewportToViewFrustum(x, y, pixel_internal_coordinate);
+    
+    if(x < 0 || x > x_max)
+      throw new SRuntimeException("Erreur SViewFrustum 008 : La coordonne x = " + x + "est  l'extrieur de l'interval acceptable [0," + x_max + "].");
+  
+    if(y < 0 || y > y_max)
+      throw new SRuntimeException("Erreur SViewFrustum 009 : La coordonne y = " + y + "est  l'extrieur de l'interval acceptable [0," + y_max + "].");
+    
+    return viewportToViewFrustumSample(x, y, sampler.sample(x, y, sample, nb_sample));
+  }
+  
 	/**
    * Mthode pour retourner la position d'un pixel de coordonne xy dans le Viewport dans le rfrentiel du ViewFrustum en coordonne xyz. 
    * Ce pixel sera situ sur le front clipping plane  la coordonne dtermin par le code choisi.
@@ -170,7 +224,10 @@ public class SViewFrustum {
 	    case BOTTOM_LEFT_PIXEL : return viewportToViewFrustumBottomLeft(x,y);
 	    case BOTTOM_RIGHT_PIXEL : return viewportToViewFrustumBottomRight(x,y);
 	    case CENTER_PIXEL : return viewportToViewFrustumCenter(x,y);
-	    case RANDOM_PIXEL : return viewportToViewFrustumRandom(x,y);
+	    case RANDOM_PIXEL :
+	    case STRATIFIED_PIXEL :
+	    case HALTON_PIXEL :
+	    case SOBOL_PIXEL : return viewportToViewFrustumSample(x, y, SAMPLER[pixel_code_coordinate].sample(x, y, 0, 1));
 	    
 	    default : throw new SRuntimeException("Erreur SViewFrustum 007 : Le code de slection interne au pixel '" + pixel_internal_coordinate + "' n'est pas bien dfini."); 
 	  }
@@ -183,6 +240,7 @@ public class SViewFrustum {
 	 * <p> ... </p>
 	 * <p>CENTER_PIXEL = 5 : Slection d'une coordonne dans le centre du pixel.</p>
 	 * <p>RANDOM_PIXEL = 6: Slection d'une coordonne alatoire  l'intrieur du pixel.</p>
+	 * <p>STRATIFIED_PIXEL, HALTON_PIXEL, SOBOL_PIXEL : Slection d'une coordonne stratifie ou  faible discrpance  l'intrieur du pixel.</p>
 	 * @param code - Le code de localisation.
 	 */
 	private boolean isPixelInternalCoordinateCodeValid(int code)
@@ -194,7 +252,10 @@ public class SViewFrustum {
 	    case BOTTOM_LEFT_PIXEL :
 	    case BOTTOM_RIGHT_PIXEL :
 	    case CENTER_PIXEL : 
-	    case RANDOM_PIXEL : return true;
+	    case RANDOM_PIXEL :
+	    case STRATIFIED_PIXEL :
+	    case HALTON_PIXEL :
+	    case SOBOL_PIXEL : return true;
 	    
 	    default : return false;
 	  }
@@ -271,15 +332,16 @@ public class SViewFrustum {
   }
 			
   /**
-   * Mthode pour retourner la position (x,y,z) d'un pixel de coodonne (x,y). La position du pixel correspondra  une <b>position alatoire dans le pixel</b>.
+   * Mthode pour retourner la position (x,y,z) d'un pixel de coodonne (x,y). La position du pixel correspondra  une <b>position chantillonne dans le pixel</b>.
    * @param x - La coordonne x du pixel en largeur (width).
    * @param y - La coordonne y du pixel en hauteur (height).
-   * @return Le vecteur position du pixel sur le devant de la pyramide de vue situ dans le coin suprieur gauche du pixel.
+   * @param uv - La coordonne interne de l'chantillon dans le pixel (dans l'intervalle [0,1[).
+   * @return Le vecteur position de l'chantillon du pixel sur le devant de la pyramide de vue.
    */
-  private SVector3d viewportToViewFrustumRandom(int x, int y)
+  private SVector3d viewportToViewFrustumSample(int x, int y, SVectorUV uv)
   {
     //Vecteur permettant de localiser  partir du pixel (0,0) le pixel (x,y)
-    SVector3d r = (u1.multiply((double)x+Math.random())).add(u2.multiply((double)y+Math.random()));
+    SVector3d r = (u1.multiply((double)x+uv.getU())).add(u2.multiply((double)y+uv.getV()));
     
     return ((centre_clipping_plane.add(r_ini)).add(r));
   }
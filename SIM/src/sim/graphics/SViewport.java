@@ -4,10 +4,13 @@
 package sim.graphics;
 
 import java.awt.image.BufferedImage;
+import java.awt.image.DataBufferInt;
 import java.io.BufferedWriter;
 import java.io.File;
 import java.io.IOException;
 import java.util.Arrays;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicLong;
 
 import javax.imageio.ImageIO;
 
@@ -28,10 +31,15 @@ import sim.util.SStringUtil;
  * <ul>- La coordonne [width-1][0] correspond au coin suprieur droit de l'image.</ul>
  * <ul>- La coordonne [0][height-1] correspond au coin infrieur gauche de l'image.</ul>
  * <ul>- La coordonne [width-1][height-1] correspond au coint infrieur droit de l'image.</ul>
+ * <p>Les couleurs sont conserves dans un tampon de nombres rels (<i>float</i>) rang ligne par ligne contenant les canaux RGBA de chaque pixel.
+ * La classe SColor n'est utilise que pour l'affectation et la lecture d'un pixel.</p>
+ * <p>Le tampon est conserv dans le <i>heap</i> par dfaut. Pour une image de trs grande taille, il peut tre projet en mmoire
+ *  partir d'un fichier de travail (paramtre <b>framebuffer_file</b>). L'image est alors crite ligne par ligne (voir SImageWriter)
+ * sans jamais tre copie entirement dans le <i>heap</i>.</p>
  *  
  * @author Simon Vzina
  * @since 2014-12-27
- * @version 2016-01-08
+ * @version 2026-10-17
  */
 public class SViewport extends SAbstractReadableWriteable {
 
@@ -44,14 +52,10 @@ public class SViewport extends SAbstractReadableWriteable {
    *  utiliser reconnus lors de la dfinition de l'objet par une lecture en fichier.
    */
   private static final String[] KEYWORD_PARAMETER = {
-    SKeyWordDecoder.KW_WIDTH, SKeyWordDecoder.KW_HEIGHT, SKeyWordDecoder.KW_IMAGE_FILE_NAME
+    SKeyWordDecoder.KW_WIDTH, SKeyWordDecoder.KW_HEIGHT, SKeyWordDecoder.KW_IMAGE_FILE_NAME,
+    SKeyWordDecoder.KW_IMAGE_FORMAT, SKeyWordDecoder.KW_FRAMEBUFFER_FILE
   };
   
-  /**
-   * La constante <b>ORIGIN_PIXEL</b> correspond  l'origine en coordonne pixel du viewport.
-   */
-  private static final SVectorPixel ORIGIN_PIXEL = new SVectorPixel(0,0);
-  
 	private final static int DEFAULT_IMAGE_COUNTER = 0;						        //numro de l'image initiale par dfaut
 	private final static int MAX_IMAGE_COUNTER = 999;						          //numro maximal de l'image
 		
@@ -61,18 +65,47 @@ public class SViewport extends SAbstractReadableWriteable {
 	private static final int DEFAULT_HEIGHT = 500;						            //hauteur du viewport par dfaut
 	
 	private static final String DEFAULT_IMAGE_FILE_NAME = "image";			  //nom du fichier de l'criture du viewport par dfaut
-	private static final String DEFAULT_IMAGE_EXTENSION = "png";			    //extension du fichier d'criture du viewport par dfaut
+	private static final int DEFAULT_IMAGE_FORMAT = SImageWriter.PNG;      //format du fichier d'criture du viewport par dfaut
+	
+	/**
+	 * La constante <b>NO_FRAMEBUFFER_FILE</b> correspond au nom du fichier de travail lorsque le tampon de l'image est conserv dans le <i>heap</i>.
+	 */
+	private static final String NO_FRAMEBUFFER_FILE = "";
 	
 	private static int image_counter = DEFAULT_IMAGE_COUNTER;				      //numro de l'image qui sera gnr lors de l'criture du viewport dans un fichier image
 	
 	private String image_file_name;				//nom du fichier lors de l'criture du viewport en fichier image
+	
+	private int image_format;             //code du format du fichier image (voir SImageWriter)
+	
+	private String framebuffer_file_name; //nom du fichier de travail du tampon projet en mmoire (NO_FRAMEBUFFER_FILE pour un tampon dans le heap)
 		
 	private int width;							      //Nombre de pixels en largeur (selon l'axe x, de 0  width-1)
 	private int height;							      //Nombre de pixels en hauteur (selon l'axe y, de 0  height-1)
 	
-	private SColor[][] image;             //l'image gnr dans le viewport 
+	/**
+	 * La constante <b>CHANNEL_PER_PIXEL</b> correspond au nombre de canaux (RGBA) conservs pour chaque pixel dans le tampon de l'image.
+	 */
+	private static final int CHANNEL_PER_PIXEL = 4;
+	
+	/**
+	 * La variable <b>image</b> correspond au tampon de l'image gnr dans le viewport. Les canaux RGBA du pixel (x,y) sont situs
+	 *  partir de l'indice (y*width + x)*CHANNEL_PER_PIXEL.
+	 */
+	private SFrameBuffer image;
+	
+	/**
+	 * La variable <b>pixel_cursor</b> correspond  l'indice linaire (ligne par ligne, soit y*width + x) du prochain pixel 
+	 *  tre rserv pour le calcul. Le curseur est partag sans verrou entre les fils d'excution.
+	 * Il est de type <i>long</i> puisque le nombre de pixels d'une trs grande image (tampon projet en mmoire) peut dpasser Integer.MAX_VALUE.
+	 */
+	private final AtomicLong pixel_cursor = new AtomicLong(0);
 	
-	private SVectorPixel current_pixel;		//reprsente le pixel qui est prsentement en analyse
+	/**
+	 * La variable <b>tile_cursor</b> correspond  l'indice du prochain bloc (<i>tile</i>)  tre rserv pour le calcul.
+	 * Les blocs sont numrots ligne par ligne dans la grille des blocs du viewport.
+	 */
+	private final AtomicLong tile_cursor = new AtomicLong(0);
 		
 	/**
 	 * Constructeur d'un viewport par dfaut.
@@ -106,6 +139,8 @@ public class SViewport extends SAbstractReadableWriteable {
 		this.width = width;
 		this.height = height;
 		image_file_name = file_name;
+		image_format = DEFAULT_IMAGE_FORMAT;
+		framebuffer_file_name = NO_FRAMEBUFFER_FILE;
 				
 		try{
 		  initialize();
@@ -153,6 +188,17 @@ public class SViewport extends SAbstractReadableWriteable {
 	  return height;
 	}
 	
+	/**
+	 * Mthode pour obtenir le nombre total de pixels du viewport.
+	 * Ce nombre peut dpasser Integer.MAX_VALUE pour une trs grande image (tampon projet en mmoire).
+	 * 
+	 * @return Le nombre de pixels (width*height).
+	 */
+	public long getNbPixels()
+	{
+	  return (long)width * height;
+	}
+	
 	/**
 	 * Mthode pour avoir une copie du contenu du viewport sous forme d'un BufferedImage. 
 	 * 
@@ -163,13 +209,128 @@ public class SViewport extends SAbstractReadableWriteable {
 	{ 
 	  BufferedImage buffer = new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB);
 	  
-	  for(int i=0; i<width; i++)
-	    for(int j=0; j<height; j++)
-	      buffer.setRGB(i, j, image[i][j].normalizeColor().getRGB());
+	  // criture directe dans le tampon du BufferedImage (rang ligne par ligne comme le tampon du viewport)
+	  int[] rgb = ((DataBufferInt)buffer.getRaster().getDataBuffer()).getData();
+	  
+	  copyRGB(rgb, 0, 0, width, height);
 	  
 	  return buffer;
 	}
 	
+	/**
+	 * Mthode pour copier une rgion rectangulaire du viewport dans un tampon de couleurs RGB (format <i>int</i> 0xRRGGBB).
+	 * Le tampon doit tre rang ligne par ligne et avoir la mme largeur que le viewport (comme le tampon d'un BufferedImage de type TYPE_INT_RGB).
+	 * Seuls les pixels de la rgion sont crits, ce qui permet de mettre  jour un affichage sans recopier l'image complte.
+	 * 
+	 * @param rgb - Le tampon de couleurs RGB de taille width*height.
+	 * @param x_min - La coordonne x minimale (incluse).
+	 * @param y_min - La coordonne y minimale (incluse).
+	 * @param x_max - La coordonne x maximale (exclue).
+	 * @param y_max - La coordonne y maximale (exclue).
+	 * @throws SRuntimeException Si la rgion est  l'extrieur du viewport ou si le tampon n'a pas la taille du viewport.
+	 */
+	public void copyRGB(int[] rgb, int x_min, int y_min, int x_max, int y_max) throws SRuntimeException
+	{
+	  if(rgb.length != getNbPixels())
+	    throw new SRuntimeException("Erreur SViewport 010 : Le tampon de taille '" + rgb.length + "' n'a pas la taille du viewport '" + getNbPixels() + "'.");
+	  
+	  if(x_min < 0 || y_min < 0 || x_max > width || y_max > height)
+	    throw new SRuntimeException("Erreur SViewport 011 : La rgion [" + x_min + "," + x_max + "[ x [" + y_min + "," + y_max + "[ est  l'extrieur du viewport.");
+	  
+	  float[] row = new float[(x_max - x_min) * CHANNEL_PER_PIXEL];
+	  
+	  for(int y = y_min; y < y_max; y++)
+	  {
+	    image.get(index(x_min, y), row, 0, row.length);
+	    
+	    for(int i = y*width + x_min, k = 0; k < row.length; i++, k += CHANNEL_PER_PIXEL)
+	      rgb[i] = SColor.normalizeRGB(row[k], row[k+1], row[k+2]);
+	  }
+	}
+	
+	/**
+	 * Mthode pour copier les canaux RGBA d'une rgion rectangulaire du viewport dans un tampon de nombres rels.
+	 * Le tampon est rang ligne par ligne et contient CHANNEL_PER_PIXEL canaux par pixel de la rgion.
+	 * 
+	 * @param channels - Le tampon de taille (x_max-x_min)*(y_max-y_min)*4.
+	 * @param x_min - La coordonne x minimale (incluse).
+	 * @param y_min - La coordonne y minimale (incluse).
+	 * @param x_max - La coordonne x maximale (exclue).
+	 * @param y_max - La coordonne y maximale (exclue).
+	 * @throws SRuntimeException Si la rgion est  l'extrieur du viewport ou si le tampon n'a pas la taille de la rgion.
+	 */
+	public void getRegion(float[] channels, int x_min, int y_min, int x_max, int y_max) throws SRuntimeException
+	{
+	  checkRegion(channels, x_min, y_min, x_max, y_max);
+	  
+	  int row_length = (x_max - x_min) * CHANNEL_PER_PIXEL;
+	  
+	  for(int y = y_min; y < y_max; y++)
+	    image.get(index(x_min, y), channels, (y - y_min) * row_length, row_length);
+	}
+	
+	/**
+	 * Mthode pour affecter les canaux RGBA d'une rgion rectangulaire du viewport  partir d'un tampon de nombres rels.
+	 * Le tampon est rang ligne par ligne et contient CHANNEL_PER_PIXEL canaux par pixel de la rgion (format de la mthode <b>getRegion</b>).
+	 * 
+	 * @param channels - Le tampon de taille (x_max-x_min)*(y_max-y_min)*4.
+	 * @param x_min - La coordonne x minimale (incluse).
+	 * @param y_min - La coordonne y minimale (incluse).
+	 * @param x_max - La coordonne x maximale (exclue).
+	 * @param y_max - La coordonne y maximale (exclue).
+	 * @throws SRuntimeException Si la rgion est  l'extrieur du viewport ou si le tampon n'a pas la taille de la rgion.
+	 */
+	public void setRegion(float[] channels, int x_min, int y_min, int x_max, int y_max) throws SRuntimeException
+	{
+	  checkRegion(channels, x_min, y_min, x_max, y_max);
+	  
+	  int row_length = (x_max - x_min) * CHANNEL_PER_PIXEL;
+	  
+	  for(int y = y_min; y < y_max; y++)
+	    image.put(index(x_min, y), channels, (y - y_min) * row_length, row_length);
+	}
+	
+	/**
+	 * Mthode pour vrifier qu'une rgion est comprise dans le viewport et qu'un tampon de canaux RGBA a la taille de la rgion.
+	 * 
+	 * @param channels - Le tampon des canaux.
+	 * @param x_min - La coordonne x minimale (incluse).
+	 * @param y_min - La coordonne y minimale (incluse).
+	 * @param x_max - La coordonne x maximale (exclue).
+	 * @param y_max - La coordonne y maximale (exclue).
+	 * @throws SRuntimeException Si la rgion est  l'extrieur du viewport ou si le tampon n'a pas la taille de la rgion.
+	 */
+	private void checkRegion(float[] channels, int x_min, int y_min, int x_max, int y_max) throws SRuntimeException
+	{
+	  if(x_min < 0 || y_min < 0 || x_max > width || y_max > height || x_min > x_max || y_min > y_max)
+	    throw new SRuntimeException("Erreur SViewport 013 : La rgion [" + x_min + "," + x_max + "[ x [" + y_min + "," + y_max + "[ est  l'extrieur du viewport.");
+	  
+	  if(channels.length != (x_max - x_min) * (y_max - y_min) * CHANNEL_PER_PIXEL)
+	    throw new SRuntimeException("Erreur SViewport 014 : Le tampon de taille '" + channels.length + "' n'a pas la taille de la rgion '" + (x_max - x_min) * (y_max - y_min) * CHANNEL_PER_PIXEL + "'.");
+	}
+	
+	/**
+	 * Mthode pour obtenir l'indice du premier canal d'un pixel dans le tampon de l'image.
+	 * 
+	 * @param x - La coordonne x du pixel.
+	 * @param y - La coordonne y du pixel.
+	 * @return L'indice du premier canal (R) du pixel.
+	 */
+	private long index(int x, int y)
+	{
+	  return ((long)y*width + x) * CHANNEL_PER_PIXEL;
+	}
+	
+	/**
+	 * Mthode pour obtenir le nombre de canaux (RGBA) conservs pour chaque pixel dans les tampons des mthodes <b>getRegion</b> et <b>setRegion</b>.
+	 * 
+	 * @return Le nombre de canaux par pixel.
+	 */
+	public static int getChannelPerPixel()
+	{
+	  return CHANNEL_PER_PIXEL;
+	}
+	
 	/**
 	 * Mthode pour dfinir le numro de la prochaine image gnr par les viewports.
 	 * 
@@ -201,7 +362,12 @@ public class SViewport extends SAbstractReadableWriteable {
 		if(y<0 || y>= height)
 			throw new SRuntimeException("Erreur SViewport 005 : La coordonne y n'est pas comprise entre 0 et height-1.");
 		
-		image[x][y] = color;
+		long k = index(x, y);
+		
+		image.put(k, (float)color.getRed());
+		image.put(k+1, (float)color.getGreen());
+		image.put(k+2, (float)color.getBlue());
+		image.put(k+3, (float)color.getAlpha());
 	}
 	
 	/**
@@ -217,6 +383,49 @@ public class SViewport extends SAbstractReadableWriteable {
 		setColor(p.getX(), p.getY(), color);
 	}  
 	
+	/**
+	 * Mthode pour attribuer une couleur  l'ensemble des pixels d'une rgion rectangulaire du viewport.
+	 * Cette mthode permet d'afficher un pixel calcul  basse rsolution sur l'ensemble du bloc qu'il reprsente.
+	 * 
+	 * @param x_min - La coordonne x minimale (incluse).
+	 * @param y_min - La coordonne y minimale (incluse).
+	 * @param x_max - La coordonne x maximale (exclue).
+	 * @param y_max - La coordonne y maximale (exclue).
+	 * @param color - La couleur  affecter aux pixels.
+	 * @throws SRuntimeException Si la rgion est  l'extrieur du viewport.
+	 */
+	public void fillColor(int x_min, int y_min, int x_max, int y_max, SColor color) throws SRuntimeException
+	{
+	  if(x_min < 0 || y_min < 0 || x_max > width || y_max > height)
+	    throw new SRuntimeException("Erreur SViewport 012 : La rgion [" + x_min + "," + x_max + "[ x [" + y_min + "," + y_max + "[ est  l'extrieur du viewport.");
+	  
+	  float[] row = buildRow(x_max - x_min, color);
+	  
+	  for(int y = y_min; y < y_max; y++)
+	    image.put(index(x_min, y), row, 0, row.length);
+	}
+	
+	/**
+	 * Mthode pour obtenir la couleur d'un pixel de coordonne xy du viewport.
+	 * 
+	 * @param x - La coordonne x en largeur (width) du viewport.
+	 * @param y - La coordonne y en hauteur (height) du viewport.
+	 * @return La couleur du pixel.
+	 * @throws SRuntimeException Si la coordonne xy du pixel n'est pas admissible.
+	 */
+	public SColor getColor(int x, int y) throws SRuntimeException
+	{
+	  if(x<0 || x>= width)
+      throw new SRuntimeException("Erreur SViewport 008 : La coordonne x n'est pas comprise entre 0 et width-1.");
+    
+    if(y<0 || y>= height)
+      throw new SRuntimeException("Erreur SViewport 009 : La coordonne y n'est pas comprise entre 0 et height-1.");
+    
+    long k = index(x, y);
+    
+    return new SColor(image.get(k), image.get(k+1), image.get(k+2), image.get(k+3));
+	}
+	
 	/**
 	 * Mthode pour effacer le viewport en rinitialisant l'ensemble des pixels  la couleur par dfaut BACKGROUND_COLOR.
 	 * Il y a galement rinitilisation de l'itration des pixels du viewport avec la mthode restartPixelIteration().
@@ -226,19 +435,57 @@ public class SViewport extends SAbstractReadableWriteable {
 	 */
 	public synchronized void clear()
 	{
-		for(int i=0; i<width; i++)
-      for(int j=0; j<height; j++)
-        image[i][j] = BACKGROUND_SCOLOR;
+		float[] row = buildRow(width, BACKGROUND_SCOLOR);
+		
+		for(int y = 0; y < height; y++)
+		  image.put(index(0, y), row, 0, row.length);
 		
 		restartPixelIteration();
 	}
 	
 	/**
-	 * Mthode qui rinitialise l'itration des pixels du viewport  l'origine (de coordonne (0,0)).
+	 * Mthode pour construire les canaux RGBA d'une squence de pixels de mme couleur.
+	 * 
+	 * @param nb_pixel - Le nombre de pixels.
+	 * @param color - La couleur des pixels.
+	 * @return Le tampon des canaux.
+	 */
+	private static float[] buildRow(int nb_pixel, SColor color)
+	{
+	  float[] row = new float[nb_pixel * CHANNEL_PER_PIXEL];
+	  
+	  float r = (float)color.getRed();
+	  float g = (float)color.getGreen();
+	  float b = (float)color.getBlue();
+	  float a = (float)color.getAlpha();
+	  
+	  for(int k = 0; k < row.length; k += CHANNEL_PER_PIXEL)
+	  {
+	    row[k] = r;
+	    row[k+1] = g;
+	    row[k+2] = b;
+	    row[k+3] = a;
+	  }
+	  
+	  return row;
+	}
+	
+	/**
+	 * Mthode qui rinitialise l'itration des pixels et des blocs du viewport  l'origine (de coordonne (0,0)).
 	 */
 	public void restartPixelIteration()
 	{
-		current_pixel = null;
+		pixel_cursor.set(0);
+		tile_cursor.set(0);
+	}
+	
+	/**
+	 * Mthode qui termine l'itration des pixels ligne par ligne (nextPixel, claimPixels) : la mthode <b>hasNextPixel()</b> retourne ensuite <b>false</b>.
+	 * Elle est utilise lorsque l'image a t calcule sans passer par cette itration (ex. : rendu sous le contrle d'un jeton).
+	 */
+	public void endPixelIteration()
+	{
+	  pixel_cursor.set(getNbPixels());
 	}
 	
 	/**
@@ -248,47 +495,120 @@ public class SViewport extends SAbstractReadableWriteable {
 	 */
 	public boolean hasNextPixel()
 	{
-		if(current_pixel == null)
-			return true;
-		
-		//Condition d'arrt : Si x == width-1 et y == height-1
-		if(current_pixel.getX() >= (width-1) && current_pixel.getY() >= (height-1))
-			return false;
-		else
-			return true;
+		return pixel_cursor.get() < getNbPixels();
+	}
+	
+	/**
+	 * Mthode pour obtenir le nombre de pixels dj rservs par l'itration ligne par ligne (nextPixel, claimPixels).
+	 * Cette valeur correspond  l'indice linaire (y*width + x) du prochain pixel  rserver.
+	 * 
+	 * @return Le nombre de pixels rservs.
+	 */
+	public long getNbClaimedPixels()
+	{
+	  return pixel_cursor.get();
 	}
+	
 	/**
 	 * Mthode qui retourne le pixel suivant  tre analys. Cette mthode a t dveloppe afin de pouvoir itrer sur l'ensemble des pixels du viewport.
 	 * L'itration va s'effectuer ligne par ligne ce qui correspond  x=0 jusqu' x=width-1 et l'on recommence en augmentant y afin qu'il passe de y=0  y=height-1.
+	 * <p>Pour rserver plusieurs pixels  la fois sans construire de coordonne pixel, il est prfrable d'utiliser la mthode <b>claimPixels</b>.</p>
 	 * 
 	 * @return la coordonne du prochain pixel  analyser et <b> null </b> s'il n'y a plus de pixel  itrer.
+	 * @see claimPixels
 	 */
-	public synchronized SVectorPixel nextPixel()
+	public SVectorPixel nextPixel()
 	{
-		if(current_pixel == null)
-			current_pixel = ORIGIN_PIXEL;	//1ier pixel tant l'origine (0,0)
-		else
-		{	
-			int x = current_pixel.getX();
-			int y = current_pixel.getY();
-		
-			x++;	//incrmenter la colonne
+		long index = claimIndex(pixel_cursor, 1, getNbPixels());
 		
-			//Vrifier s'il faut changer le ligne
-			if(x >= width)
-			{
-				x = 0;	//retourner  la colonne #0
-				y++;	//incrmenter la ligne
-			
-				//Vrifier si les lignes sont compltes
-				if(y >= height)
-					return null;	//ne pas mettre  jour le current_pixel, car nous avons atteint le maximum
-			}
-			
-			current_pixel = new SVectorPixel(x,y);	//Nouveau pixel courant
-		}
-		
-		return current_pixel;
+		if(index < 0)
+		  return null;
+		else
+		  return new SVectorPixel((int)(index % width), (int)(index / width));
+	}
+	
+	/**
+	 * <p>Mthode pour rserver une squence d'au plus <b>nb_pixel</b> pixels conscutifs (ligne par ligne)  analyser.
+	 * La rservation est ralise sans verrou et aucun autre fil d'excution ne pourra obtenir les mmes pixels.</p>
+	 * <p>Les pixels rservs correspondent aux indices linaires [range[0], range[1][ o l'indice i correspond
+	 *  la coordonne (i % width, i / width).</p>
+	 * 
+	 * @param nb_pixel - Le nombre maximal de pixels  rserver (doit tre suprieur  0).
+	 * @param range - Le tableau de taille 2 qui contiendra l'indice du premier pixel et l'indice suivant le dernier pixel rserv.
+	 * @return <b>true</b> si au moins un pixel a t rserv et <b>false</b> s'il n'y a plus de pixel  itrer.
+	 * @throws SRuntimeException Si le nombre de pixels n'est pas suprieur  0.
+	 */
+	public boolean claimPixels(long nb_pixel, long[] range) throws SRuntimeException
+	{
+	  if(nb_pixel < 1)
+	    throw new SRuntimeException("Erreur SViewport 006 : Le nombre de pixels  rserver '" + nb_pixel + "' n'est pas suprieur  0.");
+	  
+	  long total = getNbPixels();
+	  long begin = claimIndex(pixel_cursor, nb_pixel, total);
+	  
+	  if(begin < 0)
+	    return false;
+	  
+	  range[0] = begin;
+	  range[1] = (nb_pixel < total - begin) ? begin + nb_pixel : total;
+	  
+	  return true;
+	}
+	
+	/**
+	 * <p>Mthode pour rserver le prochain bloc (<i>tile</i>) carr de pixels  analyser. Les blocs forment une grille
+	 * de ct <b>tile_size</b> couvrant le viewport (les blocs de la dernire colonne et de la dernire ligne peuvent tre tronqus).
+	 * La rservation est ralise sans verrou et aucun autre fil d'excution ne pourra obtenir le mme bloc.</p>
+	 * <p>L'itration par blocs est indpendante de l'itration par pixels (nextPixel, claimPixels). Elles sont toutes deux
+	 * rinitialises par la mthode <b>restartPixelIteration</b>.</p>
+	 * 
+	 * @param tile_size - La taille (en pixels) du ct d'un bloc (doit tre suprieur  0).
+	 * @param bounds - Le tableau de taille 4 qui contiendra les bornes {x_min, y_min, x_max, y_max} du bloc (bornes maximales exclues).
+	 * @return <b>true</b> si un bloc a t rserv et <b>false</b> s'il n'y a plus de bloc  itrer.
+	 * @throws SRuntimeException Si la taille d'un bloc n'est pas suprieure  0.
+	 */
+	public boolean claimTile(int tile_size, int[] bounds) throws SRuntimeException
+	{
+	  if(tile_size < 1)
+	    throw new SRuntimeException("Erreur SViewport 007 : La taille d'un bloc '" + tile_size + "' n'est pas suprieure  0.");
+	  
+	  int nb_tile_x = (width + tile_size - 1) / tile_size;
+	  int nb_tile_y = (height + tile_size - 1) / tile_size;
+	  
+	  long index = claimIndex(tile_cursor, 1, (long)nb_tile_x * nb_tile_y);
+	  
+	  if(index < 0)
+	    return false;
+	  
+	  bounds[0] = (int)(index % nb_tile_x) * tile_size;
+	  bounds[1] = (int)(index / nb_tile_x) * tile_size;
+	  bounds[2] = Math.min(bounds[0] + tile_size, width);
+	  bounds[3] = Math.min(bounds[1] + tile_size, height);
+	  
+	  return true;
+	}
+	
+	/**
+	 * Mthode pour avancer un curseur atomique d'au plus <b>nb</b> positions sans dpasser la borne <b>max</b>.
+	 * Le curseur ne dpasse jamais la borne ce qui vite tout dbordement lors d'appels rpts aprs la fin de l'itration.
+	 * 
+	 * @param cursor - Le curseur  avancer.
+	 * @param nb - Le nombre de positions  rserver.
+	 * @param max - La borne maximale (exclue) du curseur.
+	 * @return La premire position rserve ou <b>-1</b> si le curseur a atteint la borne.
+	 */
+	private static long claimIndex(AtomicLong cursor, long nb, long max)
+	{
+	  while(true)
+	  {
+	    long begin = cursor.get();
+	    
+	    if(begin >= max)
+	      return -1;
+	    
+	    if(cursor.compareAndSet(begin, (nb < max - begin) ? begin + nb : max))
+	      return begin;
+	  }
 	}
 	
 	/**
@@ -346,6 +666,19 @@ public class SViewport extends SAbstractReadableWriteable {
 		bw.write("\t");
 		bw.write(image_file_name);
 		bw.write(SStringUtil.END_LINE_CARACTER);
+		
+		bw.write(SKeyWordDecoder.KW_IMAGE_FORMAT);
+		bw.write("\t\t");
+		bw.write(SImageWriter.FORMAT_EXTENSION[image_format]);
+		bw.write(SStringUtil.END_LINE_CARACTER);
+		
+		if(!framebuffer_file_name.equals(NO_FRAMEBUFFER_FILE))
+		{
+		  bw.write(SKeyWordDecoder.KW_FRAMEBUFFER_FILE);
+		  bw.write("\t");
+		  bw.write(framebuffer_file_name);
+		  bw.write(SStringUtil.END_LINE_CARACTER);
+		}
 	}
 	
 	/**
@@ -369,6 +702,55 @@ public class SViewport extends SAbstractReadableWriteable {
 	 * @throws IOException S'il y a une erreur lors de l'criture du fichier image. 
 	 */
 	public void writeImage()throws IOException
+	{
+		String name = nextImageFileName();
+		
+		if(image_format == SImageWriter.PNG && framebuffer_file_name.equals(NO_FRAMEBUFFER_FILE))
+		{
+		  BufferedImage buffer = getBufferedImage();
+		  ImageIO.write(buffer, SImageWriter.FORMAT_EXTENSION[image_format], new File(name));
+		}
+		else
+		  SImageWriter.write(this, name, image_format);   //criture ligne par ligne (sans copie complte de l'image)
+	}
+	
+	/**
+	 * Mthode pour dessiner le viewport dans un fichier image en arrire-plan  l'aide d'une tape d'criture asynchrone.
+	 * Le viewport peut tre modifi ds le retour de la mthode : son contenu a dj t copi.
+	 * <p>Un tampon projet en mmoire ou un format autre que PNG est crit immdiatement ligne par ligne (voir SImageWriter),
+	 * puisqu'une copie complte de l'image n'est pas souhaitable.</p>
+	 * 
+	 * @param encoder - L'tape d'criture asynchrone.
+	 * @return Le rsultat de l'criture.
+	 * @throws IOException S'il y a une erreur lors de l'criture immdiate du fichier image.
+	 */
+	public Future<?> writeImage(SImageEncoder encoder)throws IOException
+	{
+		String name = nextImageFileName();
+		
+		if(image_format == SImageWriter.PNG && framebuffer_file_name.equals(NO_FRAMEBUFFER_FILE))
+		  return encoder.writePNG(this, name);
+		
+		SImageWriter.write(this, name, image_format);
+		
+		return SImageEncoder.done();
+	}
+	
+	/**
+	 * Mthode pour librer le tampon de l'image. Pour un tampon projet en mmoire, les projections sont libres et le fichier de travail est supprim.
+	 * Le contenu du viewport ne doit plus tre utilis par la suite (l'image doit donc avoir t crite).
+	 */
+	public void close()
+	{
+	  image.close();
+	}
+	
+	/**
+	 * Mthode pour obtenir le nom du prochain fichier image (incluant son numro et son extension) et augmenter le compteur d'images.
+	 * 
+	 * @return Le nom du fichier image.
+	 */
+	private String nextImageFileName()
 	{
 		String name = image_file_name + "_";
 		
@@ -385,15 +767,15 @@ public class SViewport extends SAbstractReadableWriteable {
 		name = name.concat(number);
 		
 		//Gnrer le fichier image
-		File file = new File(name + "." + DEFAULT_IMAGE_EXTENSION);
-		BufferedImage buffer = getBufferedImage();
-		ImageIO.write(buffer, DEFAULT_IMAGE_EXTENSION, file);
+		name = name + "." + SImageWriter.FORMAT_EXTENSION[image_format];
 		
 		image_counter++;	//augmenter le compteur
 		
 		//Rinitialiser le compteur si la valeur maximale est atteinte
 		if(image_counter > MAX_IMAGE_COUNTER)
 			image_counter = DEFAULT_IMAGE_COUNTER;
+		
+		return name;
 	}
 	
 	
@@ -404,7 +786,16 @@ public class SViewport extends SAbstractReadableWriteable {
    */
   private void initialize() throws SInitializationException
 	{
-		image = new SColor[width][height];
+		long length = (long)width * height * CHANNEL_PER_PIXEL;
+		
+		try{
+		  if(framebuffer_file_name.equals(NO_FRAMEBUFFER_FILE))
+		    image = new SArrayFrameBuffer(length);
+		  else
+		    image = new SMappedFrameBuffer(framebuffer_file_name, length);
+		}catch(SConstructorException e){
+		  throw new SInitializationException("Erreur SViewport 015 : Le tampon de l'image n'a pas pu tre construit." + SStringUtil.END_LINE_CARACTER + "\t" + e.getMessage(), e);
+		}
 		
 		clear();
 	}
@@ -419,6 +810,10 @@ public class SViewport extends SAbstractReadableWriteable {
 			case SKeyWordDecoder.CODE_HEIGHT : height = readIntGreaterThanZero(remaining_line, SKeyWordDecoder.KW_HEIGHT); return true;
 														
 			case SKeyWordDecoder.CODE_IMAGE_FILE_NAME : image_file_name = readStringNotEmpty(remaining_line, SKeyWordDecoder.KW_IMAGE_FILE_NAME); return true;
+			
+			case SKeyWordDecoder.CODE_IMAGE_FORMAT : image_format = readIntOrExpression(remaining_line, SKeyWordDecoder.KW_IMAGE_FORMAT, SImageWriter.FORMAT_EXTENSION); return true;
+			
+			case SKeyWordDecoder.CODE_FRAMEBUFFER_FILE : framebuffer_file_name = readStringNotEmpty(remaining_line, SKeyWordDecoder.KW_FRAMEBUFFER_FILE); return true;
 				
 			default : return false;
 		}
@@ -464,9 +859,18 @@ public class SViewport extends SAbstractReadableWriteable {
     if (width != other.width)
       return false;
     
-    // Vrification de l'ensemble des couleurs du viewport
-    if (!Arrays.deepEquals(image, other.image))
-      return false;
+    // Vrification de l'ensemble des couleurs du viewport (ligne par ligne)
+    float[] row = new float[width * CHANNEL_PER_PIXEL];
+    float[] other_row = new float[width * CHANNEL_PER_PIXEL];
+    
+    for(int y = 0; y < height; y++)
+    {
+      image.get(index(0, y), row, 0, row.length);
+      other.image.get(other.index(0, y), other_row, 0, other_row.length);
+      
+      if (!Arrays.equals(row, other_row))
+        return false;
+    }
     
     return true;
   }
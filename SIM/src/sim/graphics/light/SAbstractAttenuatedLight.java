@@ -21,7 +21,7 @@ import sim.util.SStringUtil;
  * 
  * @author Simon Vzina
  * @since 2015-01-09
- * @version 2015-11-28
+ * @version 2026-10-17
  */
 public abstract class SAbstractAttenuatedLight extends SAbstractLight implements SAttenuatedLight{
 
@@ -111,6 +111,33 @@ public abstract class SAbstractAttenuatedLight extends SAbstractLight implements
 	  return position;
 	}
 	
+	/**
+	 * Mthode pour obtenir la constante d'attnuation constante.
+	 * @return La constante d'attnuation constante.
+	 */
+	public double getConstantAttenuator()
+	{
+	  return constant_attenuator;
+	}
+	
+	/**
+	 * Mthode pour obtenir la constante d'attnuation linaire.
+	 * @return La constante d'attnuation linaire.
+	 */
+	public double getLinearAttenuator()
+	{
+	  return linear_attenuator;
+	}
+	
+	/**
+	 * Mthode pour obtenir la constante d'attnuation quadratique.
+	 * @return La constante d'attnuation quadratique.
+	 */
+	public double getQuadraticAttenuator()
+	{
+	  return quadratic_attenuator;
+	}
+	
 	@Override
 	protected boolean read(SBufferedReader sbr, int code, String remaining_line)throws SReadingException 
 	{
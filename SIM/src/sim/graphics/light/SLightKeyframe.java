@@ -0,0 +1,309 @@
+/**
+ *
+ */
+package sim.graphics.light;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.util.List;
+
+import sim.exception.SConstructorException;
+import sim.graphics.SColor;
+import sim.math.SVector3d;
+import sim.util.SAbstractReadableWriteable;
+import sim.util.SBufferedReader;
+import sim.util.SInitializationException;
+import sim.util.SKeyWordDecoder;
+import sim.util.SReadingException;
+import sim.util.SStringUtil;
+
+/**
+ * La classe <b>SLightKeyframe</b> reprsente une <b>image cl</b> d'une source de lumire lors du rendu d'une squence d'images (animation).
+ * L'image cl identifie la source de lumire par son indice dans l'ordre de dclaration des sources de la scne
+ * et dfinit la couleur, la position (source ponctuelle) et/ou l'orientation (source directionnelle) de la source pour un numro d'image (<i>frame</i>).
+ * <p>Un paramtre non dfini par l'image cl conserve la valeur de la source de lumire de la scne. Les paramtres qui ne s'appliquent pas
+ * au type de la source sont ignors. Entre deux images cls, les paramtres sont interpols linairement.</p>
+ *
+ * @author Simon Vzina
+ * @since 2026-10-17
+ * @version 2026-10-17
+ */
+public class SLightKeyframe extends SAbstractReadableWriteable {
+
+  //--------------
+  // CONSTANTES //
+  //--------------
+
+  /**
+   * La constante <b>KEYWORD_PARAMETER</b> correspond  un tableau contenant l'ensemble des mots cls
+   *  utiliser reconnus lors de la dfinition de l'objet par une lecture en fichier.
+   */
+  private static final String[] KEYWORD_PARAMETER = {
+    SKeyWordDecoder.KW_FRAME, SKeyWordDecoder.KW_LIGHT_INDEX, SKeyWordDecoder.KW_COLOR,
+    SKeyWordDecoder.KW_POSITION, SKeyWordDecoder.KW_ORIENTATION
+  };
+
+  //-------------
+  // VARIABLES //
+  //-------------
+
+  /**
+   * La variable <b>frame</b> correspond au numro de l'image de la squence associe  l'image cl.
+   */
+  private int frame;
+
+  /**
+   * La variable <b>light_index</b> correspond  l'indice de la source de lumire dans la liste des sources de la scne.
+   */
+  private int light_index;
+
+  /**
+   * La variable <b>color</b> correspond  la couleur de la source (<b>null</b> si elle n'est pas dfinie).
+   */
+  private SColor color;
+
+  /**
+   * La variable <b>position</b> correspond  la position d'une source ponctuelle (<b>null</b> si elle n'est pas dfinie).
+   */
+  private SVector3d position;
+
+  /**
+   * La variable <b>orientation</b> correspond  l'orientation d'une source directionnelle (<b>null</b> si elle n'est pas dfinie).
+   */
+  private SVector3d orientation;
+
+  //-----------------
+  // CONSTRUCTEURS //
+  //-----------------
+
+  /**
+   * Constructeur d'une image cl d'une source de lumire  partir d'information lue dans un fichier de format txt.
+   *
+   * @param sbr - Le BufferedReader cherchant l'information dans le fichier txt.
+   * @throws IOException Si une erreur de l'objet SBufferedWriter est lance.
+   * @throws SConstructorException Si une erreur est survenue  la construction.
+   */
+  public SLightKeyframe(SBufferedReader sbr) throws IOException, SConstructorException
+  {
+    frame = 0;
+    light_index = 0;
+    color = null;
+    position = null;
+    orientation = null;
+
+    try{
+      read(sbr);
+    }catch(SInitializationException e){
+      throw new SConstructorException("Erreur SLightKeyframe 001 : Une erreur  l'initialisation est survenue." + SStringUtil.END_LINE_CARACTER + "\t" + e.getMessage(), e);
+    }
+  }
+
+  //------------
+  // MTHODES //
+  //------------
+
+  /**
+   * Mthode pour obtenir le numro de l'image associe  l'image cl.
+   *
+   * @return Le numro de l'image.
+   */
+  public int getFrame()
+  {
+    return frame;
+  }
+
+  /**
+   * Mthode pour obtenir l'indice de la source de lumire anime par l'image cl.
+   *
+   * @return L'indice de la source de lumire.
+   */
+  public int getLightIndex()
+  {
+    return light_index;
+  }
+
+  /**
+   * Mthode pour obtenir une source de lumire d'une image de la squence  partir d'une liste d'images cls trie par numro d'image.
+   * Seules les images cls associes  l'indice de la source sont considres. Avant la premire image cl (et aprs la dernire),
+   * les paramtres de l'image cl la plus proche sont utiliss.
+   *
+   * @param light - La source de lumire de la scne.
+   * @param light_index - L'indice de la source de lumire dans la scne.
+   * @param keyframe_list - La liste des images cls trie par numro d'image.
+   * @param frame - Le numro de l'image.
+   * @return La source de lumire de l'image (la source de la scne si elle n'est pas anime).
+   * @throws SConstructorException Si la source de lumire interpole n'est pas valide.
+   */
+  public static SLight interpolate(SLight light, int light_index, List<SLightKeyframe> keyframe_list, int frame) throws SConstructorException
+  {
+    SLightKeyframe previous = null;
+    SLightKeyframe next = null;
+
+    for(SLightKeyframe k : keyframe_list)
+      if(k.light_index == light_index)
+      {
+        if(k.frame <= frame)
+          previous = k;
+        else
+        {
+          next = k;
+          break;
+        }
+      }
+
+    if(previous == null && next == null)
+      return light;
+
+    if(previous == null)
+      previous = next;
+
+    if(next == null)
+      next = previous;
+
+    double t = (next.frame == previous.frame) ? 0.0 : (double)(frame - previous.frame) / (double)(next.frame - previous.frame);
+
+    SColor c = interpolate(previous.color, next.color, light.getColor(), t);
+
+    if(light instanceof SPointLight)
+    {
+      SPointLight point = (SPointLight)light;
+
+      return new SPointLight(c, interpolate(previous.position, next.position, point.getPosition(), t),
+                             point.getConstantAttenuator(), point.getLinearAttenuator(), point.getQuadraticAttenuator());
+    }
+
+    if(light instanceof SDirectionalLight)
+      return new SDirectionalLight(c, interpolate(previous.orientation, next.orientation, ((SDirectionalLight)light).getOrientation(), t));
+
+    if(light instanceof SAmbientLight)
+      return new SAmbientLight(c);
+
+    // Type de source non animable
+    return light;
+  }
+
+  /**
+   * Mthode pour interpoler linairement une couleur dont les valeurs aux images cls peuvent ne pas tre dfinies.
+   *
+   * @param a - La couleur de l'image cl prcdente (<b>null</b> si elle n'est pas dfinie).
+   * @param b - La couleur de l'image cl suivante (<b>null</b> si elle n'est pas dfinie).
+   * @param base - La couleur de la source de la scne.
+   * @param t - Le paramtre d'interpolation entre 0 et 1.
+   * @return La couleur interpole.
+   */
+  private static SColor interpolate(SColor a, SColor b, SColor base, double t)
+  {
+    if(a == null)
+      a = base;
+
+    if(b == null)
+      b = base;
+
+    return a.multiply(1.0 - t).add(b.multiply(t));
+  }
+
+  /**
+   * Mthode pour interpoler linairement un vecteur dont les valeurs aux images cls peuvent ne pas tre dfinies.
+   *
+   * @param a - Le vecteur de l'image cl prcdente (<b>null</b> s'il n'est pas dfini).
+   * @param b - Le vecteur de l'image cl suivante (<b>null</b> s'il n'est pas dfini).
+   * @param base - Le vecteur de la source de la scne.
+   * @param t - Le paramtre d'interpolation entre 0 et 1.
+   * @return Le vecteur interpol.
+   */
+  private static SVector3d interpolate(SVector3d a, SVector3d b, SVector3d base, double t)
+  {
+    if(a == null)
+      a = base;
+
+    if(b == null)
+      b = base;
+
+    return a.multiply(1.0 - t).add(b.multiply(t));
+  }
+
+  @Override
+  public void write(BufferedWriter bw) throws IOException
+  {
+    bw.write(SKeyWordDecoder.KW_LIGHT_KEYFRAME);
+    bw.write(SStringUtil.END_LINE_CARACTER);
+
+    bw.write(SKeyWordDecoder.KW_FRAME);
+    bw.write("\t\t\t");
+    bw.write(Integer.toString(frame));
+    bw.write(SStringUtil.END_LINE_CARACTER);
+
+    bw.write(SKeyWordDecoder.KW_LIGHT_INDEX);
+    bw.write("\t\t");
+    bw.write(Integer.toString(light_index));
+    bw.write(SStringUtil.END_LINE_CARACTER);
+
+    if(color != null)
+    {
+      bw.write(SKeyWordDecoder.KW_COLOR);
+      bw.write("\t\t\t");
+      color.write(bw);
+      bw.write(SStringUtil.END_LINE_CARACTER);
+    }
+
+    if(position != null)
+    {
+      bw.write(SKeyWordDecoder.KW_POSITION);
+      bw.write("\t\t");
+      position.write(bw);
+      bw.write(SStringUtil.END_LINE_CARACTER);
+    }
+
+    if(orientation != null)
+    {
+      bw.write(SKeyWordDecoder.KW_ORIENTATION);
+      bw.write("\t\t");
+      orientation.write(bw);
+      bw.write(SStringUtil.END_LINE_CARACTER);
+    }
+
+    bw.write(SKeyWordDecoder.KW_END);
+    bw.write(SStringUtil.END_LINE_CARACTER);
+    bw.write(SStringUtil.END_LINE_CARACTER);
+  }
+
+  @Override
+  protected boolean read(SBufferedReader sbr, int code, String remaining_line) throws SReadingException
+  {
+    switch(code)
+    {
+      case SKeyWordDecoder.CODE_FRAME : frame = readIntEqualOrGreaterThanZero(remaining_line, SKeyWordDecoder.KW_FRAME); return true;
+
+      case SKeyWordDecoder.CODE_LIGHT_INDEX : light_index = readIntEqualOrGreaterThanZero(remaining_line, SKeyWordDecoder.KW_LIGHT_INDEX); return true;
+
+      case SKeyWordDecoder.CODE_COLOR : color = new SColor(remaining_line); return true;
+
+      case SKeyWordDecoder.CODE_POSITION : position = new SVector3d(remaining_line); return true;
+
+      case SKeyWordDecoder.CODE_ORIENTATION : orientation = new SVector3d(remaining_line); return true;
+
+      default : return false;
+    }
+  }
+
+  @Override
+  protected void readingInitialization() throws SInitializationException
+  {
+
+  }
+
+  @Override
+  public String getReadableName()
+  {
+    return SKeyWordDecoder.KW_LIGHT_KEYFRAME;
+  }
+
+  @Override
+  public String[] getReadableParameterName()
+  {
+    String[] other_parameters = super.getReadableParameterName();
+
+    return SStringUtil.merge(other_parameters, KEYWORD_PARAMETER);
+  }
+
+}//fin de la classe SLightKeyframe
@@ -3,16 +3,13 @@
  */
 package sim.graphics.light;
 
-
-import java.util.List;
-import java.util.LinkedList;
-
 import sim.exception.SNoImplementationException;
 import sim.exception.SRuntimeException;
 import sim.geometry.SRay;
+import sim.geometry.space.SAbstractGeometrySpace;
 import sim.geometry.space.SGeometrySpace;
+import sim.geometry.space.SIntersectionStatistics;
 import sim.graphics.SColor;
-import sim.graphics.material.SMaterial;
 import sim.graphics.shader.SIllumination;
 import sim.math.SVector3d;
 
@@ -21,7 +18,7 @@ import sim.math.SVector3d;
  * 
  * @author Simon Vzina
  * @since 2015-01-21
- * @version 2015-12-04
+ * @version 2026-10-17
  */
 public class SShadowRay {
 
@@ -111,26 +108,29 @@ public class SShadowRay {
 			//Rayon de l'intersection  la source de lumire (avec indice de rfraction de 1.0, car il n'y aura pas de calcul de rfraction pour ce rayon)
 			SRay intersection_to_light_ray = new SRay(intersection_ray.getIntersectionPosition(), L, SRay.DEFAULT_REFRACTIVE_INDEX);
 			
-			//Liste des gomtries rencontres avant d'atteindre la source de lumire 
-			//en ordre inverse et dbutant par une gomtrie opaque s'il y a eu intersection de ce type
-			List<SRay> list_transparent = geometry_space.nearestOpaqueIntersection(intersection_to_light_ray, distance);
+			SIntersectionStatistics.setRayType(SIntersectionStatistics.SHADOW);
+			
+			//Sans gomtrie transparente, la lumire est soit bloque, soit intacte : 
+			//le premier obstacle opaque trouv (peu importe qu'il soit le plus prs) suffit  conclure.
+			if(!geometry_space.hasTransparentGeometry())
+			  if(geometry_space.occluded(intersection_to_light_ray, distance))
+			    return SIllumination.NO_ILLUMINATION;
+			  else
+			    return light.getColor();
+			
+			//Filtre de transmission des gomtries rencontres avant d'atteindre la source de lumire.
+			//La recherche s'arrte ds la premire gomtrie opaque rencontre (la lumire est alors bloque).
+			SColor filter = geometry_space.transmittance(intersection_to_light_ray, distance);
 			
-			//Test de la liste vide, il n'y a pas d'intersection, donc pas d'ombre ni lumire altre par des effets de transparence
-			if(list_transparent.isEmpty())
-				return light.getColor();
+			//Test d'une gomtrie opaque, la lumiere sera bloque
+			if(filter.equals(SAbstractGeometrySpace.NO_TRANSMITTANCE))
+				return SIllumination.NO_ILLUMINATION;
 			else
-				//Si la liste possde une gomtrie opaque (non transparente) au dbut, la lumiere sera bloque
-				if(!list_transparent.get(0).getGeometry().isTransparent())
-					return SIllumination.NO_ILLUMINATION;
+				//Test sans gomtrie transparente, il n'y a pas d'ombre ni lumire altre par des effets de transparence
+				if(filter.equals(SAbstractGeometrySpace.FULL_TRANSMITTANCE))
+					return light.getColor();
 				else
-				{
-					List<SMaterial> material_list = new LinkedList<SMaterial>();
-					
-					for(SRay r : list_transparent)
-						material_list.add(r.getGeometry().getPrimitiveParent().getMaterial());
-						
-					return SIllumination.filteredTransparencyLight(material_list, light.getColor());
-				}
+					return light.getColor().multiply(filter);
 		}
 	}
 	
@@ -0,0 +1,118 @@
+/**
+ * 
+ */
+package sim.graphics.sampler;
+
+/**
+ * La classe abstraite <b>SAbstractPixelSampler</b> reprsente un gnrateur de coordonnes internes  un pixel
+ * dont les nombres alatoires sont obtenus par hachage de la coordonne du pixel et de l'indice de l'chantillon.
+ * Aucun gnrateur alatoire partag n'est utilis : les <i>threads</i> n'entrent pas en comptition
+ * et le rsultat est identique d'un rendu  l'autre.
+ * 
+ * @author Simon Vzina
+ * @since 2026-10-17
+ * @version 2026-10-17
+ */
+public abstract class SAbstractPixelSampler implements SPixelSampler {
+
+  //--------------
+  // CONSTANTES //
+  //--------------
+  
+  /**
+   * La constante <b>DEFAULT_SEED</b> correspond  la graine par dfaut des nombres alatoires.
+   */
+  public static final long DEFAULT_SEED = 0x5DEECE66DL;
+  
+  /**
+   * La constante <b>INV_2_POW_32</b> correspond  la valeur 1/2^32 permettant de convertir un entier de 32 bits en nombre rel dans l'intervalle [0,1[.
+   */
+  protected static final double INV_2_POW_32 = 1.0 / 4294967296.0;
+  
+  //-------------
+  // VARIABLES //
+  //-------------
+  
+  /**
+   * La variable <b>seed</b> correspond  la graine des nombres alatoires du gnrateur.
+   */
+  protected final long seed;
+  
+  //-----------------
+  // CONSTRUCTEURS //
+  //-----------------
+  
+  /**
+   * Constructeur d'un gnrateur de coordonnes internes  un pixel.
+   * 
+   * @param seed - La graine des nombres alatoires.
+   */
+  public SAbstractPixelSampler(long seed)
+  {
+    this.seed = seed;
+  }
+  
+  //------------
+  // MTHODES //
+  //------------
+  
+  /**
+   * Mthode pour obtenir un entier alatoire de 32 bits associ au pixel (x,y),  un indice et  une dimension.
+   * 
+   * @param x - La coordonne x du pixel.
+   * @param y - La coordonne y du pixel.
+   * @param index - L'indice (ex. : l'indice de l'chantillon).
+   * @param dimension - La dimension (ex. : 0 pour u et 1 pour v).
+   * @return L'entier alatoire (32 bits de poids faible).
+   */
+  protected int hash(int x, int y, int index, int dimension)
+  {
+    long h = seed;
+    h = mix(h ^ (x & 0xFFFFFFFFL));
+    h = mix(h ^ ((long)y << 32));
+    h = mix(h ^ (index & 0xFFFFFFFFL));
+    h = mix(h ^ ((long)dimension << 32));
+    
+    return (int)(h >>> 32);
+  }
+  
+  /**
+   * Mthode pour obtenir un nombre alatoire dans l'intervalle [0,1[ associ au pixel (x,y),  un indice et  une dimension.
+   * 
+   * @param x - La coordonne x du pixel.
+   * @param y - La coordonne y du pixel.
+   * @param index - L'indice (ex. : l'indice de l'chantillon).
+   * @param dimension - La dimension (ex. : 0 pour u et 1 pour v).
+   * @return Le nombre alatoire dans l'intervalle [0,1[.
+   */
+  protected double random(int x, int y, int index, int dimension)
+  {
+    return toUnit(hash(x, y, index, dimension));
+  }
+  
+  /**
+   * Mthode pour convertir un entier de 32 bits (non sign) en nombre rel dans l'intervalle [0,1[.
+   * 
+   * @param bits - L'entier de 32 bits.
+   * @return Le nombre rel dans l'intervalle [0,1[.
+   */
+  protected static double toUnit(int bits)
+  {
+    return (bits & 0xFFFFFFFFL) * INV_2_POW_32;
+  }
+  
+  /**
+   * Mthode de mlange des bits d'un entier de 64 bits (finaliseur <i>SplitMix64</i>).
+   * 
+   * @param z - L'entier  mlanger.
+   * @return L'entier mlang.
+   */
+  private static long mix(long z)
+  {
+    z += 0x9E3779B97F4A7C15L;
+    z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+    z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+    return z ^ (z >>> 31);
+  }
+  
+}//fin de la classe abstraite SAbstractPixelSampler
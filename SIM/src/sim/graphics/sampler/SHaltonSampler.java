@@ -0,0 +1,77 @@
+/**
+ * 
+ */
+package sim.graphics.sampler;
+
+import sim.math.SVectorUV;
+
+/**
+ * La classe <b>SHaltonSampler</b> reprsente un gnrateur de coordonnes  faible discrpance  l'intrieur d'un pixel 
+ * selon la squence de Halton en base 2 et 3.
+ * Afin d'viter que tous les pixels utilisent les mmes coordonnes, la squence est dcale alatoirement 
+ * pour chaque pixel (rotation de Cranley-Patterson).
+ * 
+ * @author Simon Vzina
+ * @since 2026-10-17
+ * @version 2026-10-17
+ */
+public class SHaltonSampler extends SAbstractPixelSampler {
+
+  /**
+   * Constructeur d'un gnrateur de coordonnes de Halton avec la graine par dfaut.
+   */
+  public SHaltonSampler()
+  {
+    this(DEFAULT_SEED);
+  }
+  
+  /**
+   * Constructeur d'un gnrateur de coordonnes de Halton.
+   * 
+   * @param seed - La graine des nombres alatoires (pour le dcalage de chaque pixel).
+   */
+  public SHaltonSampler(long seed)
+  {
+    super(seed);
+  }
+  
+  @Override
+  public SVectorUV sample(int x, int y, int sample, int nb_sample)
+  {
+    double u = radicalInverse(sample, 2) + random(x, y, 0, 0);
+    double v = radicalInverse(sample, 3) + random(x, y, 0, 1);
+    
+    // Ramener le dcalage dans l'intervalle [0,1[
+    if(u >= 1.0)
+      u -= 1.0;
+    
+    if(v >= 1.0)
+      v -= 1.0;
+    
+    return new SVectorUV(u, v);
+  }
+  
+  /**
+   * Mthode pour valuer l'inverse radical d'un entier dans une base (miroir des chiffres de l'entier autour de la virgule).
+   * 
+   * @param index - L'entier (positif).
+   * @param base - La base.
+   * @return L'inverse radical dans l'intervalle [0,1[.
+   */
+  public static double radicalInverse(int index, int base)
+  {
+    double inv_base = 1.0 / base;
+    double factor = inv_base;
+    double result = 0.0;
+    
+    while(index > 0)
+    {
+      result += (index % base) * factor;
+      index /= base;
+      factor *= inv_base;
+    }
+    
+    return result;
+  }
+  
+}//fin de la classe SHaltonSampler
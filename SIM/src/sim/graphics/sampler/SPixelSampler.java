@@ -0,0 +1,35 @@
+/**
+ * 
+ */
+package sim.graphics.sampler;
+
+import sim.math.SVectorUV;
+
+/**
+ * L'interface <b>SPixelSampler</b> reprsente un gnrateur de coordonnes internes  un pixel (<i>sampler</i>)
+ * permettant de lancer plusieurs rayons dans un mme pixel (<i>anti aliasing</i>).
+ * 
+ * <p>
+ * Une coordonne gnre dpend uniquement du pixel, de l'indice de l'chantillon et du nombre d'chantillons.
+ * Le rendu est ainsi reproductible peu importe le nombre de <i>threads</i> et l'ordre de calcul des pixels.
+ * </p>
+ * 
+ * @author Simon Vzina
+ * @since 2026-10-17
+ * @version 2026-10-17
+ */
+public interface SPixelSampler {
+
+  /**
+   * Mthode pour obtenir la coordonne interne d'un chantillon dans le pixel de coordonne (x,y).
+   * La coordonne uv retourne est comprise dans l'intervalle [0,1[ o (0,0) correspond au coin suprieur gauche du pixel.
+   * 
+   * @param x - La coordonne x du pixel.
+   * @param y - La coordonne y du pixel.
+   * @param sample - L'indice de l'chantillon (de 0  nb_sample-1).
+   * @param nb_sample - Le nombre d'chantillons lancs dans le pixel.
+   * @return La coordonne uv de l'chantillon  l'intrieur du pixel.
+   */
+  public SVectorUV sample(int x, int y, int sample, int nb_sample);
+  
+}//fin de l'interface SPixelSampler
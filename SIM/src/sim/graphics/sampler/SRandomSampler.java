@@ -0,0 +1,42 @@
+/**
+ * 
+ */
+package sim.graphics.sampler;
+
+import sim.math.SVectorUV;
+
+/**
+ * La classe <b>SRandomSampler</b> reprsente un gnrateur de coordonnes alatoires uniformes  l'intrieur d'un pixel.
+ * Chaque chantillon est indpendant des autres (aucune stratification).
+ * 
+ * @author Simon Vzina
+ * @since 2026-10-17
+ * @version 2026-10-17
+ */
+public class SRandomSampler extends SAbstractPixelSampler {
+
+  /**
+   * Constructeur d'un gnrateur de coordonnes alatoires avec la graine par dfaut.
+   */
+  public SRandomSampler()
+  {
+    this(DEFAULT_SEED);
+  }
+  
+  /**
+   * Constructeur d'un gnrateur de coordonnes alatoires.
+   * 
+   * @param seed - La graine des nombres alatoires.
+   */
+  public SRandomSampler(long seed)
+  {
+    super(seed);
+  }
+  
+  @Override
+  public SVectorUV sample(int x, int y, int sample, int nb_sample)
+  {
+    return new SVectorUV(random(x, y, sample, 0), random(x, y, sample, 1));
+  }
+  
+}//fin de la classe SRandomSampler
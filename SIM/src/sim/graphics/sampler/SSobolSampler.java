@@ -0,0 +1,84 @@
+/**
+ * 
+ */
+package sim.graphics.sampler;
+
+import sim.math.SVectorUV;
+
+/**
+ * La classe <b>SSobolSampler</b> reprsente un gnrateur de coordonnes  faible discrpance  l'intrieur d'un pixel 
+ * selon les deux premires dimensions de la squence de Sobol (squence (0,2) en base 2).
+ * Pour chaque pixel, les bits de la squence sont brouills alatoirement (<i>random digit scrambling</i>),
+ * ce qui conserve la stratification de la squence tout en vitant que tous les pixels utilisent les mmes coordonnes.
+ * 
+ * <p>
+ * La stratification est optimale lorsque le nombre d'chantillons est une puissance de 2.
+ * </p>
+ * 
+ * @author Simon Vzina
+ * @since 2026-10-17
+ * @version 2026-10-17
+ */
+public class SSobolSampler extends SAbstractPixelSampler {
+
+  /**
+   * La constante <b>DIRECTION_2</b> correspond aux nombres directeurs de la 2e dimension de la squence de Sobol.
+   */
+  private static final int[] DIRECTION_2 = buildDirection2();
+  
+  /**
+   * Constructeur d'un gnrateur de coordonnes de Sobol avec la graine par dfaut.
+   */
+  public SSobolSampler()
+  {
+    this(DEFAULT_SEED);
+  }
+  
+  /**
+   * Constructeur d'un gnrateur de coordonnes de Sobol.
+   * 
+   * @param seed - La graine des nombres alatoires (pour le brouillage de chaque pixel).
+   */
+  public SSobolSampler(long seed)
+  {
+    super(seed);
+  }
+  
+  @Override
+  public SVectorUV sample(int x, int y, int sample, int nb_sample)
+  {
+    // 1re dimension : inverse radical en base 2 (miroir des bits)
+    int bits_u = Integer.reverse(sample);
+    
+    // 2e dimension : combinaison des nombres directeurs associs aux bits de l'indice
+    int bits_v = 0;
+    
+    for(int k = 0, i = sample; i != 0; k++, i >>>= 1)
+      if((i & 1) != 0)
+        bits_v ^= DIRECTION_2[k];
+    
+    // Brouillage des bits propre au pixel
+    bits_u ^= hash(x, y, 0, 0);
+    bits_v ^= hash(x, y, 0, 1);
+    
+    return new SVectorUV(toUnit(bits_u), toUnit(bits_v));
+  }
+  
+  /**
+   * Mthode pour construire les nombres directeurs de la 2e dimension de la squence de Sobol (polynme primitif x + 1).
+   * 
+   * @return Le tableau des 32 nombres directeurs.
+   */
+  private static int[] buildDirection2()
+  {
+    int[] direction = new int[32];
+    
+    direction[0] = 1 << 31;
+    
+    for(int k = 1; k < direction.length; k++)
+      direction[k] = direction[k-1] ^ (direction[k-1] >>> 1);
+    
+    return direction;
+  }
+  
+}//fin de la classe SSobolSampler
@@ -0,0 +1,52 @@
+/**
+ * 
+ */
+package sim.graphics.sampler;
+
+import sim.math.SVectorUV;
+
+/**
+ * La classe <b>SStratifiedSampler</b> reprsente un gnrateur de coordonnes stratifies  l'intrieur d'un pixel (<i>jittered sampling</i>).
+ * Le pixel est divis en une grille d'environ <b>nb_sample</b> cellules et chaque chantillon est positionn alatoirement dans sa propre cellule.
+ * 
+ * @author Simon Vzina
+ * @since 2026-10-17
+ * @version 2026-10-17
+ */
+public class SStratifiedSampler extends SAbstractPixelSampler {
+
+  /**
+   * Constructeur d'un gnrateur de coordonnes stratifies avec la graine par dfaut.
+   */
+  public SStratifiedSampler()
+  {
+    this(DEFAULT_SEED);
+  }
+  
+  /**
+   * Constructeur d'un gnrateur de coordonnes stratifies.
+   * 
+   * @param seed - La graine des nombres alatoires.
+   */
+  public SStratifiedSampler(long seed)
+  {
+    super(seed);
+  }
+  
+  @Override
+  public SVectorUV sample(int x, int y, int sample, int nb_sample)
+  {
+    // Dimension de la grille (nb_x * nb_y >= nb_sample)
+    int nb_x = (int)Math.ceil(Math.sqrt(nb_sample));
+    int nb_y = (nb_sample + nb_x - 1) / nb_x;
+    
+    // Cellule de l'chantillon (un chantillon au-del de nb_sample rutilise une cellule avec une autre position alatoire)
+    int cell = sample % (nb_x * nb_y);
+    
+    double u = ((cell % nb_x) + random(x, y, sample, 0)) / nb_x;
+    double v = ((cell / nb_x) + random(x, y, sample, 1)) / nb_y;
+    
+    return new SVectorUV(u, v);
+  }
+  
+}//fin de la classe SStratifiedSampler
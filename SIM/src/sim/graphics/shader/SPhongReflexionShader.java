@@ -8,6 +8,7 @@ import java.util.List;
 import sim.exception.SRuntimeException;
 import sim.geometry.SRay;
 import sim.geometry.space.SGeometrySpace;
+import sim.geometry.space.SIntersectionStatistics;
 import sim.graphics.SColor;
 import sim.graphics.light.SLight;
 import sim.graphics.material.SMaterial;
@@ -17,7 +18,7 @@ import sim.graphics.material.SMaterial;
  * d'un rayon principale avec rflexion ambiante, diffuse et spculaire.
  * @author Simon Vzina
  * @since 2015-02-03
- * @version 2015-08-06
+ * @version 2026-10-17
  */
 public class SPhongReflexionShader extends SAbstractShader {
 
@@ -54,6 +55,7 @@ public class SPhongReflexionShader extends SAbstractShader {
 			throw new SRuntimeException("Erreur SPhongReflexionShader 001 : Le rayon a dj intersect une gomtrie pralablement.");
 	
 		//Effectuer l'intersection du rayon avec l'espace des gomtries
+		SIntersectionStatistics.setRayType(SIntersectionStatistics.PRIMARY);
 		ray = geometry_space.nearestIntersection(ray, t_max);
 		
 		//Vrification de l'intersection et retourner la couleur noire s'il n'y a pas d'intersection
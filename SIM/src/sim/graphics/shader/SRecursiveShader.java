@@ -9,6 +9,7 @@ import sim.exception.SConstructorException;
 import sim.exception.SRuntimeException;
 import sim.geometry.SRay;
 import sim.geometry.space.SGeometrySpace;
+import sim.geometry.space.SIntersectionStatistics;
 import sim.graphics.SColor;
 import sim.graphics.light.SLight;
 import sim.graphics.material.SMaterial;
@@ -19,7 +20,7 @@ import sim.physics.SOptics;
  * La classe <b>SRecursiveShader</b> reprsente un shader avec lanc de rayon rcursif.
  * @author Simon Vzina
  * @since 2015-02-03
- * @version 2015-12-01
+ * @version 2026-10-17
  */
 public class SRecursiveShader extends SAbstractShader {
 
@@ -56,16 +57,17 @@ public class SRecursiveShader extends SAbstractShader {
 			throw new SRuntimeException("Erreur SRecursiveShader 003 : Le rayon a dj intersect une gomtrie pralablement.");
 		
 		//Lancer un rayon de niveau de rcursivit 1
-		return recursiveShade(ray, 1);
+		return recursiveShade(ray, 1, SIntersectionStatistics.PRIMARY);
 	}
 
 	/**
 	 * Mthode qui effectue l'illumination d'un rayon rcursivement.
 	 * @param ray - Le rayon  illuminer.
 	 * @param depth - Le niveau de rcursivit du rayon.
+	 * @param ray_type - Le type du rayon pour les statistiques d'intersection (voir {@link SIntersectionStatistics}).
 	 * @return La couleur associe  l'illumination du rayon rcursif.
 	 */
-	private SColor recursiveShade(SRay ray, int depth)
+	private SColor recursiveShade(SRay ray, int depth, int ray_type)
 	{
 		//Si le niveau de rayon rcursif est trop profond, tout arrter et retourner la couleur noire
 		if(depth > max_dept)
@@ -73,6 +75,7 @@ public class SRecursiveShader extends SAbstractShader {
 		else
 		{
 			//Effectuer l'intersection avec l'espace des gomtries
+			SIntersectionStatistics.setRayType(ray_type);
 			ray = geometry_space.nearestIntersection(ray, t_max);
 			
 			//S'il n'y a pas d'intersection, la couleur affecte sera noire
@@ -103,7 +106,7 @@ public class SRecursiveShader extends SAbstractShader {
 				SRay reflexion_ray = new SRay(ray.getIntersectionPosition(), R, ray.getRefractiveIndex());
 			
 				//Ajouter la luminosit rflexive  la somme des couleurs en augmentant le niveau de 1
-				color = color.add(recursiveShade(reflexion_ray, depth+1).multiply(material.reflectivity()));
+				color = color.add(recursiveShade(reflexion_ray, depth+1, SIntersectionStatistics.REFLECTION).multiply(material.reflectivity()));
 			}
 			
 			//------------------------------------------------
@@ -147,9 +150,9 @@ public class SRecursiveShader extends SAbstractShader {
 						
 						// Venant de l'extrieur, nous allons appliquer un filtrage  la couleur
 						if(from_outside)
-						  color = color.add(recursiveShade(refraction_ray, depth+1).multiply(material.transparencyColor()));  // couleur avec filtrage
+						  color = color.add(recursiveShade(refraction_ray, depth+1, SIntersectionStatistics.REFRACTION).multiply(material.transparencyColor()));  // couleur avec filtrage
 						else  
-						  color = color.add(recursiveShade(refraction_ray, depth+1).multiply(material.transparency()));       // couleur dj filtre
+						  color = color.add(recursiveShade(refraction_ray, depth+1, SIntersectionStatistics.REFRACTION).multiply(material.transparency()));       // couleur dj filtre
 					}
 				}
 			}
@@ -5,8 +5,6 @@ package sim.math;
 
 import java.util.Arrays;
 
-import sim.exception.SNoImplementationException;
-
 /**
  * La classe <b>SMatrix4x4</b> reprsentant une matrice de '4' lignes et '4' colonnes. 
  * Les composantes de la matrice respectent la notation suivante :
@@ -25,7 +23,7 @@ import sim.exception.SNoImplementationException;
  * 
  * @author Simon Vzina
  * @since 2015-05-27
- * @version 2015-12-21
+ * @version 2026-10-17
  */
 public class SMatrix4x4 {
 
@@ -197,6 +195,43 @@ public class SMatrix4x4 {
     return multiply(new SVector4d(v));
   }
   
+  /**
+   * Mthode qui effectue le produit entre une matrice 4x4 et une <b>position</b> en 3d (4ime dimension t = 1.0).
+   * Le rsultat est la position transforme incluant la translation de la matrice. 
+   * La 4ime ligne de la matrice n'est pas utilise (transformation affine).
+   * 
+   * @param v - La position  transformer.
+   * @return La position transforme.
+   */
+  public SVector3d multiplyPosition(SVector3d v)
+  {
+    return new SVector3d(
+        
+        matrix[0]*v.getX() + matrix[1]*v.getY() + matrix[2]*v.getZ() + matrix[3],
+        matrix[4]*v.getX() + matrix[5]*v.getY() + matrix[6]*v.getZ() + matrix[7],
+        matrix[8]*v.getX() + matrix[9]*v.getY() + matrix[10]*v.getZ() + matrix[11]
+        
+        );
+  }
+  
+  /**
+   * Mthode qui effectue le produit entre une matrice 4x4 et une <b>direction</b> en 3d (4ime dimension t = 0.0).
+   * Le rsultat est la direction transforme sans la translation de la matrice et <b>sans normalisation</b>.
+   * 
+   * @param v - La direction  transformer.
+   * @return La direction transforme.
+   */
+  public SVector3d multiplyDirection(SVector3d v)
+  {
+    return new SVector3d(
+        
+        matrix[0]*v.getX() + matrix[1]*v.getY() + matrix[2]*v.getZ(),
+        matrix[4]*v.getX() + matrix[5]*v.getY() + matrix[6]*v.getZ(),
+        matrix[8]*v.getX() + matrix[9]*v.getY() + matrix[10]*v.getZ()
+        
+        );
+  }
+  
 	/**
 	 * <p>Mthode pour obtenir la matrice identit I.</p> 
 	 * <p>Soit une matrice identit I et une
@@ -405,7 +440,7 @@ public class SMatrix4x4 {
 	 */
 	public static SMatrix4x4 Rzyx(SVector3d v)
 	{
-	  throw new SNoImplementationException("Erreur SMatrix4x4 : La mthode n'est pas implmente.");
+	  return rotationZ(v.getZ()).multiply(rotationY(v.getY())).multiply(rotationX(v.getX()));
 	}
 	
 	/**
@@ -425,7 +460,7 @@ public class SMatrix4x4 {
    */
   public static SMatrix4x4 Rxyz(SVector3d v)
   {
-    throw new SNoImplementationException("Erreur SMatrix4x4 : La mthode n'est pas implmente.");
+    return rotationX(v.getX()).multiply(rotationY(v.getY())).multiply(rotationZ(v.getZ()));
   }
   
 	/**
@@ -443,7 +478,7 @@ public class SMatrix4x4 {
 	 */
 	public static SMatrix4x4 TrRzyxSc(SVector3d translation, SVector3d rotation, SVector3d scale)
 	{
-	  throw new SNoImplementationException("Erreur SMatrix4x4 : La mthode n'est pas implmente.");
+	  return translation(translation).multiply(Rzyx(rotation)).multiply(scale(scale));
 	}
 	
 	/**
@@ -461,7 +496,7 @@ public class SMatrix4x4 {
    */
   public static SMatrix4x4 ScRxyzTr(SVector3d scale, SVector3d rotation, SVector3d translation)
   {
-    throw new SNoImplementationException("Erreur SMatrix4x4 : La mthode n'est pas implmente.");
+    return scale(scale).multiply(Rxyz(rotation)).multiply(translation(translation));
   }
   
 	
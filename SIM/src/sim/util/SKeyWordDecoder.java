@@ -10,7 +10,7 @@ import java.util.HashMap;
  * 
  * @author Simon Vzina
  * @since 2014-12-20
- * @version 2016-01-11
+ * @version 2026-10-17
  */
 public class SKeyWordDecoder {
 
@@ -302,6 +302,70 @@ public class SKeyWordDecoder {
   public static final String KW_COMPARATEUR_CONSOLE = "comparateur_console";
   public static final int CODE_CONSOLE_COMPARATOR = 83;
   
+  public static final String KW_TILE_SIZE = "tile_size";
+  public static final String KW_TAILLE_TUILE = "taille_tuile";
+  public static final int CODE_TILE_SIZE = 84;
+  
+  public static final String KW_CONVERGENCE_THRESHOLD = "convergence_threshold";
+  public static final String KW_SEUIL_CONVERGENCE = "seuil_convergence";
+  public static final int CODE_CONVERGENCE_THRESHOLD = 85;
+  
+  public static final String KW_TIME_BUDGET = "time_budget";
+  public static final String KW_BUDGET_TEMPS = "budget_temps";
+  public static final int CODE_TIME_BUDGET = 86;
+  
+  public static final String KW_FARM_WORKER = "farm_worker";
+  public static final String KW_PROCESSUS_FERME = "processus_ferme";
+  public static final int CODE_FARM_WORKER = 87;
+  
+  public static final String KW_CAMERA_KEYFRAME = "camera_keyframe";
+  public static final String KW_CAMERA_CLE = "camera_cle";
+  public static final int CODE_CAMERA_KEYFRAME = 88;
+  
+  public static final String KW_LIGHT_KEYFRAME = "light_keyframe";
+  public static final String KW_LUMIERE_CLE = "lumiere_cle";
+  public static final int CODE_LIGHT_KEYFRAME = 89;
+  
+  public static final String KW_FRAME = "frame";
+  public static final String KW_TRAME = "trame";
+  public static final int CODE_FRAME = 90;
+  
+  public static final String KW_LIGHT_INDEX = "light_index";
+  public static final String KW_INDICE_LUMIERE = "indice_lumiere";
+  public static final int CODE_LIGHT_INDEX = 91;
+  
+  public static final String KW_CHECKPOINT_FILE = "checkpoint_file";
+  public static final String KW_FICHIER_REPRISE = "fichier_reprise";
+  public static final int CODE_CHECKPOINT_FILE = 92;
+  
+  public static final String KW_CHECKPOINT_INTERVAL = "checkpoint_interval";
+  public static final String KW_INTERVALLE_REPRISE = "intervalle_reprise";
+  public static final int CODE_CHECKPOINT_INTERVAL = 93;
+  
+  public static final String KW_IMAGE_FORMAT = "image_format";
+  public static final String KW_FORMAT_IMAGE = "format_image";
+  public static final int CODE_IMAGE_FORMAT = 94;
+  
+  public static final String KW_FRAMEBUFFER_FILE = "framebuffer_file";
+  public static final String KW_FICHIER_TAMPON = "fichier_tampon";
+  public static final int CODE_FRAMEBUFFER_FILE = 95;
+  
+  public static final String KW_EXPOSURE = "exposure";
+  public static final String KW_EXPOSITION = "exposition";
+  public static final int CODE_EXPOSURE = 96;
+  
+  public static final String KW_TONE_MAPPING = "tone_mapping";
+  public static final String KW_MAPPAGE_TONS = "mappage_tons";
+  public static final int CODE_TONE_MAPPING = 97;
+  
+  public static final String KW_RENDER_DEADLINE = "render_deadline";
+  public static final String KW_ECHEANCE_RENDU = "echeance_rendu";
+  public static final int CODE_RENDER_DEADLINE = 98;
+  
+  public static final String KW_FARM_TIMEOUT = "farm_timeout";
+  public static final String KW_DELAI_FERME = "delai_ferme";
+  public static final int CODE_FARM_TIMEOUT = 99;
+  
 	private static final Map<String, Integer> kw_map = buildDataBase(); 
 		
 	/**
@@ -514,6 +578,54 @@ public class SKeyWordDecoder {
     
     map.put(KW_CONSOLE_COMPARATOR, new Integer(CODE_CONSOLE_COMPARATOR));
     map.put(KW_COMPARATEUR_CONSOLE, new Integer(CODE_CONSOLE_COMPARATOR));
+    
+    map.put(KW_TILE_SIZE, new Integer(CODE_TILE_SIZE));
+    map.put(KW_TAILLE_TUILE, new Integer(CODE_TILE_SIZE));
+    
+    map.put(KW_CONVERGENCE_THRESHOLD, new Integer(CODE_CONVERGENCE_THRESHOLD));
+    map.put(KW_SEUIL_CONVERGENCE, new Integer(CODE_CONVERGENCE_THRESHOLD));
+    
+    map.put(KW_TIME_BUDGET, new Integer(CODE_TIME_BUDGET));
+    map.put(KW_BUDGET_TEMPS, new Integer(CODE_TIME_BUDGET));
+    
+    map.put(KW_FARM_WORKER, new Integer(CODE_FARM_WORKER));
+    map.put(KW_PROCESSUS_FERME, new Integer(CODE_FARM_WORKER));
+    
+    map.put(KW_CAMERA_KEYFRAME, new Integer(CODE_CAMERA_KEYFRAME));
+    map.put(KW_CAMERA_CLE, new Integer(CODE_CAMERA_KEYFRAME));
+    
+    map.put(KW_LIGHT_KEYFRAME, new Integer(CODE_LIGHT_KEYFRAME));
+    map.put(KW_LUMIERE_CLE, new Integer(CODE_LIGHT_KEYFRAME));
+    
+    map.put(KW_FRAME, new Integer(CODE_FRAME));
+    map.put(KW_TRAME, new Integer(CODE_FRAME));
+    
+    map.put(KW_LIGHT_INDEX, new Integer(CODE_LIGHT_INDEX));
+    map.put(KW_INDICE_LUMIERE, new Integer(CODE_LIGHT_INDEX));
+    
+    map.put(KW_CHECKPOINT_FILE, new Integer(CODE_CHECKPOINT_FILE));
+    map.put(KW_FICHIER_REPRISE, new Integer(CODE_CHECKPOINT_FILE));
+    
+    map.put(KW_CHECKPOINT_INTERVAL, new Integer(CODE_CHECKPOINT_INTERVAL));
+    map.put(KW_INTERVALLE_REPRISE, new Integer(CODE_CHECKPOINT_INTERVAL));
+    
+    map.put(KW_IMAGE_FORMAT, new Integer(CODE_IMAGE_FORMAT));
+    map.put(KW_FORMAT_IMAGE, new Integer(CODE_IMAGE_FORMAT));
+    
+    map.put(KW_FRAMEBUFFER_FILE, new Integer(CODE_FRAMEBUFFER_FILE));
+    map.put(KW_FICHIER_TAMPON, new Integer(CODE_FRAMEBUFFER_FILE));
+    
+    map.put(KW_EXPOSURE, new Integer(CODE_EXPOSURE));
+    map.put(KW_EXPOSITION, new Integer(CODE_EXPOSURE));
+    
+    map.put(KW_TONE_MAPPING, new Integer(CODE_TONE_MAPPING));
+    map.put(KW_MAPPAGE_TONS, new Integer(CODE_TONE_MAPPING));
+    
+    map.put(KW_RENDER_DEADLINE, new Integer(CODE_RENDER_DEADLINE));
+    map.put(KW_ECHEANCE_RENDU, new Integer(CODE_RENDER_DEADLINE));
+    
+    map.put(KW_FARM_TIMEOUT, new Integer(CODE_FARM_TIMEOUT));
+    map.put(KW_DELAI_FERME, new Integer(CODE_FARM_TIMEOUT));
         
     return map;
 	}
@@ -0,0 +1,153 @@
+/**
+ *
+ */
+package sim.application.util;
+
+import java.io.File;
+import java.io.FileWriter;
+import java.io.IOException;
+
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import sim.exception.SRuntimeException;
+import sim.graphics.SRaytracer;
+import sim.graphics.SScene;
+import sim.graphics.SViewport;
+
+/**
+ * JUnit test permettant de valider le rendu rparti entre plusieurs processus de travail locaux (SFarmRenderer).
+ *
+ * @author Simon Vzina
+ * @since 2026-10-17
+ * @version 2026-10-17
+ */
+public class SFarmRendererTest {
+
+  /**
+   * La constante <b>SCENE</b> correspond  une petite scne (une sphre au-dessus d'un plan) dont le viewport n'est pas un multiple de la taille d'un bloc.
+   */
+  private static final String SCENE =
+      "camera\n" +
+      "position [-5.0, 0.0, 2.0]\n" +
+      "look_at [0.0, 0.0, 0.0]\n" +
+      "up [0.0, 0.0, 1.0]\n" +
+      "angle 65.0\n" +
+      "end\n" +
+      "viewport\n" +
+      "width 45\n" +
+      "height 35\n" +
+      "end\n" +
+      "raytracer\n" +
+      "task 1\n" +
+      "sampling 1\n" +
+      "recursive_level 2\n" +
+      "space linear\n" +
+      "end\n" +
+      "primitive\n" +
+      "plane\n" +
+      "position 0.0 0.0 0.0\n" +
+      "normal 0.0 0.0 1.0\n" +
+      "end\n" +
+      "end\n" +
+      "primitive\n" +
+      "sphere\n" +
+      "position 0.0 0.0 1.0\n" +
+      "ray 1.0\n" +
+      "end\n" +
+      "end\n" +
+      "ambient_light\n" +
+      "color 0.2 0.2 0.2\n" +
+      "end\n" +
+      "point_light\n" +
+      "position -3.0 2.0 5.0\n" +
+      "color 1.0 1.0 1.0\n" +
+      "end\n";
+
+  /**
+   * La variable <b>scene_file</b> correspond au fichier de scne partag par le coordonnateur et les processus de travail.
+   * Il est crit dans le rpertoire courant puisque les fichiers de scne y sont recherchs.
+   */
+  private File scene_file;
+
+  /**
+   * @throws java.lang.Exception
+   */
+  @Before
+  public void setUp() throws Exception
+  {
+    scene_file = File.createTempFile("sfarmrenderertest", ".txt", new File(System.getProperty("user.dir")));
+
+    FileWriter writer = new FileWriter(scene_file);
+
+    try{
+      writer.write(SCENE);
+    }finally{
+      writer.close();
+    }
+  }
+
+  /**
+   * @throws java.lang.Exception
+   */
+  @After
+  public void tearDown() throws Exception
+  {
+    scene_file.delete();
+  }
+
+  /**
+   * Test permettant de vrifier que le rendu rparti entre deux processus de travail donne la mme image, pixel par pixel,
+   * que le rendu de l'application en format "console" (raytracer de la scne).
+   */
+  @Test
+  public void testTwoWorkersMatchConsoleRender() throws IOException
+  {
+    // Rendu en format "console"
+    SScene expected_scene = new SScene(scene_file.getName());
+    SRaytracer raytracer = expected_scene.buildRaytracer();
+
+    try{
+      raytracer.raytrace();
+    }finally{
+      raytracer.close();
+    }
+
+    SViewport expected = expected_scene.getViewport();
+
+    // Rendu rparti (blocs de 16 pixels, dont certains incomplets)
+    SViewport viewport = new SScene(scene_file.getName()).getViewport();
+
+    SFarmRenderer farm = new SFarmRenderer(scene_file.getName(), 2, 16);
+    farm.render(viewport);
+
+    Assert.assertEquals(0, farm.getNbReassignedTile());
+
+    for(int y = 0; y < viewport.getHeight(); y++)
+      for(int x = 0; x < viewport.getWidth(); x++)
+        Assert.assertEquals("Pixel (" + x + "," + y + ")", expected.getColor(x, y), viewport.getColor(x, y));
+  }
+
+  /**
+   * Test permettant de vrifier que les processus de travail dont la rponse dpasse le dlai prvu sont arrts
+   * et que le coordonnateur n'attend pas indfiniment.
+   */
+  @Test
+  public void testTimeoutStopsWorkers() throws IOException
+  {
+    SViewport viewport = new SScene(scene_file.getName()).getViewport();
+
+    // Aucun processus ne peut construire la scne en une microseconde
+    SFarmRenderer farm = new SFarmRenderer(scene_file.getName(), 2, 16, 1e-6);
+
+    try{
+      farm.render(viewport);
+      Assert.fail("Le rendu aurait d chouer puisque tous les processus de travail ont t arrts.");
+    }catch(SRuntimeException e){
+      // c'est un succs
+    }
+  }
+
+}//fin de la classe SFarmRendererTest
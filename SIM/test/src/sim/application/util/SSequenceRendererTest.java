@@ -0,0 +1,190 @@
+/**
+ *
+ */
+package sim.application.util;
+
+import java.awt.image.BufferedImage;
+import java.io.File;
+import java.io.FileWriter;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import javax.imageio.ImageIO;
+
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import sim.graphics.SRaytracer;
+import sim.graphics.SScene;
+import sim.graphics.SViewport;
+
+/**
+ * JUnit test permettant de valider le rendu d'une squence d'images (SSequenceRenderer).
+ *
+ * @author Simon Vzina
+ * @since 2026-10-17
+ * @version 2026-10-17
+ */
+public class SSequenceRendererTest {
+
+  /**
+   * La variable <b>directory</b> correspond au rpertoire courant o sont recherchs les fichiers de configuration et de scne.
+   */
+  private final File directory = new File(System.getProperty("user.dir"));
+
+  /**
+   * La variable <b>prefix</b> correspond au prfixe unique des fichiers gnrs par un test.
+   */
+  private String prefix;
+
+  /**
+   * Les variables <b>scene_file</b>, <b>config_file</b> et <b>output_file</b> correspondent aux fichiers de scne,
+   * de configuration et d'criture de la scne.
+   */
+  private File scene_file, config_file, output_file;
+
+  /**
+   * @throws java.lang.Exception
+   */
+  @Before
+  public void setUp() throws Exception
+  {
+    scene_file = File.createTempFile("ssequencerenderertest", ".txt", directory);
+    prefix = scene_file.getName().substring(0, scene_file.getName().length() - ".txt".length());
+
+    config_file = new File(directory, prefix + ".cfg");
+    output_file = new File(directory, prefix + "_out.txt");
+
+    // Trois images : la camra tourne autour de la sphre (images cls 0 et 2) et la source ponctuelle change de couleur (image cl 1)
+    write(scene_file,
+        "camera_keyframe\nframe 0\nposition [-5.0, 0.0, 2.0]\nlook_at [0.0, 0.0, 0.0]\nup [0.0, 0.0, 1.0]\nangle 65.0\nend\n" +
+        "camera_keyframe\nframe 2\nposition [0.0, -5.0, 3.0]\nlook_at [0.0, 0.0, 0.0]\nup [0.0, 0.0, 1.0]\nangle 45.0\nend\n" +
+        "light_keyframe\nframe 1\nlight_index 1\ncolor 1.0 0.2 0.2\nend\n" +
+        "viewport\nwidth 24\nheight 18\nimage_file_name " + prefix + "\nend\n" +
+        "raytracer\ntask 1\nsampling 1\nrecursive_level 2\nspace bvh\nend\n" +
+        "primitive\nplane\nposition 0.0 0.0 0.0\nnormal 0.0 0.0 1.0\nend\nend\n" +
+        "primitive\nsphere\nposition 0.5 0.0 1.0\nray 1.0\nend\nend\n" +
+        "ambient_light\ncolor 0.2 0.2 0.2\nend\n" +
+        "point_light\nposition -3.0 2.0 5.0\ncolor 1.0 1.0 1.0\nend\n");
+
+    write(config_file,
+        "application sequence\n" +
+        "read_data " + scene_file.getName() + "\n" +
+        "write_data " + output_file.getName() + "\n");
+  }
+
+  /**
+   * @throws java.lang.Exception
+   */
+  @After
+  public void tearDown() throws Exception
+  {
+    for(File f : images())
+      f.delete();
+
+    scene_file.delete();
+    config_file.delete();
+    output_file.delete();
+  }
+
+  /**
+   * Mthode pour crire un fichier texte.
+   *
+   * @param file - Le fichier.
+   * @param content - Le contenu du fichier.
+   */
+  private static void write(File file, String content) throws IOException
+  {
+    FileWriter writer = new FileWriter(file);
+
+    try{
+      writer.write(content);
+    }finally{
+      writer.close();
+    }
+  }
+
+  /**
+   * Mthode pour obtenir les images gnres par le test, tries par numro d'image.
+   *
+   * @return La liste des images.
+   */
+  private List<File> images()
+  {
+    List<File> list = new ArrayList<File>();
+
+    File[] files = directory.listFiles();
+    Arrays.sort(files);
+
+    for(File f : files)
+      if(f.getName().startsWith(prefix + "_") && f.getName().endsWith(".png"))
+        list.add(f);
+
+    return list;
+  }
+
+  /**
+   * Test permettant de vrifier que la squence comprend une image par numro d'image et que chaque image est identique,
+   * pixel par pixel, au rendu indpendant de l'image (nouvelle scne, donc nouvel espace des gomtries) par la camra et les sources interpoles.
+   */
+  @Test
+  public void testSequenceMatchesIndependentFrames() throws Exception
+  {
+    SSequenceRenderer.raytrace(new SConfiguration(config_file.getName()));
+
+    List<File> images = images();
+
+    Assert.assertEquals(3, images.size());
+
+    BufferedImage[] frames = new BufferedImage[images.size()];
+
+    for(int frame = 0; frame < images.size(); frame++)
+    {
+      SScene scene = new SScene(scene_file.getName());
+      Assert.assertEquals(3, scene.getNbFrame());
+
+      scene.setFrame(frame);
+      SRaytracer raytracer = scene.buildRaytracer();
+
+      try{
+        raytracer.raytrace();
+      }finally{
+        raytracer.close();
+      }
+
+      SViewport viewport = scene.getViewport();
+      BufferedImage expected = viewport.getBufferedImage();
+
+      frames[frame] = ImageIO.read(images.get(frame));
+
+      Assert.assertEquals(viewport.getWidth(), frames[frame].getWidth());
+      Assert.assertEquals(viewport.getHeight(), frames[frame].getHeight());
+
+      for(int y = 0; y < viewport.getHeight(); y++)
+        for(int x = 0; x < viewport.getWidth(); x++)
+          Assert.assertEquals("Image " + frame + ", pixel (" + x + "," + y + ")", expected.getRGB(x, y), frames[frame].getRGB(x, y));
+    }
+
+    // Les images sont animes
+    Assert.assertFalse(sameImage(frames[0], frames[1]));
+    Assert.assertFalse(sameImage(frames[1], frames[2]));
+  }
+
+  /**
+   * Mthode pour dterminer si deux images de mme dimension sont identiques.
+   */
+  private static boolean sameImage(BufferedImage a, BufferedImage b)
+  {
+    for(int y = 0; y < a.getHeight(); y++)
+      for(int x = 0; x < a.getWidth(); x++)
+        if(a.getRGB(x, y) != b.getRGB(x, y))
+          return false;
+
+    return true;
+  }
+
+}//fin de la classe SSequenceRendererTest
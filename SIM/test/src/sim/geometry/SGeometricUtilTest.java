@@ -17,7 +17,7 @@ import sim.math.SVector3d;
  * 
  * @author Simon Vzina
  * @since 2015-11-24
- * @version 2015-11-25
+ * @version 2026-10-17
  */
 public class SGeometricUtilTest {
 
@@ -64,4 +64,94 @@ public class SGeometricUtilTest {
     Assert.assertEquals(-1, SGeometricUtil.isOnSphereSurface(r_s, R, inside));
   }
 
+  /**
+   * Les constantes <b>CENTER</b> et <b>HALF_SIZE</b> correspondent  la bote [-1,1]x[-1,1]x[-1,1] utilise par les tests de chevauchement.
+   */
+  private static final SVector3d CENTER = new SVector3d(0.0, 0.0, 0.0);
+  private static final SVector3d HALF_SIZE = new SVector3d(1.0, 1.0, 1.0);
+  
+  /**
+   * Test du chevauchement d'un triangle entirement  l'intrieur de la bote et d'un triangle englobant une section de la bote (aucun sommet dans la bote).
+   */
+  @Test
+  public void testIsTriangleOverlappingBoxInside()
+  {
+    Assert.assertTrue(SGeometricUtil.isTriangleOverlappingBox(new SVector3d(0.2, 0.1, 0.0), new SVector3d(-0.5, 0.3, 0.4), new SVector3d(0.1, -0.6, -0.2), CENTER, HALF_SIZE));
+    Assert.assertTrue(SGeometricUtil.isTriangleOverlappingBox(new SVector3d(-10.0, -10.0, 0.3), new SVector3d(10.0, -10.0, 0.3), new SVector3d(0.0, 10.0, 0.3), CENTER, HALF_SIZE));
+    
+    // Bote non centre  l'origine
+    Assert.assertTrue(SGeometricUtil.isTriangleOverlappingBox(new SVector3d(5.2, 0.1, -3.0), new SVector3d(4.5, 0.3, -2.6), new SVector3d(5.1, -0.6, -3.2), new SVector3d(5.0, 0.0, -3.0), new SVector3d(0.5, 1.0, 0.5)));
+  }
+  
+  /**
+   * Test d'un triangle spar de la bote selon un axe de la bote.
+   */
+  @Test
+  public void testIsTriangleOverlappingBoxFaceAxisSeparation()
+  {
+    Assert.assertFalse(SGeometricUtil.isTriangleOverlappingBox(new SVector3d(1.5, 0.0, 0.0), new SVector3d(2.0, 1.0, 0.0), new SVector3d(2.0, -1.0, 0.5), CENTER, HALF_SIZE));
+    Assert.assertFalse(SGeometricUtil.isTriangleOverlappingBox(new SVector3d(0.0, -1.2, 0.0), new SVector3d(0.5, -3.0, 0.5), new SVector3d(-0.5, -2.0, -0.5), CENTER, HALF_SIZE));
+    Assert.assertFalse(SGeometricUtil.isTriangleOverlappingBox(new SVector3d(0.0, 0.0, 1.001), new SVector3d(0.5, 0.5, 2.0), new SVector3d(-0.5, 0.5, 3.0), CENTER, HALF_SIZE));
+  }
+  
+  /**
+   * Test d'un triangle spar de la bote uniquement selon le produit vectoriel d'une arte et d'un axe de la bote.
+   * La bote englobante du triangle chevauche la bote et le plan du triangle traverse la bote.
+   */
+  @Test
+  public void testIsTriangleOverlappingBoxEdgeAxisSeparation()
+  {
+    // Triangle dans le plan z = 0 prs du coin (1,1) : son arte la plus prs est sur la droite x + y = 2.3 (spare par l'axe (1,1,0) = arte x z)
+    SVector3d p0 = new SVector3d(1.5, 0.8, 0.0);
+    SVector3d p1 = new SVector3d(0.8, 1.5, 0.0);
+    SVector3d p2 = new SVector3d(3.0, 3.0, 0.0);
+    
+    Assert.assertFalse(SGeometricUtil.isTriangleOverlappingBox(p0, p1, p2, CENTER, HALF_SIZE));
+    
+    // En rapprochant l'arte du coin (x + y = 1.9), le triangle chevauche la bote
+    Assert.assertTrue(SGeometricUtil.isTriangleOverlappingBox(new SVector3d(1.1, 0.8, 0.0), new SVector3d(0.8, 1.1, 0.0), p2, CENTER, HALF_SIZE));
+    
+    // Mme situation incline prs de l'arte de la bote (1, y, 1) : arte sur le plan x + z = 2.3
+    Assert.assertFalse(SGeometricUtil.isTriangleOverlappingBox(new SVector3d(1.5, -0.5, 0.8), new SVector3d(0.8, 0.5, 1.5), new SVector3d(3.0, 0.0, 3.0), CENTER, HALF_SIZE));
+  }
+  
+  /**
+   * Test d'un triangle touchant la bote (sur une face, une arte ou un sommet), ce qui est considr comme un chevauchement.
+   */
+  @Test
+  public void testIsTriangleOverlappingBoxTouching()
+  {
+    // Triangle dans le plan de la face x = 1
+    Assert.assertTrue(SGeometricUtil.isTriangleOverlappingBox(new SVector3d(1.0, 0.0, 0.0), new SVector3d(1.0, 0.5, 0.5), new SVector3d(1.0, -0.5, 0.5), CENTER, HALF_SIZE));
+    
+    // Triangle extrieur dont un sommet touche la face z = -1
+    Assert.assertTrue(SGeometricUtil.isTriangleOverlappingBox(new SVector3d(0.0, 0.0, -1.0), new SVector3d(0.5, 0.5, -2.0), new SVector3d(-0.5, 0.5, -3.0), CENTER, HALF_SIZE));
+    
+    // Triangle extrieur dont un sommet touche un coin de la bote
+    Assert.assertTrue(SGeometricUtil.isTriangleOverlappingBox(new SVector3d(1.0, 1.0, 1.0), new SVector3d(2.0, 2.0, 3.0), new SVector3d(3.0, 1.0, 2.0), CENTER, HALF_SIZE));
+    
+    // Triangle dont l'arte touche le coin (1,1) (arte sur la droite x + y = 2)
+    Assert.assertTrue(SGeometricUtil.isTriangleOverlappingBox(new SVector3d(1.5, 0.5, 0.0), new SVector3d(0.5, 1.5, 0.0), new SVector3d(3.0, 3.0, 0.0), CENTER, HALF_SIZE));
+  }
+  
+  /**
+   * Test de triangles dgnrs (sommets aligns ou confondus), dont la normale est nulle.
+   */
+  @Test
+  public void testIsTriangleOverlappingBoxDegenerate()
+  {
+    // Segment traversant la bote
+    Assert.assertTrue(SGeometricUtil.isTriangleOverlappingBox(new SVector3d(-2.0, 0.0, 0.0), new SVector3d(2.0, 0.0, 0.0), new SVector3d(0.0, 0.0, 0.0), CENTER, HALF_SIZE));
+    
+    // Segment sur la droite x + y = 2.5 dont la bote englobante chevauche la bote
+    Assert.assertFalse(SGeometricUtil.isTriangleOverlappingBox(new SVector3d(0.5, 2.0, 0.0), new SVector3d(2.0, 0.5, 0.0), new SVector3d(1.25, 1.25, 0.0), CENTER, HALF_SIZE));
+    
+    // Point  l'intrieur et  l'extrieur de la bote
+    SVector3d inside = new SVector3d(0.5, 0.5, 0.5);
+    SVector3d outside = new SVector3d(1.5, 0.0, 0.0);
+    
+    Assert.assertTrue(SGeometricUtil.isTriangleOverlappingBox(inside, inside, inside, CENTER, HALF_SIZE));
+    Assert.assertFalse(SGeometricUtil.isTriangleOverlappingBox(outside, outside, outside, CENTER, HALF_SIZE));
+  }
+  
 }//fin de la classe SGeometricUtil
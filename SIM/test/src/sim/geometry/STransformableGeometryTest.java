@@ -0,0 +1,180 @@
+/**
+ *
+ */
+package sim.geometry;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import sim.math.SMatrix4x4;
+import sim.math.SVector3d;
+
+/**
+ * JUnit test permettant de valider l'intersection d'une gomtrie transformable (STransformableGeometry)
+ * dont la gomtrie interne est une sphre unitaire centre  l'origine.
+ *
+ * @author Simon Vzina
+ * @since 2026-10-17
+ * @version 2026-10-17
+ */
+public class STransformableGeometryTest {
+
+  /**
+   * Les constantes <b>SCALE</b>, <b>ROTATION</b> et <b>TRANSLATION</b> correspondent  la transformation de la sphre unitaire.
+   * L'ellipsode obtenu est centr en (3,-1,2) et ses demi-axes sont 1 selon x, 2 selon y et 0.5 selon z
+   * (l'axe x de l'espace objet devient l'axe y de la scne par la rotation de 90 degrs autour de z).
+   */
+  private static final SVector3d SCALE = new SVector3d(2.0, 1.0, 0.5);
+  private static final SVector3d ROTATION = new SVector3d(0.0, 0.0, 90.0);
+  private static final SVector3d TRANSLATION = new SVector3d(3.0, -1.0, 2.0);
+
+  /**
+   * La constante <b>SEMI_AXIS</b> correspond aux demi-axes de l'ellipsode dans la scne.
+   */
+  private static final SVector3d SEMI_AXIS = new SVector3d(1.0, 2.0, 0.5);
+
+  /**
+   * Mthode pour construire la sphre transforme utilise par les tests.
+   *
+   * @return La gomtrie transformable.
+   */
+  private static STransformableGeometry ellipsoid()
+  {
+    return new STransformableGeometry(new SSphereGeometry(), SCALE, ROTATION, TRANSLATION);
+  }
+
+  /**
+   * Mthode pour raliser l'intersection complte d'un rayon avec une gomtrie.
+   *
+   * @param geometry - La gomtrie.
+   * @param origin - L'origine du rayon.
+   * @param direction - La direction du rayon (qui sera normalise).
+   * @return Le rayon intersect.
+   */
+  private static SRay intersect(SGeometry geometry, SVector3d origin, SVector3d direction)
+  {
+    SRay ray = new SRay(origin, direction.normalize(), SRay.DEFAULT_REFRACTIVE_INDEX);
+
+    double t = geometry.intersectionTime(ray);
+
+    Assert.assertTrue("Le rayon " + ray + " doit intersecter la gomtrie.", t < SGeometry.NO_INTERSECTION);
+
+    return geometry.completeHit(ray, t);
+  }
+
+  /**
+   * Mthode pour vrifier que la position de l'intersection est sur la sphre unitaire dans l'espace objet (|world_to_objectp| = 1)
+   * et que la normale est celle de l'ellipsode value indpendamment (gradient de l'quation de l'ellipsode dans la scne).
+   *
+   * @param ray - Le rayon intersect.
+   * @param inside - Le status attendu de l'intersection (venant de l'intrieur ou non).
+   */
+  private static void assertEllipsoidHit(SRay ray, boolean inside)
+  {
+    SMatrix4x4 world_to_object = SMatrix4x4.ScRxyzTr(new SVector3d(1.0/SCALE.getX(), 1.0/SCALE.getY(), 1.0/SCALE.getZ()), ROTATION.multiply(-1.0), TRANSLATION.multiply(-1.0));
+
+    SVector3d p = ray.getIntersectionPosition();
+
+    Assert.assertEquals(1.0, world_to_object.multiplyPosition(p).modulus(), 1e-9);
+
+    // Gradient de (x/a)^2 + (y/b)^2 + (z/c)^2 = 1 par rapport au centre
+    SVector3d q = p.substract(TRANSLATION);
+    SVector3d gradient = new SVector3d(q.getX() / (SEMI_AXIS.getX()*SEMI_AXIS.getX()),
+                                       q.getY() / (SEMI_AXIS.getY()*SEMI_AXIS.getY()),
+                                       q.getZ() / (SEMI_AXIS.getZ()*SEMI_AXIS.getZ())).normalize();
+
+    // La normale est oriente contre la direction du rayon
+    SVector3d expected_normal = inside ? gradient.multiply(-1.0) : gradient;
+
+    Assert.assertEquals(expected_normal, ray.getNormal());
+    Assert.assertEquals(1.0, ray.getNormal().modulus(), 1e-9);
+    Assert.assertTrue(ray.getNormal().dot(ray.getDirection()) < 0.0);
+    Assert.assertEquals(inside, ray.isInsideIntersection());
+  }
+
+  /**
+   * Test permettant de vrifier l'intersection de l'ellipsode selon chacun de ses axes (temps, position et normale connus).
+   */
+  @Test
+  public void testIntersectionAlongAxis()
+  {
+    STransformableGeometry geometry = ellipsoid();
+
+    // Selon y (demi-axe 2, donn par l'homothtie 2 en x et la rotation)
+    SRay ray = intersect(geometry, new SVector3d(3.0, -10.0, 2.0), new SVector3d(0.0, 1.0, 0.0));
+    Assert.assertEquals(7.0, ray.getT(), 1e-9);
+    Assert.assertEquals(new SVector3d(3.0, -3.0, 2.0), ray.getIntersectionPosition());
+    Assert.assertEquals(new SVector3d(0.0, -1.0, 0.0), ray.getNormal());
+    assertEllipsoidHit(ray, false);
+
+    // Selon x (demi-axe 1)
+    ray = intersect(geometry, new SVector3d(10.0, -1.0, 2.0), new SVector3d(-1.0, 0.0, 0.0));
+    Assert.assertEquals(6.0, ray.getT(), 1e-9);
+    Assert.assertEquals(new SVector3d(4.0, -1.0, 2.0), ray.getIntersectionPosition());
+    Assert.assertEquals(new SVector3d(1.0, 0.0, 0.0), ray.getNormal());
+    assertEllipsoidHit(ray, false);
+
+    // Selon z (demi-axe 0.5)
+    ray = intersect(geometry, new SVector3d(3.0, -1.0, 10.0), new SVector3d(0.0, 0.0, -1.0));
+    Assert.assertEquals(7.5, ray.getT(), 1e-9);
+    Assert.assertEquals(new SVector3d(3.0, -1.0, 2.5), ray.getIntersectionPosition());
+    Assert.assertEquals(new SVector3d(0.0, 0.0, 1.0), ray.getNormal());
+    assertEllipsoidHit(ray, false);
+  }
+
+  /**
+   * Test permettant de vrifier l'intersection de l'ellipsode par des rayons obliques venant de l'extrieur.
+   */
+  @Test
+  public void testObliqueIntersection()
+  {
+    STransformableGeometry geometry = ellipsoid();
+
+    SVector3d[][] rays = {
+        { new SVector3d(0.0, -5.0, 6.0),  new SVector3d(3.0, 4.0, -4.0) },
+        { new SVector3d(-4.0, 3.0, -1.0), new SVector3d(7.2, -3.9, 3.1) },
+        { new SVector3d(8.0, 4.0, 2.2),   new SVector3d(-5.0, -5.5, 0.0) }
+    };
+
+    for(SVector3d[] r : rays)
+      assertEllipsoidHit(intersect(geometry, r[0], r[1]), false);
+  }
+
+  /**
+   * Test permettant de vrifier l'intersection de l'ellipsode par des rayons partant de l'intrieur.
+   */
+  @Test
+  public void testInsideIntersection()
+  {
+    STransformableGeometry geometry = ellipsoid();
+
+    SRay ray = intersect(geometry, TRANSLATION, new SVector3d(0.0, 0.0, 1.0));
+    Assert.assertEquals(0.5, ray.getT(), 1e-9);
+    Assert.assertEquals(new SVector3d(0.0, 0.0, -1.0), ray.getNormal());
+    assertEllipsoidHit(ray, true);
+
+    ray = intersect(geometry, new SVector3d(3.2, -0.5, 2.1), new SVector3d(1.0, -2.0, 0.3));
+    assertEllipsoidHit(ray, true);
+
+    Assert.assertTrue(geometry.isInside(new SVector3d(3.2, -0.5, 2.1)));
+    Assert.assertFalse(geometry.isInside(new SVector3d(3.0, -1.0, 2.6)));
+  }
+
+  /**
+   * Test permettant de vrifier que des rayons passant  ct de l'ellipsode ne l'intersectent pas (le second intersecte la sphre unitaire non transforme).
+   */
+  @Test
+  public void testNoIntersection()
+  {
+    STransformableGeometry geometry = ellipsoid();
+
+    SRay ray = new SRay(new SVector3d(3.0, -10.0, 2.8), new SVector3d(0.0, 1.0, 0.0), SRay.DEFAULT_REFRACTIVE_INDEX);
+
+    Assert.assertEquals(SGeometry.NO_INTERSECTION, geometry.intersectionTime(ray), 0.0);
+
+    ray = new SRay(new SVector3d(0.5, 0.0, 0.0), new SVector3d(0.0, 0.0, 1.0), SRay.DEFAULT_REFRACTIVE_INDEX);
+
+    Assert.assertEquals(SGeometry.NO_INTERSECTION, geometry.intersectionTime(ray), 0.0);
+  }
+
+}//fin de la classe STransformableGeometryTest
@@ -0,0 +1,181 @@
+/**
+ *
+ */
+package sim.geometry.space;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import sim.geometry.SGeometry;
+import sim.geometry.SPlaneGeometry;
+import sim.geometry.SRay;
+import sim.math.SVector3d;
+
+/**
+ * JUnit test permettant de valider l'espace des gomtries en hirarchie de volumes englobants (SBVHSpace) construite par SBVHBuilder.
+ * Chaque requte est compare  celle de l'espace linaire (SLinearSpace).
+ *
+ * @author Simon Vzina
+ * @since 2026-10-17
+ * @version 2026-10-17
+ */
+public class SBVHSpaceTest {
+
+  /**
+   * Test permettant de vrifier les requtes sur une scne alatoire de sphres et de triangles (dont certains transparents)
+   * comprenant un plan infini hors de la hirarchie.
+   */
+  @Test
+  public void testRandomSceneMatchesLinearSpace()
+  {
+    Random random = new Random(2026);
+
+    List<SGeometry> list = SGeometrySpaceTestUtil.randomScene(random, 500, 500, 20.0, 0.2);
+    list.add(new SPlaneGeometry(new SVector3d(0.0, 0.0, -40.0), new SVector3d(0.0, 0.0, 1.0)));
+
+    SLinearSpace linear = SGeometrySpaceTestUtil.initialize(new SLinearSpace(), list);
+    SBVHSpace bvh = SGeometrySpaceTestUtil.initialize(new SBVHSpace(), list);
+
+    int nb_hit = 0;
+    int nb_triangle_hit = 0;
+
+    for(int i = 0; i < 30000; i++)
+    {
+      SRay ray = SGeometrySpaceTestUtil.ray(SGeometrySpaceTestUtil.randomPoint(random, 25.0), SGeometrySpaceTestUtil.randomDirection(random));
+
+      // Rayons sans limite et rayons d'ombre limits
+      double t_max = i % 2 == 0 ? SGeometry.NO_INTERSECTION : 40.0*random.nextDouble();
+
+      SRay hit = SGeometrySpaceTestUtil.assertSameQueries(linear, bvh, ray, t_max);
+
+      if(hit.asIntersected())
+      {
+        nb_hit++;
+
+        if(hit.getGeometry() instanceof SGeometrySpaceTestUtil.STestTriangleGeometry)
+          nb_triangle_hit++;
+      }
+    }
+
+    // La comparaison porte sur des intersections de sphres et de triangles
+    Assert.assertTrue(nb_hit > 8000);
+    Assert.assertTrue(nb_triangle_hit > 1000);
+  }
+
+  /**
+   * Test permettant de vrifier les requtes lorsque les centres des botes sont confondus (aucune coupe possible :
+   * une seule feuille contient toutes les gomtries).
+   */
+  @Test
+  public void testCoincidentCentroids()
+  {
+    Random random = new Random(17);
+
+    // Centre  l'origine : les botes (agrandies selon la valeur absolue des coordonnes) demeurent symtriques
+    SVector3d center = new SVector3d(0.0, 0.0, 0.0);
+    List<SGeometry> list = new ArrayList<SGeometry>();
+
+    for(int i = 1; i <= 100; i++)
+    {
+      // Sphres concentriques et triangles symtriques autour du mme centre (bote de mme centre)
+      list.add(SGeometrySpaceTestUtil.sphere(random, center, 0.1*i, 0.3));
+
+      double r = 0.05*i;
+      list.add(SGeometrySpaceTestUtil.triangle(random, center.add(new SVector3d(-r, -r, -r)), center.add(new SVector3d(r, r, r)), center.add(new SVector3d(r, -r, 0.0)), 0.3));
+    }
+
+    SLinearSpace linear = SGeometrySpaceTestUtil.initialize(new SLinearSpace(), list);
+    SBVHSpace bvh = SGeometrySpaceTestUtil.initialize(new SBVHSpace(), list);
+
+    Assert.assertEquals("Nb geometry : 200, Nb node : 1", bvh.toString());
+
+    for(int i = 0; i < 2000; i++)
+    {
+      SRay ray = SGeometrySpaceTestUtil.ray(center.add(SGeometrySpaceTestUtil.randomPoint(random, 15.0)), SGeometrySpaceTestUtil.randomDirection(random));
+
+      SGeometrySpaceTestUtil.assertSameQueries(linear, bvh, ray, i % 2 == 0 ? SGeometry.NO_INTERSECTION : 20.0*random.nextDouble());
+    }
+  }
+
+  /**
+   * Test permettant de vrifier que la profondeur de la hirarchie est limite pour une suite gomtrique de positions
+   * (chaque coupe isole une seule gomtrie) et que les feuilles de la profondeur maximale donnent les mmes requtes.
+   */
+  @Test
+  public void testDepthLimit()
+  {
+    Random random = new Random(64);
+
+    int n = 2*SBVHBuilder.MAX_DEPTH;
+
+    List<SGeometry> list = new ArrayList<SGeometry>();
+
+    for(int i = 0; i < n; i++)
+      list.add(SGeometrySpaceTestUtil.sphere(random, new SVector3d(Math.pow(3.0, i), 0.0, 0.0), 0.25*Math.pow(3.0, i), 0.3));
+
+    // Profondeur de la hirarchie construite
+    SBVHBuilder builder = new SBVHBuilder();
+
+    SBoundingBox[] box_tab = builder.buildBoundingBoxes(list);
+    List<SBoundingBox> box_list = new ArrayList<SBoundingBox>();
+
+    for(SBoundingBox box : box_tab)
+      box_list.add(box);
+
+    builder.build(box_list);
+    builder.close();
+
+    Assert.assertEquals(SBVHBuilder.MAX_DEPTH + 1, depth(builder.getNodeSkip(), builder.getNbNode()));
+
+    // Requtes visant chacune des sphres (de tailles trs diffrentes)
+    SLinearSpace linear = SGeometrySpaceTestUtil.initialize(new SLinearSpace(), list);
+    SBVHSpace bvh = SGeometrySpaceTestUtil.initialize(new SBVHSpace(), list);
+
+    int nb_hit = 0;
+
+    for(int i = 0; i < 4000; i++)
+    {
+      double scale = Math.pow(3.0, random.nextInt(n));
+
+      SVector3d target = new SVector3d(scale, 0.0, 0.0).add(SGeometrySpaceTestUtil.randomPoint(random, 0.3*scale));
+      SVector3d origin = target.add(SGeometrySpaceTestUtil.randomDirection(random).multiply(3.0*scale));
+
+      SRay ray = SGeometrySpaceTestUtil.ray(origin, target.substract(origin));
+
+      if(SGeometrySpaceTestUtil.assertSameQueries(linear, bvh, ray, i % 2 == 0 ? SGeometry.NO_INTERSECTION : 4.0*scale*random.nextDouble()).asIntersected())
+        nb_hit++;
+    }
+
+    Assert.assertTrue(nb_hit > 1000);
+  }
+
+  /**
+   * Mthode pour valuer la profondeur d'une hirarchie aplatie en profondeur  partir des indices de saut de ses noeuds.
+   *
+   * @param node_skip - L'indice du noeud suivant le sous-arbre de chaque noeud.
+   * @param nb_node - Le nombre de noeuds.
+   * @return La profondeur (1 pour une hirarchie  un seul noeud).
+   */
+  private static int depth(int[] node_skip, int nb_node)
+  {
+    int[] end_stack = new int[nb_node + 1];
+    int depth = 0;
+    int max_depth = 0;
+
+    for(int node = 0; node < nb_node; node++)
+    {
+      while(depth > 0 && end_stack[depth - 1] <= node)
+        depth--;
+
+      end_stack[depth++] = node_skip[node];
+      max_depth = Math.max(max_depth, depth);
+    }
+
+    return max_depth;
+  }
+
+}//fin de la classe SBVHSpaceTest
@@ -0,0 +1,271 @@
+/**
+ *
+ */
+package sim.geometry.space;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.Assert;
+
+import sim.exception.SRuntimeException;
+import sim.geometry.SGeometry;
+import sim.geometry.SRay;
+import sim.geometry.SSphereGeometry;
+import sim.geometry.STriangleGeometry;
+import sim.graphics.SPrimitive;
+import sim.graphics.material.SBlinnMaterial;
+import sim.math.SMath;
+import sim.math.SVector3d;
+import sim.util.SBufferedReader;
+
+/**
+ * Classe utilitaire des tests des espaces de gomtries. Elle permet de construire des scnes alatoires (sphres et triangles,
+ * dont certains sont transparents) et de comparer les requtes d'un espace de gomtries  celles de l'espace linaire (SLinearSpace)
+ * qui sert de rfrence.
+ *
+ * @author Simon Vzina
+ * @since 2026-10-17
+ * @version 2026-10-17
+ */
+class SGeometrySpaceTestUtil {
+
+  /**
+   * Mthode pour construire une sphre.
+   *
+   * @param random - Le gnrateur de nombres alatoires (choix de la transparence et de sa couleur).
+   * @param position - La position du centre.
+   * @param ray - Le rayon.
+   * @param transparent_ratio - La proportion des gomtries transparentes.
+   * @return La sphre.
+   */
+  static SGeometry sphere(Random random, SVector3d position, double ray, double transparent_ratio)
+  {
+    return attach(random, new SSphereGeometry(position, ray), transparent_ratio);
+  }
+
+  /**
+   * Mthode pour construire un triangle dont l'intersection est value (voir <b>STestTriangleGeometry</b>).
+   *
+   * @param random - Le gnrateur de nombres alatoires (choix de la transparence et de sa couleur).
+   * @param p0 - Le 1er sommet.
+   * @param p1 - Le 2e sommet.
+   * @param p2 - Le 3e sommet.
+   * @param transparent_ratio - La proportion des gomtries transparentes.
+   * @return Le triangle.
+   */
+  static SGeometry triangle(Random random, SVector3d p0, SVector3d p1, SVector3d p2, double transparent_ratio)
+  {
+    return attach(random, new STestTriangleGeometry(p0, p1, p2), transparent_ratio);
+  }
+
+  /**
+   * Mthode pour construire une scne alatoire de sphres et de triangles dans le cube [-size, size]^3.
+   *
+   * @param random - Le gnrateur de nombres alatoires.
+   * @param nb_sphere - Le nombre de sphres.
+   * @param nb_triangle - Le nombre de triangles.
+   * @param size - La demi-longueur du cube de la scne.
+   * @param transparent_ratio - La proportion des gomtries transparentes.
+   * @return La liste des gomtries.
+   */
+  static List<SGeometry> randomScene(Random random, int nb_sphere, int nb_triangle, double size, double transparent_ratio)
+  {
+    List<SGeometry> list = new ArrayList<SGeometry>();
+
+    for(int i = 0; i < nb_sphere; i++)
+      list.add(sphere(random, randomPoint(random, size), 0.2 + 1.8*random.nextDouble(), transparent_ratio));
+
+    for(int i = 0; i < nb_triangle; i++)
+    {
+      SVector3d p0 = randomPoint(random, size);
+
+      list.add(triangle(random, p0, p0.add(randomPoint(random, 2.0)), p0.add(randomPoint(random, 2.0)), transparent_ratio));
+    }
+
+    return list;
+  }
+
+  /**
+   * Mthode pour obtenir un point alatoire dans le cube [-size, size]^3.
+   *
+   * @param random - Le gnrateur de nombres alatoires.
+   * @param size - La demi-longueur du cube.
+   * @return Le point.
+   */
+  static SVector3d randomPoint(Random random, double size)
+  {
+    return new SVector3d(size*(2.0*random.nextDouble() - 1.0), size*(2.0*random.nextDouble() - 1.0), size*(2.0*random.nextDouble() - 1.0));
+  }
+
+  /**
+   * Mthode pour obtenir une direction alatoire normalise.
+   *
+   * @param random - Le gnrateur de nombres alatoires.
+   * @return La direction.
+   */
+  static SVector3d randomDirection(Random random)
+  {
+    SVector3d d;
+
+    do{
+      d = randomPoint(random, 1.0);
+    }while(d.modulus() < 0.1 || d.modulus() > 1.0);
+
+    return d.normalize();
+  }
+
+  /**
+   * Mthode pour construire un rayon.
+   *
+   * @param origin - L'origine.
+   * @param direction - La direction (qui sera normalise).
+   * @return Le rayon.
+   */
+  static SRay ray(SVector3d origin, SVector3d direction)
+  {
+    return new SRay(origin, direction.normalize(), SRay.DEFAULT_REFRACTIVE_INDEX);
+  }
+
+  /**
+   * Mthode pour ajouter des gomtries  un espace et l'initialiser.
+   *
+   * @param space - L'espace des gomtries.
+   * @param list - La liste des gomtries.
+   * @return L'espace initialis.
+   */
+  static <T extends SGeometrySpace> T initialize(T space, List<SGeometry> list)
+  {
+    space.addGeometry(list);
+    space.initialize();
+
+    return space;
+  }
+
+  /**
+   * Mthode pour vrifier qu'un espace de gomtries donne le mme rsultat que l'espace de rfrence pour les quatre requtes
+   * (intersection la plus prs, intersection opaque la plus prs, occlusion et filtre de transmission) d'un rayon.
+   *
+   * @param expected - L'espace de rfrence.
+   * @param actual - L'espace  valider.
+   * @param ray - Le rayon.
+   * @param t_max - Le temps maximal.
+   * @return Le rayon intersect le plus prs (selon l'espace de rfrence).
+   */
+  static SRay assertSameQueries(SGeometrySpace expected, SGeometrySpace actual, SRay ray, double t_max)
+  {
+    String message = "Rayon d'origine " + ray.getOrigin() + " et de direction " + ray.getDirection() + ", t_max = " + t_max;
+
+    // Intersection la plus prs
+    SRay expected_ray = expected.nearestIntersection(ray, t_max);
+    SRay actual_ray = actual.nearestIntersection(ray, t_max);
+
+    Assert.assertEquals(message, expected_ray.asIntersected(), actual_ray.asIntersected());
+
+    if(expected_ray.asIntersected())
+    {
+      Assert.assertSame(message, expected_ray.getGeometry(), actual_ray.getGeometry());
+      Assert.assertEquals(message, expected_ray.getT(), actual_ray.getT(), 0.0);
+    }
+
+    // Intersection opaque la plus prs prcde des intersections transparentes
+    List<SRay> expected_list = expected.nearestOpaqueIntersection(ray, t_max);
+    List<SRay> actual_list = actual.nearestOpaqueIntersection(ray, t_max);
+
+    Assert.assertEquals(message, expected_list.size(), actual_list.size());
+
+    for(int i = 0; i < expected_list.size(); i++)
+    {
+      Assert.assertSame(message, expected_list.get(i).getGeometry(), actual_list.get(i).getGeometry());
+      Assert.assertEquals(message, expected_list.get(i).getT(), actual_list.get(i).getT(), 0.0);
+    }
+
+    // Rayon d'ombre
+    Assert.assertEquals(message, expected.occluded(ray, t_max), actual.occluded(ray, t_max));
+    Assert.assertEquals(message, expected.transmittance(ray, t_max), actual.transmittance(ray, t_max));
+
+    return expected_ray;
+  }
+
+  /**
+   * Mthode pour associer une gomtrie  une primitive transparente selon une proportion.
+   * La couleur de transparence est alatoire afin que le filtre de transmission dpende des gomtries traverses.
+   */
+  private static SGeometry attach(Random random, SGeometry geometry, double transparent_ratio)
+  {
+    if(random.nextDouble() < transparent_ratio)
+    {
+      String material = "color " + (0.2 + 0.8*random.nextDouble()) + " " + (0.2 + 0.8*random.nextDouble()) + " " + (0.2 + 0.8*random.nextDouble()) + "\nkt 0.5\nend\n";
+
+      try{
+        new SPrimitive(geometry, new SBlinnMaterial(new SBufferedReader(new StringReader(material))));
+      }catch(IOException e){
+        throw new SRuntimeException("Erreur SGeometrySpaceTestUtil 001 : Le matriel transparent ne peut pas tre lu.", e);
+      }
+    }
+
+    return geometry;
+  }
+
+  /**
+   * La classe interne <b>STestTriangleGeometry</b> reprsente un triangle dont le temps d'intersection est valu
+   * (algorithme de Mller-Trumbore), la mthode de STriangleGeometry tant laisse  complter.
+   * Sa bote englobante et sa normale sont celles de STriangleGeometry.
+   */
+  static class STestTriangleGeometry extends STriangleGeometry {
+
+    /**
+     * Constructeur d'un triangle avec ses trois points.
+     *
+     * @param p0 - Le 1er sommet.
+     * @param p1 - Le 2e sommet.
+     * @param p2 - Le 3e sommet.
+     */
+    STestTriangleGeometry(SVector3d p0, SVector3d p1, SVector3d p2)
+    {
+      super(p0, p1, p2);
+    }
+
+    @Override
+    public double intersectionTime(SRay ray) throws SRuntimeException
+    {
+      if(ray.asIntersected())
+        throw new SRuntimeException("Erreur STestTriangleGeometry 001 : Le rayon a dj intersect une autre gomtrie.");
+
+      SVector3d e1 = getP1().substract(getP0());
+      SVector3d e2 = getP2().substract(getP0());
+
+      SVector3d p = ray.getDirection().cross(e2);
+      double det = e1.dot(p);
+
+      if(Math.abs(det) < SMath.EPSILON)
+        return NO_INTERSECTION;
+
+      SVector3d s = ray.getOrigin().substract(getP0());
+
+      double u = s.dot(p) / det;
+
+      if(u < 0.0 || u > 1.0)
+        return NO_INTERSECTION;
+
+      SVector3d q = s.cross(e1);
+
+      double v = ray.getDirection().dot(q) / det;
+
+      if(v < 0.0 || u + v > 1.0)
+        return NO_INTERSECTION;
+
+      double t = e2.dot(q) / det;
+
+      if(t > SMath.EPSILON)
+        return t;
+      else
+        return NO_INTERSECTION;
+    }
+
+  }//fin de la classe interne STestTriangleGeometry
+
+}//fin de la classe SGeometrySpaceTestUtil
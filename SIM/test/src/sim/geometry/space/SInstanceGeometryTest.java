@@ -0,0 +1,121 @@
+/**
+ *
+ */
+package sim.geometry.space;
+
+import java.util.List;
+import java.util.Random;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import sim.geometry.SGeometry;
+import sim.geometry.SRay;
+import sim.math.SVector3d;
+
+/**
+ * JUnit test permettant de valider le temps d'intersection d'une instance de maillage (SInstanceGeometry) limit par un temps maximal.
+ *
+ * @author Simon Vzina
+ * @since 2026-10-17
+ * @version 2026-10-17
+ */
+public class SInstanceGeometryTest {
+
+  /**
+   * Mthode pour vrifier, pour des rayons alatoires visant une instance, que le temps d'intersection limit par un temps maximal
+   * est celui sans limite lorsqu'il le prcde (<b>NO_INTERSECTION</b> sinon) et que la limite rduit le parcours de la hirarchie du maillage.
+   *
+   * @param instance - L'instance.
+   * @param center - Un point prs duquel sont viss les rayons.
+   * @param random - Le gnrateur de nombres alatoires.
+   */
+  private static void assertBoundedIntersectionTime(SInstanceGeometry instance, SVector3d center, Random random)
+  {
+    int nb_hit = 0;
+
+    long unbounded_visit = 0;
+    long bounded_visit = 0;
+
+    for(int i = 0; i < 2000; i++)
+    {
+      SVector3d target = center.add(SGeometrySpaceTestUtil.randomPoint(random, 4.0));
+      SVector3d origin = target.add(SGeometrySpaceTestUtil.randomDirection(random).multiply(30.0));
+
+      SRay ray = SGeometrySpaceTestUtil.ray(origin, target.substract(origin));
+
+      SIntersectionStatistics.reset();
+      double t = instance.intersectionTime(ray);
+      unbounded_visit += SIntersectionStatistics.getCount(SIntersectionStatistics.NODE_VISIT);
+
+      Assert.assertEquals(t, instance.intersectionTime(ray, SGeometry.NO_INTERSECTION), 0.0);
+
+      if(t == SGeometry.NO_INTERSECTION)
+      {
+        Assert.assertEquals(SGeometry.NO_INTERSECTION, instance.intersectionTime(ray, 50.0), 0.0);
+        continue;
+      }
+
+      nb_hit++;
+
+      // Temps maximal aprs l'intersection : mme temps et mme intersection complte
+      Assert.assertEquals(t, instance.intersectionTime(ray, Math.nextUp(t)), 0.0);
+      Assert.assertEquals(t, instance.completeHit(ray, t).getT(), 0.0);
+
+      // Temps maximal gal ou antrieur  l'intersection : aucune intersection
+      Assert.assertEquals(SGeometry.NO_INTERSECTION, instance.intersectionTime(ray, t), 0.0);
+
+      SIntersectionStatistics.reset();
+      Assert.assertEquals(SGeometry.NO_INTERSECTION, instance.intersectionTime(ray, 0.5*t), 0.0);
+      bounded_visit += SIntersectionStatistics.getCount(SIntersectionStatistics.NODE_VISIT);
+    }
+
+    SIntersectionStatistics.reset();
+
+    Assert.assertTrue(nb_hit > 500);
+    Assert.assertTrue(bounded_visit < unbounded_visit);
+  }
+
+  /**
+   * Mthode pour construire l'espace de gomtries d'un maillage alatoire de sphres et de triangles opaques.
+   *
+   * @param random - Le gnrateur de nombres alatoires.
+   * @return L'espace du maillage.
+   */
+  private static SBVHSpace mesh(Random random)
+  {
+    List<SGeometry> list = SGeometrySpaceTestUtil.randomScene(random, 200, 200, 3.0, 0.0);
+
+    return SGeometrySpaceTestUtil.initialize(new SBVHSpace(), list);
+  }
+
+  /**
+   * Test permettant de vrifier le temps maximal d'une instance dplace, tourne et agrandie uniformment.
+   */
+  @Test
+  public void testBoundedIntersectionTimeUniformScale()
+  {
+    Random random = new Random(21);
+
+    SVector3d translation = new SVector3d(5.0, -2.0, 1.0);
+    SInstanceGeometry instance = new SInstanceGeometry(mesh(random), new SVector3d(2.0, 2.0, 2.0), new SVector3d(10.0, 30.0, -20.0), translation);
+
+    assertBoundedIntersectionTime(instance, translation, random);
+  }
+
+  /**
+   * Test permettant de vrifier le temps maximal d'une instance d'homothtie non uniforme
+   * (la direction du rayon dans l'espace objet n'est pas normalise, le temps est donc conserv).
+   */
+  @Test
+  public void testBoundedIntersectionTimeNonUniformScale()
+  {
+    Random random = new Random(22);
+
+    SVector3d translation = new SVector3d(-3.0, 4.0, 0.0);
+    SInstanceGeometry instance = new SInstanceGeometry(mesh(random), new SVector3d(0.5, 2.0, 1.5), new SVector3d(45.0, 0.0, 15.0), translation);
+
+    assertBoundedIntersectionTime(instance, translation, random);
+  }
+
+}//fin de la classe SInstanceGeometryTest
@@ -0,0 +1,59 @@
+/**
+ * 
+ */
+package sim.geometry.space;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * JUnit test permettant de valider les fonctionnalits de la classe SIntersectionStatistics.
+ * 
+ * @author Simon Vzina
+ * @since 2026-10-17
+ * @version 2026-10-17
+ */
+public class SIntersectionStatisticsTest {
+
+  /**
+   * Test permettant de vrifier que les compteurs des <i>threads</i> termins sont conservs dans le total 
+   * aprs leur retrait de la liste des statistiques.
+   * 
+   * @throws InterruptedException Si l'attente de la fin d'un <i>thread</i> est interrompue.
+   */
+  @Test
+  public void testCountOfFinishedThreads() throws InterruptedException
+  {
+    SIntersectionStatistics.reset();
+    
+    // Plusieurs vagues de threads : les threads d'une vague sont fusionns lors de l'enregistrement des suivants
+    for(int wave = 0; wave < 10; wave++)
+    {
+      Thread[] tab = new Thread[20];
+      
+      for(int i = 0; i < tab.length; i++)
+      {
+        tab[i] = new Thread(new Runnable(){
+          
+          @Override
+          public void run()
+          {
+            SIntersectionStatistics.local().countStep(SIntersectionStatistics.QUERY, 3);
+          }
+        });
+        
+        tab[i].start();
+      }
+      
+      for(Thread t : tab)
+        t.join();
+    }
+    
+    Assert.assertEquals(10 * 20 * 3, SIntersectionStatistics.getCount(SIntersectionStatistics.QUERY));
+    
+    SIntersectionStatistics.reset();
+    
+    Assert.assertEquals(0, SIntersectionStatistics.getCount(SIntersectionStatistics.QUERY));
+  }
+  
+}//fin de la classe SIntersectionStatisticsTest
@@ -0,0 +1,249 @@
+/**
+ *
+ */
+package sim.geometry.space;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import sim.geometry.SGeometry;
+import sim.geometry.SRay;
+import sim.math.SVector3d;
+
+/**
+ * JUnit test permettant de valider l'espace des gomtries en grille de voxels (SVoxelSpace) dense et hache.
+ * Chaque requte est compare  celle de l'espace linaire (SLinearSpace).
+ *
+ * @author Simon Vzina
+ * @since 2026-10-17
+ * @version 2026-10-17
+ */
+public class SVoxelSpaceTest {
+
+  /**
+   * Mthode pour obtenir une coordonne situe exactement sur une face de cellule de la grille.
+   *
+   * @param random - Le gnrateur de nombres alatoires.
+   * @param grid - La grille.
+   * @param min - La coordonne du voxel minimal de la grille selon l'axe.
+   * @param nb_cell - Le nombre de cellules de la grille selon l'axe.
+   * @return La coordonne de la face.
+   */
+  private static double face(Random random, SVoxelGrid grid, int min, int nb_cell)
+  {
+    return (min + random.nextInt(nb_cell + 1)) * grid.getDimension();
+  }
+
+  /**
+   * Test permettant de vrifier les requtes sur une scne uniforme (grille dense) de sphres et de triangles (dont certains transparents
+   * et certains situs dans le plan d'une face de cellule) pour des rayons dbutant dans la grille et des rayons longeant les faces
+   * et les artes des cellules.
+   */
+  @Test
+  public void testDenseGridMatchesLinearSpace()
+  {
+    Random random = new Random(24);
+
+    List<SGeometry> list = SGeometrySpaceTestUtil.randomScene(random, 300, 300, 10.0, 0.2);
+
+    SVoxelSpace voxel = SGeometrySpaceTestUtil.initialize(new SVoxelSpace(), new ArrayList<SGeometry>(list));
+    SVoxelGrid grid = voxel.getVoxelGrid();
+
+    Assert.assertFalse(grid.isHashed());
+
+    // Triangles situs dans le plan d'une face de cellule (z constant)
+    for(int i = 0; i < 50; i++)
+    {
+      double z = face(random, grid, grid.getMinZ(), grid.getNbCellZ());
+      SVector3d p0 = new SVector3d(20.0*random.nextDouble() - 10.0, 20.0*random.nextDouble() - 10.0, z);
+
+      list.add(SGeometrySpaceTestUtil.triangle(random, p0, p0.add(new SVector3d(2.0*random.nextDouble(), 2.0*random.nextDouble() - 1.0, 0.0)), p0.add(new SVector3d(-2.0*random.nextDouble(), 2.0*random.nextDouble(), 0.0)), 0.2));
+    }
+
+    SLinearSpace linear = SGeometrySpaceTestUtil.initialize(new SLinearSpace(), list);
+    voxel = SGeometrySpaceTestUtil.initialize(new SVoxelSpace(), list);
+    grid = voxel.getVoxelGrid();
+
+    Assert.assertFalse(grid.isHashed());
+
+    int nb_hit = 0;
+
+    // Rayons dbutant dans la grille
+    for(int i = 0; i < 10000; i++)
+    {
+      SRay ray = SGeometrySpaceTestUtil.ray(SGeometrySpaceTestUtil.randomPoint(random, 10.0), SGeometrySpaceTestUtil.randomDirection(random));
+
+      if(SGeometrySpaceTestUtil.assertSameQueries(linear, voxel, ray, i % 2 == 0 ? SGeometry.NO_INTERSECTION : 20.0*random.nextDouble()).asIntersected())
+        nb_hit++;
+    }
+
+    Assert.assertTrue(nb_hit > 5000);
+
+    // Rayons longeant une arte (parallles  un axe) ou une face (dans le plan d'une face) de cellule
+    for(int i = 0; i < 6000; i++)
+    {
+      double x = face(random, grid, grid.getMinX(), grid.getNbCellX());
+      double y = face(random, grid, grid.getMinY(), grid.getNbCellY());
+      double z = 20.0*random.nextDouble() - 10.0;
+
+      double sign = random.nextBoolean() ? 1.0 : -1.0;
+
+      SVector3d direction;
+
+      switch(i % 3)
+      {
+        case 0 : direction = new SVector3d(0.0, 0.0, sign); break;
+        case 1 : direction = new SVector3d(0.0, 2.0*random.nextDouble() - 1.0, sign); break;
+        default : direction = new SVector3d(2.0*random.nextDouble() - 1.0, 0.0, sign); break;
+      }
+
+      SRay ray = SGeometrySpaceTestUtil.ray(new SVector3d(x, y, z), direction);
+
+      SGeometrySpaceTestUtil.assertSameQueries(linear, voxel, ray, i % 2 == 0 ? SGeometry.NO_INTERSECTION : 20.0*random.nextDouble());
+    }
+  }
+
+  /**
+   * Test permettant de vrifier les requtes sur une scne parse de groupes de gomtries loigns (grille hache)
+   * pour des rayons dbutant dans la grille, des rayons d'un groupe vers un autre et des rayons longeant les faces des cellules.
+   */
+  @Test
+  public void testHashedGridMatchesLinearSpace()
+  {
+    Random random = new Random(42);
+
+    SVector3d[] centers = {
+        new SVector3d(-150.0, -150.0, -150.0), new SVector3d(150.0, 150.0, 150.0),
+        new SVector3d(150.0, -150.0, 0.0), new SVector3d(-150.0, 150.0, 60.0)
+    };
+
+    List<SGeometry> list = new ArrayList<SGeometry>();
+
+    for(SVector3d center : centers)
+    {
+      for(int i = 0; i < 60; i++)
+        list.add(SGeometrySpaceTestUtil.sphere(random, center.add(SGeometrySpaceTestUtil.randomPoint(random, 4.0)), 0.2 + 0.8*random.nextDouble(), 0.2));
+
+      for(int i = 0; i < 60; i++)
+      {
+        SVector3d p0 = center.add(SGeometrySpaceTestUtil.randomPoint(random, 4.0));
+
+        list.add(SGeometrySpaceTestUtil.triangle(random, p0, p0.add(SGeometrySpaceTestUtil.randomPoint(random, 1.5)), p0.add(SGeometrySpaceTestUtil.randomPoint(random, 1.5)), 0.2));
+      }
+    }
+
+    SLinearSpace linear = SGeometrySpaceTestUtil.initialize(new SLinearSpace(), list);
+    SVoxelSpace voxel = SGeometrySpaceTestUtil.initialize(new SVoxelSpace(), list);
+    SVoxelGrid grid = voxel.getVoxelGrid();
+
+    Assert.assertTrue(grid.isHashed());
+
+    int nb_hit = 0;
+
+    for(int i = 0; i < 12000; i++)
+    {
+      SVector3d origin;
+      SVector3d direction;
+
+      SVector3d center = centers[random.nextInt(centers.length)];
+
+      switch(i % 4)
+      {
+        // Rayon dbutant n'importe o dans la grille
+        case 0 :
+          origin = SGeometrySpaceTestUtil.randomPoint(random, 150.0);
+          direction = SGeometrySpaceTestUtil.randomDirection(random);
+          break;
+
+        // Rayon dbutant dans un groupe
+        case 1 :
+          origin = center.add(SGeometrySpaceTestUtil.randomPoint(random, 5.0));
+          direction = SGeometrySpaceTestUtil.randomDirection(random);
+          break;
+
+        // Rayon d'un groupe vers un autre (traverse de cellules vides)
+        case 2 :
+          origin = center.add(SGeometrySpaceTestUtil.randomPoint(random, 5.0));
+          direction = centers[random.nextInt(centers.length)].add(SGeometrySpaceTestUtil.randomPoint(random, 4.0)).substract(origin);
+
+          if(direction.modulus() < 1.0)
+            direction = SGeometrySpaceTestUtil.randomDirection(random);
+          break;
+
+        // Rayon parallle  un axe longeant une arte de cellule d'un groupe
+        default :
+          double x = Math.round((center.getX() + 8.0*random.nextDouble() - 4.0) / grid.getDimension()) * grid.getDimension();
+          double y = Math.round((center.getY() + 8.0*random.nextDouble() - 4.0) / grid.getDimension()) * grid.getDimension();
+
+          origin = new SVector3d(x, y, center.getZ() - 10.0);
+          direction = new SVector3d(0.0, 0.0, 1.0);
+          break;
+      }
+
+      SRay ray = SGeometrySpaceTestUtil.ray(origin, direction);
+
+      if(SGeometrySpaceTestUtil.assertSameQueries(linear, voxel, ray, i % 2 == 0 ? SGeometry.NO_INTERSECTION : 400.0*random.nextDouble()).asIntersected())
+        nb_hit++;
+    }
+
+    Assert.assertTrue(nb_hit > 1500);
+  }
+
+  /**
+   * Test permettant de vrifier que les quatre requtes comptent les mmes visites de voxel (seules les cellules occupes sont comptes)
+   * pour un rayon qui ne rencontre aucune gomtrie et parcourt donc toute sa ligne de cellules.
+   */
+  @Test
+  public void testVoxelVisitCount()
+  {
+    Random random = new Random(7);
+
+    // Gomtries parses : la ligne de cellules d'un rayon comprend des cellules vides
+    List<SGeometry> list = SGeometrySpaceTestUtil.randomScene(random, 150, 0, 10.0, 0.0);
+
+    SVoxelSpace voxel = SGeometrySpaceTestUtil.initialize(new SVoxelSpace(), list);
+    SLinearSpace linear = SGeometrySpaceTestUtil.initialize(new SLinearSpace(), list);
+
+    int nb_tested = 0;
+
+    for(int i = 0; i < 2000 && nb_tested < 100; i++)
+    {
+      SRay ray = SGeometrySpaceTestUtil.ray(SGeometrySpaceTestUtil.randomPoint(random, 10.0), SGeometrySpaceTestUtil.randomDirection(random));
+
+      if(linear.nearestIntersection(ray, SGeometry.NO_INTERSECTION).asIntersected())
+        continue;
+
+      long[] count = new long[4];
+
+      SIntersectionStatistics.reset();
+      voxel.nearestIntersection(ray, SGeometry.NO_INTERSECTION);
+      count[0] = SIntersectionStatistics.getCount(SIntersectionStatistics.VOXEL_VISIT);
+
+      SIntersectionStatistics.reset();
+      voxel.nearestOpaqueIntersection(ray, SGeometry.NO_INTERSECTION);
+      count[1] = SIntersectionStatistics.getCount(SIntersectionStatistics.VOXEL_VISIT);
+
+      SIntersectionStatistics.reset();
+      voxel.occluded(ray, SGeometry.NO_INTERSECTION);
+      count[2] = SIntersectionStatistics.getCount(SIntersectionStatistics.VOXEL_VISIT);
+
+      SIntersectionStatistics.reset();
+      voxel.transmittance(ray, SGeometry.NO_INTERSECTION);
+      count[3] = SIntersectionStatistics.getCount(SIntersectionStatistics.VOXEL_VISIT);
+
+      for(int q = 1; q < 4; q++)
+        Assert.assertEquals("Requte " + q, count[0], count[q]);
+
+      nb_tested++;
+    }
+
+    SIntersectionStatistics.reset();
+
+    Assert.assertTrue(nb_tested >= 50);
+  }
+
+}//fin de la classe SVoxelSpaceTest
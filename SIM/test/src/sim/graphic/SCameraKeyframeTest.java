@@ -0,0 +1,141 @@
+/**
+ *
+ */
+package sim.graphic;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import sim.graphics.SCamera;
+import sim.graphics.SCameraKeyframe;
+import sim.math.SVector3d;
+import sim.util.SBufferedReader;
+
+/**
+ * JUnit test permettant de valider l'interpolation des images cls de la camra (SCameraKeyframe).
+ *
+ * @author Simon Vzina
+ * @since 2026-10-17
+ * @version 2026-10-17
+ */
+public class SCameraKeyframeTest {
+
+  /**
+   * Mthode pour construire une image cl de la camra  partir de ses paramtres en format txt.
+   *
+   * @param parameters - Les paramtres de l'image cl (sans le mot cl de fin).
+   * @return L'image cl.
+   */
+  private static SCameraKeyframe keyframe(String parameters) throws IOException
+  {
+    return new SCameraKeyframe(new SBufferedReader(new StringReader(parameters + "\nend\n")));
+  }
+
+  /**
+   * Mthode pour construire la liste (trie) des deux images cls utilises par les tests.
+   *
+   * @return La liste des images cls aux images 2 et 6.
+   */
+  private static List<SCameraKeyframe> twoKeyframes() throws IOException
+  {
+    List<SCameraKeyframe> list = new ArrayList<SCameraKeyframe>();
+
+    list.add(keyframe("frame 2\nposition [0.0, 0.0, 0.0]\nlook_at [1.0, 0.0, 0.0]\nup [0.0, 0.0, 1.0]\nangle 40.0\nnear_clipping_plane 1.0\nfar_clipping_plane 50.0"));
+    list.add(keyframe("frame 6\nposition [4.0, 8.0, 0.0]\nlook_at [5.0, 0.0, 4.0]\nup [0.0, 0.0, 1.0]\nangle 80.0\nnear_clipping_plane 3.0\nfar_clipping_plane 150.0"));
+
+    return list;
+  }
+
+  /**
+   * Mthode pour vrifier l'ensemble des paramtres d'une camra.
+   */
+  private static void assertCamera(SVector3d position, SVector3d look_at, SVector3d up, double angle, double z_near, double z_far, SCamera camera)
+  {
+    Assert.assertEquals(position, camera.getPosition());
+    Assert.assertEquals(look_at, camera.getLookAt());
+    Assert.assertEquals(up, camera.getUp());
+    Assert.assertEquals(angle, camera.getViewAngle(), 1e-9);
+    Assert.assertEquals(z_near, camera.getZNear(), 1e-9);
+    Assert.assertEquals(z_far, camera.getZFar(), 1e-9);
+  }
+
+  /**
+   * Test permettant de vrifier l'interpolation linaire de l'ensemble des paramtres entre deux images cls.
+   */
+  @Test
+  public void testLinearInterpolation() throws IOException
+  {
+    List<SCameraKeyframe> list = twoKeyframes();
+
+    // t = 0.25
+    assertCamera(new SVector3d(1.0, 2.0, 0.0), new SVector3d(2.0, 0.0, 1.0), new SVector3d(0.0, 0.0, 1.0), 50.0, 1.5, 75.0,
+                 SCameraKeyframe.interpolate(new SCamera(), list, 3));
+
+    // t = 0.5
+    assertCamera(new SVector3d(2.0, 4.0, 0.0), new SVector3d(3.0, 0.0, 2.0), new SVector3d(0.0, 0.0, 1.0), 60.0, 2.0, 100.0,
+                 SCameraKeyframe.interpolate(new SCamera(), list, 4));
+  }
+
+  /**
+   * Test permettant de vrifier que la camra d'une image correspondant  une image cl a les paramtres de l'image cl.
+   */
+  @Test
+  public void testInterpolationAtKeyframe() throws IOException
+  {
+    List<SCameraKeyframe> list = twoKeyframes();
+
+    assertCamera(new SVector3d(0.0, 0.0, 0.0), new SVector3d(1.0, 0.0, 0.0), new SVector3d(0.0, 0.0, 1.0), 40.0, 1.0, 50.0,
+                 SCameraKeyframe.interpolate(new SCamera(), list, 2));
+
+    assertCamera(new SVector3d(4.0, 8.0, 0.0), new SVector3d(5.0, 0.0, 4.0), new SVector3d(0.0, 0.0, 1.0), 80.0, 3.0, 150.0,
+                 SCameraKeyframe.interpolate(new SCamera(), list, 6));
+  }
+
+  /**
+   * Test permettant de vrifier que la premire image cl est utilise avant celle-ci et que la dernire est utilise aprs celle-ci.
+   */
+  @Test
+  public void testClampBeforeFirstAndAfterLast() throws IOException
+  {
+    List<SCameraKeyframe> list = twoKeyframes();
+
+    Assert.assertSame(list.get(0), SCameraKeyframe.interpolate(new SCamera(), list, 0));
+    Assert.assertSame(list.get(0), SCameraKeyframe.interpolate(new SCamera(), list, 1));
+    Assert.assertSame(list.get(1), SCameraKeyframe.interpolate(new SCamera(), list, 7));
+    Assert.assertSame(list.get(1), SCameraKeyframe.interpolate(new SCamera(), list, 1000));
+  }
+
+  /**
+   * Test permettant de vrifier qu'une seule image cl dfinit la camra de toutes les images.
+   */
+  @Test
+  public void testSingleKeyframe() throws IOException
+  {
+    List<SCameraKeyframe> list = new ArrayList<SCameraKeyframe>();
+    list.add(keyframe("frame 5\nposition [1.0, 2.0, 3.0]\nlook_at [0.0, 0.0, 0.0]\nangle 30.0"));
+
+    for(int frame : new int[]{ 0, 4, 5, 6, 100 })
+      Assert.assertSame(list.get(0), SCameraKeyframe.interpolate(new SCamera(), list, frame));
+
+    Assert.assertEquals(5, list.get(0).getFrame());
+    Assert.assertEquals(new SVector3d(1.0, 2.0, 3.0), list.get(0).getPosition());
+    Assert.assertEquals(30.0, list.get(0).getViewAngle(), 1e-9);
+  }
+
+  /**
+   * Test permettant de vrifier que la camra de la scne est utilise s'il n'y a pas d'image cl.
+   */
+  @Test
+  public void testNoKeyframe()
+  {
+    SCamera camera = new SCamera();
+
+    Assert.assertSame(camera, SCameraKeyframe.interpolate(camera, new ArrayList<SCameraKeyframe>(), 3));
+  }
+
+}//fin de la classe SCameraKeyframeTest
@@ -70,6 +70,18 @@ public class SColorTest {
     Color color4 = new Color(0.345f, 0.721f, 0.855f, 0.0f);
     Assert.assertEquals(s_color4, new SColor(color4));
   }
+  
+  /**
+   * Test de la mthode <b>normalizeRGB</b> qui doit donner la mme couleur RGB que <b>normalizeColor().getRGB()</b>.
+   */
+  @Test
+  public void testNormalizeRGB(){
+    
+    SColor[] tab = { new SColor(0.0, 0.0, 0.0), new SColor(0.345, 0.721, 0.855), new SColor(2.5, 0.5, 0.25), new SColor(1.0, 1.0, 1.0) };
+    
+    for(SColor c : tab)
+      Assert.assertEquals(c.normalizeColor().getRGB() & 0xFFFFFF, SColor.normalizeRGB((float)c.getRed(), (float)c.getGreen(), (float)c.getBlue()));
+  }
   /*
    
   A FAIRE !!!
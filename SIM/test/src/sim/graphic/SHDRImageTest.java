@@ -0,0 +1,222 @@
+/**
+ *
+ */
+package sim.graphic;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.file.Files;
+import java.util.Random;
+
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Test;
+
+import sim.graphics.SHDRImage;
+import sim.graphics.SImageWriter;
+import sim.graphics.SViewport;
+
+/**
+ * JUnit test permettant de valider l'criture (SImageWriter) et la lecture (SHDRImage) des images  grande gamme dynamique
+ * en formats Radiance HDR et PFM.
+ *
+ * @author Simon Vzina
+ * @since 2026-10-17
+ * @version 2026-10-17
+ */
+public class SHDRImageTest {
+
+  /**
+   * La variable <b>file</b> correspond au fichier image crit par un test.
+   */
+  private File file;
+
+  /**
+   * @throws java.lang.Exception
+   */
+  @After
+  public void tearDown() throws Exception
+  {
+    if(file != null)
+      file.delete();
+  }
+
+  /**
+   * Mthode pour construire un viewport  partir de ses canaux RGB (le canal alpha est gal  1).
+   *
+   * @param width - La largeur.
+   * @param height - La hauteur.
+   * @param rgb - Les canaux RGB rangs ligne par ligne.
+   * @return Le viewport.
+   */
+  private static SViewport viewport(int width, int height, float[] rgb)
+  {
+    SViewport viewport = new SViewport(width, height);
+
+    float[] channels = new float[width * height * SViewport.getChannelPerPixel()];
+
+    for(int i = 0, k = 0; i < rgb.length; i += 3, k += SViewport.getChannelPerPixel())
+    {
+      channels[k] = rgb[i];
+      channels[k+1] = rgb[i+1];
+      channels[k+2] = rgb[i+2];
+      channels[k+3] = 1.0f;
+    }
+
+    viewport.setRegion(channels, 0, 0, width, height);
+
+    return viewport;
+  }
+
+  /**
+   * Mthode pour crire un viewport dans un fichier temporaire.
+   *
+   * @param viewport - Le viewport.
+   * @param format - Le code du format.
+   * @return Le contenu du fichier.
+   */
+  private byte[] write(SViewport viewport, int format) throws IOException
+  {
+    file = File.createTempFile("shdrimagetest", "." + SImageWriter.FORMAT_EXTENSION[format]);
+
+    SImageWriter.write(viewport, file.getPath(), format);
+
+    return Files.readAllBytes(file.toPath());
+  }
+
+  /**
+   * Mthode pour obtenir l'indice du premier octet suivant la n-ime fin de ligne d'un en-tte.
+   *
+   * @param data - Le contenu du fichier.
+   * @param nb_line - Le nombre de lignes de l'en-tte.
+   * @return L'indice du premier octet des donnes.
+   */
+  private static int headerLength(byte[] data, int nb_line)
+  {
+    int i = 0;
+
+    for(int n = 0; n < nb_line; i++)
+      if(data[i] == '\n')
+        n++;
+
+    return i;
+  }
+
+  /**
+   * Test permettant de vrifier qu'une image Radiance HDR compresse par plages est relue avec la prcision du format RGBE
+   * (mantisses de 8 bits) pour des valeurs couvrant plusieurs exposants, des plages de valeurs identiques (dont une plage
+   * plus longue que 127 pixels) et des pixels noirs.
+   */
+  @Test
+  public void testHDRRoundTrip() throws IOException
+  {
+    int width = 300;
+    int height = 6;
+
+    Random random = new Random(18);
+    float[] rgb = new float[width * height * 3];
+
+    for(int y = 0; y < height; y++)
+      for(int x = 0; x < width; x++)
+      {
+        int k = 3 * (y * width + x);
+
+        if(x >= 50 && x < 250 && y % 2 == 0)
+        {
+          // Longue plage identique
+          rgb[k] = 0.75f;
+          rgb[k+1] = 12.5f;
+          rgb[k+2] = 3.0f;
+        }
+        else
+          if(x % 17 == 0)
+          {
+            // Pixel noir
+            rgb[k] = rgb[k+1] = rgb[k+2] = 0.0f;
+          }
+          else
+            if(x % 5 < 3)
+            {
+              // Courte plage de 3 pixels identiques
+              float v = (float)Math.scalb(1.0 + x % 7 / 7.0, x % 11 - 5);
+              rgb[k] = v;
+              rgb[k+1] = 0.5f * v;
+              rgb[k+2] = 0.0f;
+            }
+            else
+            {
+              // Canaux alatoires de 2^-12  2^12
+              for(int c = 0; c < 3; c++)
+                rgb[k+c] = (float)Math.scalb(1.0 + random.nextDouble(), random.nextInt(25) - 12);
+            }
+      }
+
+    byte[] data = write(viewport(width, height, rgb), SImageWriter.HDR);
+
+    // Chaque ligne dbute par le marqueur d'une ligne compresse (2, 2, largeur)
+    int header = headerLength(data, 4);
+
+    Assert.assertEquals(2, data[header]);
+    Assert.assertEquals(2, data[header+1]);
+    Assert.assertEquals(width, ((data[header+2] & 0xff) << 8) | (data[header+3] & 0xff));
+    Assert.assertTrue(data.length - header < width * height * 4);
+
+    SHDRImage image = SHDRImage.read(file.getPath());
+
+    Assert.assertEquals(width, image.getWidth());
+    Assert.assertEquals(height, image.getHeight());
+
+    float[] actual = image.getRGB();
+
+    for(int i = 0; i < rgb.length; i += 3)
+    {
+      float max = Math.max(rgb[i], Math.max(rgb[i+1], rgb[i+2]));
+
+      for(int c = 0; c < 3; c++)
+        if(max == 0.0f)
+          Assert.assertEquals("Canal " + (i + c), 0.0f, actual[i+c], 0.0f);
+        else
+          Assert.assertEquals("Canal " + (i + c), rgb[i+c], actual[i+c], max / 256.0f * 1.0001f);
+    }
+  }
+
+  /**
+   * Test permettant de vrifier l'en-tte d'un fichier PFM (chelle -1.0 pour l'ordre little-endian),
+   * l'ordre des lignes (de bas en haut) et la relecture exacte des canaux.
+   */
+  @Test
+  public void testPFMRoundTrip() throws IOException
+  {
+    int width = 3;
+    int height = 2;
+
+    float[] rgb = {
+        0.1f, 0.2f, 0.3f,   1.5f, 2.5f, 3.5f,   1000.0f, 1e-5f, 0.0f,
+        7.0f, 8.0f, 9.0f,   -1.0f, 0.25f, 42.0f, 3e6f, 0.5f, 0.125f
+    };
+
+    byte[] data = write(viewport(width, height, rgb), SImageWriter.PFM);
+
+    String header = "PF\n3 2\n-1.0\n";
+    int length = header.length();
+
+    Assert.assertEquals(header, new String(data, 0, length, "US-ASCII"));
+    Assert.assertEquals(length + width * height * 3 * 4, data.length);
+
+    // La premire ligne du fichier est la dernire ligne de l'image
+    ByteBuffer buffer = ByteBuffer.wrap(data, length, data.length - length).order(ByteOrder.LITTLE_ENDIAN);
+
+    for(int y = height - 1; y >= 0; y--)
+      for(int i = 0; i < width * 3; i++)
+        Assert.assertEquals(rgb[y * width * 3 + i], buffer.getFloat(), 0.0f);
+
+    SHDRImage image = SHDRImage.read(file.getPath());
+
+    Assert.assertEquals(width, image.getWidth());
+    Assert.assertEquals(height, image.getHeight());
+    Assert.assertArrayEquals(rgb, image.getRGB(), 0.0f);
+  }
+
+}//fin de la classe SHDRImageTest
@@ -0,0 +1,98 @@
+/**
+ *
+ */
+package sim.graphic;
+
+import java.io.File;
+
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import sim.graphics.SMappedFrameBuffer;
+
+/**
+ * JUnit test permettant de valider le tampon de viewport projet en mmoire (SMappedFrameBuffer).
+ *
+ * @author Simon Vzina
+ * @since 2026-10-17
+ * @version 2026-10-17
+ */
+public class SMappedFrameBufferTest {
+
+  /**
+   * La variable <b>file</b> correspond au fichier de travail du tampon.
+   */
+  private File file;
+
+  /**
+   * @throws java.lang.Exception
+   */
+  @Before
+  public void setUp() throws Exception
+  {
+    file = File.createTempFile("smappedframebuffertest", ".bin");
+  }
+
+  /**
+   * @throws java.lang.Exception
+   */
+  @After
+  public void tearDown() throws Exception
+  {
+    file.delete();
+  }
+
+  /**
+   * Test permettant de vrifier la lecture et l'criture des canaux du tampon.
+   */
+  @Test
+  public void testGetPut()
+  {
+    SMappedFrameBuffer buffer = new SMappedFrameBuffer(file.getPath(), 1000);
+
+    try{
+      Assert.assertEquals(1000, buffer.getLength());
+      Assert.assertEquals(0.0f, buffer.get(999), 0.0f);
+
+      buffer.put(10, 2.5f);
+      buffer.put(100, new float[] { 1.0f, 2.0f, 3.0f, 4.0f }, 1, 3);
+
+      float[] dst = new float[4];
+      buffer.get(99, dst, 0, 4);
+
+      Assert.assertEquals(2.5f, buffer.get(10), 0.0f);
+      Assert.assertArrayEquals(new float[] { 0.0f, 2.0f, 3.0f, 4.0f }, dst, 0.0f);
+    }finally{
+      buffer.close();
+    }
+  }
+
+  /**
+   * Test permettant de vrifier que la fermeture du tampon supprime le fichier de travail, 
+   * qu'elle peut tre rpte et qu'un accs ultrieur ne lit pas la projection libre.
+   */
+  @Test
+  public void testClose()
+  {
+    SMappedFrameBuffer buffer = new SMappedFrameBuffer(file.getPath(), 1000);
+    buffer.put(0, 1.0f);
+
+    Assert.assertTrue(file.exists());
+    Assert.assertEquals(4000, file.length());
+
+    buffer.close();
+    Assert.assertFalse(file.exists());
+
+    buffer.close();
+
+    try{
+      buffer.get(0);
+      Assert.fail("Un tampon ferm ne doit plus tre accessible.");
+    }catch(NullPointerException e){
+      // La projection libre n'est plus rfrence
+    }
+  }
+
+}//fin de la classe SMappedFrameBufferTest
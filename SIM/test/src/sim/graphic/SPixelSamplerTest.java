@@ -0,0 +1,77 @@
+/**
+ * 
+ */
+package sim.graphic;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import sim.graphics.sampler.SHaltonSampler;
+import sim.graphics.sampler.SPixelSampler;
+import sim.graphics.sampler.SRandomSampler;
+import sim.graphics.sampler.SSobolSampler;
+import sim.graphics.sampler.SStratifiedSampler;
+import sim.math.SVectorUV;
+
+/**
+ * JUnit test permettant de valider les fonctionnalits des gnrateurs de coordonnes internes  un pixel.
+ * 
+ * @author Simon Vzina
+ * @since 2026-10-17
+ * @version 2026-10-17
+ */
+public class SPixelSamplerTest {
+
+  /**
+   * Test permettant de vrifier que les coordonnes gnres sont dans l'intervalle [0,1[ et identiques d'un appel  l'autre.
+   */
+  @Test
+  public void testSampleDeterministicInPixel()
+  {
+    SPixelSampler[] tab = { new SRandomSampler(), new SStratifiedSampler(), new SHaltonSampler(), new SSobolSampler() };
+    
+    for(SPixelSampler sampler : tab)
+      for(int i = 0; i < 16; i++)
+      {
+        SVectorUV uv = sampler.sample(12, 34, i, 16);
+        SVectorUV uv_again = sampler.sample(12, 34, i, 16);
+        
+        Assert.assertTrue(uv.getU() >= 0.0 && uv.getU() < 1.0);
+        Assert.assertTrue(uv.getV() >= 0.0 && uv.getV() < 1.0);
+        Assert.assertEquals(uv.getU(), uv_again.getU(), 0.0);
+        Assert.assertEquals(uv.getV(), uv_again.getV(), 0.0);
+      }
+  }
+  
+  /**
+   * Test permettant de vrifier que l'chantillonnage stratifi place un seul chantillon par cellule de la grille.
+   */
+  @Test
+  public void testStratifiedOneSamplePerCell()
+  {
+    SPixelSampler sampler = new SStratifiedSampler();
+    boolean[] cell = new boolean[16];
+    
+    for(int i = 0; i < 16; i++)
+    {
+      SVectorUV uv = sampler.sample(5, 7, i, 16);
+      int index = (int)(uv.getV()*4)*4 + (int)(uv.getU()*4);
+      
+      Assert.assertFalse(cell[index]);
+      cell[index] = true;
+    }
+  }
+  
+  /**
+   * Test permettant de vrifier l'inverse radical de la squence de Halton.
+   */
+  @Test
+  public void testRadicalInverse()
+  {
+    Assert.assertEquals(0.5, SHaltonSampler.radicalInverse(1, 2), 0.0);
+    Assert.assertEquals(0.25, SHaltonSampler.radicalInverse(2, 2), 0.0);
+    Assert.assertEquals(0.75, SHaltonSampler.radicalInverse(3, 2), 0.0);
+    Assert.assertEquals(1.0/3.0, SHaltonSampler.radicalInverse(1, 3), 1e-15);
+  }
+  
+}//fin de la classe SPixelSamplerTest
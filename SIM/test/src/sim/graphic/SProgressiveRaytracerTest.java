@@ -0,0 +1,84 @@
+/**
+ * 
+ */
+package sim.graphic;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import sim.exception.SRuntimeException;
+import sim.geometry.SRay;
+import sim.graphics.SCamera;
+import sim.graphics.SColor;
+import sim.graphics.SProgressiveRaytracer;
+import sim.graphics.SViewFrustum;
+import sim.graphics.SViewport;
+import sim.graphics.shader.SShader;
+import sim.math.SVector3d;
+
+/**
+ * JUnit test permettant de valider le critre de convergence de la classe SProgressiveRaytracer.
+ * 
+ * @author Simon Vzina
+ * @since 2026-10-17
+ * @version 2026-10-17
+ */
+public class SProgressiveRaytracerTest {
+
+  /**
+   * Test permettant de vrifier qu'un pixel uniforme cesse d'tre raffin aprs MIN_SAMPLING chantillons 
+   * alors qu'un pixel bruit est raffin jusqu'au nombre maximal d'chantillons (<i>sampling</i>).
+   */
+  @Test
+  public void testConvergenceFlatAndNoisyPixel()
+  {
+    final int sampling = 4 * SProgressiveRaytracer.MIN_SAMPLING;
+    
+    SViewport viewport = new SViewport(2, 1);
+    SViewFrustum view_frustum = new SViewFrustum(new SCamera(), viewport);
+    
+    // Position des deux pixels dans la scne pour identifier le pixel travers par un rayon
+    final SVector3d flat_pixel = view_frustum.viewportToViewFrustum(0, 0);
+    final SVector3d noisy_pixel = view_frustum.viewportToViewFrustum(1, 0);
+    
+    // Shader : couleur constante pour le pixel (0,0) et alternance blanc/noir pour le pixel (1,0)
+    SShader shader = new SShader() {
+      
+      private int nb_noisy_sample = 0;
+      
+      @Override
+      public synchronized SColor shade(SRay ray) throws SRuntimeException
+      {
+        SVector3d p = ray.getOrigin();
+        
+        if(p.substract(flat_pixel).modulus() < p.substract(noisy_pixel).modulus())
+          return new SColor(0.5, 0.5, 0.5);
+        else
+          return (nb_noisy_sample++ % 2 == 0) ? new SColor(1.0, 1.0, 1.0) : new SColor(0.0, 0.0, 0.0);
+      }
+      
+      @Override
+      public double evaluateRefractiveIndex(SVector3d position)
+      {
+        return SRay.DEFAULT_REFRACTIVE_INDEX;
+      }
+    };
+    
+    SProgressiveRaytracer raytracer = new SProgressiveRaytracer(view_frustum, shader, viewport, sampling, 1, 16, 0.02, 0.0);
+    
+    try{
+      raytracer.raytrace();
+    }finally{
+      raytracer.close();
+    }
+    
+    Assert.assertTrue(raytracer.isFinished());
+    Assert.assertEquals(SProgressiveRaytracer.MIN_SAMPLING, raytracer.getNbSample(0, 0));
+    Assert.assertEquals(sampling, raytracer.getNbSample(1, 0));
+    Assert.assertEquals(sampling, raytracer.getNbPass());
+    
+    // La couleur du pixel uniforme demeure sa couleur constante
+    Assert.assertEquals(0.5, viewport.getColor(0, 0).getRed(), 1e-6);
+  }
+  
+}//fin de la classe SProgressiveRaytracerTest
@@ -0,0 +1,313 @@
+/**
+ *
+ */
+package sim.graphic;
+
+import java.io.File;
+import java.io.FileWriter;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.util.Random;
+
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import sim.exception.SRuntimeException;
+import sim.graphics.SRenderCheckpoint;
+import sim.graphics.SViewport;
+
+/**
+ * JUnit test permettant de valider l'criture et la reprise d'un fichier de reprise de rendu (SRenderCheckpoint).
+ *
+ * @author Simon Vzina
+ * @since 2026-10-17
+ * @version 2026-10-17
+ */
+public class SRenderCheckpointTest {
+
+  /**
+   * Les constantes <b>WIDTH</b>, <b>HEIGHT</b> et <b>TILE_SIZE</b> correspondent au viewport des tests.
+   * Les blocs de la dernire colonne et de la dernire range sont incomplets (70 = 4*16 + 6 et 45 = 2*16 + 13).
+   */
+  private static final int WIDTH = 70;
+  private static final int HEIGHT = 45;
+  private static final int TILE_SIZE = 16;
+
+  /**
+   * La variable <b>directory</b> correspond au rpertoire courant o est recherch le fichier de scne.
+   */
+  private final File directory = new File(System.getProperty("user.dir"));
+
+  /**
+   * Les variables <b>scene_file</b> et <b>checkpoint_file</b> correspondent au fichier de scne (dont l'empreinte est associe au rendu)
+   * et au fichier de reprise.
+   */
+  private File scene_file, checkpoint_file;
+
+  /**
+   * @throws java.lang.Exception
+   */
+  @Before
+  public void setUp() throws Exception
+  {
+    scene_file = File.createTempFile("srendercheckpointtest", ".txt", directory);
+    checkpoint_file = new File(directory, scene_file.getName() + ".ckpt");
+
+    write(scene_file, "primitive\nsphere\nposition 0.0 0.0 0.0\nray 1.0\nend\nend\n");
+  }
+
+  /**
+   * @throws java.lang.Exception
+   */
+  @After
+  public void tearDown() throws Exception
+  {
+    scene_file.delete();
+    checkpoint_file.delete();
+    new File(checkpoint_file.getPath() + ".tmp").delete();
+  }
+
+  /**
+   * Mthode pour crire un fichier texte.
+   *
+   * @param file - Le fichier.
+   * @param content - Le contenu du fichier.
+   */
+  private static void write(File file, String content) throws IOException
+  {
+    FileWriter writer = new FileWriter(file);
+
+    try{
+      writer.write(content);
+    }finally{
+      writer.close();
+    }
+  }
+
+  /**
+   * Mthode pour construire un viewport dont les canaux RGBA sont alatoires.
+   *
+   * @param random - Le gnrateur de nombres alatoires.
+   * @return Le viewport.
+   */
+  private static SViewport randomViewport(Random random)
+  {
+    SViewport viewport = new SViewport(WIDTH, HEIGHT);
+
+    float[] channels = new float[WIDTH * HEIGHT * SViewport.getChannelPerPixel()];
+
+    for(int i = 0; i < channels.length; i++)
+      channels[i] = random.nextFloat() * 4.0f;
+
+    viewport.setRegion(channels, 0, 0, WIDTH, HEIGHT);
+
+    return viewport;
+  }
+
+  /**
+   * Mthode pour construire le fichier de reprise d'un viewport.
+   *
+   * @param viewport - Le viewport.
+   * @param tile_size - La taille des blocs.
+   * @return Le fichier de reprise.
+   */
+  private SRenderCheckpoint checkpoint(SViewport viewport, int tile_size) throws IOException
+  {
+    return new SRenderCheckpoint(checkpoint_file.getPath(), scene_file.getName(), viewport, tile_size);
+  }
+
+  /**
+   * Mthode pour obtenir les canaux RGBA d'un bloc.
+   *
+   * @param checkpoint - Le fichier de reprise dfinissant les blocs.
+   * @param viewport - Le viewport.
+   * @param tile - L'indice du bloc.
+   * @return Les canaux du bloc.
+   */
+  private static float[] tile(SRenderCheckpoint checkpoint, SViewport viewport, int tile)
+  {
+    int[] bounds = new int[4];
+    checkpoint.getTileBounds(tile, bounds);
+
+    float[] channels = new float[(bounds[2] - bounds[0]) * (bounds[3] - bounds[1]) * SViewport.getChannelPerPixel()];
+    viewport.getRegion(channels, bounds[0], bounds[1], bounds[2], bounds[3]);
+
+    return channels;
+  }
+
+  /**
+   * Mthode pour vrifier qu'une reprise retrouve exactement les blocs termins (tat et pixels) d'un viewport.
+   *
+   * @param expected - Le fichier de reprise crit.
+   * @param expected_viewport - Le viewport crit.
+   * @param actual - Le fichier de reprise lu.
+   * @param actual_viewport - Le viewport lu.
+   */
+  private static void assertSameTiles(SRenderCheckpoint expected, SViewport expected_viewport, SRenderCheckpoint actual, SViewport actual_viewport)
+  {
+    Assert.assertEquals(expected.getNbDoneTile(), actual.getNbDoneTile());
+
+    for(int i = 0; i < expected.getNbTile(); i++)
+    {
+      Assert.assertEquals("Bloc " + i, expected.isTileDone(i), actual.isTileDone(i));
+
+      if(expected.isTileDone(i))
+        Assert.assertArrayEquals("Bloc " + i, tile(expected, expected_viewport, i), tile(actual, actual_viewport, i), 0.0f);
+    }
+  }
+
+  /**
+   * Test permettant de vrifier que les blocs (dont les blocs incomplets en bordure du viewport) crits en plusieurs sauvegardes
+   * sont retrouvs  l'identique lors d'une reprise et qu'une reprise suivie d'une sauvegarde conserve les blocs prcdents.
+   */
+  @Test
+  public void testWriteResume() throws IOException
+  {
+    Random random = new Random(16);
+
+    SViewport viewport = randomViewport(random);
+    SRenderCheckpoint checkpoint = checkpoint(viewport, TILE_SIZE);
+
+    Assert.assertEquals(15, checkpoint.getNbTile());
+
+    // Aucun fichier : nouveau rendu
+    Assert.assertFalse(checkpoint.resume());
+
+    // Premire sauvegarde : un bloc complet, le bloc de la dernire colonne et le bloc du coin (incomplets)
+    checkpoint.setTileDone(0);
+    checkpoint.setTileDone(4);
+    checkpoint.setTileDone(14);
+    checkpoint.write();
+
+    // Deuxime sauvegarde (ajout) : un bloc de la dernire range et un bloc intrieur
+    checkpoint.setTileDone(11);
+    checkpoint.setTileDone(6);
+    checkpoint.write();
+
+    // Sauvegarde sans nouveau bloc
+    checkpoint.write();
+
+    SViewport resumed_viewport = new SViewport(WIDTH, HEIGHT);
+    SRenderCheckpoint resumed = checkpoint(resumed_viewport, TILE_SIZE);
+
+    Assert.assertTrue(resumed.resume());
+    assertSameTiles(checkpoint, viewport, resumed, resumed_viewport);
+
+    // Poursuite du rendu repris : les nouveaux blocs sont ajouts au fichier existant
+    float[] channels = tile(checkpoint, viewport, 9);
+    int[] bounds = new int[4];
+    resumed.getTileBounds(9, bounds);
+    resumed_viewport.setRegion(channels, bounds[0], bounds[1], bounds[2], bounds[3]);
+
+    resumed.setTileDone(9);
+    resumed.write();
+
+    checkpoint.setTileDone(9);
+
+    SViewport final_viewport = new SViewport(WIDTH, HEIGHT);
+    SRenderCheckpoint final_checkpoint = checkpoint(final_viewport, TILE_SIZE);
+
+    Assert.assertTrue(final_checkpoint.resume());
+    assertSameTiles(checkpoint, viewport, final_checkpoint, final_viewport);
+  }
+
+  /**
+   * Test permettant de vrifier qu'un dernier enregistrement incomplet (sauvegarde interrompue) est ignor lors de la reprise
+   * et remplac par la sauvegarde suivante.
+   */
+  @Test
+  public void testResumeInterruptedWrite() throws IOException
+  {
+    Random random = new Random(17);
+
+    SViewport viewport = randomViewport(random);
+    SRenderCheckpoint checkpoint = checkpoint(viewport, TILE_SIZE);
+
+    checkpoint.setTileDone(3);
+    checkpoint.write();
+
+    long length = checkpoint_file.length();
+
+    checkpoint.setTileDone(14);
+    checkpoint.write();
+
+    // Troncature au milieu de l'enregistrement du bloc 14
+    RandomAccessFile raf = new RandomAccessFile(checkpoint_file, "rw");
+
+    try{
+      raf.setLength(length + (raf.length() - length) / 2);
+    }finally{
+      raf.close();
+    }
+
+    SViewport resumed_viewport = new SViewport(WIDTH, HEIGHT);
+    SRenderCheckpoint resumed = checkpoint(resumed_viewport, TILE_SIZE);
+
+    Assert.assertTrue(resumed.resume());
+    Assert.assertEquals(1, resumed.getNbDoneTile());
+    Assert.assertTrue(resumed.isTileDone(3));
+    Assert.assertFalse(resumed.isTileDone(14));
+
+    // Le bloc est calcul de nouveau puis sauvegard  la place de l'enregistrement incomplet
+    int[] bounds = new int[4];
+    resumed.getTileBounds(14, bounds);
+    resumed_viewport.setRegion(tile(checkpoint, viewport, 14), bounds[0], bounds[1], bounds[2], bounds[3]);
+
+    resumed.setTileDone(14);
+    resumed.write();
+
+    SViewport final_viewport = new SViewport(WIDTH, HEIGHT);
+    SRenderCheckpoint final_checkpoint = checkpoint(final_viewport, TILE_SIZE);
+
+    Assert.assertTrue(final_checkpoint.resume());
+    assertSameTiles(checkpoint, viewport, final_checkpoint, final_viewport);
+  }
+
+  /**
+   * Test permettant de vrifier qu'une reprise est refuse lorsque le fichier de scne a t modifi.
+   */
+  @Test
+  public void testResumeRejectsOtherScene() throws IOException
+  {
+    SRenderCheckpoint checkpoint = checkpoint(randomViewport(new Random(18)), TILE_SIZE);
+    checkpoint.setTileDone(0);
+    checkpoint.write();
+
+    write(scene_file, "primitive\nsphere\nposition 0.0 0.0 0.0\nray 2.0\nend\nend\n");
+
+    try{
+      checkpoint(new SViewport(WIDTH, HEIGHT), TILE_SIZE).resume();
+      Assert.fail("La reprise d'un rendu d'une autre scne doit tre refuse.");
+    }catch(SRuntimeException e){
+      Assert.assertTrue(e.getMessage(), e.getMessage().startsWith("Erreur SRenderCheckpoint 003"));
+    }
+  }
+
+  /**
+   * Test permettant de vrifier qu'une reprise est refuse lorsque les dimensions du viewport ou la taille des blocs diffrent.
+   */
+  @Test
+  public void testResumeRejectsOtherViewport() throws IOException
+  {
+    SRenderCheckpoint checkpoint = checkpoint(randomViewport(new Random(19)), TILE_SIZE);
+    checkpoint.setTileDone(0);
+    checkpoint.write();
+
+    SRenderCheckpoint[] others = {
+        checkpoint(new SViewport(WIDTH + 1, HEIGHT), TILE_SIZE),
+        checkpoint(new SViewport(WIDTH, HEIGHT - 1), TILE_SIZE),
+        checkpoint(new SViewport(WIDTH, HEIGHT), TILE_SIZE * 2)
+    };
+
+    for(SRenderCheckpoint other : others)
+      try{
+        other.resume();
+        Assert.fail("La reprise d'un rendu d'un autre viewport doit tre refuse.");
+      }catch(SRuntimeException e){
+        Assert.assertTrue(e.getMessage(), e.getMessage().startsWith("Erreur SRenderCheckpoint 004"));
+      }
+  }
+
+}//fin de la classe SRenderCheckpointTest
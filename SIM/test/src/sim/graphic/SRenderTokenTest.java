@@ -0,0 +1,144 @@
+/**
+ * 
+ */
+package sim.graphic;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import sim.exception.SRuntimeException;
+import sim.geometry.SRay;
+import sim.graphics.SCamera;
+import sim.graphics.SColor;
+import sim.graphics.SProgressiveRaytracer;
+import sim.graphics.SRaytracer;
+import sim.graphics.SRenderToken;
+import sim.graphics.SSingleCastRaytracer;
+import sim.graphics.SViewFrustum;
+import sim.graphics.SViewport;
+import sim.graphics.shader.SShader;
+import sim.math.SVector3d;
+
+/**
+ * JUnit test permettant de valider le rendu sous le contrle d'un jeton (SRenderToken).
+ * 
+ * @author Simon Vzina
+ * @since 2026-10-17
+ * @version 2026-10-17
+ */
+public class SRenderTokenTest {
+
+  /**
+   * La classe interne <b>SPositionShader</b> reprsente un shader dont la couleur dpend uniquement de la position de l'origine du rayon 
+   * et qui annule un jeton aprs un nombre donn d'appels.
+   */
+  private static class SPositionShader implements SShader {
+    
+    private final SRenderToken token;
+    private final int nb_call_before_cancel;
+    private int nb_call;
+    
+    private SPositionShader(SRenderToken token, int nb_call_before_cancel)
+    {
+      this.token = token;
+      this.nb_call_before_cancel = nb_call_before_cancel;
+      this.nb_call = 0;
+    }
+    
+    @Override
+    public synchronized SColor shade(SRay ray) throws SRuntimeException
+    {
+      if(++nb_call == nb_call_before_cancel)
+        token.cancel();
+      
+      SVector3d p = ray.getOrigin();
+      
+      return new SColor(Math.abs(Math.sin(13.0*p.getX() + 7.0*p.getY())), Math.abs(Math.cos(5.0*p.getZ() - 3.0*p.getX())), 0.5);
+    }
+    
+    @Override
+    public double evaluateRefractiveIndex(SVector3d position)
+    {
+      return SRay.DEFAULT_REFRACTIVE_INDEX;
+    }
+    
+    private synchronized int getNbCall()
+    {
+      return nb_call;
+    }
+  }
+  
+  /**
+   * Test permettant de vrifier qu'un rendu complt sous le contrle d'un jeton produit la mme image qu'un rendu ligne par ligne
+   * et qu'il termine l'itration des pixels du viewport.
+   */
+  @Test
+  public void testCompletedRenderMatchesFullRender()
+  {
+    SViewport expected = new SViewport(37, 23);
+    SViewport viewport = new SViewport(37, 23);
+    
+    SRaytracer reference = new SSingleCastRaytracer(new SViewFrustum(new SCamera(), expected), new SPositionShader(new SRenderToken(), 0), expected);
+    reference.raytrace();
+    
+    SRaytracer raytracer = new SSingleCastRaytracer(new SViewFrustum(new SCamera(), viewport), new SPositionShader(new SRenderToken(), 0), viewport);
+    
+    Assert.assertTrue(raytracer.raytrace(new SRenderToken()));
+    Assert.assertFalse(viewport.hasNextPixel());
+    
+    for(int y = 0; y < viewport.getHeight(); y++)
+      for(int x = 0; x < viewport.getWidth(); x++)
+        Assert.assertEquals(expected.getColor(x, y), viewport.getColor(x, y));
+  }
+  
+  /**
+   * Test permettant de vrifier qu'un rendu annul est interrompu et qu'il termine tout de mme l'itration des pixels du viewport.
+   */
+  @Test
+  public void testCancelledRender()
+  {
+    SViewport viewport = new SViewport(37, 23);
+    SRenderToken token = new SRenderToken();
+    SPositionShader shader = new SPositionShader(token, 0);
+    
+    SRaytracer raytracer = new SSingleCastRaytracer(new SViewFrustum(new SCamera(), viewport), shader, viewport);
+    
+    token.cancel();
+    
+    Assert.assertFalse(raytracer.raytrace(token));
+    Assert.assertFalse(viewport.hasNextPixel());
+    Assert.assertEquals(0, shader.getNbCall());
+  }
+  
+  /**
+   * Test permettant de vrifier qu'un raffinement progressif interrompu durant sa premire passe, puis repris avec un nouveau jeton,
+   * n'chantillonne aucun pixel deux fois.
+   */
+  @Test
+  public void testProgressiveResumeDuringFirstPass()
+  {
+    SViewport viewport = new SViewport(40, 30);
+    SRenderToken first_token = new SRenderToken();
+    SPositionShader shader = new SPositionShader(first_token, 50);
+    
+    // Un seul chantillon par pixel : le raffinement se termine  la fin de la premire passe
+    SProgressiveRaytracer raytracer = new SProgressiveRaytracer(new SViewFrustum(new SCamera(), viewport), shader, viewport, 1, 1, 16, 0.0, 0.0);
+    
+    try{
+      Assert.assertFalse(raytracer.raytrace(first_token));
+      Assert.assertTrue(shader.getNbCall() < viewport.getNbPixels());
+      
+      Assert.assertTrue(raytracer.raytrace(new SRenderToken()));
+    }finally{
+      raytracer.close();
+    }
+    
+    Assert.assertTrue(raytracer.isFinished());
+    Assert.assertEquals(viewport.getNbPixels(), shader.getNbCall());
+    
+    for(int y = 0; y < viewport.getHeight(); y++)
+      for(int x = 0; x < viewport.getWidth(); x++)
+        Assert.assertEquals(1, raytracer.getNbSample(x, y));
+  }
+  
+}//fin de la classe SRenderTokenTest
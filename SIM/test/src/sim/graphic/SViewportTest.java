@@ -13,6 +13,7 @@ import org.junit.Before;
 import org.junit.BeforeClass;
 import org.junit.Test;
 
+import sim.exception.SConstructorException;
 import sim.graphics.SColor;
 import sim.graphics.SViewport;
 import sim.math.SVectorPixel;
@@ -59,7 +60,75 @@ public class SViewportTest {
     fail("Not yet implemented");
   }
 
+  /**
+   * Test de la mthode <b>claimPixels</b> : les squences rserves doivent couvrir l'ensemble des pixels sans chevauchement.
+   */
+  @Test
+  public void claimPixelsTest()
+  {
+    SViewport viewport = new SViewport(7, 5);
+    
+    long[] range = new long[2];
+    long expected_begin = 0;
+    
+    while(viewport.claimPixels(4, range))
+    {
+      assertEquals(expected_begin, range[0]);
+      assertEquals(Math.min(expected_begin + 4, 35), range[1]);
+      expected_begin = range[1];
+    }
+    
+    assertEquals(35, expected_begin);
+    assertFalse(viewport.hasNextPixel());
+    assertNull(viewport.nextPixel());
+    
+    viewport.restartPixelIteration();
+    assertTrue(viewport.hasNextPixel());
+    
+    // Une rservation plus grande que le nombre de pixels restants ne dborde pas
+    assertTrue(viewport.claimPixels(3, range));
+    assertTrue(viewport.claimPixels(Long.MAX_VALUE, range));
+    assertEquals(3, range[0]);
+    assertEquals(35, range[1]);
+    assertEquals(35, viewport.getNbClaimedPixels());
+    assertFalse(viewport.claimPixels(Long.MAX_VALUE, range));
+  }
   
+  /**
+   * Test de la mthode <b>claimTile</b> : les blocs rservs (incluant les blocs tronqus en bordure) doivent couvrir chaque pixel une seule fois.
+   */
+  @Test
+  public void claimTileTest()
+  {
+    SViewport viewport = new SViewport(10, 7);
+    
+    int[][] count = new int[10][7];
+    int[] bounds = new int[4];
+    
+    while(viewport.claimTile(4, bounds))
+      for(int x = bounds[0]; x < bounds[2]; x++)
+        for(int y = bounds[1]; y < bounds[3]; y++)
+          count[x][y]++;
+    
+    for(int x = 0; x < 10; x++)
+      for(int y = 0; y < 7; y++)
+        assertEquals(1, count[x][y]);
+  }
+
+  /**
+   * Test de l'initialisation : un viewport dont le nombre de pixels dpasse Integer.MAX_VALUE doit tre refus 
+   * avant la construction du tampon (au lieu de produire une itration des pixels vide par dbordement).
+   */
+  @Test
+  public void tooManyPixelsTest()
+  {
+    try{
+      new SViewport(50000, 50000);
+      fail("Un viewport de 50000 x 50000 pixels devrait tre refus.");
+    }catch(SConstructorException e){
+      // L'exception est attendue
+    }
+  }
   
   
   //A FAIRE !!!!!
@@ -0,0 +1,167 @@
+/**
+ *
+ */
+package sim.graphic.light;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import sim.graphics.SColor;
+import sim.graphics.light.SAmbientLight;
+import sim.graphics.light.SDirectionalLight;
+import sim.graphics.light.SLight;
+import sim.graphics.light.SLightKeyframe;
+import sim.graphics.light.SPointLight;
+import sim.math.SVector3d;
+import sim.util.SBufferedReader;
+
+/**
+ * JUnit test permettant de valider l'interpolation des images cls des sources de lumire (SLightKeyframe).
+ *
+ * @author Simon Vzina
+ * @since 2026-10-17
+ * @version 2026-10-17
+ */
+public class SLightKeyframeTest {
+
+  /**
+   * Mthode pour construire une image cl d'une source de lumire  partir de ses paramtres en format txt.
+   *
+   * @param parameters - Les paramtres de l'image cl (sans le mot cl de fin).
+   * @return L'image cl.
+   */
+  private static SLightKeyframe keyframe(String parameters) throws IOException
+  {
+    return new SLightKeyframe(new SBufferedReader(new StringReader(parameters + "\nend\n")));
+  }
+
+  /**
+   * Mthode pour construire la source ponctuelle utilise par les tests.
+   *
+   * @return La source ponctuelle blanche en (0,0,10).
+   */
+  private static SPointLight pointLight()
+  {
+    return new SPointLight(new SColor(1.0, 1.0, 1.0), new SVector3d(0.0, 0.0, 10.0), 1.0, 0.25, 0.5);
+  }
+
+  /**
+   * Mthode pour construire la liste (trie) des images cls utilises par les tests.
+   * La source d'indice 0 est anime aux images 0 et 4 (la position n'est pas dfinie  l'image 0)
+   * et la source d'indice 1 est anime  l'image 2.
+   *
+   * @return La liste des images cls.
+   */
+  private static List<SLightKeyframe> keyframes() throws IOException
+  {
+    List<SLightKeyframe> list = new ArrayList<SLightKeyframe>();
+
+    list.add(keyframe("frame 0\nlight_index 0\ncolor 0.0 0.0 0.0"));
+    list.add(keyframe("frame 2\nlight_index 1\ncolor 0.0 1.0 0.0\nposition [100.0, 100.0, 100.0]"));
+    list.add(keyframe("frame 4\nlight_index 0\ncolor 1.0 0.5 0.0\nposition [4.0, 0.0, 10.0]"));
+
+    return list;
+  }
+
+  /**
+   * Test permettant de vrifier l'interpolation linaire de la couleur et de la position d'une source ponctuelle
+   * (un paramtre non dfini par une image cl prend la valeur de la source de la scne).
+   */
+  @Test
+  public void testLinearInterpolation() throws IOException
+  {
+    List<SLightKeyframe> list = keyframes();
+
+    // t = 0.25
+    SPointLight light = (SPointLight)SLightKeyframe.interpolate(pointLight(), 0, list, 1);
+
+    Assert.assertEquals(new SColor(0.25, 0.125, 0.0), light.getColor());
+    Assert.assertEquals(new SVector3d(1.0, 0.0, 10.0), light.getPosition());
+
+    // t = 0.5 (l'image cl de la source d'indice 1 n'est pas considre)
+    light = (SPointLight)SLightKeyframe.interpolate(pointLight(), 0, list, 2);
+
+    Assert.assertEquals(new SColor(0.5, 0.25, 0.0), light.getColor());
+    Assert.assertEquals(new SVector3d(2.0, 0.0, 10.0), light.getPosition());
+
+    // Les facteurs d'attnuation de la source sont conservs
+    Assert.assertEquals(1.0, light.getConstantAttenuator(), 1e-9);
+    Assert.assertEquals(0.25, light.getLinearAttenuator(), 1e-9);
+    Assert.assertEquals(0.5, light.getQuadraticAttenuator(), 1e-9);
+  }
+
+  /**
+   * Test permettant de vrifier l'interpolation de l'orientation d'une source directionnelle.
+   */
+  @Test
+  public void testDirectionalInterpolation() throws IOException
+  {
+    List<SLightKeyframe> list = new ArrayList<SLightKeyframe>();
+    list.add(keyframe("frame 0\norientation [1.0, 0.0, 0.0]"));
+    list.add(keyframe("frame 10\norientation [0.0, 1.0, 0.0]"));
+
+    SDirectionalLight light = (SDirectionalLight)SLightKeyframe.interpolate(new SDirectionalLight(new SColor(1.0, 1.0, 1.0), new SVector3d(0.0, 0.0, -1.0)), 0, list, 5);
+
+    Assert.assertEquals(new SVector3d(1.0, 1.0, 0.0).normalize(), light.getOrientation());
+    Assert.assertEquals(new SColor(1.0, 1.0, 1.0), light.getColor());
+  }
+
+  /**
+   * Test permettant de vrifier que la premire image cl est utilise avant celle-ci et que la dernire est utilise aprs celle-ci.
+   */
+  @Test
+  public void testClampBeforeFirstAndAfterLast() throws IOException
+  {
+    List<SLightKeyframe> list = keyframes();
+
+    // Avant la premire image cl de la source d'indice 1
+    SPointLight light = (SPointLight)SLightKeyframe.interpolate(pointLight(), 1, list, 0);
+
+    Assert.assertEquals(new SColor(0.0, 1.0, 0.0), light.getColor());
+    Assert.assertEquals(new SVector3d(100.0, 100.0, 100.0), light.getPosition());
+
+    // Aprs la dernire image cl de la source d'indice 0
+    for(int frame : new int[]{ 4, 5, 1000 })
+    {
+      light = (SPointLight)SLightKeyframe.interpolate(pointLight(), 0, list, frame);
+
+      Assert.assertEquals(new SColor(1.0, 0.5, 0.0), light.getColor());
+      Assert.assertEquals(new SVector3d(4.0, 0.0, 10.0), light.getPosition());
+    }
+  }
+
+  /**
+   * Test permettant de vrifier qu'une seule image cl dfinit la source de toutes les images.
+   */
+  @Test
+  public void testSingleKeyframe() throws IOException
+  {
+    List<SLightKeyframe> list = new ArrayList<SLightKeyframe>();
+    list.add(keyframe("frame 3\ncolor 0.5 0.5 0.5"));
+
+    for(int frame : new int[]{ 0, 3, 100 })
+    {
+      SLight light = SLightKeyframe.interpolate(new SAmbientLight(new SColor(1.0, 1.0, 1.0)), 0, list, frame);
+
+      Assert.assertTrue(light instanceof SAmbientLight);
+      Assert.assertEquals(new SColor(0.5, 0.5, 0.5), light.getColor());
+    }
+  }
+
+  /**
+   * Test permettant de vrifier qu'une source sans image cl n'est pas modifie.
+   */
+  @Test
+  public void testNoKeyframe() throws IOException
+  {
+    SPointLight light = pointLight();
+
+    Assert.assertSame(light, SLightKeyframe.interpolate(light, 2, keyframes(), 1));
+  }
+
+}//fin de la classe SLightKeyframeTest
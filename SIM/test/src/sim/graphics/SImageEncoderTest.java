@@ -0,0 +1,163 @@
+/**
+ *
+ */
+package sim.graphics;
+
+import java.awt.image.BufferedImage;
+import java.io.File;
+import java.io.IOException;
+import java.util.Random;
+import java.util.zip.Adler32;
+
+import javax.imageio.ImageIO;
+
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * JUnit test permettant de valider l'criture parallle des images PNG (SImageEncoder).
+ *
+ * @author Simon Vzina
+ * @since 2026-10-17
+ * @version 2026-10-17
+ */
+public class SImageEncoderTest {
+
+  /**
+   * Les variables <b>encoder_file</b> et <b>writer_file</b> correspondent aux images crites par SImageEncoder et par SImageWriter.
+   */
+  private File encoder_file, writer_file;
+
+  /**
+   * @throws java.lang.Exception
+   */
+  @After
+  public void tearDown() throws Exception
+  {
+    if(encoder_file != null)
+      encoder_file.delete();
+
+    if(writer_file != null)
+      writer_file.delete();
+  }
+
+  /**
+   * Mthode pour obtenir la somme Adler-32 d'une partie d'un tableau.
+   *
+   * @param data - Le tableau.
+   * @param offset - L'indice du premier octet.
+   * @param length - Le nombre d'octets.
+   * @return La somme Adler-32.
+   */
+  private static long adler32(byte[] data, int offset, int length)
+  {
+    Adler32 adler = new Adler32();
+    adler.update(data, offset, length);
+
+    return adler.getValue();
+  }
+
+  /**
+   * Test permettant de vrifier qu'une image de plusieurs bandes (dont une dernire bande incomplte) crite par SImageEncoder
+   * est lue par ImageIO et que chacun de ses pixels est identique au viewport et  l'image crite par SImageWriter.
+   */
+  @Test
+  public void testMultiStripPNG() throws IOException
+  {
+    // 150 lignes : deux bandes compltes de 64 lignes et une bande de 22 lignes
+    int width = 37;
+    int height = 150;
+
+    Random random = new Random(19);
+
+    SViewport viewport = new SViewport(width, height);
+    float[] channels = new float[width * height * SViewport.getChannelPerPixel()];
+
+    for(int i = 0; i < channels.length; i++)
+      channels[i] = random.nextFloat() * 1.2f;   // quelques canaux saturs
+
+    // Des lignes uniformes favorisent des filtres diffrents d'une ligne  l'autre
+    for(int i = 40 * width * SViewport.getChannelPerPixel(); i < 70 * width * SViewport.getChannelPerPixel(); i++)
+      channels[i] = 0.5f;
+
+    viewport.setRegion(channels, 0, 0, width, height);
+
+    encoder_file = File.createTempFile("simageencodertest", ".png");
+    writer_file = File.createTempFile("simageencodertest", ".png");
+
+    SImageEncoder encoder = new SImageEncoder(3);
+
+    try{
+      SImageEncoder.waitFor(encoder.writePNG(viewport, encoder_file.getPath()));
+    }finally{
+      encoder.close();
+    }
+
+    SImageWriter.write(viewport, writer_file.getPath(), SImageWriter.PNG);
+
+    BufferedImage expected = viewport.getBufferedImage();
+    BufferedImage actual = ImageIO.read(encoder_file);
+    BufferedImage reference = ImageIO.read(writer_file);
+
+    Assert.assertNotNull(actual);
+    Assert.assertEquals(width, actual.getWidth());
+    Assert.assertEquals(height, actual.getHeight());
+
+    for(int y = 0; y < height; y++)
+      for(int x = 0; x < width; x++)
+      {
+        Assert.assertEquals("Pixel (" + x + "," + y + ")", expected.getRGB(x, y), actual.getRGB(x, y));
+        Assert.assertEquals("Pixel (" + x + "," + y + ")", reference.getRGB(x, y), actual.getRGB(x, y));
+      }
+  }
+
+  /**
+   * Test permettant de vrifier la combinaison des sommes Adler-32 de suites conscutives par comparaison avec java.util.zip.Adler32,
+   * incluant des suites vides et des suites plus longues que le module de la somme (65521).
+   */
+  @Test
+  public void testCombineAdler32()
+  {
+    Random random = new Random(32);
+
+    byte[] data = new byte[200000];
+    random.nextBytes(data);
+
+    // Quelques plages de 0xff maximisent les sommes partielles
+    for(int i = 1000; i < 70000; i++)
+      data[i] = (byte)0xff;
+
+    long expected = adler32(data, 0, data.length);
+
+    int[] splits = { 0, 1, 65520, 65521, 65522, 100000, data.length - 1, data.length };
+
+    for(int split : splits)
+    {
+      long adler1 = adler32(data, 0, split);
+      long adler2 = adler32(data, split, data.length - split);
+
+      Assert.assertEquals("Coupe " + split, expected, SImageEncoder.combineAdler32(adler1, adler2, data.length - split));
+    }
+
+    // Trois suites dont celle du milieu est vide (somme gale  1)
+    long adler = adler32(data, 0, 5000);
+    adler = SImageEncoder.combineAdler32(adler, adler32(data, 5000, 0), 0);
+    adler = SImageEncoder.combineAdler32(adler, adler32(data, 5000, data.length - 5000), data.length - 5000);
+
+    Assert.assertEquals(1, adler32(data, 5000, 0));
+    Assert.assertEquals(expected, adler);
+
+    // Combinaison de nombreuses bandes comme lors de l'criture d'une image
+    adler = 1;
+
+    for(int begin = 0; begin < data.length; begin += 777)
+    {
+      int length = Math.min(777, data.length - begin);
+      adler = SImageEncoder.combineAdler32(adler, adler32(data, begin, length), length);
+    }
+
+    Assert.assertEquals(expected, adler);
+  }
+
+}//fin de la classe SImageEncoderTest
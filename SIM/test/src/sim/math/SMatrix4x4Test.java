@@ -2,6 +2,7 @@ package sim.math;
 
 import org.junit.After;
 import org.junit.AfterClass;
+import org.junit.Assert;
 import org.junit.Before;
 import org.junit.BeforeClass;
 import org.junit.Test;
@@ -11,7 +12,7 @@ import org.junit.Test;
  * 
  * @author Simon Vzina
  * @since 2015-08-12
- * @version 2015-12-21
+ * @version 2026-10-17
  */
 public class SMatrix4x4Test {
 
@@ -35,8 +36,6 @@ public class SMatrix4x4Test {
   public void testRzyx() 
   {
     //---------------------------------------------------------------------------------------------------------------
-    /*
-    // RETIRER LES COMMENTAIRES LORSQUE LE TEST DOIT TRE EXCUT.
     SVector3d v = new SVector3d(30.0, 40.0, 50.0);
     
     SMatrix4x4 mX = SMatrix4x4.rotationX(v.getX());
@@ -49,7 +48,6 @@ public class SMatrix4x4Test {
                                                 0.0,                  0.0,                 0.0,                 1.0);
                                              
     Assert.assertEquals(matrix_expected, SMatrix4x4.Rzyx(v));                                          
-    */
     //----------------------------------------------------------------------------------------------------------------
   }
 
@@ -57,8 +55,6 @@ public class SMatrix4x4Test {
   public void testRxyz() 
   {
     //----------------------------------------------------------------------------------------------------------------
-    /*
-    // RETIRER LES COMMENTAIRES LORSQUE LE TEST DOIT TRE EXCUT.
     SVector3d v = new SVector3d(30.0, 40.0, 50.0);
     
     SMatrix4x4 mX = SMatrix4x4.rotationX(v.getX());
@@ -71,7 +67,6 @@ public class SMatrix4x4Test {
                                                 0.0,                  0.0,                  0.0,                 1.0);
 
     Assert.assertEquals(matrix_expected, SMatrix4x4.Rxyz(v));
-    */
     //----------------------------------------------------------------------------------------------------------------
   }
   
@@ -82,27 +77,17 @@ public class SMatrix4x4Test {
   @Test
   public void testIdentityRxyzAndRzyx() 
   {
-    //------------------------------------------------
-    //POUR LABORATOIRE :
-    // Mettre en commentaire ce bloc et laisser l'indication qui suit.
-    //
-    // RETIRER LES COMMENTAIRES LORSQUE LE TEST DOIT TRE EXCUT.
-    //----------------------------------------------------------------
-    /*
     SVector3d v = new SVector3d(30.0, 40.0, 50.0);
     SVector3d inv_v = v.multiply(-1);
     
     Assert.assertEquals(SMatrix4x4.identity(), SMatrix4x4.Rxyz(v).multiply(SMatrix4x4.Rzyx(inv_v)));
     Assert.assertEquals(SMatrix4x4.identity(), SMatrix4x4.Rzyx(v).multiply(SMatrix4x4.Rxyz(inv_v)));
-    */
   }
   
   @Test
   public void testTrRzyxSc()
   {
     //----------------------------------------------------------------------------------------------------------------
-    /*
-    // RETIRER LES COMMENTAIRES LORSQUE LE TEST DOIT TRE EXCUT.
     SVector3d scale = new SVector3d(2.3, 4.5, 7.6);
     SVector3d rotation = new SVector3d(30.0, 60.0, -15.0);
     SVector3d translation = new SVector3d(-4.5, 3.2, -5.3);
@@ -113,7 +98,6 @@ public class SMatrix4x4Test {
                                                 0.0,                 0.0,                 0.0,                 1.0);
     
     Assert.assertEquals(matrix_expected, SMatrix4x4.TrRzyxSc(translation, rotation, scale));
-    */
     //----------------------------------------------------------------------------------------------------------------
   }
   
@@ -121,8 +105,6 @@ public class SMatrix4x4Test {
   public void testScRxyzTr()
   {
     //-------------------------------------------------------------------------------------------------------------
-    // RETIRER LES COMMENTAIRES LORSQUE LE TEST DOIT TRE EXCUT.
-    /*
     SVector3d scale = new SVector3d(2.3, 4.5, 7.6);
     SVector3d rotation = new SVector3d(30.0, 60.0, -15.0);
     SVector3d translation = new SVector3d(-4.5, 3.2, -5.3);
@@ -134,7 +116,6 @@ public class SMatrix4x4Test {
 
     
     Assert.assertEquals(matrix_expected, SMatrix4x4.ScRxyzTr(scale, rotation, translation));
-    */
     //-------------------------------------------------------------------------------------------------------------
   }
   
@@ -145,13 +126,6 @@ public class SMatrix4x4Test {
   @Test
   public void testIdentityTrRzyxScAndScRxyzTr() 
   {
-    //------------------------------------------------
-    //POUR LABORATOIRE :
-    // Mettre en commentaire ce bloc et laisser l'indication qui suit.
-    //
-    // RETIRER LES COMMENTAIRES LORSQUE LE TEST DOIT TRE EXCUT.
-    //----------------------------------------------------------------
-    /*
     SVector3d scale = new SVector3d(2.3, 4.5, 7.6);
     SVector3d scale_inv = new SVector3d(1.0/scale.getX(), 1.0/scale.getY(), 1.0/scale.getZ());
     
@@ -163,7 +137,70 @@ public class SMatrix4x4Test {
       
     Assert.assertEquals(SMatrix4x4.identity(), SMatrix4x4.TrRzyxSc(translation, rotation, scale).multiply(SMatrix4x4.ScRxyzTr(scale_inv, rotation_inv, translation_inv)));
     Assert.assertEquals(SMatrix4x4.identity(), SMatrix4x4.ScRxyzTr(scale, rotation, translation).multiply(SMatrix4x4.TrRzyxSc(translation_inv, rotation_inv, scale_inv)));
-    */
+  }
+  
+  /**
+   * JUnit test valuant la proprit de l'identit du produit des matrices TrRzyxSc et ScRxyzTr construites avec les paramtres inverses
+   * (utilise par les instances de maillage) pour plusieurs transformations.
+   */
+  @Test
+  public void testIdentityTrRzyxScAndInverse()
+  {
+    SVector3d[][] transformations = { 
+        { new SVector3d(1.0, 1.0, 1.0),   new SVector3d(0.0, 0.0, 0.0),      new SVector3d(0.0, 0.0, 0.0) },
+        { new SVector3d(2.0, 2.0, 2.0),   new SVector3d(30.0, 45.0, 60.0),   new SVector3d(1.0, 2.0, 3.0) },
+        { new SVector3d(0.5, 3.0, -2.0),  new SVector3d(-120.0, 10.0, 275.0), new SVector3d(-7.5, 0.25, 100.0) }
+    };
+    
+    for(SVector3d[] tr : transformations)
+    {
+      SVector3d scale = tr[0];
+      SVector3d rotation = tr[1];
+      SVector3d translation = tr[2];
+      
+      SVector3d scale_inv = new SVector3d(1.0/scale.getX(), 1.0/scale.getY(), 1.0/scale.getZ());
+      
+      SMatrix4x4 object_to_world = SMatrix4x4.TrRzyxSc(translation, rotation, scale);
+      SMatrix4x4 world_to_object = SMatrix4x4.ScRxyzTr(scale_inv, rotation.multiply(-1.0), translation.multiply(-1.0));
+      
+      Assert.assertEquals(SMatrix4x4.identity(), object_to_world.multiply(world_to_object));
+      Assert.assertEquals(SMatrix4x4.identity(), world_to_object.multiply(object_to_world));
+      
+      // Aller-retour d'une position entre l'espace objet et la scne
+      SVector3d p = new SVector3d(1.5, -2.5, 4.0);
+      
+      Assert.assertEquals(p, world_to_object.multiplyPosition(object_to_world.multiplyPosition(p)));
+    }
+  }
+  
+  /**
+   * JUnit test valuant des rotations connues de 90 degrs autour de chaque axe.
+   */
+  @Test
+  public void testKnownRotation()
+  {
+    SVector3d x = new SVector3d(1.0, 0.0, 0.0);
+    SVector3d y = new SVector3d(0.0, 1.0, 0.0);
+    SVector3d z = new SVector3d(0.0, 0.0, 1.0);
+    
+    // Rotation positive (rgle de la main droite)
+    Assert.assertEquals(z, SMatrix4x4.rotationX(90.0).multiplyDirection(y));
+    Assert.assertEquals(x, SMatrix4x4.rotationY(90.0).multiplyDirection(z));
+    Assert.assertEquals(y, SMatrix4x4.rotationZ(90.0).multiplyDirection(x));
+    
+    // Rzyx applique la rotation autour de x, puis de y, puis de z
+    Assert.assertEquals(z, SMatrix4x4.Rzyx(new SVector3d(90.0, 0.0, 0.0)).multiplyDirection(y));
+    Assert.assertEquals(x.multiply(-1.0), SMatrix4x4.Rzyx(new SVector3d(0.0, 90.0, 90.0)).multiplyDirection(y));
+    Assert.assertEquals(x, SMatrix4x4.Rzyx(new SVector3d(90.0, 0.0, 90.0)).multiplyDirection(z));
+    
+    // Rxyz applique la rotation autour de z, puis de y, puis de x
+    Assert.assertEquals(z, SMatrix4x4.Rxyz(new SVector3d(90.0, 0.0, 90.0)).multiplyDirection(x));
+    
+    // Une direction n'est pas translate alors qu'une position l'est (homothtie, rotation puis translation)
+    SMatrix4x4 m = SMatrix4x4.TrRzyxSc(new SVector3d(10.0, 0.0, 0.0), new SVector3d(0.0, 0.0, 90.0), new SVector3d(2.0, 2.0, 2.0));
+    
+    Assert.assertEquals(new SVector3d(0.0, 2.0, 0.0), m.multiplyDirection(x));
+    Assert.assertEquals(new SVector3d(10.0, 2.0, 0.0), m.multiplyPosition(x));
   }
   
 }//fin de la classe SMatrix4x4Test